@@ -3,24 +3,58 @@ package org.moper.cap.aop.interceptor;
 import org.moper.cap.bean.definition.BeanDefinition;
 import org.moper.cap.bean.exception.BeanException;
 import org.moper.cap.bean.interceptor.BeanInterceptor;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
 import org.moper.cap.aop.proxy.Advisor;
 import org.moper.cap.aop.resolver.ProxyResolver;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AopBeanInterceptor implements BeanInterceptor {
 
     private final List<Advisor> advisors;
     private final ProxyResolver proxyResolver = new ProxyResolver();
 
+    /**
+     * 按 Bean 类缓存的 Advisor 匹配结果，避免同一类的每个实例都遍历 方法 × Advisor
+     */
+    private final Map<Class<?>, Boolean> matchingAdvisorCache = new ConcurrentHashMap<>();
+
+    /**
+     * 上次启动已知的匹配结果，key 为 Bean 类的全限定名
+     */
+    private final Map<String, Boolean> knownMatches;
+
     public AopBeanInterceptor(List<Advisor> advisors) {
+        this(advisors, Map.of());
+    }
+
+    /**
+     * @param advisors     Advisor 列表
+     * @param knownMatches 上次启动已知的匹配结果（来自布线快照），key 为 Bean 类的全限定名；
+     *                     调用方负责保证这些结果是针对同一组 Advisor 计算的
+     */
+    public AopBeanInterceptor(List<Advisor> advisors, Map<String, Boolean> knownMatches) {
         this.advisors = advisors;
+        this.knownMatches = knownMatches;
+    }
+
+    /**
+     * 导出当前已计算的匹配结果，供布线快照保存
+     *
+     * @return key 为 Bean 类的全限定名
+     */
+    public Map<String, Boolean> exportMatches() {
+        Map<String, Boolean> matches = new TreeMap<>(knownMatches);
+        matchingAdvisorCache.forEach((beanClass, matched) -> matches.put(beanClass.getName(), matched));
+        return matches;
     }
 
     @Override
     public Object afterPropertyInjection(Object bean, BeanDefinition definition) throws BeanException {
-        if (advisors.isEmpty() || !hasMatchingAdvisor(bean)) {
+        if (advisors.isEmpty() || !hasMatchingAdvisor(bean.getClass())) {
             return bean;
         }
         return proxyResolver.resolve(bean, advisors);
@@ -35,8 +69,14 @@ public class AopBeanInterceptor implements BeanInterceptor {
      * annotation-based pointcuts (e.g. {@code @method(...)}) can resolve
      * annotations from the implementation, not just the interface.
      */
-    private boolean hasMatchingAdvisor(Object bean) {
-        Class<?> beanClass = bean.getClass();
+    private boolean hasMatchingAdvisor(Class<?> beanClass) {
+        return matchingAdvisorCache.computeIfAbsent(beanClass, c -> {
+            Boolean known = knownMatches.get(c.getName());
+            return known != null ? known : matchesAnyAdvisor(c);
+        });
+    }
+
+    private boolean matchesAnyAdvisor(Class<?> beanClass) {
         // 检查类本身声明的方法
         for (Method m : beanClass.getDeclaredMethods()) {
             for (Advisor advisor : advisors) {
@@ -54,6 +94,27 @@ public class AopBeanInterceptor implements BeanInterceptor {
         return false;
     }
 
+    @Override
+    public Set<BeanInterceptorPhase> getPhases() {
+        return EnumSet.of(BeanInterceptorPhase.AFTER_PROPERTY_INJECTION);
+    }
+
+    /**
+     * 没有 Advisor，或构造函数创建的具体类没有任何方法匹配 Advisor 时无需拦截。
+     * 工厂方法与抽象类型的实际实现类在运行时才能确定，始终拦截。
+     */
+    @Override
+    public boolean supports(BeanDefinition definition) {
+        if (advisors.isEmpty()) {
+            return false;
+        }
+        Class<?> type = definition.type();
+        if (definition.isFactoryMethod() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return true;
+        }
+        return hasMatchingAdvisor(type);
+    }
+
     @Override
     public int getOrder() {
         return 400;
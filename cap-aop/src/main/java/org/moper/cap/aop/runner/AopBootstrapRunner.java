@@ -9,6 +9,7 @@ import org.moper.cap.core.annotation.RunnerMeta;
 import org.moper.cap.core.runner.BootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
 import org.moper.cap.core.context.BootstrapContext;
+import org.moper.cap.core.snapshot.WiringSnapshot;
 import org.moper.cap.bean.container.BeanContainer;
 import org.moper.cap.aop.proxy.Advisor;
 import org.moper.cap.aop.interceptor.AopBeanInterceptor;
@@ -19,11 +20,49 @@ import java.util.*;
 @RunnerMeta(type = RunnerType.FEATURE, order = 400, name = "CapAopBootstrapRunner", description = "Scans and installs AOP Advisors and Interceptors")
 public class AopBootstrapRunner implements BootstrapRunner {
 
+    /**
+     * 布线快照中保存 Advisor 匹配结果的分区：第一行为 Advisor 签名，其余每行为 {@code 类名=是否匹配}
+     */
+    static final String MATCHES_SECTION = "aop.advisor-matches";
+
     @Override
     public void initialize(BootstrapContext context) throws Exception {
         BeanContainer beanContainer = context.getBeanContainer();
         List<Advisor> advisors = scanAdvisors(beanContainer);
-        beanContainer.addBeanInterceptor(new AopBeanInterceptor(advisors));
+
+        // 布线快照中的匹配结果只在 Advisor 组成完全一致时复用
+        WiringSnapshot snapshot = context.getWiringSnapshot();
+        String signature = signature(advisors);
+        AopBeanInterceptor interceptor = new AopBeanInterceptor(advisors, knownMatches(snapshot.getSection(MATCHES_SECTION), signature));
+        snapshot.contributeSection(MATCHES_SECTION, () -> {
+            List<String> lines = new ArrayList<>();
+            lines.add(signature);
+            interceptor.exportMatches().forEach((className, matched) -> lines.add(className + "=" + matched));
+            return lines;
+        });
+        beanContainer.addBeanInterceptor(interceptor);
+    }
+
+    private static Map<String, Boolean> knownMatches(List<String> section, String signature) {
+        if (section.isEmpty() || !section.get(0).equals(signature)) {
+            return Map.of();
+        }
+        Map<String, Boolean> matches = new HashMap<>();
+        for (String line : section.subList(1, section.size())) {
+            int separator = line.lastIndexOf('=');
+            if (separator > 0) {
+                matches.put(line.substring(0, separator), Boolean.parseBoolean(line.substring(separator + 1)));
+            }
+        }
+        return matches;
+    }
+
+    private static String signature(List<Advisor> advisors) {
+        StringJoiner joiner = new StringJoiner(";", "advisors:", "");
+        for (Advisor advisor : advisors) {
+            joiner.add(advisor.getType() + " " + advisor.getAdviceMethod());
+        }
+        return joiner.toString();
     }
 
     private List<Advisor> scanAdvisors(BeanContainer container) {
@@ -0,0 +1,16 @@
+package org.moper.cap.bean.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 延迟注入注解
+ *
+ * <p>标注在 @Inject 字段或构造函数 / 工厂方法参数上时，注入的是一个实现了该接口类型的解析代理，
+ * 第一次调用代理方法时才获取目标 Bean。被注入的类型必须是接口；类类型请使用
+ * {@link org.moper.cap.bean.inject.Provider} 或 {@link org.moper.cap.bean.inject.ObjectProvider}。
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {
+}
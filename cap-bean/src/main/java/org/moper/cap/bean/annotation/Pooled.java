@@ -0,0 +1,25 @@
+package org.moper.cap.bean.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * {@link org.moper.cap.bean.definition.BeanScope#POOLED} 作用域 Bean 的对象池配置。
+ *
+ * <p>标注在 Bean 类型上（工厂方法 Bean 标注在返回类型上），未标注时使用默认值。
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Pooled {
+
+    /**
+     * 对象池管理的最大实例数（借出 + 空闲）。
+     * 全部实例均被借出时，再次借出会创建一个不入池的临时实例，归还时直接销毁
+     */
+    int maxSize() default 8;
+
+    /**
+     * 空闲实例的最长保留时间（毫秒），超过后被回收并销毁
+     */
+    long maxIdleMillis() default 60_000;
+}
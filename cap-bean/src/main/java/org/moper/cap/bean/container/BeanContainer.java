@@ -4,6 +4,7 @@ import org.moper.cap.bean.exception.BeanCreationException;
 import org.moper.cap.bean.exception.BeanDestructionException;
 import org.moper.cap.bean.interceptor.BeanInterceptor;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -57,6 +58,20 @@ public interface BeanContainer extends BeanProvider, BeanInspector, BeanRegistry
      */
     int getBeanInterceptorCount();
 
+    /**
+     * 冻结容器结构。
+     *
+     * <p>冻结后 BeanDefinition、别名与外部单例不能再注册或移除（抛出 {@link org.moper.cap.bean.exception.BeanDefinitionStoreException}），
+     * 容器可以把注册表转换为不可变的查找结构，使运行期的 getBean 与查询操作不再加锁。
+     * 由 {@code BootstrapContext} 在构建 {@code RuntimeContext} 时调用，重复调用没有效果。
+     */
+    void freeze();
+
+    /**
+     * 容器结构是否已冻结
+     */
+    boolean isFrozen();
+
     /**
      * 预实例化所有非懒加载的单例 Bean。
      *
@@ -67,6 +82,18 @@ public interface BeanContainer extends BeanProvider, BeanInspector, BeanRegistry
      */
     void preInstantiateSingletons() throws BeanCreationException;
 
+    /**
+     * 按依赖图并行预实例化所有非懒加载的单例 Bean。
+     *
+     * <p>互不依赖的子树在不同线程上同时创建，有依赖关系的 Bean 仍保证依赖先于被依赖者完成。
+     * 依赖图中存在循环依赖时，在创建任何 Bean 之前抛出异常。
+     * 多个 Bean 创建失败时，按注册顺序报告第一个失败，其余失败作为 suppressed 异常附加。
+     *
+     * @param parallelism 并行度，小于等于 1 时退化为 {@link #preInstantiateSingletons()}
+     * @throws BeanCreationException 如果存在循环依赖或任意 Bean 实例化失败
+     */
+    void preInstantiateSingletons(int parallelism) throws BeanCreationException;
+
     /**
      * 销毁指定的单例 Bean，触发其 destroy() 回调。
      *
@@ -79,11 +106,26 @@ public interface BeanContainer extends BeanProvider, BeanInspector, BeanRegistry
     /**
      * 销毁容器中所有已缓存的单例 Bean。
      *
-     * <p>按 Bean 注册顺序的逆序，依次调用每个单例 Bean 的
+     * <p>按依赖图逆序（依赖者先于被依赖者，无依赖关系时后注册的先销毁），依次调用每个单例 Bean 的
      * {@link org.moper.cap.bean.definition.BeanDefinition#destroyMethod()} 方法。
+     * 依赖图中存在循环依赖时退化为按注册顺序的逆序销毁。
      * 由 {@code ApplicationContext} 在关闭时调用。
      *
      * @throws BeanDestructionException 如果任意 Bean 销毁失败
      */
     void destroySingletons() throws BeanDestructionException;
+
+    /**
+     * 按依赖图并行销毁容器中所有已缓存的单例 Bean。
+     *
+     * <p>一个 Bean 在所有依赖它的 Bean 销毁完成后才开始销毁，互不依赖的 Bean 在不同线程上同时销毁。
+     * 单个 Bean 的销毁失败或超时不会阻止其余 Bean 销毁，全部结束后按销毁顺序报告第一个失败，
+     * 其余失败作为 suppressed 异常附加。超时的销毁方法被中断后不再等待，依赖它的 Bean 照常继续销毁。
+     *
+     * @param parallelism   并行度，小于等于 1 时按 {@link #destroySingletons()} 的顺序逐个销毁
+     * @param timeout       单个 Bean 销毁的超时时间，为零或负数时不限制
+     * @param slowThreshold 销毁耗时达到该值时记录警告日志
+     * @throws BeanDestructionException 如果任意 Bean 销毁失败或超时
+     */
+    void destroySingletons(int parallelism, Duration timeout, Duration slowThreshold) throws BeanDestructionException;
 }
\ No newline at end of file
@@ -61,13 +61,24 @@ public interface BeanCreationEngine {
     /**
      * 销毁所有已注册的可销毁单例 Bean。
      *
-     * <p>按注册顺序的逆序依次调用 {@link #destroyBean}，
-     * 由 {@link BeanContainer#destroySingletons()} 触发。
+     * <p>按注册顺序的逆序依次调用 {@link #destroyBean}。
+     * {@link BeanContainer#destroySingletons()} 先按依赖图逐个销毁，再由此方法销毁其余的可销毁单例。
      *
      * @throws BeanDestructionException 如果任意 Bean 销毁失败
      */
     void destroyAllSingletons() throws BeanDestructionException;
 
+    /**
+     * 对未登记为可销毁单例的 Bean 实例（如对象池中的实例）触发
+     * {@link org.moper.cap.bean.definition.BeanDefinition#destroyMethod()} 回调。
+     *
+     * @param beanName       Bean 名称，不能为空
+     * @param beanDefinition Bean 定义，不能为 null
+     * @param bean           Bean 实例，不能为 null
+     * @throws BeanDestructionException 如果销毁方法执行失败
+     */
+    void destroyInstance(String beanName, BeanDefinition beanDefinition, Object bean) throws BeanDestructionException;
+
     /**
      * 注册一个 {@link BeanInterceptor}，内部按 {@link BeanInterceptor#getOrder()} 升序排列。
      *
@@ -119,4 +119,13 @@ public interface BeanInspector {
      * @throws NoSuchBeanDefinitionException 如果 Bean 不存在
      */
     <A extends Annotation> A findAnnotationOnBean(String beanName, Class<A> annotationType) throws NoSuchBeanDefinitionException;
+
+    /**
+     * 获取 {@link org.moper.cap.bean.definition.BeanScope#POOLED} 作用域 Bean 的对象池统计快照，不触发实例化。
+     *
+     * @param beanName 规范名或别名，不能为空
+     * @return 统计快照；Bean 不是 POOLED 作用域时返回 null
+     * @throws NoSuchBeanDefinitionException 如果 Bean 不存在
+     */
+    BeanPoolMetrics getBeanPoolMetrics(String beanName) throws NoSuchBeanDefinitionException;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package org.moper.cap.bean.container;
+
+/**
+ * {@link org.moper.cap.bean.definition.BeanScope#POOLED} 作用域 Bean 的对象池统计快照。
+ *
+ * @param beanName  Bean 名称
+ * @param maxSize   对象池管理的最大实例数
+ * @param active    当前借出的池内实例数（不含临时实例）
+ * @param idle      当前空闲的实例数
+ * @param created   累计创建的实例数（含临时实例）
+ * @param destroyed 累计销毁的实例数（含空闲回收、失效与临时实例）
+ * @param evicted   累计因空闲超时回收的实例数
+ * @param borrowed  累计借出次数
+ * @param overflow  累计因对象池已满而创建临时实例的次数
+ */
+public record BeanPoolMetrics(String beanName,
+                              int maxSize,
+                              int active,
+                              int idle,
+                              long created,
+                              long destroyed,
+                              long evicted,
+                              long borrowed,
+                              long overflow) {
+}
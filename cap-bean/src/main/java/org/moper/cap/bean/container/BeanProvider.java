@@ -49,4 +49,20 @@ public interface BeanProvider {
      * @throws NoUniqueBeanDefinitionException 如果存在多个匹配 Bean 且没有唯一的 primary
      */
     <T> T getBean(Class<T> requiredType) throws NoSuchBeanDefinitionException, BeanCreationException, NoUniqueBeanDefinitionException;
+
+    /**
+     * 从 {@link org.moper.cap.bean.definition.BeanScope#POOLED} 作用域 Bean 的对象池中借出一个实例。
+     *
+     * <p>对象池中没有空闲实例时创建新实例；池已满时创建不入池的临时实例。
+     * 实例在句柄关闭时归还，调用方必须保证句柄被关闭。
+     *
+     * @param beanName     Bean 名称（或别名），不能为空
+     * @param requiredType 期望的类型，不能为 null
+     * @param <T>          类型参数
+     * @return 借出的 Bean 句柄，永不为 null
+     * @throws NoSuchBeanDefinitionException  如果 Bean 不存在
+     * @throws BeanCreationException          如果 Bean 不是 POOLED 作用域或创建失败
+     * @throws BeanNotOfRequiredTypeException 如果类型不匹配
+     */
+    <T> PooledBean<T> borrowBean(String beanName, Class<T> requiredType) throws NoSuchBeanDefinitionException, BeanCreationException, BeanNotOfRequiredTypeException;
 }
\ No newline at end of file
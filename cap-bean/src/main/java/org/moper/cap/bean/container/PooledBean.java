@@ -0,0 +1,35 @@
+package org.moper.cap.bean.container;
+
+/**
+ * 从 {@link org.moper.cap.bean.definition.BeanScope#POOLED} 作用域借出的 Bean 句柄。
+ *
+ * <p>句柄只能由借出它的调用方使用，推荐使用 try-with-resources 保证归还：
+ * <pre>{@code
+ * try (PooledBean<MessageDigest> digest = provider.borrowBean("sha256", MessageDigest.class)) {
+ *     return digest.get().digest(bytes);
+ * }
+ * }</pre>
+ *
+ * @param <T> Bean 类型
+ */
+public interface PooledBean<T> extends AutoCloseable {
+
+    /**
+     * 获取借出的 Bean 实例
+     *
+     * @return Bean 实例，永不为 null
+     * @throws IllegalStateException 如果句柄已归还
+     */
+    T get();
+
+    /**
+     * 标记实例已失效（如内部状态已损坏），归还时销毁而不是放回对象池
+     */
+    void invalidate();
+
+    /**
+     * 将实例归还对象池；重复调用时只有第一次生效
+     */
+    @Override
+    void close();
+}
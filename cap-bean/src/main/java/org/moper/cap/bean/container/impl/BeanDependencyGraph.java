@@ -0,0 +1,169 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.inject.LazyDependencies;
+import org.moper.cap.bean.util.BeanNamesResolver;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * BeanDefinition 之间的静态依赖图。
+ *
+ * <p>依赖边来自以下四个来源（均在注册阶段即可确定，无需实例化 Bean）：
+ * <ul>
+ *   <li>{@link BeanDefinition#parameterBeanNames()}：构造函数 / 工厂方法参数</li>
+ *   <li>{@link BeanDefinition#dependsOn()}：显式声明的顺序依赖</li>
+ *   <li>{@link BeanDefinition#factoryBeanName()}：工厂方法所在的工厂 Bean</li>
+ *   <li>{@link BeanDefinition#type()} 继承层级中标注了 {@link Inject} 的字段</li>
+ * </ul>
+ *
+ * <p>延迟注入的参数与字段（Provider / ObjectProvider / @Lazy，见 {@link LazyDependencies}）在注入时不获取目标 Bean，
+ * 不产生依赖边，因此也可以用来打断循环依赖。
+ *
+ * <p>指向非 BeanDefinition（外部单例或不存在的名称）的依赖不进入图中，
+ * 它们要么已经就绪，要么会在真正创建时由容器报告错误。
+ *
+ * <p>节点与依赖边均按注册顺序 / 声明顺序保存，因此拓扑排序与环检测的结果是确定的。
+ */
+final class BeanDependencyGraph {
+
+    /**
+     * key = beanName，value = 该 Bean 直接依赖的 beanName（已解析别名、去重、保持声明顺序）
+     */
+    private final Map<String, List<String>> dependencies;
+
+    private BeanDependencyGraph(Map<String, List<String>> dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * 根据当前注册的 BeanDefinition 构建依赖图。
+     *
+     * @param definitions  BeanDefinition 注册表，按注册顺序迭代
+     * @param aliasResolver 别名解析函数，将别名解析为 beanName
+     * @return 依赖图，永不为 null
+     */
+    static BeanDependencyGraph build(Map<String, BeanDefinition> definitions, UnaryOperator<String> aliasResolver) {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        for (Map.Entry<String, BeanDefinition> entry : definitions.entrySet()) {
+            BeanDefinition def = entry.getValue();
+            Set<String> deps = new LinkedHashSet<>();
+            if (def.factoryBeanName() != null) {
+                deps.add(def.factoryBeanName());
+            }
+            deps.addAll(eagerParameterBeanNames(def, definitions));
+            deps.addAll(Arrays.asList(def.dependsOn()));
+            deps.addAll(resolveInjectFieldBeanNames(def.type()));
+
+            List<String> resolved = new ArrayList<>(deps.size());
+            for (String dep : deps) {
+                String name = aliasResolver.apply(dep);
+                if (definitions.containsKey(name) && !resolved.contains(name)) {
+                    resolved.add(name);
+                }
+            }
+            dependencies.put(entry.getKey(), List.copyOf(resolved));
+        }
+        return new BeanDependencyGraph(dependencies);
+    }
+
+    /**
+     * 获取指定 Bean 的直接依赖。
+     *
+     * @param beanName Bean 名称
+     * @return 直接依赖的 beanName 列表；Bean 不在图中时返回空列表
+     */
+    List<String> dependenciesOf(String beanName) {
+        return dependencies.getOrDefault(beanName, List.of());
+    }
+
+    /**
+     * 计算从指定根节点出发可达的全部节点的拓扑序（依赖在前，被依赖者在后）。
+     *
+     * @param roots 根节点，按迭代顺序依次展开
+     * @return 拓扑序排列的 beanName 列表
+     * @throws BeanCreationException 如果可达子图中存在循环依赖，异常信息包含完整的环路径
+     */
+    List<String> topologicalOrder(Collection<String> roots) throws BeanCreationException {
+        List<String> order = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        // 当前 DFS 路径，用于在发现回边时还原环路径
+        LinkedHashSet<String> path = new LinkedHashSet<>();
+        for (String root : roots) {
+            visit(root, visited, path, order);
+        }
+        return order;
+    }
+
+    private void visit(String name, Set<String> visited, LinkedHashSet<String> path, List<String> order) {
+        if (visited.contains(name)) {
+            return;
+        }
+        if (!path.add(name)) {
+            throw circularDependency(name, path);
+        }
+        for (String dep : dependenciesOf(name)) {
+            if (path.contains(dep)) {
+                throw circularDependency(dep, path);
+            }
+            visit(dep, visited, path, order);
+        }
+        path.remove(name);
+        visited.add(name);
+        order.add(name);
+    }
+
+    private static BeanCreationException circularDependency(String name, LinkedHashSet<String> path) {
+        List<String> cycle = new ArrayList<>();
+        boolean inCycle = false;
+        for (String node : path) {
+            if (node.equals(name)) inCycle = true;
+            if (inCycle) cycle.add(node);
+        }
+        cycle.add(name);
+        return new BeanCreationException(name,
+                "Circular dependency detected: " + String.join(" -> ", cycle));
+    }
+
+    /**
+     * 构造函数 / 工厂方法参数中需要立即获取的 Bean 名称
+     */
+    private static List<String> eagerParameterBeanNames(BeanDefinition def, Map<String, BeanDefinition> definitions) {
+        String[] names = def.parameterBeanNames();
+        Class<?> owner = null;
+        if (def.isFactoryMethod()) {
+            BeanDefinition factory = definitions.get(def.factoryBeanName());
+            owner = factory == null ? null : factory.type();
+        }
+        Parameter[] deferred = BeanInstantiator.deferredParametersOf(BeanInstantiator.injectionCandidate(def, owner));
+        if (deferred == null) {
+            return Arrays.asList(names);
+        }
+        List<String> eager = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (i >= deferred.length || deferred[i] == null) {
+                eager.add(names[i]);
+            }
+        }
+        return eager;
+    }
+
+    private static List<String> resolveInjectFieldBeanNames(Class<?> type) {
+        List<String> names = new ArrayList<>();
+        Class<?> current = type;
+        while (current != null && current != Object.class) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class) && !LazyDependencies.isDeferred(field.getType(), field)) {
+                    names.add(BeanNamesResolver.resolve(field));
+                }
+            }
+            current = current.getSuperclass();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,299 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.inject.LazyDependencies;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+
+/**
+ * 单个 {@link BeanDefinition} 编译后的实例化器。
+ *
+ * <p>持有已解析的构造函数 / 工厂方法句柄（按参数个数展开为 {@code Object[]}），
+ * 以及 initMethod / destroyMethod 的无参句柄。句柄在第一次使用时按与原反射实现相同的规则解析：
+ * <ul>
+ *   <li>构造函数：参数个数一致且实参可赋值的第一个声明构造函数</li>
+ *   <li>工厂方法：从工厂 Bean 的运行时类型向上查找同名、参数个数一致且实参可赋值的第一个方法</li>
+ *   <li>生命周期方法：从 Bean 的运行时类型向上查找同名无参方法</li>
+ * </ul>
+ * 之后的创建只比较实参的运行时类型是否与解析时相同，随后直接调用句柄，不再遍历构造函数、方法或继承层级；
+ * 实参类型变化时按相同规则重新选择（实参即使仍可赋值给已缓存的重载，声明在前的重载也可能更匹配），
+ * 找不到时与原实现一样抛出 {@link BeanCreationException}。
+ *
+ * <p>实参解析之前，按参数个数（及 @Inject）定位将被调用的构造函数 / 工厂方法，
+ * 识别其中的延迟注入参数（见 {@link LazyDependencies}），结果同样只计算一次。
+ * 工厂 Bean 与 Bean 的运行时类型发生变化（如被代理替换）时重新解析。
+ *
+ * <p>已解析的句柄以不可变快照的形式发布，实例化器可被多个线程并发使用。
+ */
+final class BeanInstantiator {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType LIFECYCLE_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final Class<?>[] NO_ARGUMENTS = new Class<?>[0];
+
+    private final BeanDefinition definition;
+
+    private volatile Resolved creation;
+
+    private volatile Resolved initCallback;
+
+    private volatile Resolved destroyCallback;
+
+    private volatile DeferredPlan deferredPlan;
+
+    BeanInstantiator(BeanDefinition definition) {
+        this.definition = definition;
+    }
+
+    /**
+     * 编译该实例化器时使用的 BeanDefinition，用于识别定义是否已被替换
+     */
+    BeanDefinition definition() {
+        return definition;
+    }
+
+    /**
+     * 获取延迟注入的参数，下标与 {@link BeanDefinition#parameterBeanNames()} 对应，非延迟参数为 null
+     *
+     * @param factoryClass 工厂 Bean 的运行时类型，构造函数实例化时忽略
+     * @return 参数数组；没有延迟参数时返回 null
+     */
+    Parameter[] deferredParameters(Class<?> factoryClass) {
+        Class<?> owner = definition.isFactoryMethod() ? factoryClass : definition.type();
+        DeferredPlan plan = deferredPlan;
+        if (plan == null || plan.owner() != owner) {
+            plan = new DeferredPlan(owner, deferredParametersOf(injectionCandidate(definition, owner)));
+            deferredPlan = plan;
+        }
+        return plan.parameters();
+    }
+
+    /**
+     * 按参数个数定位将被调用的构造函数或工厂方法：构造函数优先选择标注了 @Inject 的，
+     * 工厂方法从 owner 向上查找第一个同名方法
+     *
+     * @param definition Bean 定义
+     * @param owner      工厂方法所在类型，构造函数实例化时忽略
+     * @return 构造函数或工厂方法；没有参数或找不到时返回 null
+     */
+    static Executable injectionCandidate(BeanDefinition definition, Class<?> owner) {
+        int arity = definition.parameterBeanNames().length;
+        if (arity == 0) {
+            return null;
+        }
+        if (!definition.isFactoryMethod()) {
+            Constructor<?> candidate = null;
+            for (Constructor<?> c : definition.type().getDeclaredConstructors()) {
+                if (c.getParameterCount() != arity) continue;
+                if (c.isAnnotationPresent(Inject.class)) return c;
+                if (candidate == null) candidate = c;
+            }
+            return candidate;
+        }
+        Class<?> current = owner;
+        while (current != null && current != Object.class) {
+            for (Method m : current.getDeclaredMethods()) {
+                if (m.getName().equals(definition.factoryMethodName()) && m.getParameterCount() == arity) return m;
+            }
+            current = current.getSuperclass();
+        }
+        return null;
+    }
+
+    /**
+     * 识别构造函数或工厂方法中的延迟注入参数
+     *
+     * @return 参数数组，非延迟参数为 null；executable 为 null 或没有延迟参数时返回 null
+     */
+    static Parameter[] deferredParametersOf(Executable executable) {
+        if (executable == null) {
+            return null;
+        }
+        Parameter[] parameters = executable.getParameters();
+        Parameter[] deferred = new Parameter[parameters.length];
+        boolean any = false;
+        for (int i = 0; i < parameters.length; i++) {
+            if (LazyDependencies.isDeferred(parameters[i].getType(), parameters[i])) {
+                deferred[i] = parameters[i];
+                any = true;
+            }
+        }
+        return any ? deferred : null;
+    }
+
+    /**
+     * 通过构造函数创建实例
+     *
+     * @param args 已解析的构造函数实参
+     * @return 新实例
+     * @throws Throwable 构造函数抛出的异常
+     */
+    Object construct(Object[] args) throws Throwable {
+        Resolved resolved = creation;
+        if (resolved == null || !sameArgumentTypes(resolved.argumentTypes(), args)) {
+            Constructor<?> constructor = findMatchingConstructor(definition.type(), args);
+            resolved = new Resolved(definition.type(), argumentTypes(args), constructorHandle(constructor, args.length));
+            creation = resolved;
+        }
+        return (Object) resolved.handle().invokeExact(args);
+    }
+
+    /**
+     * 通过工厂方法创建实例
+     *
+     * @param factoryBean 工厂 Bean 实例
+     * @param args        已解析的工厂方法实参
+     * @return 工厂方法的返回值
+     * @throws Throwable 工厂方法抛出的异常
+     */
+    Object invokeFactory(Object factoryBean, Object[] args) throws Throwable {
+        Resolved resolved = creation;
+        if (resolved == null || resolved.type() != factoryBean.getClass() || !sameArgumentTypes(resolved.argumentTypes(), args)) {
+            Method method = findFactoryMethod(factoryBean.getClass(), definition.factoryMethodName(), args);
+            resolved = new Resolved(factoryBean.getClass(), argumentTypes(args), factoryHandle(method, args.length));
+            creation = resolved;
+        }
+        return (Object) resolved.handle().invokeExact(factoryBean, args);
+    }
+
+    /**
+     * 调用 {@link BeanDefinition#initMethod()}
+     */
+    void invokeInit(Object bean) throws Throwable {
+        Resolved resolved = initCallback;
+        if (resolved == null || resolved.type() != bean.getClass()) {
+            resolved = new Resolved(bean.getClass(), NO_ARGUMENTS, lifecycleHandle(bean.getClass(), definition.initMethod()));
+            initCallback = resolved;
+        }
+        resolved.handle().invokeExact(bean);
+    }
+
+    /**
+     * 调用 {@link BeanDefinition#destroyMethod()}
+     */
+    void invokeDestroy(Object bean) throws Throwable {
+        Resolved resolved = destroyCallback;
+        if (resolved == null || resolved.type() != bean.getClass()) {
+            resolved = new Resolved(bean.getClass(), NO_ARGUMENTS, lifecycleHandle(bean.getClass(), definition.destroyMethod()));
+            destroyCallback = resolved;
+        }
+        resolved.handle().invokeExact(bean);
+    }
+
+    /**
+     * 构造函数句柄，类型为 {@code (Object[])Object}
+     */
+    private static MethodHandle constructorHandle(Constructor<?> constructor, int arity) throws IllegalAccessException {
+        constructor.setAccessible(true);
+        return LOOKUP.unreflectConstructor(constructor)
+                .asType(MethodType.genericMethodType(arity))
+                .asSpreader(Object[].class, arity);
+    }
+
+    /**
+     * 工厂方法句柄，类型为 {@code (Object, Object[])Object}；静态方法忽略第一个参数
+     */
+    private static MethodHandle factoryHandle(Method method, int arity) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(MethodType.genericMethodType(arity + 1))
+                .asSpreader(Object[].class, arity);
+    }
+
+    /**
+     * 生命周期方法句柄，类型为 {@code (Object)void}
+     */
+    private static MethodHandle lifecycleHandle(Class<?> type, String methodName) throws NoSuchMethodException, IllegalAccessException {
+        Method method = findLifecycleMethod(type, methodName);
+        method.setAccessible(true);
+        return LOOKUP.unreflect(method).asType(LIFECYCLE_TYPE);
+    }
+
+    private static Constructor<?> findMatchingConstructor(Class<?> type, Object[] args) throws BeanCreationException {
+        for (Constructor<?> c : type.getDeclaredConstructors()) {
+            if (matches(c.getParameterTypes(), args)) return c;
+        }
+        throw new BeanCreationException(type.getName(), "No matching constructor found for " + args.length + " argument(s)");
+    }
+
+    private static Method findFactoryMethod(Class<?> factoryClass, String methodName, Object[] args) throws BeanCreationException {
+        Class<?> current = factoryClass;
+        while (current != null && current != Object.class) {
+            for (Method m : current.getDeclaredMethods()) {
+                if (m.getName().equals(methodName) && matches(m.getParameterTypes(), args)) return m;
+            }
+            current = current.getSuperclass();
+        }
+        throw new BeanCreationException(factoryClass.getName(), "No matching factory method '" + methodName + "' found for " + args.length + " argument(s)");
+    }
+
+    /**
+     * 实参的运行时类型，null 实参对应 null
+     */
+    private static Class<?>[] argumentTypes(Object[] args) {
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = args[i] == null ? null : args[i].getClass();
+        }
+        return types;
+    }
+
+    private static boolean sameArgumentTypes(Class<?>[] types, Object[] args) {
+        if (types.length != args.length) return false;
+        for (int i = 0; i < args.length; i++) {
+            if (types[i] != (args[i] == null ? null : args[i].getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Class<?>[] params, Object[] args) {
+        if (params.length != args.length) return false;
+        for (int i = 0; i < params.length; i++) {
+            if (args[i] != null && !params[i].isAssignableFrom(args[i].getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 在类的继承层级中查找指定名称的无参方法。
+     */
+    private static Method findLifecycleMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
+        Class<?> current = clazz;
+        while (current != null && current != Object.class) {
+            try {
+                return current.getDeclaredMethod(methodName);
+            } catch (NoSuchMethodException ignored) {
+                current = current.getSuperclass();
+            }
+        }
+        throw new NoSuchMethodException("No no-arg method '" + methodName + "' found in " + clazz.getName());
+    }
+
+    /**
+     * 已解析的句柄、解析时所依据的运行时类型及实参的运行时类型
+     */
+    private record Resolved(Class<?> type, Class<?>[] argumentTypes, MethodHandle handle) {}
+
+    /**
+     * 延迟注入参数及解析时所依据的构造函数 / 工厂方法所在类型
+     */
+    private record DeferredPlan(Class<?> owner, Parameter[] parameters) {}
+}
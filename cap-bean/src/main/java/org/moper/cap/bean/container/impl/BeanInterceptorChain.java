@@ -0,0 +1,76 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.interceptor.BeanInterceptor;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个 {@link BeanDefinition} 的拦截器链。
+ *
+ * <p>按 {@link BeanInterceptorPhase} 划分，每个阶段只包含声明了该阶段且
+ * {@link BeanInterceptor#supports(BeanDefinition) 适用于该定义} 的拦截器，顺序与引擎中的拦截器顺序一致。
+ *
+ * <p>拦截器链是不可变的；BeanDefinition 被替换或注册了新的拦截器后，引擎会重新构建。
+ */
+final class BeanInterceptorChain {
+
+    private static final BeanInterceptorPhase[] PHASES = BeanInterceptorPhase.values();
+
+    private final BeanDefinition definition;
+
+    /**
+     * 构建时引擎的拦截器快照，用于识别是否有新的拦截器注册
+     */
+    private final BeanInterceptor[] source;
+
+    /**
+     * 按阶段序号索引的拦截器数组
+     */
+    private final BeanInterceptor[][] phases;
+
+    private BeanInterceptorChain(BeanDefinition definition, BeanInterceptor[] source, BeanInterceptor[][] phases) {
+        this.definition = definition;
+        this.source = source;
+        this.phases = phases;
+    }
+
+    /**
+     * 从有序的拦截器快照中筛选出适用于指定定义的拦截器链
+     *
+     * @param definition   Bean 定义
+     * @param interceptors 按执行顺序排列的拦截器快照
+     * @return 拦截器链
+     */
+    static BeanInterceptorChain build(BeanDefinition definition, BeanInterceptor[] interceptors) {
+        List<BeanInterceptor> applicable = new ArrayList<>(interceptors.length);
+        for (BeanInterceptor interceptor : interceptors) {
+            if (interceptor.supports(definition)) {
+                applicable.add(interceptor);
+            }
+        }
+        BeanInterceptor[][] phases = new BeanInterceptor[PHASES.length][];
+        for (BeanInterceptorPhase phase : PHASES) {
+            phases[phase.ordinal()] = applicable.stream()
+                    .filter(interceptor -> interceptor.getPhases().contains(phase))
+                    .toArray(BeanInterceptor[]::new);
+        }
+        return new BeanInterceptorChain(definition, interceptors, phases);
+    }
+
+    /**
+     * 判断拦截器链是否仍然适用于指定定义与拦截器快照
+     */
+    boolean isCurrent(BeanDefinition definition, BeanInterceptor[] interceptors) {
+        return this.definition == definition && this.source == interceptors;
+    }
+
+    /**
+     * 获取指定阶段的拦截器，按执行顺序排列
+     */
+    BeanInterceptor[] get(BeanInterceptorPhase phase) {
+        return phases[phase.ordinal()];
+    }
+}
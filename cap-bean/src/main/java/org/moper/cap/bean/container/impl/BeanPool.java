@@ -0,0 +1,232 @@
+package org.moper.cap.bean.container.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.bean.annotation.Pooled;
+import org.moper.cap.bean.container.BeanCreationEngine;
+import org.moper.cap.bean.container.BeanPoolMetrics;
+import org.moper.cap.bean.container.PooledBean;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.exception.BeanNotOfRequiredTypeException;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个 {@link org.moper.cap.bean.definition.BeanScope#POOLED} BeanDefinition 的对象池。
+ *
+ * <p>空闲实例保存在无锁的 {@link ConcurrentLinkedDeque} 中：借出与归还都在队头进行（后进先出，
+ * 最近使用过的实例优先复用），因此队尾总是空闲最久的实例，空闲回收只需从队尾检查。
+ * 池内实例数由 {@code pooled} 以 CAS 预留，不超过 {@link Pooled#maxSize()}；
+ * 达到上限时借出不入池的临时实例，而不是阻塞等待。
+ *
+ * <p>空闲回收在每次归还时顺带执行，并由容器的后台线程定期调用 {@link #evictIdle()}。
+ * 关闭后空闲实例立即销毁，仍被借出的实例在归还时销毁。
+ */
+@Slf4j
+final class BeanPool {
+
+    private record IdleEntry(Object instance, long returnedAt) {}
+
+    private final String beanName;
+    private final BeanDefinition definition;
+    private final BeanCreationEngine creationEngine;
+    private final int maxSize;
+    private final long maxIdleNanos;
+
+    private final ConcurrentLinkedDeque<IdleEntry> idle = new ConcurrentLinkedDeque<>();
+
+    /**
+     * 池内实例数（借出 + 空闲），不含临时实例
+     */
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+
+    private volatile boolean closed;
+
+    BeanPool(String beanName, BeanDefinition definition, BeanCreationEngine creationEngine) {
+        this.beanName = beanName;
+        this.definition = definition;
+        this.creationEngine = creationEngine;
+        Pooled config = definition.type().getAnnotation(Pooled.class);
+        this.maxSize = maxSize(config);
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(config == null ? 60_000 : config.maxIdleMillis());
+    }
+
+    BeanDefinition definition() {
+        return definition;
+    }
+
+    /**
+     * 借出一个实例：优先复用空闲实例，其次在容量内创建新实例，池已满时创建临时实例
+     */
+    <T> PooledBean<T> borrow(Class<T> requiredType) throws BeanCreationException {
+        borrowed.increment();
+        IdleEntry entry = idle.pollFirst();
+        if (entry != null) {
+            idleCount.decrementAndGet();
+            return handle(entry.instance(), true, requiredType);
+        }
+        boolean reserved = !closed && reserve();
+        if (!reserved) {
+            overflow.increment();
+        }
+        Object instance;
+        try {
+            instance = creationEngine.createBean(beanName, definition);
+        } catch (RuntimeException | Error e) {
+            if (reserved) {
+                pooled.decrementAndGet();
+            }
+            throw e;
+        }
+        created.increment();
+        return handle(instance, reserved, requiredType);
+    }
+
+    /**
+     * 回收空闲超过 {@link Pooled#maxIdleMillis()} 的实例
+     *
+     * @return 本次回收的实例数
+     */
+    int evictIdle() {
+        long now = System.nanoTime();
+        int count = 0;
+        IdleEntry oldest;
+        while ((oldest = idle.peekLast()) != null && now - oldest.returnedAt() >= maxIdleNanos) {
+            // 与并发借出竞争同一个实例时，只有移除成功的一方负责销毁
+            if (idle.removeLastOccurrence(oldest)) {
+                idleCount.decrementAndGet();
+                pooled.decrementAndGet();
+                evicted.increment();
+                destroy(oldest.instance());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 关闭对象池并销毁全部空闲实例
+     */
+    void close() {
+        closed = true;
+        drain();
+    }
+
+    /**
+     * 尚未创建对象池时的统计快照，不分配对象池
+     */
+    static BeanPoolMetrics emptyMetrics(String beanName, BeanDefinition definition) {
+        return new BeanPoolMetrics(beanName, maxSize(definition.type().getAnnotation(Pooled.class)), 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private static int maxSize(Pooled config) {
+        return Math.max(1, config == null ? 8 : config.maxSize());
+    }
+
+    BeanPoolMetrics metrics() {
+        int idleNow = idleCount.get();
+        return new BeanPoolMetrics(beanName, maxSize, Math.max(0, pooled.get() - idleNow), idleNow,
+                created.sum(), destroyed.sum(), evicted.sum(), borrowed.sum(), overflow.sum());
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = pooled.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!pooled.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void release(Object instance, boolean pooledInstance, boolean invalid) {
+        if (!pooledInstance) {
+            destroy(instance);
+            return;
+        }
+        if (invalid || closed) {
+            pooled.decrementAndGet();
+            destroy(instance);
+            return;
+        }
+        idle.offerFirst(new IdleEntry(instance, System.nanoTime()));
+        idleCount.incrementAndGet();
+        if (closed) {
+            // 与 close() 并发时，确保归还的实例不会滞留在已关闭的池中
+            drain();
+            return;
+        }
+        evictIdle();
+    }
+
+    private void drain() {
+        IdleEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            pooled.decrementAndGet();
+            destroy(entry.instance());
+        }
+    }
+
+    private void destroy(Object instance) {
+        destroyed.increment();
+        try {
+            creationEngine.destroyInstance(beanName, definition, instance);
+        } catch (RuntimeException e) {
+            log.warn("Failed to destroy pooled instance of bean '{}'", beanName, e);
+        }
+    }
+
+    private <T> PooledBean<T> handle(Object instance, boolean pooledInstance, Class<T> requiredType) {
+        if (!requiredType.isInstance(instance)) {
+            release(instance, pooledInstance, false);
+            throw new BeanNotOfRequiredTypeException(beanName, requiredType, instance.getClass());
+        }
+        return new Handle<>(requiredType.cast(instance), pooledInstance);
+    }
+
+    private final class Handle<T> implements PooledBean<T> {
+
+        private final T instance;
+        private final boolean pooledInstance;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean invalid;
+
+        private Handle(T instance, boolean pooledInstance) {
+            this.instance = instance;
+            this.pooledInstance = pooledInstance;
+        }
+
+        @Override
+        public T get() {
+            if (released.get()) {
+                throw new IllegalStateException("Pooled bean '" + beanName + "' has already been returned");
+            }
+            return instance;
+        }
+
+        @Override
+        public void invalidate() {
+            invalid = true;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(instance, pooledInstance, invalid);
+            }
+        }
+    }
+}
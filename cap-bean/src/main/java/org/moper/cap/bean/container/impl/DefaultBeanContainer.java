@@ -1,88 +1,218 @@
 package org.moper.cap.bean.container.impl;
 
+import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.bean.container.BeanContainer;
 import org.moper.cap.bean.container.BeanCreationEngine;
+import org.moper.cap.bean.container.BeanPoolMetrics;
+import org.moper.cap.bean.container.PooledBean;
 import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
 import org.moper.cap.bean.exception.*;
 import org.moper.cap.bean.interceptor.BeanInterceptor;
 
 import java.lang.annotation.Annotation;
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
  * {@link BeanContainer} 的默认实现。
  *
  * <p>{@code DefaultBeanContainer} 只负责存储和执行，不负责生命周期编排：
  * <ul>
- *   <li>配置冻结逻辑由 {@code BootstrapContext} 实现，容器本身不感知冻结状态</li>
+ *   <li>冻结的时机由 {@code BootstrapContext} 决定，容器只负责冻结后的结构保护与只读查找表</li>
  *   <li>预实例化和销毁的触发时机由上层组件决定，容器只提供执行能力</li>
  * </ul>
  *
  * <p><b>内部数据结构：</b>
  * <ul>
- *   <li>{@code beanDefinitionMap}：BeanDefinition 注册表，key = beanName，保持注册顺序</li>
+ *   <li>{@code beanDefinitionMap}：BeanDefinition 注册表，key = beanName，保持注册顺序；
+ *       复合操作与遍历在该表上同步，因此可由多个 BootstrapRunner 并发注册</li>
  *   <li>{@code singletonObjects}：单例缓存，key = beanName，线程安全</li>
  *   <li>{@code aliasMap}：别名映射，key = alias，value = beanName</li>
  *   <li>{@code currentlyInCreation}：正在创建中的 Bean 名称集合，用于循环依赖检测</li>
+ *   <li>{@code singletonLocks}：单例创建锁，key = beanName，每个单例独立加锁</li>
+ *   <li>{@code typeIndex}：类型索引，key = Bean 类型及其全部父类 / 接口，value = 可赋值给该类型的 Bean 名称（保持注册顺序）</li>
+ *   <li>{@code resolvedTypeCache}：冻结前 {@link #getBean(Class)} 的候选解析缓存，key = 请求类型，value = 唯一候选 Bean 名称；
+ *       冻结后改由 {@link FrozenBeanTable} 缓存</li>
+ *   <li>{@code beanPools}：POOLED 作用域的对象池，key = beanName，首次借出时创建，BeanDefinition 被替换或移除时关闭</li>
+ *   <li>{@code frozen}：冻结后的只读查找表，冻结前为 null</li>
  * </ul>
+ *
+ * <p><b>冻结：</b>
+ * {@link #freeze()} 之后 BeanDefinition、别名与外部单例不能再注册或移除，
+ * 名称 / 别名解析、BeanDefinition 查找、单例命中、类型与注解查询以及别名列表都改由 {@link FrozenBeanTable} 完成，
+ * 请求线程上的 getBean 不再经过同步的注册表。冻结后创建的懒加载单例在创建完成时写入查找表。
+ *
+ * <p><b>类型索引：</b>
+ * {@code typeIndex} 在注册 / 移除 BeanDefinition 与外部单例时同步维护，
+ * 因此 {@link #getBeanNamesForType(Class)} 与 {@link #getBean(Class)} 无需遍历整个容器；
+ * 任何结构性变更都会在注册表锁内递增 {@code registryVersion} 并清空 {@code resolvedTypeCache}；
+ * 解析结果只有在注册表锁内确认版本未变时才写入缓存，保证按类型解析的结果与注册表一致。
+ *
+ * <p><b>单例创建锁：</b>
+ * 每个单例 Bean 使用独立的 {@link ReentrantLock}，不同 Bean 的创建互不阻塞，
+ * 只有并发获取同一个尚未创建完成的单例时才会等待。
+ * 跨线程的循环依赖（线程 A 创建 X 时等待 Y，而线程 B 创建 Y 时等待 X）
+ * 通过 {@code creatingThreads} / {@code waitingFor} 组成的等待图在阻塞前检测，
+ * 以 {@link BeanCreationException} 报告而不是死锁。
+ *
+ * <p><b>销毁顺序：</b>
+ * 单例按 {@link BeanDependencyGraph} 的逆序销毁，依赖者总是先于被依赖者；
+ * 并行销毁时每个 Bean 等待所有依赖它的 Bean 销毁完成后开始，指定超时时销毁方法在独立的虚拟线程上执行，
+ * 超时后中断并继续关闭流程。
  */
+@Slf4j
 public class DefaultBeanContainer implements BeanContainer {
 
-    private final Map<String, BeanDefinition> beanDefinitionMap   = new LinkedHashMap<>();
+    /**
+     * {@link #destroySingletons()} 记录慢销毁日志的耗时阈值
+     */
+    private static final Duration DEFAULT_SLOW_DESTROY_THRESHOLD = Duration.ofSeconds(1);
+
+    /**
+     * 对象池空闲回收的检查间隔（毫秒）
+     */
+    private static final long POOL_EVICTION_INTERVAL_MILLIS = 1_000;
+
+    private final Map<String, BeanDefinition> beanDefinitionMap   = Collections.synchronizedMap(new LinkedHashMap<>());
     private final Map<String, Object>         singletonObjects    = new ConcurrentHashMap<>();
     private final Map<String, String>         aliasMap            = new ConcurrentHashMap<>();
-    private final Set<String>                 currentlyInCreation = Collections.synchronizedSet(new HashSet<>());
+    private final Set<String>                 currentlyInCreation = ConcurrentHashMap.newKeySet();
+
+    private final Map<Class<?>, Set<String>>  typeIndex           = new ConcurrentHashMap<>();
+    private final Map<String, Class<?>>       indexedTypes        = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String>       resolvedTypeCache   = new ConcurrentHashMap<>();
+
+    /**
+     * 类型索引的版本，在 {@code beanDefinitionMap} 上同步递增
+     */
+    private volatile long registryVersion;
+
+    private final Map<String, ReentrantLock>  singletonLocks      = new ConcurrentHashMap<>();
+    private final Map<String, Thread>         creatingThreads     = new ConcurrentHashMap<>();
+    private final Map<String, BeanPool>       beanPools           = new ConcurrentHashMap<>();
+    private final Map<Thread, String>         waitingFor          = new ConcurrentHashMap<>();
 
     private final BeanCreationEngine creationEngine = new DefaultBeanCreationEngine(this);
 
+    /**
+     * 对象池空闲回收线程，首次创建对象池时启动，销毁单例时停止
+     */
+    private volatile ScheduledExecutorService poolEvictor;
+
+    private volatile FrozenBeanTable frozen;
+
     @Override
     public void registerBeanDefinition(BeanDefinition beanDefinition) throws BeanDefinitionStoreException {
         String name = beanDefinition.name();
-        if (beanDefinitionMap.containsKey(name)) {
-            throw new BeanDefinitionStoreException("Bean definition with name '" + name + "' already exists.");
+        synchronized (beanDefinitionMap) {
+            checkNotFrozen("register bean definition '" + name + "'");
+            if (beanDefinitionMap.containsKey(name)) {
+                throw new BeanDefinitionStoreException("Bean definition with name '" + name + "' already exists.");
+            }
+            beanDefinitionMap.put(name, beanDefinition);
+            indexBeanType(name, beanDefinition.type());
         }
-        beanDefinitionMap.put(name, beanDefinition);
     }
 
     @Override
     public void removeBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
-        if (!beanDefinitionMap.containsKey(beanName)) {
-            throw new NoSuchBeanDefinitionException(beanName);
+        synchronized (beanDefinitionMap) {
+            checkNotFrozen("remove bean definition '" + beanName + "'");
+            if (beanDefinitionMap.remove(beanName) == null) {
+                throw new NoSuchBeanDefinitionException(beanName);
+            }
+            singletonObjects.remove(beanName);
+            unindexBeanType(beanName);
+        }
+        BeanPool pool = beanPools.remove(beanName);
+        if (pool != null) {
+            pool.close();
         }
-        beanDefinitionMap.remove(beanName);
-        singletonObjects.remove(beanName);
     }
 
     @Override
     public void registerAlias(String beanName, String alias) throws NoSuchBeanDefinitionException, BeanDefinitionStoreException {
-        if (!beanDefinitionMap.containsKey(beanName) && !singletonObjects.containsKey(beanName)) {
-            throw new NoSuchBeanDefinitionException(beanName);
-        }
-        if (aliasMap.containsKey(alias) || beanDefinitionMap.containsKey(alias)) {
-            throw new BeanDefinitionStoreException("Alias '" + alias + "' is already in use");
+        synchronized (beanDefinitionMap) {
+            checkNotFrozen("register alias '" + alias + "'");
+            if (!beanDefinitionMap.containsKey(beanName) && !singletonObjects.containsKey(beanName)) {
+                throw new NoSuchBeanDefinitionException(beanName);
+            }
+            if (aliasMap.containsKey(alias) || beanDefinitionMap.containsKey(alias)) {
+                throw new BeanDefinitionStoreException("Alias '" + alias + "' is already in use");
+            }
+            aliasMap.put(alias, beanName);
         }
-        aliasMap.put(alias, beanName);
     }
 
     @Override
     public void removeAlias(String alias) throws BeanDefinitionStoreException {
-        if (!aliasMap.containsKey(alias)) {
-            throw new BeanDefinitionStoreException("Alias '" + alias + "' is not registered");
+        synchronized (beanDefinitionMap) {
+            checkNotFrozen("remove alias '" + alias + "'");
+            if (aliasMap.remove(alias) == null) {
+                throw new BeanDefinitionStoreException("Alias '" + alias + "' is not registered");
+            }
         }
-        aliasMap.remove(alias);
     }
 
     @Override
     public void registerSingleton(String beanName, Object singletonObject) throws BeanDefinitionStoreException {
-        if (singletonObjects.containsKey(beanName) || beanDefinitionMap.containsKey(beanName)) {
-            throw new BeanDefinitionStoreException("Name '" + beanName + "' is already in use");
+        synchronized (beanDefinitionMap) {
+            checkNotFrozen("register singleton '" + beanName + "'");
+            if (singletonObjects.containsKey(beanName) || beanDefinitionMap.containsKey(beanName)) {
+                throw new BeanDefinitionStoreException("Name '" + beanName + "' is already in use");
+            }
+            singletonObjects.put(beanName, singletonObject);
+            indexBeanType(beanName, singletonObject.getClass());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>在注册表上同步地构建 {@link FrozenBeanTable}，之后再补齐构建期间并发创建完成的单例：
+     * 创建线程先写入单例缓存再读取 {@code frozen}，冻结线程先发布 {@code frozen} 再读取单例缓存，
+     * 两者至少有一方能看到对方的写入，因此不会遗漏单例。
+     */
+    @Override
+    public void freeze() {
+        FrozenBeanTable table;
+        synchronized (beanDefinitionMap) {
+            if (frozen != null) {
+                return;
+            }
+            table = buildFrozenTable();
+            frozen = table;
+        }
+        table.publishMissing(singletonObjects);
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    private FrozenBeanTable buildFrozenTable() {
+        return FrozenBeanTable.build(beanDefinitionMap, singletonObjects, aliasMap, typeIndex);
+    }
+
+    private void checkNotFrozen(String operation) throws BeanDefinitionStoreException {
+        if (frozen != null) {
+            throw new BeanDefinitionStoreException("Cannot " + operation + ": bean container is frozen");
         }
-        singletonObjects.put(beanName, singletonObject);
     }
 
     @Override
     public boolean isBeanNameInUse(String beanName) {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            // 查找表不收录目标已被销毁的别名
+            return table.indexOf(beanName) >= 0 || aliasMap.containsKey(beanName);
+        }
         return beanDefinitionMap.containsKey(beanName) || singletonObjects.containsKey(beanName) || aliasMap.containsKey(beanName);
     }
 
@@ -102,36 +232,92 @@ public class DefaultBeanContainer implements BeanContainer {
 
     @Override
     public <T> T getBean(Class<T> requiredType) throws NoSuchBeanDefinitionException, BeanCreationException, NoUniqueBeanDefinitionException {
-        String[] names = getBeanNamesForType(requiredType);
+        return getBean(resolveBeanNameForType(requiredType), requiredType);
+    }
+
+    /**
+     * 按类型解析唯一候选 Bean 名称并缓存结果。
+     *
+     * <p>冻结后由查找表缓存，查找表的结构不再变化；冻结前在注册表锁内确认 {@code registryVersion} 未变才写入
+     * {@code resolvedTypeCache}，解析期间并发的注册 / 移除不会留下过期或有歧义的名称。
+     */
+    private String resolveBeanNameForType(Class<?> requiredType) throws NoSuchBeanDefinitionException, NoUniqueBeanDefinitionException {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            String name = table.resolvedBeanName(requiredType);
+            if (name == null) {
+                name = resolveUniqueBeanName(requiredType, table.beanNamesForType(requiredType),
+                        candidate -> table.definition(table.indexOf(candidate)));
+                table.cacheResolvedBeanName(requiredType, name);
+            }
+            return name;
+        }
+
+        String name = resolvedTypeCache.get(requiredType);
+        if (name != null) {
+            return name;
+        }
+        long version = registryVersion;
+        name = resolveUniqueBeanName(requiredType, getBeanNamesForType(requiredType), this::findBeanDefinition);
+        synchronized (beanDefinitionMap) {
+            if (frozen == null && registryVersion == version) {
+                resolvedTypeCache.put(requiredType, name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 按类型解析唯一候选 Bean 名称：单一匹配直接返回，多个匹配时取唯一的 primary。
+     */
+    private static String resolveUniqueBeanName(Class<?> requiredType, String[] names, Function<String, BeanDefinition> definitions)
+            throws NoSuchBeanDefinitionException, NoUniqueBeanDefinitionException {
         if (names.length == 0) {
             throw new NoSuchBeanDefinitionException(requiredType);
         }
         if (names.length == 1) {
-            return getBean(names[0], requiredType);
+            return names[0];
         }
         List<String> primaryCandidates = Arrays.stream(names)
                 .filter(name -> {
-                    BeanDefinition def = beanDefinitionMap.get(resolveAlias(name));
+                    BeanDefinition def = definitions.apply(name);
                     return def != null && def.primary();
                 })
                 .toList();
         if (primaryCandidates.size() == 1) {
-            return getBean(primaryCandidates.get(0), requiredType);
+            return primaryCandidates.get(0);
         }
         throw new NoUniqueBeanDefinitionException(requiredType, names);
     }
 
     private Object doGetBean(String beanName, Class<?> requiredType) throws NoSuchBeanDefinitionException, BeanCreationException {
-        String resolvedName = resolveAlias(beanName);
+        FrozenBeanTable table = frozen;
+        String resolvedName;
+        BeanDefinition def;
+        if (table != null) {
+            // 冻结后：一次散列探测同时完成别名解析、单例命中与 BeanDefinition 查找
+            int index = table.indexOf(beanName);
+            if (index < 0) {
+                throw new NoSuchBeanDefinitionException(beanName);
+            }
+            Object singleton = table.singleton(index);
+            if (singleton != null) {
+                return singleton;
+            }
+            resolvedName = table.name(index);
+            def = table.definition(index);
+        } else {
+            resolvedName = resolveAlias(beanName);
 
-        // 1. 单例缓存命中
-        Object singleton = singletonObjects.get(resolvedName);
-        if (singleton != null) {
-            return singleton;
-        }
+            // 1. 单例缓存命中
+            Object singleton = singletonObjects.get(resolvedName);
+            if (singleton != null) {
+                return singleton;
+            }
 
-        // 2. 查找 BeanDefinition
-        BeanDefinition def = beanDefinitionMap.get(resolvedName);
+            // 2. 查找 BeanDefinition
+            def = beanDefinitionMap.get(resolvedName);
+        }
         if (def == null) {
             throw new NoSuchBeanDefinitionException(beanName);
         }
@@ -145,18 +331,84 @@ public class DefaultBeanContainer implements BeanContainer {
         return switch (def.scope()) {
             case SINGLETON -> getOrCreateSingleton(resolvedName, def);
             case PROTOTYPE -> creationEngine.createBean(resolvedName, def);
+            case POOLED -> throw new BeanCreationException(resolvedName,
+                    "Bean with scope POOLED must be borrowed through borrowBean(...) and returned by closing the handle");
             default -> throw new BeanCreationException(resolvedName,
                     "Scope '" + def.scope() + "' is not supported by cap-bean kernel. " +
                             "Web scopes (REQUEST/SESSION) are handled by cap-web.");
         };
     }
 
+    @Override
+    public <T> PooledBean<T> borrowBean(String beanName, Class<T> requiredType)
+            throws NoSuchBeanDefinitionException, BeanCreationException, BeanNotOfRequiredTypeException {
+        BeanDefinition def = findBeanDefinition(beanName);
+        if (def == null) {
+            throw new NoSuchBeanDefinitionException(beanName);
+        }
+        String resolvedName = def.name();
+        if (def.scope() != BeanScope.POOLED) {
+            throw new BeanCreationException(resolvedName,
+                    "Scope '" + def.scope() + "' does not support borrowing; only POOLED beans can be borrowed");
+        }
+        for (String dep : def.dependsOn()) {
+            getBean(dep);
+        }
+        return poolFor(resolvedName, def).borrow(requiredType);
+    }
+
+    /**
+     * 获取与当前 BeanDefinition 对应的对象池；BeanDefinition 被替换后关闭旧池并重建
+     */
+    private BeanPool poolFor(String beanName, BeanDefinition def) {
+        BeanPool pool = beanPools.get(beanName);
+        if (pool != null && pool.definition() == def) {
+            return pool;
+        }
+        BeanPool[] stale = new BeanPool[1];
+        pool = beanPools.compute(beanName, (name, existing) -> {
+            if (existing != null && existing.definition() == def) {
+                return existing;
+            }
+            stale[0] = existing;
+            return new BeanPool(name, def, creationEngine);
+        });
+        if (stale[0] != null) {
+            stale[0].close();
+        }
+        startPoolEviction();
+        return pool;
+    }
+
+    /**
+     * 首次创建对象池时启动后台空闲回收线程
+     */
+    private void startPoolEviction() {
+        if (poolEvictor != null) {
+            return;
+        }
+        synchronized (beanPools) {
+            if (poolEvictor == null) {
+                ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "cap-pool-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                evictor.scheduleWithFixedDelay(() -> beanPools.values().forEach(BeanPool::evictIdle),
+                        POOL_EVICTION_INTERVAL_MILLIS, POOL_EVICTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                poolEvictor = evictor;
+            }
+        }
+    }
+
     private Object getOrCreateSingleton(String beanName, BeanDefinition def) throws BeanCreationException {
         Object bean = singletonObjects.get(beanName);
         if (bean != null) {
             return bean;
         }
-        synchronized (singletonObjects) {
+        ReentrantLock lock = singletonLocks.computeIfAbsent(beanName, k -> new ReentrantLock());
+        acquireSingletonLock(beanName, lock);
+        try {
             bean = singletonObjects.get(beanName);
             if (bean != null) {
                 return bean;
@@ -166,32 +418,73 @@ public class DefaultBeanContainer implements BeanContainer {
                         "Circular dependency detected: bean '" + beanName +
                                 "' is currently being created");
             }
+            creatingThreads.put(beanName, Thread.currentThread());
             try {
                 bean = creationEngine.createBean(beanName, def);
                 singletonObjects.put(beanName, bean);
+                FrozenBeanTable table = frozen;
+                if (table != null) {
+                    table.publishSingleton(beanName, bean);
+                }
             } finally {
+                creatingThreads.remove(beanName);
                 currentlyInCreation.remove(beanName);
             }
+        } finally {
+            lock.unlock();
         }
         return bean;
     }
 
+    /**
+     * 获取单例创建锁。
+     *
+     * <p>若锁被其他线程持有，阻塞前沿等待图检查：持有者线程（及其所等待 Bean 的持有者……）
+     * 是否最终在等待当前线程正在创建的 Bean。若是则说明存在跨线程循环依赖，直接抛出异常。
+     */
+    private void acquireSingletonLock(String beanName, ReentrantLock lock) throws BeanCreationException {
+        if (lock.tryLock()) {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        waitingFor.put(current, beanName);
+        try {
+            Thread owner = creatingThreads.get(beanName);
+            Set<Thread> seen = new HashSet<>();
+            while (owner != null && seen.add(owner)) {
+                if (owner == current) {
+                    throw new BeanCreationException(beanName,
+                            "Circular dependency detected: bean '" + beanName +
+                                    "' is waiting on a bean currently being created by the same thread");
+                }
+                String awaited = waitingFor.get(owner);
+                owner = awaited == null ? null : creatingThreads.get(awaited);
+            }
+            lock.lock();
+        } finally {
+            waitingFor.remove(current);
+        }
+    }
+
     @Override
     public boolean containsBean(String beanName) {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            int index = table.indexOf(beanName);
+            return index >= 0 && (table.definition(index) != null || table.singleton(index) != null);
+        }
         String resolved = resolveAlias(beanName);
         return beanDefinitionMap.containsKey(resolved) || singletonObjects.containsKey(resolved);
     }
 
     @Override
     public boolean containsBeanDefinition(String beanName) {
-        String resolved = resolveAlias(beanName);
-        return beanDefinitionMap.containsKey(resolved);
+        return findBeanDefinition(beanName) != null;
     }
 
     @Override
     public BeanDefinition getBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
-        String resolved = resolveAlias(beanName);
-        BeanDefinition def = beanDefinitionMap.get(resolved);
+        BeanDefinition def = findBeanDefinition(beanName);
         if (def == null) {
             throw new NoSuchBeanDefinitionException(beanName); // 错误信息保留原始入参，便于排查
         }
@@ -200,41 +493,44 @@ public class DefaultBeanContainer implements BeanContainer {
 
     @Override
     public String[] getBeanDefinitionNames() {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            return table.beanDefinitionNames();
+        }
         return beanDefinitionMap.keySet().toArray(String[]::new);
     }
 
     @Override
     public int getBeanDefinitionCount() {
-        return beanDefinitionMap.size();
+        FrozenBeanTable table = frozen;
+        return table != null ? table.beanDefinitionCount() : beanDefinitionMap.size();
     }
 
     @Override
     public String[] getBeanNamesForType(Class<?> type) {
-        List<String> result = new ArrayList<>();
-
-        // 1. 遍历 beanDefinitionMap
-        beanDefinitionMap.entrySet().stream()
-                .filter(e -> type.isAssignableFrom(e.getValue().type()))
-                .map(Map.Entry::getKey)
-                .forEach(result::add);
-
-        // 2. 遍历 singletonObjects（registerSingleton 注册的外部单例）
-        //    排除已在 beanDefinitionMap 中存在的名称，避免重复
-        singletonObjects.entrySet().stream()
-                .filter(e -> !beanDefinitionMap.containsKey(e.getKey()))
-                .filter(e -> type.isAssignableFrom(e.getValue().getClass()))
-                .map(Map.Entry::getKey)
-                .forEach(result::add);
-
-        return result.toArray(String[]::new);
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            return table.beanNamesForType(type);
+        }
+        Set<String> names = typeIndex.get(type);
+        if (names == null) {
+            return new String[0];
+        }
+        synchronized (names) {
+            return names.toArray(String[]::new);
+        }
     }
 
     @Override
     public String[] getBeanNamesForAnnotation(Class<? extends Annotation> annotationType) {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            return table.beanNamesForAnnotation(annotationType);
+        }
         List<String> result = new ArrayList<>();
 
         // 1. 遍历 beanDefinitionMap
-        beanDefinitionMap.entrySet().stream()
+        snapshotBeanDefinitions().entrySet().stream()
                 .filter(e -> e.getValue().type().isAnnotationPresent(annotationType))
                 .map(Map.Entry::getKey)
                 .forEach(result::add);
@@ -292,7 +588,7 @@ public class DefaultBeanContainer implements BeanContainer {
         if (singleton != null) {
             return singleton.getClass();
         }
-        BeanDefinition def = beanDefinitionMap.get(resolved);
+        BeanDefinition def = findBeanDefinition(beanName);
         if(def == null) {
             throw new NoSuchBeanDefinitionException(beanName);
         }else return def.type();
@@ -300,6 +596,14 @@ public class DefaultBeanContainer implements BeanContainer {
 
     @Override
     public String[] getAliases(String beanName) throws NoSuchBeanDefinitionException {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            int index = table.indexOf(beanName);
+            if (index < 0 || table.definition(index) == null && table.singleton(index) == null) {
+                throw new NoSuchBeanDefinitionException(beanName);
+            }
+            return table.aliases(index);
+        }
         String resolved = resolveAlias(beanName);
 
         if(!beanDefinitionMap.containsKey(resolved) && !singletonObjects.containsKey(resolved)) {
@@ -322,6 +626,18 @@ public class DefaultBeanContainer implements BeanContainer {
         return type.getAnnotation(annotationType);
     }
 
+    @Override
+    public BeanPoolMetrics getBeanPoolMetrics(String beanName) throws NoSuchBeanDefinitionException {
+        String resolved = resolveAlias(beanName);
+        BeanDefinition def = getBeanDefinition(resolved);
+        if (def.scope() != BeanScope.POOLED) {
+            return null;
+        }
+        // 尚未借出过（或 BeanDefinition 已被替换、旧池即将关闭）时不为查询创建对象池
+        BeanPool pool = beanPools.get(resolved);
+        return pool != null && pool.definition() == def ? pool.metrics() : BeanPool.emptyMetrics(resolved, def);
+    }
+
     @Override
     public void addBeanInterceptor(BeanInterceptor interceptor) {
         creationEngine.addBeanInterceptor(interceptor);
@@ -358,20 +674,379 @@ public class DefaultBeanContainer implements BeanContainer {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>执行步骤：
+     * <ol>
+     *   <li>由 {@link BeanDependencyGraph} 构建依赖图，并从所有非懒加载单例出发做拓扑排序（同时检测循环依赖）</li>
+     *   <li>按拓扑序为每个节点创建一个 {@link CompletableFuture}，在其全部依赖完成后提交到 {@link ForkJoinPool} 创建</li>
+     *   <li>原型 Bean 只作为依赖链的中转节点，不会被提前创建</li>
+     *   <li>某个 Bean 创建失败时，依赖它的 Bean 不再创建；全部结束后按注册顺序抛出第一个失败，其余失败作为 suppressed 附加</li>
+     * </ol>
+     */
+    @Override
+    public void preInstantiateSingletons(int parallelism) throws BeanCreationException {
+        if (parallelism <= 1) {
+            preInstantiateSingletons();
+            return;
+        }
+
+        Map<String, BeanDefinition> definitions = snapshotBeanDefinitions();
+        List<String> roots = new ArrayList<>();
+        for (Map.Entry<String, BeanDefinition> entry : definitions.entrySet()) {
+            if (entry.getValue().isSingleton() && !entry.getValue().lazy()) {
+                roots.add(entry.getKey());
+            }
+        }
+        BeanDependencyGraph graph = BeanDependencyGraph.build(definitions, this::resolveAlias);
+        List<String> order = graph.topologicalOrder(roots);
+
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (String name : order) {
+                CompletableFuture<?>[] deps = graph.dependenciesOf(name).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                BeanDefinition def = definitions.get(name);
+                futures.put(name, CompletableFuture.allOf(deps).thenRunAsync(() -> {
+                    if (!def.isSingleton()) {
+                        return;
+                    }
+                    try {
+                        getBean(name);
+                    } catch (Throwable e) {
+                        failures.put(name, e);
+                        throw new CompletionException(e);
+                    }
+                }, pool));
+            }
+            try {
+                CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException ignored) {
+                // 失败已记录在 failures 中，下面按确定顺序统一报告
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (!failures.isEmpty()) {
+            BeanCreationException first = null;
+            for (String name : order) {
+                Throwable failure = failures.get(name);
+                if (failure == null) continue;
+                BeanCreationException ex = failure instanceof BeanCreationException bce
+                        ? bce
+                        : new BeanCreationException(name, "Failed to pre-instantiate singleton", failure);
+                if (first == null) first = ex;
+                else first.addSuppressed(ex);
+            }
+            throw first;
+        }
+    }
+
     @Override
     public void destroyBean(String beanName) throws BeanDestructionException {
         String resolved = resolveAlias(beanName);
         creationEngine.destroyBean(resolved);
         singletonObjects.remove(resolved);
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            table.clearSingleton(resolved);
+        }
+        // 外部单例没有 BeanDefinition，移除实例即从容器中消失
+        if (!beanDefinitionMap.containsKey(resolved)) {
+            unindexBeanType(resolved);
+            refreeze();
+        }
     }
 
     @Override
     public void destroySingletons() throws BeanDestructionException {
-        creationEngine.destroyAllSingletons();
+        destroySingletons(1, Duration.ZERO, DEFAULT_SLOW_DESTROY_THRESHOLD);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>执行步骤：
+     * <ol>
+     *   <li>由 {@link BeanDependencyGraph} 构建依赖图并求拓扑序，逆序即销毁顺序；存在循环依赖时退化为注册顺序的逆序</li>
+     *   <li>并行时为每个节点创建一个 {@link CompletableFuture}，在依赖它的全部节点完成后提交到销毁线程池；
+     *       没有销毁回调的节点只作为依赖链的中转节点</li>
+     *   <li>最后由 {@link BeanCreationEngine#destroyAllSingletons()} 销毁不在依赖图中的可销毁单例（如 BeanDefinition 已被移除）</li>
+     * </ol>
+     */
+    @Override
+    public void destroySingletons(int parallelism, Duration timeout, Duration slowThreshold) throws BeanDestructionException {
+        Map<String, BeanDefinition> definitions = snapshotBeanDefinitions();
+        BeanDependencyGraph graph = BeanDependencyGraph.build(definitions, this::resolveAlias);
+        List<String> order;
+        try {
+            order = new ArrayList<>(graph.topologicalOrder(definitions.keySet()));
+        } catch (BeanCreationException e) {
+            log.warn("Destroying singletons in reverse registration order: {}", e.getMessage());
+            order = new ArrayList<>(definitions.keySet());
+            graph = null;
+            parallelism = 1;
+        }
+        Collections.reverse(order);
+
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        ExecutorService timeoutExecutor = timeout.isPositive() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        try {
+            if (parallelism <= 1) {
+                for (String name : order) {
+                    if (hasDestroyCallback(definitions.get(name))) {
+                        destroySingleton(name, timeout, slowThreshold, timeoutExecutor, failures);
+                    }
+                }
+            } else {
+                destroyInParallel(definitions, graph, order, parallelism, timeout, slowThreshold, timeoutExecutor, failures);
+            }
+        } finally {
+            if (timeoutExecutor != null) {
+                timeoutExecutor.shutdownNow();
+            }
+        }
+
+        // 对象池中的空闲实例随单例一起销毁，借出中的实例在归还时销毁
+        for (BeanPool pool : beanPools.values()) {
+            pool.close();
+        }
+        beanPools.clear();
+        synchronized (beanPools) {
+            if (poolEvictor != null) {
+                poolEvictor.shutdownNow();
+                poolEvictor = null;
+            }
+        }
+
+        try {
+            creationEngine.destroyAllSingletons();
+        } catch (BeanDestructionException e) {
+            failures.putIfAbsent(e.getBeanName(), e);
+        }
+        for (String name : singletonObjects.keySet()) {
+            if (!beanDefinitionMap.containsKey(name)) {
+                unindexBeanType(name);
+            }
+        }
         singletonObjects.clear();
+        refreeze();
+
+        if (!failures.isEmpty()) {
+            BeanDestructionException first = null;
+            List<String> reported = new ArrayList<>(order);
+            reported.addAll(failures.keySet());
+            for (String name : new LinkedHashSet<>(reported)) {
+                Throwable failure = failures.get(name);
+                if (failure == null) continue;
+                BeanDestructionException ex = failure instanceof BeanDestructionException bde
+                        ? bde
+                        : new BeanDestructionException(name, failure);
+                if (first == null) first = ex;
+                else first.addSuppressed(ex);
+            }
+            throw first;
+        }
+    }
+
+    private void destroyInParallel(Map<String, BeanDefinition> definitions, BeanDependencyGraph graph, List<String> order,
+                                   int parallelism, Duration timeout, Duration slowThreshold,
+                                   ExecutorService timeoutExecutor, Map<String, Throwable> failures) {
+        // 反向边：key = beanName，value = 依赖该 Bean 的 beanName
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String name : order) {
+            for (String dependency : graph.dependenciesOf(name)) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(name);
+            }
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cap-destroy-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        try {
+            // order 中依赖者在前，被依赖者在后，因此依赖者的 future 总是先创建
+            for (String name : order) {
+                CompletableFuture<?>[] waits = dependents.getOrDefault(name, List.of()).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> ready = CompletableFuture.allOf(waits);
+                futures.put(name, hasDestroyCallback(definitions.get(name))
+                        ? ready.thenRunAsync(() -> destroySingleton(name, timeout, slowThreshold, timeoutExecutor, failures), pool)
+                        : ready);
+            }
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 销毁单个单例并记录耗时；失败与超时记入 failures，不向外抛出
+     */
+    private void destroySingleton(String name, Duration timeout, Duration slowThreshold,
+                                  ExecutorService timeoutExecutor, Map<String, Throwable> failures) {
+        long start = System.nanoTime();
+        try {
+            if (timeoutExecutor == null) {
+                creationEngine.destroyBean(name);
+            } else {
+                Future<?> future = timeoutExecutor.submit(() -> {
+                    creationEngine.destroyBean(name);
+                    return null;
+                });
+                try {
+                    future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    log.error("Destroying bean '{}' did not finish within {} ms, continuing shutdown", name, timeout.toMillis());
+                    failures.put(name, new BeanDestructionException(name,
+                            new TimeoutException("Destroy method did not finish within " + timeout.toMillis() + " ms")));
+                    return;
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.put(name, new BeanDestructionException(name, e));
+            return;
+        } catch (Throwable e) {
+            failures.put(name, e);
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (elapsed >= slowThreshold.toNanos()) {
+            log.warn("Destroying bean '{}' took {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * 与 {@link DefaultBeanCreationEngine} 注册可销毁单例的条件一致：单例且指定了 destroyMethod
+     */
+    private static boolean hasDestroyCallback(BeanDefinition definition) {
+        return definition.isSingleton()
+                && definition.destroyMethod() != null
+                && !definition.destroyMethod().isBlank();
+    }
+
+    /**
+     * 查找 BeanDefinition；冻结后名称与别名在查找表中一次探测完成
+     *
+     * @param nameOrAlias Bean 名称或别名
+     * @return BeanDefinition，不存在时返回 null
+     */
+    private BeanDefinition findBeanDefinition(String nameOrAlias) {
+        FrozenBeanTable table = frozen;
+        if (table == null) {
+            return beanDefinitionMap.get(resolveAlias(nameOrAlias));
+        }
+        int index = table.indexOf(nameOrAlias);
+        return index < 0 ? null : table.definition(index);
+    }
+
+    /**
+     * 已冻结时按当前结构重建查找表；外部单例被销毁是冻结后唯一会改变容器结构的操作
+     */
+    private void refreeze() {
+        if (frozen == null) {
+            return;
+        }
+        FrozenBeanTable table;
+        synchronized (beanDefinitionMap) {
+            table = buildFrozenTable();
+            frozen = table;
+        }
+        table.publishMissing(singletonObjects);
+    }
+
+    /**
+     * 获取 BeanDefinition 注册表的有序快照，供需要遍历的操作使用
+     */
+    private Map<String, BeanDefinition> snapshotBeanDefinitions() {
+        synchronized (beanDefinitionMap) {
+            return new LinkedHashMap<>(beanDefinitionMap);
+        }
+    }
+
+    /**
+     * 将 Bean 名称登记到其类型以及全部父类 / 接口的索引桶中，并使按类型解析的缓存失效。
+     */
+    private void indexBeanType(String beanName, Class<?> beanType) {
+        for (Class<?> type : collectAssignableTypes(beanType)) {
+            Set<String> names = typeIndex.computeIfAbsent(type, k -> Collections.synchronizedSet(new LinkedHashSet<>()));
+            names.add(beanName);
+        }
+        indexedTypes.put(beanName, beanType);
+        invalidateResolvedTypes();
+    }
+
+    /**
+     * 从类型索引中移除指定 Bean 名称，并使按类型解析的缓存失效。
+     */
+    private void unindexBeanType(String beanName) {
+        Class<?> beanType = indexedTypes.remove(beanName);
+        if (beanType == null) {
+            return;
+        }
+        for (Class<?> type : collectAssignableTypes(beanType)) {
+            Set<String> names = typeIndex.get(type);
+            if (names != null) {
+                names.remove(beanName);
+            }
+        }
+        invalidateResolvedTypes();
+    }
+
+    /**
+     * 递增类型索引版本并清空按类型解析的缓存；销毁外部单例时在注册表锁之外调用，因此在此处同步
+     */
+    private void invalidateResolvedTypes() {
+        synchronized (beanDefinitionMap) {
+            registryVersion++;
+            resolvedTypeCache.clear();
+        }
+    }
+
+    /**
+     * 收集可被 {@code beanType} 赋值的全部类型：自身、父类链以及所有（含继承的）接口。
+     */
+    private static Set<Class<?>> collectAssignableTypes(Class<?> beanType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.push(beanType);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.pop();
+            if (!types.add(current)) {
+                continue;
+            }
+            if (current.getSuperclass() != null) {
+                pending.push(current.getSuperclass());
+            }
+            for (Class<?> iface : current.getInterfaces()) {
+                pending.push(iface);
+            }
+        }
+        // 接口与数组类型同样可赋值给 Object
+        if (!beanType.isPrimitive()) {
+            types.add(Object.class);
+        }
+        return types;
     }
 
     private String resolveAlias(String nameOrAlias) {
+        FrozenBeanTable table = frozen;
+        if (table != null) {
+            return table.resolveAlias(nameOrAlias);
+        }
         return aliasMap.getOrDefault(nameOrAlias, nameOrAlias);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package org.moper.cap.bean.container.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.common.startup.StartupStep;
+import org.moper.cap.common.startup.StartupTimeline;
 import org.moper.cap.bean.container.BeanCreationEngine;
 import org.moper.cap.bean.container.BeanProvider;
 import org.moper.cap.bean.definition.BeanDefinition;
@@ -9,29 +11,32 @@ import org.moper.cap.bean.exception.BeanCreationException;
 import org.moper.cap.bean.exception.BeanDestructionException;
 import org.moper.cap.bean.exception.BeanException;
 import org.moper.cap.bean.exception.BeanInitializationException;
+import org.moper.cap.bean.inject.LazyDependencies;
 import org.moper.cap.bean.interceptor.BeanInterceptor;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link BeanCreationEngine} 的默认实现。
  *
  * <p>整合了原 {@code BeanCreator} 与 {@code BeanProcessor} 的全部职责：
  * <ul>
- *   <li>维护有序的 {@link BeanInterceptor} 列表，在创建流程各阶段依次调度</li>
+ *   <li>维护有序的 {@link BeanInterceptor} 列表，为每个 BeanDefinition 缓存按阶段筛选后的拦截器链，在创建流程各阶段依次调度</li>
  *   <li>编排 Bean 的完整创建流程（实例化 → 属性注入 → 初始化）</li>
  *   <li>触发 {@link BeanDefinition#initMethod()} / {@link BeanDefinition#destroyMethod()} 生命周期回调</li>
  *   <li>管理可销毁单例的注册与逆序销毁</li>
  * </ul>
  *
+ * <p>启用 {@link StartupTimeline} 时，每个 Bean 的创建及其各阶段都会被记录；
+ * 依赖 Bean 在所属阶段内递归创建，因此在时间线中嵌套于该阶段之下。
+ *
  * <p><b>线程安全说明：</b>
- * {@code disposableBeans} 仅在单例创建路径上写入，而单例创建在
- * {@link org.moper.cap.bean.container.impl.DefaultBeanContainer} 中已通过 {@code synchronized} 保证互斥，
- * 因此此处无需额外同步。
+ * {@link org.moper.cap.bean.container.impl.DefaultBeanContainer} 对每个单例使用独立的创建锁，
+ * 不同单例可能在多个线程上同时创建，因此对 {@code disposableBeans} /
+ * {@code disposableBeanDefinitions} 的读写均以 {@code disposableBeans} 为锁进行同步。
  */
 @Slf4j
 public class DefaultBeanCreationEngine implements BeanCreationEngine {
@@ -42,10 +47,22 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
     private final BeanProvider beanProvider;
 
     /**
-     * 已注册的拦截器，按 {@link BeanInterceptor#getOrder()} 升序维护
+     * 已注册的拦截器，按 {@link BeanInterceptor#getOrder()} 升序维护，order 相同时保持注册顺序。
+     * 注册时整体替换数组，创建流程读取的始终是完整的快照。
+     */
+    private volatile BeanInterceptor[] interceptors = new BeanInterceptor[0];
+
+    /**
+     * 每个 Bean 的拦截器链缓存，key = beanName。
+     * 拦截器列表或 BeanDefinition 变化后按需重建。
+     */
+    private final Map<String, BeanInterceptorChain> interceptorChains = new ConcurrentHashMap<>();
+
+    /**
+     * 每个 Bean 的实例化器缓存，key = beanName。
+     * 构造函数 / 工厂方法及生命周期方法只在第一次创建时查找，之后直接调用已解析的句柄。
      */
-    private final Queue<BeanInterceptor> interceptors = new PriorityQueue<>();
-    // private final List<BeanInterceptor> interceptors = new ArrayList<>();
+    private final Map<String, BeanInstantiator> instantiators = new ConcurrentHashMap<>();
 
     /**
      * 可销毁单例列表，按注册顺序存储，销毁时逆序执行。
@@ -84,32 +101,50 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
      */
     @Override
     public Object createBean(String beanName, BeanDefinition beanDefinition) throws BeanException {
+        try (StartupStep ignored = StartupTimeline.step("bean", beanName)
+                .tag("type", beanDefinition.type().getName())
+                .tag("scope", beanDefinition.scope().name())) {
+            return doCreateBean(beanName, beanDefinition);
+        }
+    }
+
+    private Object doCreateBean(String beanName, BeanDefinition beanDefinition) throws BeanException {
+        BeanInterceptorChain chain = interceptorChainFor(beanName, beanDefinition);
 
         // 1. beforeInstantiation：拦截器有机会短路整个实例化流程
-        Object shortCircuit = applyBeforeInstantiation(beanDefinition);
+        Object shortCircuit = applyBeforeInstantiation(chain, beanDefinition);
         if (shortCircuit != null) {
             // 短路只跳过"实例化"和"属性注入"，afterInstantiation 及后续拦截器链仍然执行
-            Object instance = applyAfterInstantiation(shortCircuit, beanDefinition);
-            instance = applyAfterPropertyInjection(instance, beanDefinition);
-            instance = applyInitializationPhase(beanName, beanDefinition, instance);
+            Object instance = applyAfterInstantiation(chain, shortCircuit, beanDefinition);
+            instance = applyAfterPropertyInjection(chain, instance, beanDefinition);
+            instance = applyInitializationPhase(chain, beanName, beanDefinition, instance);
             registerDisposableIfNeeded(beanName, beanDefinition, instance);
             return instance;
         }
 
-        // 2. 实例化
-        Object instance = instantiateBean(beanName, beanDefinition);
+        // 2. 实例化（构造函数 / 工厂方法参数中的依赖在此阶段递归创建）
+        Object instance;
+        try (StartupStep ignored = phaseStep(beanName, "instantiate")) {
+            instance = instantiateBean(beanName, beanDefinition);
+        }
 
         // 3. afterInstantiation
-        instance = applyAfterInstantiation(instance, beanDefinition);
+        try (StartupStep ignored = phaseStep(beanName, "afterInstantiation")) {
+            instance = applyAfterInstantiation(chain, instance, beanDefinition);
+        }
 
         // 4. 属性注入（构造函数注入已在步骤 2 完成；字段/Setter 注入由上层拦截器实现）
         populateBean(beanName, beanDefinition, instance);
 
         // 5. afterPropertyInjection
-        instance = applyAfterPropertyInjection(instance, beanDefinition);
+        try (StartupStep ignored = phaseStep(beanName, "afterPropertyInjection")) {
+            instance = applyAfterPropertyInjection(chain, instance, beanDefinition);
+        }
 
         // 6-8. 初始化阶段
-        instance = applyInitializationPhase(beanName, beanDefinition, instance);
+        try (StartupStep ignored = phaseStep(beanName, "initialization")) {
+            instance = applyInitializationPhase(chain, beanName, beanDefinition, instance);
+        }
 
         // 9. 注册销毁回调
         registerDisposableIfNeeded(beanName, beanDefinition, instance);
@@ -117,42 +152,90 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
         return instance;
     }
 
+    /**
+     * 开始记录 Bean 创建流程中的一个阶段，步骤名称为 {@code beanName#phase}；未启用启动时间线时为空操作
+     */
+    private static StartupStep phaseStep(String beanName, String phase) {
+        if (!StartupTimeline.isEnabled()) {
+            return StartupStep.NOOP;
+        }
+        return StartupTimeline.step("bean-phase", beanName + "#" + phase).tag("phase", phase);
+    }
+
     @Override
     public void destroyBean(String beanName) throws BeanDestructionException {
-        Object bean = disposableBeans.remove(beanName);
-        if (bean == null) {
-            return; // 未注册为可销毁，空操作
+        Object bean;
+        BeanDefinition definition;
+        synchronized (disposableBeans) {
+            bean = disposableBeans.remove(beanName);
+            if (bean == null) {
+                return; // 未注册为可销毁，空操作
+            }
+            definition = disposableBeanDefinitions.remove(beanName);
         }
-        BeanDefinition definition = disposableBeanDefinitions.remove(beanName);
         invokeDestroyCallback(beanName, bean, definition);
     }
 
     @Override
     public void destroyAllSingletons() throws BeanDestructionException {
-        List<String> names = new ArrayList<>(disposableBeans.keySet());
+        List<String> names;
+        synchronized (disposableBeans) {
+            names = new ArrayList<>(disposableBeans.keySet());
+        }
         // 逆序销毁：后注册的 Bean 先销毁
         for (int i = names.size() - 1; i >= 0; i--) {
             destroyBean(names.get(i));
         }
-        disposableBeans.clear();
+        synchronized (disposableBeans) {
+            disposableBeans.clear();
+            disposableBeanDefinitions.clear();
+        }
+    }
+
+    @Override
+    public void destroyInstance(String beanName, BeanDefinition beanDefinition, Object bean) throws BeanDestructionException {
+        invokeDestroyCallback(beanName, bean, beanDefinition);
     }
 
     @Override
-    public void addBeanInterceptor(BeanInterceptor interceptor) {
+    public synchronized void addBeanInterceptor(BeanInterceptor interceptor) {
         if (interceptor == null) {
             throw new IllegalArgumentException("BeanInterceptor must not be null");
         }
-        interceptors.add(interceptor);
+        BeanInterceptor[] current = interceptors;
+        // 插入到所有 order 不大于它的拦截器之后，保证 order 相同时按注册顺序执行
+        int index = current.length;
+        while (index > 0 && current[index - 1].compareTo(interceptor) > 0) {
+            index--;
+        }
+        BeanInterceptor[] updated = new BeanInterceptor[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        updated[index] = interceptor;
+        System.arraycopy(current, index, updated, index + 1, current.length - index);
+        interceptors = updated;
     }
 
     @Override
     public List<BeanInterceptor> getBeanInterceptors() {
-        return List.copyOf(interceptors);
+        return List.of(interceptors);
     }
 
     @Override
     public int getBeanInterceptorCount() {
-        return interceptors.size();
+        return interceptors.length;
+    }
+
+    /**
+     * 获取 BeanDefinition 对应的拦截器链；拦截器列表或定义变化后重新构建。
+     */
+    private BeanInterceptorChain interceptorChainFor(String beanName, BeanDefinition def) {
+        BeanInterceptor[] current = interceptors;
+        BeanInterceptorChain chain = interceptorChains.get(beanName);
+        if (chain == null || !chain.isCurrent(def, current)) {
+            chain = BeanInterceptorChain.build(def, current);
+            interceptorChains.put(beanName, chain);
+        }
+        return chain;
     }
 
     /**
@@ -167,77 +250,57 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
     }
 
     private Object instantiateByConstructor(String beanName, BeanDefinition def) throws BeanException {
-        String[] parameterBeanNames = def.parameterBeanNames();
-        Object[] args = resolveArguments(parameterBeanNames);
+        BeanInstantiator instantiator = instantiatorFor(beanName, def);
+        Object[] args = resolveArguments(def.parameterBeanNames(), instantiator.deferredParameters(null));
         try {
-            Constructor<?> constructor = findMatchingConstructor(def.type(), args);
-            constructor.setAccessible(true);
-            return constructor.newInstance(args);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            return instantiator.construct(args);
+        } catch (BeanCreationException e) {
+            throw e;
+        } catch (Throwable e) {
             throw new BeanCreationException(beanName, "Failed to instantiate bean using constructor", e);
         }
     }
 
     private Object instantiateByFactory(String beanName, BeanDefinition def) throws BeanException {
         Object factoryBean = beanProvider.getBean(def.factoryBeanName());
-        String[] parameterBeanNames = def.parameterBeanNames();
-        Object[] args = resolveArguments(parameterBeanNames);
+        BeanInstantiator instantiator = instantiatorFor(beanName, def);
+        Object[] args = resolveArguments(def.parameterBeanNames(), instantiator.deferredParameters(factoryBean.getClass()));
         try {
-            Method method = findFactoryMethod(factoryBean.getClass(), def.factoryMethodName(), args);
-            method.setAccessible(true);
-            if (Modifier.isStatic(method.getModifiers())) {
-                return method.invoke(null, args);
-            } else {
-                return method.invoke(factoryBean, args);
-            }
-        } catch (InvocationTargetException | IllegalAccessException e) {
+            return instantiator.invokeFactory(factoryBean, args);
+        } catch (BeanCreationException e) {
+            throw e;
+        } catch (Throwable e) {
             throw new BeanCreationException(beanName, "Failed to instantiate bean using factory method", e);
         }
     }
 
-    private Object[] resolveArguments(String[] argBeanNames) throws BeanException {
+    /**
+     * 解析构造函数 / 工厂方法实参；延迟注入参数（Provider / ObjectProvider / @Lazy）不获取目标 Bean
+     *
+     * @param argBeanNames 参数的 Bean 名称
+     * @param deferred     延迟注入参数，下标与 argBeanNames 对应；为 null 表示没有延迟参数
+     */
+    private Object[] resolveArguments(String[] argBeanNames, Parameter[] deferred) throws BeanException {
         Object[] args = new Object[argBeanNames.length];
         for (int i = 0; i < argBeanNames.length; i++) {
-            args[i] = beanProvider.getBean(argBeanNames[i]);
+            Parameter parameter = deferred == null || i >= deferred.length ? null : deferred[i];
+            args[i] = parameter == null
+                    ? beanProvider.getBean(argBeanNames[i])
+                    : LazyDependencies.resolve(beanProvider, argBeanNames[i], parameter.getType(), parameter.getParameterizedType());
         }
         return args;
     }
 
-    private Constructor<?> findMatchingConstructor(Class<?> type, Object[] args) throws BeanCreationException {
-        for (Constructor<?> c : type.getDeclaredConstructors()) {
-            Class<?>[] params = c.getParameterTypes();
-            if (params.length != args.length) continue;
-            boolean matches = true;
-            for (int i = 0; i < params.length; i++) {
-                if (args[i] != null && !params[i].isAssignableFrom(args[i].getClass())) {
-                    matches = false;
-                    break;
-                }
-            }
-            if (matches) return c;
-        }
-        throw new BeanCreationException(type.getName(), "No matching constructor found for " + args.length + " argument(s)");
-    }
-
-    private Method findFactoryMethod(Class<?> factoryClass, String methodName, Object[] args) throws BeanCreationException {
-        Class<?> current = factoryClass;
-        while (current != null && current != Object.class) {
-            for (Method m : current.getDeclaredMethods()) {
-                if (!m.getName().equals(methodName)) continue;
-                Class<?>[] params = m.getParameterTypes();
-                if (params.length != args.length) continue;
-                boolean matches = true;
-                for (int i = 0; i < params.length; i++) {
-                    if (args[i] != null && !params[i].isAssignableFrom(args[i].getClass())) {
-                        matches = false;
-                        break;
-                    }
-                }
-                if (matches) return m;
-            }
-            current = current.getSuperclass();
+    /**
+     * 获取 BeanDefinition 对应的实例化器；定义被替换后重新编译。
+     */
+    private BeanInstantiator instantiatorFor(String beanName, BeanDefinition def) {
+        BeanInstantiator instantiator = instantiators.get(beanName);
+        if (instantiator == null || instantiator.definition() != def) {
+            instantiator = new BeanInstantiator(def);
+            instantiators.put(beanName, instantiator);
         }
-        throw new BeanCreationException(factoryClass.getName(), "No matching factory method '" + methodName + "' found for " + args.length + " argument(s)");
+        return instantiator;
     }
 
     /**
@@ -257,12 +320,13 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
      * → {@link BeanDefinition#initMethod()}
      * → {@code afterInitialization} 拦截器链
      */
-    private Object applyInitializationPhase(String beanName,
+    private Object applyInitializationPhase(BeanInterceptorChain chain,
+                                            String beanName,
                                             BeanDefinition beanDefinition,
                                             Object beanInstance) throws BeanException {
-        Object current = applyBeforeInitialization(beanInstance, beanName, beanDefinition);
+        Object current = applyBeforeInitialization(chain, beanInstance, beanName, beanDefinition);
         invokeInitCallback(beanName, current, beanDefinition);
-        current = applyAfterInitialization(current, beanName, beanDefinition);
+        current = applyAfterInitialization(chain, current, beanName, beanDefinition);
         return current;
     }
 
@@ -277,10 +341,8 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
         String initMethod = beanDefinition.initMethod();
         if (initMethod != null && !initMethod.isBlank()) {
             try {
-                Method method = findLifecycleMethod(bean.getClass(), initMethod);
-                method.setAccessible(true);
-                method.invoke(bean);
-            } catch (Exception e) {
+                instantiatorFor(beanName, beanDefinition).invokeInit(bean);
+            } catch (Throwable e) {
                 throw new BeanInitializationException(beanName, e);
             }
         }
@@ -297,30 +359,13 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
         String destroyMethod = beanDefinition.destroyMethod();
         if (destroyMethod != null && !destroyMethod.isBlank()) {
             try {
-                Method method = findLifecycleMethod(bean.getClass(), destroyMethod);
-                method.setAccessible(true);
-                method.invoke(bean);
-            } catch (Exception e) {
+                instantiatorFor(beanName, beanDefinition).invokeDestroy(bean);
+            } catch (Throwable e) {
                 throw new BeanDestructionException(beanName, e);
             }
         }
     }
 
-    /**
-     * 在类的继承层级中查找指定名称的无参方法。
-     */
-    private Method findLifecycleMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            try {
-                return current.getDeclaredMethod(methodName);
-            } catch (NoSuchMethodException ignored) {
-                current = current.getSuperclass();
-            }
-        }
-        throw new NoSuchMethodException("No no-arg method '" + methodName + "' found in " + clazz.getName());
-    }
-
     /**
      * 满足以下全部条件时将 Bean 注册到销毁列表：
      * <ul>
@@ -334,8 +379,10 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
         if (beanDefinition.scope() == BeanScope.SINGLETON
                 && beanDefinition.destroyMethod() != null
                 && !beanDefinition.destroyMethod().isBlank()) {
-            disposableBeans.put(beanName, beanInstance);
-            disposableBeanDefinitions.put(beanName, beanDefinition);
+            synchronized (disposableBeans) {
+                disposableBeans.put(beanName, beanInstance);
+                disposableBeanDefinitions.put(beanName, beanDefinition);
+            }
         }
     }
 
@@ -347,8 +394,8 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
      *
      * @return 短路用的 Bean 实例；所有拦截器均返回 null 时返回 null
      */
-    private Object applyBeforeInstantiation(BeanDefinition definition) throws BeanException {
-        for (BeanInterceptor interceptor : interceptors) {
+    private Object applyBeforeInstantiation(BeanInterceptorChain chain, BeanDefinition definition) throws BeanException {
+        for (BeanInterceptor interceptor : chain.get(BeanInterceptorPhase.BEFORE_INSTANTIATION)) {
             Object result = interceptor.beforeInstantiation(definition);
             if (result != null) {
                 return result;
@@ -362,9 +409,9 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
      *
      * <p>链式传递：前一个拦截器的返回值作为后一个拦截器的 {@code bean} 入参。
      */
-    private Object applyAfterInstantiation(Object bean, BeanDefinition definition) throws BeanException {
+    private Object applyAfterInstantiation(BeanInterceptorChain chain, Object bean, BeanDefinition definition) throws BeanException {
         Object current = bean;
-        for (BeanInterceptor interceptor : interceptors) {
+        for (BeanInterceptor interceptor : chain.get(BeanInterceptorPhase.AFTER_INSTANTIATION)) {
             current = interceptor.afterInstantiation(current, definition);
         }
         return current;
@@ -373,9 +420,9 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
     /**
      * 调度 {@code afterPropertyInjection} 拦截器链。
      */
-    private Object applyAfterPropertyInjection(Object bean, BeanDefinition definition) throws BeanException {
+    private Object applyAfterPropertyInjection(BeanInterceptorChain chain, Object bean, BeanDefinition definition) throws BeanException {
         Object current = bean;
-        for (BeanInterceptor interceptor : interceptors) {
+        for (BeanInterceptor interceptor : chain.get(BeanInterceptorPhase.AFTER_PROPERTY_INJECTION)) {
             current = interceptor.afterPropertyInjection(current, definition);
         }
         return current;
@@ -384,9 +431,9 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
     /**
      * 调度 {@code beforeInitialization} 拦截器链。
      */
-    private Object applyBeforeInitialization(Object bean, String beanName, BeanDefinition definition) throws BeanException {
+    private Object applyBeforeInitialization(BeanInterceptorChain chain, Object bean, String beanName, BeanDefinition definition) throws BeanException {
         Object current = bean;
-        for (BeanInterceptor interceptor : interceptors) {
+        for (BeanInterceptor interceptor : chain.get(BeanInterceptorPhase.BEFORE_INITIALIZATION)) {
             current = interceptor.beforeInitialization(current, beanName, definition);
         }
         return current;
@@ -397,9 +444,9 @@ public class DefaultBeanCreationEngine implements BeanCreationEngine {
      *
      * <p>AOP 代理的创建通常在此阶段完成，最终返回的对象可能是代理而非原始 Bean。
      */
-    private Object applyAfterInitialization(Object bean, String beanName, BeanDefinition definition) throws BeanException {
+    private Object applyAfterInitialization(BeanInterceptorChain chain, Object bean, String beanName, BeanDefinition definition) throws BeanException {
         Object current = bean;
-        for (BeanInterceptor interceptor : interceptors) {
+        for (BeanInterceptor interceptor : chain.get(BeanInterceptorPhase.AFTER_INITIALIZATION)) {
             current = interceptor.afterInitialization(current, beanName, definition);
         }
         return current;
@@ -0,0 +1,282 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.definition.BeanDefinition;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 容器冻结后的只读查找表。
+ *
+ * <p>Bean 名称与别名通过开放寻址（线性探测）的数组散列表映射到 Bean 下标，
+ * BeanDefinition、单例实例与别名按下标存放在数组中；类型索引为不可变 Map，值为按注册顺序排列的名称数组。
+ * 构建完成后结构不再变化，读取不需要任何锁；按注解查询的结果只取决于冻结时的结构，第一次查询后缓存。
+ *
+ * <p>单例槽位是唯一可变的部分：冻结后才创建的单例（懒加载单例）以 release 语义写入，
+ * 读取使用 acquire 语义，因此单例命中只包含一次散列探测与一次数组读取。
+ */
+final class FrozenBeanTable {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final String[] NO_NAMES = new String[0];
+
+    /**
+     * 散列表的键：Bean 名称或别名，空槽为 null
+     */
+    private final String[] keys;
+
+    /**
+     * 散列表的值：键对应的 Bean 下标
+     */
+    private final int[] targets;
+
+    private final int mask;
+
+    /**
+     * 按下标排列的 Bean 名称：先是 BeanDefinition（注册顺序），后是外部单例
+     */
+    private final String[] names;
+
+    /**
+     * 按下标排列的 BeanDefinition，外部单例为 null
+     */
+    private final BeanDefinition[] definitions;
+
+    /**
+     * 按下标排列的单例实例，尚未创建或非单例时为 null
+     */
+    private final Object[] singletons;
+
+    private final String[] definitionNames;
+
+    private final Map<Class<?>, String[]> typeIndex;
+
+    /**
+     * 按下标排列的别名，没有别名时为空数组
+     */
+    private final String[][] aliases;
+
+    private final Map<Class<? extends Annotation>, String[]> annotationIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 按类型解析出的唯一候选 Bean 名称
+     */
+    private final Map<Class<?>, String> resolvedTypes = new ConcurrentHashMap<>();
+
+    private FrozenBeanTable(String[] names, BeanDefinition[] definitions, Object[] singletons,
+                            int definitionCount, Map<String, String> aliases, Map<Class<?>, String[]> typeIndex) {
+        this.names = names;
+        this.definitions = definitions;
+        this.singletons = singletons;
+        this.definitionNames = Arrays.copyOf(names, definitionCount);
+        this.typeIndex = typeIndex;
+
+        int capacity = Integer.highestOneBit(Math.max(2, (names.length + aliases.size()) * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.targets = new int[capacity];
+        this.mask = capacity - 1;
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            insert(names[i], i);
+            indexes.put(names[i], i);
+        }
+        List<List<String>> aliasLists = new ArrayList<>(Collections.nCopies(names.length, null));
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            Integer target = indexes.get(alias.getValue());
+            if (target != null && !indexes.containsKey(alias.getKey())) {
+                insert(alias.getKey(), target);
+                if (aliasLists.get(target) == null) {
+                    aliasLists.set(target, new ArrayList<>());
+                }
+                aliasLists.get(target).add(alias.getKey());
+            }
+        }
+        this.aliases = new String[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            List<String> list = aliasLists.get(i);
+            this.aliases[i] = list == null ? NO_NAMES : list.toArray(NO_NAMES);
+        }
+    }
+
+    /**
+     * 从容器的可变结构构建查找表，调用方负责保证构建期间结构不被修改
+     *
+     * @param definitions BeanDefinition 注册表，按注册顺序
+     * @param singletons  单例缓存，包括外部单例
+     * @param aliases     别名映射，key = alias，value = beanName
+     * @param typeIndex   类型索引
+     */
+    static FrozenBeanTable build(Map<String, BeanDefinition> definitions, Map<String, Object> singletons,
+                                 Map<String, String> aliases, Map<Class<?>, Set<String>> typeIndex) {
+        List<String> names = new ArrayList<>(definitions.keySet());
+        for (String name : singletons.keySet()) {
+            if (!definitions.containsKey(name)) {
+                names.add(name);
+            }
+        }
+        String[] nameArray = names.toArray(NO_NAMES);
+        BeanDefinition[] definitionArray = new BeanDefinition[nameArray.length];
+        Object[] singletonArray = new Object[nameArray.length];
+        for (int i = 0; i < nameArray.length; i++) {
+            definitionArray[i] = definitions.get(nameArray[i]);
+            singletonArray[i] = singletons.get(nameArray[i]);
+        }
+
+        Map<Class<?>, String[]> types = new HashMap<>();
+        for (Map.Entry<Class<?>, Set<String>> entry : typeIndex.entrySet()) {
+            Set<String> bucket = entry.getValue();
+            String[] bucketNames;
+            synchronized (bucket) {
+                bucketNames = bucket.toArray(NO_NAMES);
+            }
+            if (bucketNames.length > 0) {
+                types.put(entry.getKey(), bucketNames);
+            }
+        }
+        return new FrozenBeanTable(nameArray, definitionArray, singletonArray,
+                definitions.size(), Map.copyOf(aliases), Map.copyOf(types));
+    }
+
+    private void insert(String key, int target) {
+        int slot = spread(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        targets[slot] = target;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 查找 Bean 名称或别名对应的 Bean 下标
+     *
+     * @return Bean 下标，不存在时返回 -1
+     */
+    int indexOf(String nameOrAlias) {
+        int slot = spread(nameOrAlias.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(nameOrAlias)) {
+                return targets[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 将别名解析为 Bean 名称，不存在时原样返回
+     */
+    String resolveAlias(String nameOrAlias) {
+        int index = indexOf(nameOrAlias);
+        return index < 0 ? nameOrAlias : names[index];
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return BeanDefinition，外部单例返回 null
+     */
+    BeanDefinition definition(int index) {
+        return definitions[index];
+    }
+
+    Object singleton(int index) {
+        return SLOTS.getAcquire(singletons, index);
+    }
+
+    /**
+     * 发布冻结后创建的单例；名称不在表中时忽略
+     */
+    void publishSingleton(String beanName, Object bean) {
+        int index = indexOf(beanName);
+        if (index >= 0) {
+            SLOTS.setRelease(singletons, index, bean);
+        }
+    }
+
+    /**
+     * 补齐单例缓存中存在、但构建时尚未写入查找表的单例
+     */
+    void publishMissing(Map<String, Object> singletonObjects) {
+        for (int i = 0; i < names.length; i++) {
+            if (singleton(i) == null) {
+                Object bean = singletonObjects.get(names[i]);
+                if (bean != null) {
+                    SLOTS.setRelease(singletons, i, bean);
+                }
+            }
+        }
+    }
+
+    void clearSingleton(String beanName) {
+        int index = indexOf(beanName);
+        if (index >= 0) {
+            SLOTS.setRelease(singletons, index, null);
+        }
+    }
+
+    /**
+     * @return Bean 的全部别名
+     */
+    String[] aliases(int index) {
+        return aliases[index].clone();
+    }
+
+    /**
+     * 类型（BeanDefinition 的类型或外部单例的实际类型）上标注了指定注解的 Bean 名称，
+     * 先是 BeanDefinition（注册顺序），后是外部单例
+     */
+    String[] beanNamesForAnnotation(Class<? extends Annotation> annotationType) {
+        return annotationIndex.computeIfAbsent(annotationType, this::collectBeanNamesForAnnotation).clone();
+    }
+
+    private String[] collectBeanNamesForAnnotation(Class<? extends Annotation> annotationType) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            BeanDefinition definition = definitions[i];
+            Object singleton = definition == null ? singleton(i) : null;
+            Class<?> type = definition != null ? definition.type() : singleton != null ? singleton.getClass() : null;
+            if (type != null && type.isAnnotationPresent(annotationType)) {
+                result.add(names[i]);
+            }
+        }
+        return result.toArray(NO_NAMES);
+    }
+
+    String[] beanDefinitionNames() {
+        return definitionNames.clone();
+    }
+
+    int beanDefinitionCount() {
+        return definitionNames.length;
+    }
+
+    String[] beanNamesForType(Class<?> type) {
+        String[] result = typeIndex.get(type);
+        return result == null ? NO_NAMES : result.clone();
+    }
+
+    /**
+     * 已缓存的按类型解析结果，尚未解析时返回 null
+     */
+    String resolvedBeanName(Class<?> type) {
+        return resolvedTypes.get(type);
+    }
+
+    /**
+     * 缓存按类型解析出的唯一候选 Bean 名称；类型索引在查找表的生命周期内不变，缓存无需失效
+     */
+    void cacheResolvedBeanName(Class<?> type, String beanName) {
+        resolvedTypes.put(type, beanName);
+    }
+}
@@ -3,7 +3,7 @@ package org.moper.cap.bean.definition;
 /**
  * Bean 的作用域枚举
  *
- * <p>cap-bean 内核直接支持 {@link #SINGLETON} 和 {@link #PROTOTYPE}。
+ * <p>cap-bean 内核直接支持 {@link #SINGLETON}、{@link #PROTOTYPE} 和 {@link #POOLED}。
  * {@link #REQUEST} 和 {@link #SESSION} 由上层 cap-web 通过作用域代理实现，
  * 内核保留枚举值供上层模块识别。
  */
@@ -19,6 +19,13 @@ public enum BeanScope {
      */
     PROTOTYPE,
 
+    /**
+     * 池化模式，每个 BeanDefinition 维护一个有界对象池，
+     * 通过 {@link org.moper.cap.bean.container.BeanProvider#borrowBean(String, Class)} 借出、关闭句柄时归还，
+     * 适用于创建开销大且非线程安全的组件；池的容量与空闲回收时间由 {@link org.moper.cap.bean.annotation.Pooled} 指定
+     */
+    POOLED,
+
     /**
      * 请求作用域，每次HTTP请求都会创建一个新的实例
      */
@@ -0,0 +1,145 @@
+package org.moper.cap.bean.inject;
+
+import org.moper.cap.bean.annotation.Lazy;
+import org.moper.cap.bean.container.BeanProvider;
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.exception.NoSuchBeanDefinitionException;
+
+import java.lang.reflect.*;
+
+/**
+ * 延迟注入点的识别与解析
+ *
+ * <p>以下三种注入点是延迟的，注入时不获取目标 Bean：
+ * <ul>
+ *   <li>{@link Provider Provider&lt;T&gt;}</li>
+ *   <li>{@link ObjectProvider ObjectProvider&lt;T&gt;}</li>
+ *   <li>标注了 {@link Lazy} 的接口类型</li>
+ * </ul>
+ * 字段注入与构造函数 / 工厂方法参数解析共用这里的规则，依赖图也据此忽略延迟依赖边。
+ */
+public final class LazyDependencies {
+
+    private LazyDependencies() {
+    }
+
+    /**
+     * 判断注入点是否为延迟注入
+     *
+     * @param type    注入点的声明类型
+     * @param element 注入点（字段或参数），用于读取 {@link Lazy}
+     */
+    public static boolean isDeferred(Class<?> type, AnnotatedElement element) {
+        return type == Provider.class || type == ObjectProvider.class || element.isAnnotationPresent(Lazy.class);
+    }
+
+    /**
+     * 获取注入点依赖的 Bean 类型：{@code Provider<T>} / {@code ObjectProvider<T>} 取 {@code T}，其余为声明类型本身
+     *
+     * @param type        注入点的声明类型
+     * @param genericType 注入点的泛型类型
+     */
+    public static Class<?> dependencyType(Class<?> type, Type genericType) {
+        if (type != Provider.class && type != ObjectProvider.class) {
+            return type;
+        }
+        if (genericType instanceof ParameterizedType parameterized) {
+            Type argument = parameterized.getActualTypeArguments()[0];
+            if (argument instanceof Class<?> clazz) {
+                return clazz;
+            }
+            if (argument instanceof ParameterizedType nested && nested.getRawType() instanceof Class<?> raw) {
+                return raw;
+            }
+        }
+        return Object.class;
+    }
+
+    /**
+     * 为延迟注入点创建注入值
+     *
+     * @param beanProvider 获取目标 Bean 的提供者
+     * @param beanName     目标 Bean 名称
+     * @param type         注入点的声明类型
+     * @param genericType  注入点的泛型类型
+     * @return {@link ObjectProvider} 实例，或 {@link Lazy} 注入点的解析代理
+     * @throws BeanCreationException 如果 {@link Lazy} 标注在非接口类型上
+     */
+    public static Object resolve(BeanProvider beanProvider, String beanName, Class<?> type, Type genericType) {
+        Class<?> dependencyType = dependencyType(type, genericType);
+        BeanObjectProvider<?> provider = new BeanObjectProvider<>(beanProvider, beanName, dependencyType);
+        if (type == Provider.class || type == ObjectProvider.class) {
+            return provider;
+        }
+        if (!type.isInterface()) {
+            throw new BeanCreationException(beanName, "@Lazy injection requires an interface type but got "
+                    + type.getName() + "; use Provider<" + type.getSimpleName() + "> instead");
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new LazyResolutionHandler(provider));
+    }
+
+    /**
+     * 按名称与类型从容器获取 Bean 的 {@link ObjectProvider}
+     */
+    private record BeanObjectProvider<T>(BeanProvider beanProvider, String beanName, Class<T> type) implements ObjectProvider<T> {
+
+        @Override
+        public T get() {
+            return beanProvider.getBean(beanName, type);
+        }
+
+        @Override
+        public T getIfAvailable() {
+            try {
+                return get();
+            } catch (NoSuchBeanDefinitionException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ObjectProvider[" + beanName + "]";
+        }
+    }
+
+    /**
+     * {@link Lazy} 代理的调用处理器：第一次调用时获取目标 Bean 并保留，之后直接转发。
+     * equals / hashCode 按代理自身的身份计算，不触发解析
+     */
+    private static final class LazyResolutionHandler implements InvocationHandler {
+
+        private final BeanObjectProvider<?> provider;
+
+        private volatile Object target;
+
+        private LazyResolutionHandler(BeanObjectProvider<?> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+            }
+            Object resolved = target;
+            if (resolved == null) {
+                resolved = provider.get();
+                target = resolved;
+            }
+            try {
+                method.setAccessible(true);
+                return method.invoke(resolved, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
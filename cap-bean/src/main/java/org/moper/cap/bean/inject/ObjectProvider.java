@@ -0,0 +1,46 @@
+package org.moper.cap.bean.inject;
+
+import org.moper.cap.bean.exception.BeanCreationException;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 支持可选依赖的 {@link Provider}
+ *
+ * <p>依赖不存在时 {@link #get()} 抛出异常，而 {@code getIfAvailable} 系列方法返回空值，
+ * 适用于可选的子系统。
+ *
+ * @param <T> 依赖的类型
+ */
+public interface ObjectProvider<T> extends Provider<T> {
+
+    /**
+     * 获取依赖的 Bean 实例，Bean 不存在时返回 null
+     *
+     * @throws BeanCreationException 如果 Bean 存在但创建失败
+     */
+    T getIfAvailable() throws BeanCreationException;
+
+    /**
+     * 获取依赖的 Bean 实例，Bean 不存在时返回 defaultSupplier 提供的值
+     *
+     * @throws BeanCreationException 如果 Bean 存在但创建失败
+     */
+    default T getIfAvailable(Supplier<T> defaultSupplier) throws BeanCreationException {
+        T bean = getIfAvailable();
+        return bean != null ? bean : defaultSupplier.get();
+    }
+
+    /**
+     * Bean 存在时以其实例调用 consumer
+     *
+     * @throws BeanCreationException 如果 Bean 存在但创建失败
+     */
+    default void ifAvailable(Consumer<T> consumer) throws BeanCreationException {
+        T bean = getIfAvailable();
+        if (bean != null) {
+            consumer.accept(bean);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.moper.cap.bean.inject;
+
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.exception.NoSuchBeanDefinitionException;
+
+/**
+ * 依赖的延迟获取入口
+ *
+ * <p>以 {@code Provider<T>} 类型声明 @Inject 字段或构造函数 / 工厂方法参数时，注入的是该入口而不是 Bean 本身，
+ * 依赖在调用 {@link #get()} 时才创建。Bean 名称按 {@code T} 推导（或由 @Inject 显式指定），
+ * 因此可以打断启动期的依赖链，也可以用来获取原型 Bean 的新实例。
+ *
+ * @param <T> 依赖的类型
+ */
+@FunctionalInterface
+public interface Provider<T> {
+
+    /**
+     * 获取依赖的 Bean 实例；单例返回同一个实例，原型每次返回新实例
+     *
+     * @return Bean 实例，永不为 null
+     * @throws NoSuchBeanDefinitionException 如果 Bean 不存在
+     * @throws BeanCreationException         如果创建失败
+     */
+    T get() throws NoSuchBeanDefinitionException, BeanCreationException;
+}
@@ -3,13 +3,20 @@ package org.moper.cap.bean.interceptor;
 import org.moper.cap.bean.definition.BeanDefinition;
 import org.moper.cap.bean.exception.BeanException;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Bean 生命周期拦截器接口。
  *
  * <p><b>核心语义：在 Bean 创建过程的各阶段插入横切逻辑</b>
  *
  * <p>所有方法均有默认实现，只需重写关心的拦截点。
- * 多个拦截器按 {@link #getOrder()} 升序依次执行。
+ * 多个拦截器按 {@link #getOrder()} 升序依次执行，order 相同时按注册顺序执行。
+ *
+ * <p>拦截器可以通过 {@link #getPhases()} 声明自己实现的阶段，并通过 {@link #supports(BeanDefinition)}
+ * 声明适用的 Bean。容器为每个 BeanDefinition 构建并缓存按阶段划分的拦截器链，
+ * 不适用的拦截器在该 Bean 的创建流程中不会被调用。
  *
  * <p><b>完整的 Bean 创建流程：</b>
  * <pre>
@@ -113,6 +120,31 @@ public interface BeanInterceptor extends Comparable<BeanInterceptor> {
         return bean;
     }
 
+    /**
+     * 拦截器实现的阶段，容器只在这些阶段调用该拦截器。
+     *
+     * <p>默认为全部阶段；只重写了部分拦截点的拦截器应当返回对应的阶段以避免无效调用。
+     *
+     * @return 拦截阶段集合，不能为 null
+     */
+    default Set<BeanInterceptorPhase> getPhases() {
+        return EnumSet.allOf(BeanInterceptorPhase.class);
+    }
+
+    /**
+     * 判断拦截器是否适用于指定的 Bean。
+     *
+     * <p>每个 BeanDefinition 只判断一次，结果随拦截器链一起缓存，
+     * 因此判断只能依赖 BeanDefinition 本身，不能依赖具体的 Bean 实例。
+     * 无法仅凭 BeanDefinition 确定时应当返回 true，并在拦截方法中针对实例再做判断。
+     *
+     * @param definition Bean 定义，不能为 null
+     * @return 适用时返回 true，默认为 true
+     */
+    default boolean supports(BeanDefinition definition) {
+        return true;
+    }
+
     /**
      * 拦截器执行顺序，值越小优先级越高
      */
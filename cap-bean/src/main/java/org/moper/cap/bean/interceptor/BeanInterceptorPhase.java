@@ -0,0 +1,35 @@
+package org.moper.cap.bean.interceptor;
+
+/**
+ * {@link BeanInterceptor} 的拦截阶段枚举
+ *
+ * <p>拦截器通过 {@link BeanInterceptor#getPhases()} 声明自己实现了哪些阶段，
+ * 容器只在声明的阶段调用该拦截器。
+ */
+public enum BeanInterceptorPhase {
+
+    /**
+     * 实例化之前，对应 {@link BeanInterceptor#beforeInstantiation}
+     */
+    BEFORE_INSTANTIATION,
+
+    /**
+     * 实例化之后，对应 {@link BeanInterceptor#afterInstantiation}
+     */
+    AFTER_INSTANTIATION,
+
+    /**
+     * 属性注入之后，对应 {@link BeanInterceptor#afterPropertyInjection}
+     */
+    AFTER_PROPERTY_INJECTION,
+
+    /**
+     * 初始化回调之前，对应 {@link BeanInterceptor#beforeInitialization}
+     */
+    BEFORE_INITIALIZATION,
+
+    /**
+     * 初始化回调之后，对应 {@link BeanInterceptor#afterInitialization}
+     */
+    AFTER_INITIALIZATION
+}
@@ -3,6 +3,7 @@ package org.moper.cap.bean.util;
 import org.moper.cap.bean.annotation.Capper;
 import org.moper.cap.bean.annotation.Inject;
 import org.moper.cap.bean.exception.BeanDefinitionException;
+import org.moper.cap.bean.inject.LazyDependencies;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -88,7 +89,8 @@ public final class BeanNamesResolver {
      * <p>参数推导优先级（按顺序）：
      * <ol>
      *   <li>参数的 @Inject 注解中显式指定的 beanName（非空时）</li>
-     *   <li>参数类型的简单类名首字母小写（如 {@code MyService → myService}）</li>
+     *   <li>参数类型的简单类名首字母小写（如 {@code MyService → myService}）；
+     *       {@code Provider<T>} / {@code ObjectProvider<T>} 按 {@code T} 推导</li>
      * </ol>
      *
      * @param parameter 参数反射对象，不能为 null
@@ -105,7 +107,7 @@ public final class BeanNamesResolver {
             return inject.value();
         }
         // 优先级 2：参数类型的简单类名首字母小写
-        String simpleName = parameter.getType().getSimpleName();
+        String simpleName = LazyDependencies.dependencyType(parameter.getType(), parameter.getParameterizedType()).getSimpleName();
         if (!simpleName.isBlank()) {
             return decapitalize(simpleName);
         }
@@ -131,7 +133,8 @@ public final class BeanNamesResolver {
      * <p>字段推导优先级（按顺序）：
      * <ol>
      *   <li>字段的 @Inject 注解中显式指定的 beanName（非空时）</li>
-     *   <li>字段类型的简单类名首字母小写（如 {@code MyService → myService}）</li>
+     *   <li>字段类型的简单类名首字母小写（如 {@code MyService → myService}）；
+     *       {@code Provider<T>} / {@code ObjectProvider<T>} 按 {@code T} 推导</li>
      * </ol>
      *
      * @param field 字段反射对象，不能为 null
@@ -146,7 +149,7 @@ public final class BeanNamesResolver {
         if (inject != null && !inject.value().isBlank()) {
             return inject.value();
         }
-        String simpleName = field.getType().getSimpleName();
+        String simpleName = LazyDependencies.dependencyType(field.getType(), field.getGenericType()).getSimpleName();
         if (!simpleName.isBlank()) {
             return decapitalize(simpleName);
         }
@@ -0,0 +1,133 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * 原型 Bean 实例化的简单基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>原型 Bean 带有两个构造函数参数和一个 initMethod，比较以下方式的平均耗时：
+ * <ul>
+ *   <li>反射查找：与引入 {@link BeanInstantiator} 之前等价的实现，每次创建都遍历构造函数、检查实参类型并查找 initMethod</li>
+ *   <li>{@link BeanInstantiator}：调用已解析的构造函数与 initMethod 句柄</li>
+ *   <li>{@link DefaultBeanContainer#getBean(String)}：包含依赖解析与拦截器链的完整原型创建流程</li>
+ * </ul>
+ */
+public class BeanInstantiatorBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURE_ITERATIONS = 2_000_000;
+
+    public static class Repository {}
+
+    public static class Clock {}
+
+    public static class AbstractHandler {
+        protected boolean initialized;
+
+        void init() {
+            initialized = true;
+        }
+    }
+
+    public static class RequestHandler extends AbstractHandler {
+        private final Repository repository;
+        private final Clock clock;
+
+        public RequestHandler() {
+            this(null, null);
+        }
+
+        public RequestHandler(Repository repository) {
+            this(repository, null);
+        }
+
+        public RequestHandler(Repository repository, Clock clock) {
+            this.repository = repository;
+            this.clock = clock;
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("repository", Repository.class));
+        container.registerBeanDefinition(BeanDefinition.of("clock", Clock.class));
+        BeanDefinition definition = BeanDefinition.of("requestHandler", RequestHandler.class)
+                .withParameterBeanNames(new String[]{"repository", "clock"})
+                .withInitMethod("init")
+                .withScope(BeanScope.PROTOTYPE);
+        container.registerBeanDefinition(definition);
+        container.preInstantiateSingletons();
+
+        Object[] arguments = {container.getBean("repository"), container.getBean("clock")};
+        BeanInstantiator instantiator = new BeanInstantiator(definition);
+
+        report("reflective lookup", () -> reflective(definition, arguments));
+        report("bean instantiator", () -> {
+            try {
+                Object bean = instantiator.construct(arguments.clone());
+                instantiator.invokeInit(bean);
+                return bean;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        report("getBean(prototype)", () -> container.getBean("requestHandler"));
+    }
+
+    /**
+     * 引入 {@link BeanInstantiator} 之前的构造函数匹配与 initMethod 查找方式
+     */
+    private static Object reflective(BeanDefinition definition, Object[] arguments) {
+        try {
+            Object[] args = arguments.clone();
+            Constructor<?> matched = null;
+            for (Constructor<?> c : definition.type().getDeclaredConstructors()) {
+                Class<?>[] params = c.getParameterTypes();
+                if (params.length != args.length) continue;
+                boolean matches = true;
+                for (int i = 0; i < params.length; i++) {
+                    if (args[i] != null && !params[i].isAssignableFrom(args[i].getClass())) {
+                        matches = false;
+                        break;
+                    }
+                }
+                if (matches) {
+                    matched = c;
+                    break;
+                }
+            }
+            matched.setAccessible(true);
+            Object bean = matched.newInstance(args);
+
+            Method init = null;
+            for (Class<?> current = bean.getClass(); init == null && current != Object.class; current = current.getSuperclass()) {
+                try {
+                    init = current.getDeclaredMethod(definition.initMethod());
+                } catch (NoSuchMethodException ignored) {
+                }
+            }
+            init.setAccessible(true);
+            init.invoke(bean);
+            return bean;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void report(String label, Supplier<Object> creation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            creation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            creation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %,8d ns/op%n", label, elapsed / MEASURE_ITERATIONS);
+    }
+}
@@ -0,0 +1,215 @@
+package org.moper.cap.bean.container.impl;
+
+import org.junit.jupiter.api.Test;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.interceptor.BeanInterceptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeanInstantiatorTest {
+
+    public static class Overloaded {
+        final String kind;
+
+        public Overloaded(String value) {
+            this.kind = "string";
+        }
+
+        public Overloaded(Integer value) {
+            this.kind = "integer";
+        }
+    }
+
+    /**
+     * 同参数个数的重载：声明在前的 String 版本比 Object 版本更匹配字符串实参
+     */
+    public static class Widening {
+        final String kind;
+
+        public Widening(String value) {
+            this.kind = "string";
+        }
+
+        public Widening(Object value) {
+            this.kind = "object";
+        }
+
+        public static String create(String value) {
+            return "string";
+        }
+
+        public static String create(Object value) {
+            return "object";
+        }
+    }
+
+    public static class Failing {
+        public Failing(String value) throws IOException {
+            throw new IOException("constructor failed: " + value);
+        }
+    }
+
+    public static class Factory {
+        public String create(String prefix) {
+            return prefix + "-factory";
+        }
+
+        public String create(Integer count) {
+            return "count-" + count;
+        }
+    }
+
+    /**
+     * 代替工厂 Bean 的代理：运行时类型不同，并覆盖了工厂方法
+     */
+    public static class FactoryProxy extends Factory {
+        @Override
+        public String create(String prefix) {
+            return prefix + "-proxy";
+        }
+    }
+
+    public static class Lifecycle {
+        final List<String> calls = new ArrayList<>();
+
+        void init() {
+            calls.add("init");
+        }
+
+        void close() {
+            calls.add("close");
+        }
+    }
+
+    /**
+     * 代替 Bean 的代理：覆盖了 init，close 沿用父类
+     */
+    public static class LifecycleProxy extends Lifecycle {
+        @Override
+        void init() {
+            calls.add("proxy-init");
+        }
+    }
+
+    @Test
+    void testOverloadedConstructorsOfSameArity() throws Throwable {
+        BeanInstantiator instantiator = new BeanInstantiator(BeanDefinition.of("overloaded", Overloaded.class)
+                .withParameterBeanNames(new String[]{"value"}));
+
+        // 已缓存的构造函数与实参类型不匹配时重新解析，而不是在句柄的类型转换上失败
+        assertEquals("string", ((Overloaded) instantiator.construct(new Object[]{"a"})).kind);
+        assertEquals("integer", ((Overloaded) instantiator.construct(new Object[]{1})).kind);
+        assertEquals("string", ((Overloaded) instantiator.construct(new Object[]{"b"})).kind);
+
+        BeanCreationException e = assertThrows(BeanCreationException.class,
+                () -> instantiator.construct(new Object[]{1.5d}));
+        assertTrue(e.getMessage().contains("No matching constructor found for 1 argument(s)"));
+        assertThrows(BeanCreationException.class, () -> instantiator.construct(new Object[0]));
+    }
+
+    @Test
+    void testOverloadSelectionIndependentOfEarlierArguments() throws Throwable {
+        BeanDefinition constructed = BeanDefinition.of("widening", Widening.class)
+                .withParameterBeanNames(new String[]{"value"});
+        String expected = ((Widening) new BeanInstantiator(constructed).construct(new Object[]{"a"})).kind;
+        assertEquals("string", expected);
+
+        // "a" 也可以赋值给已缓存的 Widening(Object)，但选择结果不应取决于之前的实参
+        BeanInstantiator instantiator = new BeanInstantiator(constructed);
+        assertEquals("object", ((Widening) instantiator.construct(new Object[]{1})).kind);
+        assertEquals(expected, ((Widening) instantiator.construct(new Object[]{"a"})).kind);
+        assertEquals("object", ((Widening) instantiator.construct(new Object[]{2})).kind);
+
+        BeanDefinition produced = BeanDefinition.of("product", String.class)
+                .withFactoryMethod("widening", "create")
+                .withParameterBeanNames(new String[]{"value"});
+        String expectedProduct = (String) new BeanInstantiator(produced).invokeFactory(new Widening("x"), new Object[]{"a"});
+        BeanInstantiator factory = new BeanInstantiator(produced);
+        assertEquals("object", factory.invokeFactory(new Widening("x"), new Object[]{1}));
+        assertEquals(expectedProduct, factory.invokeFactory(new Widening("x"), new Object[]{"a"}));
+    }
+
+    @Test
+    void testConstructorExceptionIsNotWrapped() {
+        BeanInstantiator instantiator = new BeanInstantiator(BeanDefinition.of("failing", Failing.class)
+                .withParameterBeanNames(new String[]{"value"}));
+        IOException e = assertThrows(IOException.class, () -> instantiator.construct(new Object[]{"x"}));
+        assertEquals("constructor failed: x", e.getMessage());
+
+        // 容器中只包装一层，cause 为构造函数抛出的原始异常
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerSingleton("value", "y");
+        container.registerBeanDefinition(BeanDefinition.of("failing", Failing.class)
+                .withParameterBeanNames(new String[]{"value"}).withLazy(true));
+        BeanCreationException wrapped = assertThrows(BeanCreationException.class, () -> container.getBean("failing"));
+        assertInstanceOf(IOException.class, wrapped.getCause());
+        assertEquals("constructor failed: y", wrapped.getCause().getMessage());
+    }
+
+    @Test
+    void testFactoryMethodReresolvedForReplacedFactoryBean() throws Throwable {
+        BeanInstantiator instantiator = new BeanInstantiator(BeanDefinition.of("product", String.class)
+                .withFactoryMethod("factory", "create")
+                .withParameterBeanNames(new String[]{"prefix"}));
+
+        assertEquals("a-factory", instantiator.invokeFactory(new Factory(), new Object[]{"a"}));
+        assertEquals("b-proxy", instantiator.invokeFactory(new FactoryProxy(), new Object[]{"b"}));
+        assertEquals("c-factory", instantiator.invokeFactory(new Factory(), new Object[]{"c"}));
+        assertEquals("count-2", instantiator.invokeFactory(new Factory(), new Object[]{2}));
+        BeanCreationException e = assertThrows(BeanCreationException.class,
+                () -> instantiator.invokeFactory(new Factory(), new Object[]{1.5d}));
+        assertTrue(e.getMessage().contains("No matching factory method 'create'"));
+    }
+
+    @Test
+    void testFactoryBeanReplacedByProxyInContainer() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("factory", Factory.class));
+        container.registerSingleton("prefix", "p");
+        container.registerBeanDefinition(BeanDefinition.of("product", String.class)
+                .withFactoryMethod("factory", "create")
+                .withParameterBeanNames(new String[]{"prefix"})
+                .withScope(BeanScope.PROTOTYPE));
+        container.addBeanInterceptor(new BeanInterceptor() {
+            @Override
+            public Object afterInitialization(Object bean, String beanName, BeanDefinition definition) {
+                return bean.getClass() == Factory.class ? new FactoryProxy() : bean;
+            }
+        });
+
+        assertInstanceOf(FactoryProxy.class, container.getBean("factory"));
+        assertEquals("p-proxy", container.getBean("product"));
+    }
+
+    @Test
+    void testLifecycleMethodsReresolvedAfterProxying() throws Throwable {
+        BeanInstantiator instantiator = new BeanInstantiator(BeanDefinition.of("lifecycle", Lifecycle.class)
+                .withInitMethod("init")
+                .withDestroyMethod("close"));
+
+        Lifecycle plain = new Lifecycle();
+        instantiator.invokeInit(plain);
+        instantiator.invokeDestroy(plain);
+        assertEquals(List.of("init", "close"), plain.calls);
+
+        Lifecycle proxy = new LifecycleProxy();
+        instantiator.invokeInit(proxy);
+        instantiator.invokeDestroy(proxy);
+        assertEquals(List.of("proxy-init", "close"), proxy.calls);
+
+        // 切换回原类型时同样重新解析
+        Lifecycle again = new Lifecycle();
+        instantiator.invokeInit(again);
+        assertEquals(List.of("init"), again.calls);
+
+        BeanInstantiator missing = new BeanInstantiator(BeanDefinition.of("lifecycle", Lifecycle.class)
+                .withInitMethod("start"));
+        assertThrows(NoSuchMethodException.class, () -> missing.invokeInit(plain));
+    }
+}
@@ -0,0 +1,98 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.annotation.Pooled;
+import org.moper.cap.bean.container.PooledBean;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * POOLED 与 PROTOTYPE 作用域的获取开销基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>Bean 在构造时创建 {@link MessageDigest} 并分配 64 KB 缓冲区，模拟创建开销大且非线程安全的组件。
+ * 分别以单线程与多线程（参数指定线程数，默认 4）执行"获取 → 计算一次摘要 → 归还"，比较平均耗时。
+ */
+public class BeanPoolBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURE_ITERATIONS = 200_000;
+    private static final byte[] PAYLOAD = "cap-framework".getBytes(StandardCharsets.UTF_8);
+
+    @Pooled(maxSize = 16)
+    public static class Hasher {
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[64 * 1024];
+
+        public Hasher() throws NoSuchAlgorithmException {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        }
+
+        byte[] hash(byte[] input) {
+            System.arraycopy(input, 0, buffer, 0, input.length);
+            digest.update(buffer, 0, input.length);
+            return digest.digest();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("prototypeHasher", Hasher.class).withScope(BeanScope.PROTOTYPE));
+        container.registerBeanDefinition(BeanDefinition.of("pooledHasher", Hasher.class).withScope(BeanScope.POOLED));
+
+        Runnable prototype = () -> container.getBean("prototypeHasher", Hasher.class).hash(PAYLOAD);
+        Runnable pooled = () -> {
+            try (PooledBean<Hasher> hasher = container.borrowBean("pooledHasher", Hasher.class)) {
+                hasher.get().hash(PAYLOAD);
+            }
+        };
+
+        for (int n : new int[]{1, threads}) {
+            report("PROTOTYPE", n, prototype);
+            report("POOLED", n, pooled);
+        }
+        System.out.println(container.getBeanPoolMetrics("pooledHasher"));
+    }
+
+    private static void report(String label, int threads, Runnable operation) throws InterruptedException {
+        run(threads, WARMUP_ITERATIONS, operation);
+        long elapsed = run(threads, MEASURE_ITERATIONS, operation);
+        System.out.printf("%-10s %2d thread(s) %,8d ns/op%n", label, threads, elapsed * threads / MEASURE_ITERATIONS);
+    }
+
+    /**
+     * 每个线程执行 iterations / threads 次，返回全部线程完成的墙钟时间
+     */
+    private static long run(int threads, int iterations, Runnable operation) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        LongAdder failures = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < iterations / threads; i++) {
+                        operation.run();
+                    }
+                } catch (Exception e) {
+                    failures.increment();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        if (failures.sum() > 0) {
+            throw new IllegalStateException(failures.sum() + " benchmark thread(s) failed");
+        }
+        return System.nanoTime() - begin;
+    }
+}
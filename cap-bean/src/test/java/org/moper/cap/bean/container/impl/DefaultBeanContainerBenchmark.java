@@ -0,0 +1,64 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.definition.BeanDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按类型查找的简单基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>向容器注册 5000 个 Bean，比较以下三种按类型查找方式的平均耗时：
+ * <ul>
+ *   <li>线性扫描：与引入类型索引之前的 {@code getBeanNamesForType} 等价的全量遍历</li>
+ *   <li>{@link DefaultBeanContainer#getBeanNamesForType(Class)}：类型索引查找</li>
+ *   <li>{@link DefaultBeanContainer#getBean(Class)}：候选解析缓存命中后的按类型获取</li>
+ * </ul>
+ */
+public class DefaultBeanContainerBenchmark {
+
+    private static final int BEAN_COUNT = 5_000;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURE_ITERATIONS = 20_000;
+
+    interface TransactionManager {}
+
+    public static class JdbcTransactionManager implements TransactionManager {}
+
+    public static class PlainBean {}
+
+    public static void main(String[] args) {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        for (int i = 0; i < BEAN_COUNT - 1; i++) {
+            container.registerBeanDefinition(BeanDefinition.of("plainBean" + i, PlainBean.class));
+        }
+        container.registerBeanDefinition(BeanDefinition.of("transactionManager", JdbcTransactionManager.class));
+        container.preInstantiateSingletons();
+
+        report("linear scan", () -> linearScan(container, TransactionManager.class));
+        report("getBeanNamesForType", () -> container.getBeanNamesForType(TransactionManager.class));
+        report("getBean(Class)", () -> container.getBean(TransactionManager.class));
+    }
+
+    private static String[] linearScan(DefaultBeanContainer container, Class<?> type) {
+        List<String> result = new ArrayList<>();
+        for (String name : container.getBeanDefinitionNames()) {
+            if (type.isAssignableFrom(container.getBeanDefinition(name).type())) {
+                result.add(name);
+            }
+        }
+        return result.toArray(String[]::new);
+    }
+
+    private static void report(String label, Runnable lookup) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            lookup.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            lookup.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %,10d ns/op (%d beans)%n", label, elapsed / MEASURE_ITERATIONS, BEAN_COUNT);
+    }
+}
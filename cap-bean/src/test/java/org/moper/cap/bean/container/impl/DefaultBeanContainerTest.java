@@ -0,0 +1,498 @@
+package org.moper.cap.bean.container.impl;
+
+import org.junit.jupiter.api.Test;
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.annotation.Lazy;
+import org.moper.cap.bean.annotation.Pooled;
+import org.moper.cap.bean.container.BeanPoolMetrics;
+import org.moper.cap.bean.container.PooledBean;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+import org.moper.cap.bean.exception.BeanCreationException;
+import org.moper.cap.bean.exception.BeanDefinitionStoreException;
+import org.moper.cap.bean.exception.BeanDestructionException;
+import org.moper.cap.bean.exception.NoSuchBeanDefinitionException;
+import org.moper.cap.bean.exception.NoUniqueBeanDefinitionException;
+import org.moper.cap.bean.inject.ObjectProvider;
+import org.moper.cap.bean.inject.Provider;
+import org.moper.cap.bean.interceptor.BeanInterceptor;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultBeanContainerTest {
+
+    interface Repository {}
+
+    interface UserRepository extends Repository {}
+
+    public static class BaseRepository implements UserRepository {}
+
+    public static class JdbcUserRepository extends BaseRepository {}
+
+    public static class CachedUserRepository extends BaseRepository {}
+
+    static final List<String> CREATION_ORDER = new CopyOnWriteArrayList<>();
+
+    static final List<String> DESTRUCTION_ORDER = new CopyOnWriteArrayList<>();
+
+    public static class Leaf {
+        public Leaf() { CREATION_ORDER.add("leaf"); }
+
+        public void destroy() { DESTRUCTION_ORDER.add("leaf"); }
+    }
+
+    public static class Middle {
+        public Middle(Leaf leaf) { CREATION_ORDER.add("middle"); }
+
+        public void destroy() { DESTRUCTION_ORDER.add("middle"); }
+    }
+
+    public static class Top {
+        @Inject
+        private Middle middle;
+
+        public Top() { CREATION_ORDER.add("top"); }
+
+        public void destroy() { DESTRUCTION_ORDER.add("top"); }
+    }
+
+    @Pooled(maxSize = 2)
+    public static class PooledParser {
+        static final List<PooledParser> DESTROYED = new CopyOnWriteArrayList<>();
+
+        public void destroy() { DESTROYED.add(this); }
+    }
+
+    @Pooled(maxSize = 2, maxIdleMillis = 0)
+    public static class ShortLivedParser {
+    }
+
+    public static class Hanging {
+        public Hanging(Leaf leaf) {}
+
+        public void destroy() throws InterruptedException { Thread.sleep(10_000); }
+    }
+
+    public static class CycleA {
+        public CycleA(CycleB b) {}
+    }
+
+    public static class CycleB {
+        @Inject
+        private CycleA cycleA;
+    }
+
+    public static class Broken {
+        public Broken() { throw new IllegalStateException("boom"); }
+    }
+
+    public static class DeferredConsumer {
+        final Provider<Leaf> leaf;
+        final ObjectProvider<Broken> broken;
+        final UserRepository repository;
+
+        public DeferredConsumer(Provider<Leaf> leaf, ObjectProvider<Broken> broken, @Lazy UserRepository repository) {
+            this.leaf = leaf;
+            this.broken = broken;
+            this.repository = repository;
+        }
+    }
+
+    public static class ProviderCycleA {
+        final Provider<ProviderCycleB> b;
+
+        public ProviderCycleA(Provider<ProviderCycleB> b) { this.b = b; }
+    }
+
+    public static class ProviderCycleB {
+        final ProviderCycleA a;
+
+        public ProviderCycleB(ProviderCycleA a) { this.a = a; }
+    }
+
+    @Test
+    void testTypeIndexCoversSuperclassesAndInterfaces() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class));
+
+        assertArrayEquals(new String[]{"jdbcUserRepository"}, container.getBeanNamesForType(JdbcUserRepository.class));
+        assertArrayEquals(new String[]{"jdbcUserRepository"}, container.getBeanNamesForType(BaseRepository.class));
+        assertArrayEquals(new String[]{"jdbcUserRepository"}, container.getBeanNamesForType(UserRepository.class));
+        assertArrayEquals(new String[]{"jdbcUserRepository"}, container.getBeanNamesForType(Repository.class));
+        assertArrayEquals(new String[]{"jdbcUserRepository"}, container.getBeanNamesForType(Object.class));
+        assertEquals(0, container.getBeanNamesForType(CachedUserRepository.class).length);
+
+        assertInstanceOf(JdbcUserRepository.class, container.getBean(Repository.class));
+    }
+
+    @Test
+    void testTypeIndexIncludesExternalSingletons() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class));
+        CachedUserRepository cached = new CachedUserRepository();
+        container.registerSingleton("cachedUserRepository", cached);
+
+        assertArrayEquals(new String[]{"jdbcUserRepository", "cachedUserRepository"},
+                container.getBeanNamesForType(UserRepository.class));
+        assertSame(cached, container.getBean(CachedUserRepository.class));
+
+        container.destroyBean("cachedUserRepository");
+        assertArrayEquals(new String[]{"jdbcUserRepository"}, container.getBeanNamesForType(UserRepository.class));
+    }
+
+    @Test
+    void testResolvedCandidateCacheInvalidatedOnRegistration() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class));
+        assertInstanceOf(JdbcUserRepository.class, container.getBean(UserRepository.class));
+
+        container.registerBeanDefinition(BeanDefinition.of("cachedUserRepository", CachedUserRepository.class));
+        assertThrows(NoUniqueBeanDefinitionException.class, () -> container.getBean(UserRepository.class));
+
+        container.removeBeanDefinition("jdbcUserRepository");
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class).withPrimary(true));
+        assertInstanceOf(JdbcUserRepository.class, container.getBean(UserRepository.class));
+
+        container.removeBeanDefinition("jdbcUserRepository");
+        container.removeBeanDefinition("cachedUserRepository");
+        assertThrows(NoSuchBeanDefinitionException.class, () -> container.getBean(UserRepository.class));
+    }
+
+    @Test
+    void testResolvedCandidateNotCachedAcrossConcurrentRegistration() {
+        AtomicBoolean race = new AtomicBoolean();
+        DefaultBeanContainer container = new DefaultBeanContainer() {
+            @Override
+            public String[] getBeanNamesForType(Class<?> type) {
+                String[] names = super.getBeanNamesForType(type);
+                // 模拟解析期间另一个线程替换了唯一候选
+                if (race.compareAndSet(true, false)) {
+                    removeBeanDefinition("jdbcUserRepository");
+                    registerBeanDefinition(BeanDefinition.of("cachedUserRepository", CachedUserRepository.class));
+                }
+                return names;
+            }
+        };
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class));
+
+        race.set(true);
+        assertThrows(NoSuchBeanDefinitionException.class, () -> container.getBean(UserRepository.class));
+        // 解析期间注册表已变化，旧的候选名称不能留在缓存中
+        assertInstanceOf(CachedUserRepository.class, container.getBean(UserRepository.class));
+    }
+
+    @Test
+    void testParallelPreInstantiationRespectsDependencies() {
+        CREATION_ORDER.clear();
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("top", Top.class));
+        container.registerBeanDefinition(BeanDefinition.of("middle", Middle.class)
+                .withParameterBeanNames(new String[]{"leaf"}));
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class));
+
+        container.preInstantiateSingletons(4);
+
+        assertEquals(List.of("leaf", "middle", "top"), CREATION_ORDER);
+        assertSame(container.getBean("middle"), container.getBean("middle"));
+    }
+
+    @Test
+    void testParallelPreInstantiationDetectsCycle() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("cycleA", CycleA.class)
+                .withParameterBeanNames(new String[]{"cycleB"}));
+        container.registerBeanDefinition(BeanDefinition.of("cycleB", CycleB.class));
+
+        BeanCreationException ex = assertThrows(BeanCreationException.class, () -> container.preInstantiateSingletons(4));
+        assertTrue(ex.getMessage().contains("cycleA -> cycleB -> cycleA"), ex.getMessage());
+    }
+
+    @Test
+    void testDeferredConstructorParametersResolveOnFirstUse() {
+        CREATION_ORDER.clear();
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class).withLazy(true));
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class)
+                .withLazy(true));
+        container.registerBeanDefinition(BeanDefinition.of("deferredConsumer", DeferredConsumer.class)
+                .withParameterBeanNames(new String[]{"leaf", "broken", "jdbcUserRepository"}));
+        container.preInstantiateSingletons();
+
+        DeferredConsumer consumer = container.getBean("deferredConsumer", DeferredConsumer.class);
+        assertTrue(CREATION_ORDER.isEmpty(), CREATION_ORDER.toString());
+
+        assertSame(container.getBean("leaf"), consumer.leaf.get());
+        assertEquals(List.of("leaf"), CREATION_ORDER);
+
+        // 未注册的 Bean：getIfAvailable 返回 null，get 抛出
+        assertNull(consumer.broken.getIfAvailable());
+        assertThrows(NoSuchBeanDefinitionException.class, consumer.broken::get);
+
+        assertFalse(consumer.repository instanceof JdbcUserRepository);
+        assertEquals(container.getBean("jdbcUserRepository").toString(), consumer.repository.toString());
+    }
+
+    @Test
+    void testProviderParameterBreaksCycle() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("providerCycleA", ProviderCycleA.class)
+                .withParameterBeanNames(new String[]{"providerCycleB"}));
+        container.registerBeanDefinition(BeanDefinition.of("providerCycleB", ProviderCycleB.class)
+                .withParameterBeanNames(new String[]{"providerCycleA"}));
+
+        container.preInstantiateSingletons(4);
+
+        ProviderCycleA a = container.getBean("providerCycleA", ProviderCycleA.class);
+        assertSame(a, a.b.get().a);
+        assertSame(container.getBean("providerCycleB"), a.b.get());
+    }
+
+    @Test
+    void testFrozenContainerRejectsStructuralChangesAndServesLookups() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class));
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class).withLazy(true));
+        container.registerBeanDefinition(BeanDefinition.of("parser", PooledParser.class).withScope(BeanScope.POOLED));
+        container.registerAlias("jdbcUserRepository", "users");
+        CachedUserRepository external = new CachedUserRepository();
+        container.registerSingleton("cachedUserRepository", external);
+        container.registerSingleton("shortLivedParser", new ShortLivedParser());
+        container.preInstantiateSingletons();
+
+        container.freeze();
+        assertTrue(container.isFrozen());
+        assertThrows(BeanDefinitionStoreException.class,
+                () -> container.registerBeanDefinition(BeanDefinition.of("middle", Middle.class)));
+        assertThrows(BeanDefinitionStoreException.class, () -> container.removeBeanDefinition("leaf"));
+        assertThrows(BeanDefinitionStoreException.class, () -> container.registerAlias("leaf", "other"));
+        assertThrows(BeanDefinitionStoreException.class, () -> container.registerSingleton("other", new Object()));
+
+        assertSame(container.getBean("jdbcUserRepository"), container.getBean("users"));
+        assertSame(external, container.getBean("cachedUserRepository"));
+        assertEquals("jdbcUserRepository", container.getBeanDefinition("users").name());
+        assertArrayEquals(new String[]{"jdbcUserRepository", "leaf", "parser"}, container.getBeanDefinitionNames());
+        assertArrayEquals(new String[]{"jdbcUserRepository", "cachedUserRepository"},
+                container.getBeanNamesForType(UserRepository.class));
+        assertThrows(NoSuchBeanDefinitionException.class, () -> container.getBean("missing"));
+        assertTrue(container.isBeanNameInUse("users"));
+        assertTrue(container.isBeanNameInUse("cachedUserRepository"));
+        assertFalse(container.isBeanNameInUse("missing"));
+        assertArrayEquals(new String[]{"users"}, container.getAliases("jdbcUserRepository"));
+        assertArrayEquals(new String[]{"users"}, container.getAliases("users"));
+        assertArrayEquals(new String[0], container.getAliases("leaf"));
+        assertThrows(NoSuchBeanDefinitionException.class, () -> container.getAliases("missing"));
+        assertArrayEquals(new String[]{"parser", "shortLivedParser"}, container.getBeanNamesForAnnotation(Pooled.class));
+
+        // 冻结后创建的懒加载单例写入查找表
+        Object leaf = container.getBean("leaf");
+        assertSame(leaf, container.getBean("leaf"));
+        assertSame(leaf, container.getBean(Leaf.class));
+        assertSame(leaf, container.getBean(Leaf.class));
+        assertThrows(NoUniqueBeanDefinitionException.class, () -> container.getBean(UserRepository.class));
+
+        // 外部单例销毁后从查找表中消失
+        container.destroyBean("cachedUserRepository");
+        assertFalse(container.containsBean("cachedUserRepository"));
+        assertFalse(container.isBeanNameInUse("cachedUserRepository"));
+        assertThrows(NoSuchBeanDefinitionException.class, () -> container.getAliases("cachedUserRepository"));
+        assertInstanceOf(JdbcUserRepository.class, container.getBean(UserRepository.class));
+    }
+
+    @Test
+    void testParallelPreInstantiationReportsFirstFailureInRegistrationOrder() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("broken1", Broken.class));
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class));
+        container.registerBeanDefinition(BeanDefinition.of("broken2", Broken.class));
+
+        BeanCreationException ex = assertThrows(BeanCreationException.class, () -> container.preInstantiateSingletons(4));
+        assertEquals("broken1", ex.getBeanName());
+        assertEquals(1, ex.getSuppressed().length);
+        assertNotNull(container.getBean("leaf"));
+    }
+
+    @Test
+    void testDestroySingletonsDestroysDependentsFirst() {
+        DESTRUCTION_ORDER.clear();
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class).withDestroyMethod("destroy"));
+        container.registerBeanDefinition(BeanDefinition.of("middle", Middle.class)
+                .withParameterBeanNames(new String[]{"leaf"}).withDestroyMethod("destroy"));
+        container.registerBeanDefinition(BeanDefinition.of("top", Top.class).withDestroyMethod("destroy"));
+        container.preInstantiateSingletons();
+
+        container.destroySingletons();
+        assertEquals(List.of("top", "middle", "leaf"), DESTRUCTION_ORDER);
+
+        DESTRUCTION_ORDER.clear();
+        container.preInstantiateSingletons();
+        container.destroySingletons(4, Duration.ZERO, Duration.ofSeconds(1));
+        assertEquals(List.of("top", "middle", "leaf"), DESTRUCTION_ORDER);
+    }
+
+    @Test
+    void testParallelDestructionContinuesAfterTimeout() {
+        DESTRUCTION_ORDER.clear();
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class).withDestroyMethod("destroy"));
+        container.registerBeanDefinition(BeanDefinition.of("hanging", Hanging.class)
+                .withParameterBeanNames(new String[]{"leaf"}).withDestroyMethod("destroy"));
+        container.preInstantiateSingletons();
+
+        long start = System.nanoTime();
+        BeanDestructionException ex = assertThrows(BeanDestructionException.class,
+                () -> container.destroySingletons(4, Duration.ofMillis(100), Duration.ofMillis(50)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5_000);
+        assertEquals("hanging", ex.getBeanName());
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertEquals(List.of("leaf"), DESTRUCTION_ORDER);
+    }
+
+    @Test
+    void testPooledScopeReusesBoundedInstances() {
+        PooledParser.DESTROYED.clear();
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("parser", PooledParser.class)
+                .withScope(BeanScope.POOLED).withDestroyMethod("destroy"));
+
+        assertThrows(BeanCreationException.class, () -> container.getBean("parser"));
+
+        PooledParser first;
+        try (PooledBean<PooledParser> handle = container.borrowBean("parser", PooledParser.class)) {
+            first = handle.get();
+        }
+        PooledBean<PooledParser> a = container.borrowBean("parser", PooledParser.class);
+        PooledBean<PooledParser> b = container.borrowBean("parser", PooledParser.class);
+        PooledBean<PooledParser> overflow = container.borrowBean("parser", PooledParser.class);
+        assertSame(first, a.get());
+        assertNotSame(a.get(), b.get());
+
+        PooledParser temporary = overflow.get();
+        overflow.close();
+        assertEquals(List.of(temporary), PooledParser.DESTROYED);
+        b.invalidate();
+        b.close();
+        a.close();
+        assertThrows(IllegalStateException.class, a::get);
+
+        BeanPoolMetrics metrics = container.getBeanPoolMetrics("parser");
+        assertEquals(2, metrics.maxSize());
+        assertEquals(0, metrics.active());
+        assertEquals(1, metrics.idle());
+        assertEquals(3, metrics.created());
+        assertEquals(2, metrics.destroyed());
+        assertEquals(4, metrics.borrowed());
+        assertEquals(1, metrics.overflow());
+
+        container.destroySingletons();
+        assertEquals(3, PooledParser.DESTROYED.size());
+        assertSame(first, PooledParser.DESTROYED.get(2));
+    }
+
+    @Test
+    void testPooledScopeEvictsIdleInstances() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("parser", ShortLivedParser.class).withScope(BeanScope.POOLED));
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class));
+
+        BeanPoolMetrics empty = container.getBeanPoolMetrics("parser");
+        assertEquals(new BeanPoolMetrics("parser", 2, 0, 0, 0, 0, 0, 0, 0), empty);
+
+        container.borrowBean("parser", ShortLivedParser.class).close();
+
+        BeanPoolMetrics metrics = container.getBeanPoolMetrics("parser");
+        assertEquals(0, metrics.idle());
+        assertEquals(1, metrics.evicted());
+        assertNull(container.getBeanPoolMetrics("leaf"));
+    }
+
+    private record RecordingInterceptor(String label, int order, List<String> calls,
+                                        Set<BeanInterceptorPhase> phases, Class<?> supportedType) implements BeanInterceptor {
+
+        @Override
+        public Object afterInstantiation(Object bean, BeanDefinition definition) {
+            calls.add(label + ":afterInstantiation:" + definition.name());
+            return bean;
+        }
+
+        @Override
+        public Object afterInitialization(Object bean, String beanName, BeanDefinition definition) {
+            calls.add(label + ":afterInitialization:" + beanName);
+            return bean;
+        }
+
+        @Override
+        public Set<BeanInterceptorPhase> getPhases() {
+            return phases;
+        }
+
+        @Override
+        public boolean supports(BeanDefinition definition) {
+            return supportedType == null || supportedType == definition.type();
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    @Test
+    void testInterceptorsRunInOrderThenRegistrationOrder() {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Set<BeanInterceptorPhase> phases = EnumSet.of(BeanInterceptorPhase.AFTER_INSTANTIATION);
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        for (int order : new int[]{300, 100, 200, 100, 50, 200}) {
+            container.addBeanInterceptor(new RecordingInterceptor(order + "#" + container.getBeanInterceptorCount(),
+                    order, calls, phases, null));
+        }
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class));
+
+        container.getBean("leaf");
+
+        assertEquals(List.of(
+                "50#4:afterInstantiation:leaf",
+                "100#1:afterInstantiation:leaf",
+                "100#3:afterInstantiation:leaf",
+                "200#2:afterInstantiation:leaf",
+                "200#5:afterInstantiation:leaf",
+                "300#0:afterInstantiation:leaf"), calls);
+    }
+
+    @Test
+    void testInterceptorChainFiltersByPhaseAndSupports() {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.addBeanInterceptor(new RecordingInterceptor("leafOnly", 0, calls,
+                EnumSet.allOf(BeanInterceptorPhase.class), Leaf.class));
+        container.addBeanInterceptor(new RecordingInterceptor("initOnly", 1, calls,
+                EnumSet.of(BeanInterceptorPhase.AFTER_INITIALIZATION), null));
+        container.registerBeanDefinition(BeanDefinition.of("leaf", Leaf.class));
+        container.registerBeanDefinition(BeanDefinition.of("jdbcUserRepository", JdbcUserRepository.class));
+
+        container.getBean("leaf");
+        container.getBean("jdbcUserRepository");
+
+        assertEquals(List.of(
+                "leafOnly:afterInstantiation:leaf",
+                "leafOnly:afterInitialization:leaf",
+                "initOnly:afterInitialization:leaf",
+                "initOnly:afterInitialization:jdbcUserRepository"), calls);
+
+        // 新注册的拦截器对之后创建的 Bean 生效
+        container.addBeanInterceptor(new RecordingInterceptor("late", 2, calls,
+                EnumSet.of(BeanInterceptorPhase.AFTER_INSTANTIATION), null));
+        container.registerBeanDefinition(BeanDefinition.of("cachedUserRepository", CachedUserRepository.class));
+        container.getBean("cachedUserRepository");
+        assertTrue(calls.contains("late:afterInstantiation:cachedUserRepository"), calls.toString());
+    }
+}
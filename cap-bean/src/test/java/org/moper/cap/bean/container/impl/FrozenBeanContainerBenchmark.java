@@ -0,0 +1,96 @@
+package org.moper.cap.bean.container.impl;
+
+import org.moper.cap.bean.definition.BeanDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多线程 getBean 吞吐量基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>向容器注册 1000 个单例（其中一半通过别名访问），
+ * 多个线程同时循环执行 getBean(name)、getBean(alias)、containsBean 与 getBeanDefinition，比较：
+ * <ul>
+ *   <li>未冻结：经过同步的 BeanDefinition 注册表与别名 / 单例 Map</li>
+ *   <li>已冻结：{@link FrozenBeanTable} 的数组散列查找</li>
+ * </ul>
+ */
+public class FrozenBeanContainerBenchmark {
+
+    private static final int BEAN_COUNT = 1_000;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURE_ITERATIONS = 2_000_000;
+
+    public static class Service {}
+
+    public static void main(String[] args) throws InterruptedException {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < BEAN_COUNT; i++) {
+            keys.add(i % 2 == 0 ? "alias" + i : "service" + i);
+        }
+        String[] lookups = keys.toArray(String[]::new);
+        DefaultBeanContainer unfrozen = container();
+        DefaultBeanContainer frozen = container();
+        frozen.freeze();
+
+        // 交替测量，减少 JIT 与测量顺序带来的偏差
+        for (int round = 1; round <= 3; round++) {
+            report("unfrozen #" + round, unfrozen, lookups);
+            report("frozen #" + round, frozen, lookups);
+        }
+    }
+
+    private static DefaultBeanContainer container() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        for (int i = 0; i < BEAN_COUNT; i++) {
+            container.registerBeanDefinition(BeanDefinition.of("service" + i, Service.class));
+            if (i % 2 == 0) {
+                container.registerAlias("service" + i, "alias" + i);
+            }
+        }
+        container.preInstantiateSingletons();
+        return container;
+    }
+
+    private static void report(String label, DefaultBeanContainer container, String[] lookups) throws InterruptedException {
+        run(container, lookups, WARMUP_ITERATIONS);
+        long start = System.nanoTime();
+        long ops = run(container, lookups, MEASURE_ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-12s %d threads, %,14d lookups/s%n", label, THREADS, ops * 1_000_000_000L / elapsed);
+    }
+
+    private static long run(DefaultBeanContainer container, String[] lookups, int iterations) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        LongAdder ops = new LongAdder();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * 7919;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    long sink = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        String key = lookups[(offset + i) % lookups.length];
+                        sink += container.getBean(key).hashCode();
+                        sink += container.containsBean(key) ? 1 : 0;
+                        sink += container.getBeanDefinition(key).name().length();
+                    }
+                    ops.add(iterations * 3L);
+                    if (sink == 42) System.out.print("");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        start.countDown();
+        done.await();
+        return ops.sum();
+    }
+}
@@ -4,51 +4,124 @@ import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.bean.container.BeanContainer;
 import org.moper.cap.bean.container.impl.DefaultBeanContainer;
 import org.moper.cap.boot.application.CapApplication;
+import org.moper.cap.boot.cds.CdsArchive;
+import org.moper.cap.boot.cds.TrainingResult;
+import org.moper.cap.boot.scan.DefaultClasspathScanView;
+import org.moper.cap.boot.snapshot.FileWiringSnapshot;
 import org.moper.cap.core.annotation.RunnerMeta;
 import org.moper.cap.core.command.CommandArgumentParser;
 import org.moper.cap.core.command.impl.DefaultCommandArgumentParser;
 import org.moper.cap.core.config.ConfigurationClassParser;
 import org.moper.cap.core.config.impl.DefaultConfigurationClassParser;
 import org.moper.cap.core.constants.BannerConstants;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.constants.ResourceConstants;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.core.context.impl.DefaultBootstrapContext;
 import org.moper.cap.core.exception.BootstrapRunnerException;
 import org.moper.cap.core.runner.BootstrapRunner;
+import org.moper.cap.core.runner.RegistryBootstrapRunner;
 import org.moper.cap.core.runner.RunnerDefinition;
-import org.moper.cap.core.runner.RunnerType;
+import org.moper.cap.core.runner.RunnerGraph;
 import org.moper.cap.core.runner.RuntimeRunner;
+import org.moper.cap.core.snapshot.WiringSnapshot;
 import org.moper.cap.common.banner.BannerPrinter;
+import org.moper.cap.common.startup.StartupStep;
+import org.moper.cap.common.startup.StartupTimeline;
 import org.moper.cap.common.converter.TypeResolver;
 import org.moper.cap.common.converter.impl.DefaultTypeResolver;
 import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.property.officer.impl.DefaultPropertyOfficer;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceLoader;
-import java.util.TreeSet;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 public class DefaultCapApplication implements CapApplication {
 
+    /**
+     * 影响 Bootstrap 阶段注册结果、且只能由命令行参数或系统属性指定的启动参数，计入布线快照指纹
+     */
+    private static final List<String> SNAPSHOT_LAUNCH_SETTINGS = List.of(
+            PropertyArguments.SUPPORTED_ACTIVE_PROFILE_PROPERTY_KEY,
+            PropertyArguments.COMPONENT_INDEX_IGNORE_PROPERTY_KEY,
+            PropertyArguments.CLASSPATH_SCAN_PARALLELISM_PROPERTY_KEY,
+            PropertyArguments.CONFIG_LOCATION_PROPERTY_KEY);
+
     private final RuntimeContext runtimeContext;
     private final AtomicBoolean started = new AtomicBoolean(false);
 
+    /**
+     * 启动时间线，未启用时为 null
+     */
+    private final StartupTimeline timeline;
+
+    /**
+     * 启动训练的结果，未以启动训练模式运行时为 null
+     */
+    private volatile TrainingResult trainingResult;
+
     public DefaultCapApplication(Class<?> primarySource, String... args) throws Exception {
+        // 以下启动参数在配置文件加载之前就要确定，只能由命令行参数或系统属性指定
+        CommandArgumentParser commandArgumentParser = new DefaultCommandArgumentParser(args);
+        Map<String, Object> launchArguments = commandArgumentParser.parse();
+        // 尽早开始记录启动时间线
+        this.timeline = Boolean.parseBoolean(launchArgument(launchArguments, PropertyArguments.STARTUP_TIMELINE_ENABLED_PROPERTY_KEY, "false"))
+                ? StartupTimeline.start() : null;
+
         // 输出系统banner
         printSystemBanner();
 
         BeanContainer beanContainer = new DefaultBeanContainer();
         TypeResolver typeResolver = new DefaultTypeResolver();
-        PropertyOfficer propertyOfficer = new DefaultPropertyOfficer(ResourceConstants.PROPERTY_OFFICER, typeResolver);
-        CommandArgumentParser commandArgumentParser = new DefaultCommandArgumentParser(args);
+        // 属性变更审计日志在第一个属性清单之前就要确定
+        int changeLogCapacity = Integer.parseInt(launchArgument(launchArguments, PropertyArguments.PROPERTY_CHANGE_LOG_CAPACITY_PROPERTY_KEY,
+                String.valueOf(DefaultPropertyOfficer.DEFAULT_CHANGE_LOG_CAPACITY)));
+        String changeLogFile = launchArgument(launchArguments, PropertyArguments.PROPERTY_CHANGE_LOG_FILE_PROPERTY_KEY, "");
+        long deliveryTimeout = Long.parseLong(launchArgument(launchArguments, PropertyArguments.PROPERTY_DELIVERY_TIMEOUT_PROPERTY_KEY,
+                String.valueOf(DefaultPropertyOfficer.DEFAULT_DELIVERY_TIMEOUT.toMillis())));
+        PropertyOfficer propertyOfficer = new DefaultPropertyOfficer(ResourceConstants.PROPERTY_OFFICER, typeResolver,
+                changeLogCapacity, changeLogFile.isEmpty() ? null : Path.of(changeLogFile), Duration.ofMillis(deliveryTimeout));
         ConfigurationClassParser configurationClassParser = new DefaultConfigurationClassParser(primarySource);
 
-        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext(beanContainer, propertyOfficer, commandArgumentParser, configurationClassParser, typeResolver);
+        // 类路径扫描视图在配置文件加载期间第一次被查询，其参数同样只能由命令行参数或系统属性指定
+        int scanParallelism = Integer.parseInt(launchArgument(launchArguments, PropertyArguments.CLASSPATH_SCAN_PARALLELISM_PROPERTY_KEY,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        boolean ignoreIndex = Boolean.parseBoolean(launchArgument(launchArguments, PropertyArguments.COMPONENT_INDEX_IGNORE_PROPERTY_KEY, "false"));
+        DefaultClasspathScanView classpathScanView = new DefaultClasspathScanView(configurationClassParser, scanParallelism, ignoreIndex);
 
-        // 通过 SPI 发现所有 BootstrapRunner 收集到有序集合
-        TreeSet<RunnerDefinition<BootstrapRunner>> runners = new TreeSet<>();
+        // 启用布线快照且类路径未变化时，直接恢复上次解析完成的 BeanDefinition 与别名
+        String snapshotFile = launchArgument(launchArguments, PropertyArguments.WIRING_SNAPSHOT_PROPERTY_KEY, "");
+        FileWiringSnapshot wiringSnapshot = null;
+        if (!snapshotFile.isEmpty()) {
+            try (StartupStep ignored = StartupTimeline.step("bootstrap", "wiring-snapshot-restore")) {
+                // 决定注册结果的启动参数计入快照指纹，例如切换活动环境或组件索引开关后不会恢复旧的 BeanDefinition
+                Map<String, String> launchSettings = new TreeMap<>();
+                for (String key : SNAPSHOT_LAUNCH_SETTINGS) {
+                    launchSettings.put(key, launchArgument(launchArguments, key, ""));
+                }
+                wiringSnapshot = FileWiringSnapshot.open(Path.of(snapshotFile), primarySource, primarySource.getClassLoader(), launchSettings);
+                wiringSnapshot.restore(beanContainer);
+            }
+        }
+        WiringSnapshot snapshot = wiringSnapshot == null ? WiringSnapshot.DISABLED : wiringSnapshot;
+
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext(beanContainer, propertyOfficer, commandArgumentParser, configurationClassParser, classpathScanView, typeResolver, snapshot);
+
+        // 通过 SPI 发现所有 BootstrapRunner，按 order 与 after / before 声明构建依赖图
+        List<RunnerDefinition<BootstrapRunner>> runners = new ArrayList<>();
         ServiceLoader<BootstrapRunner> loader = ServiceLoader.load(BootstrapRunner.class);
         for (BootstrapRunner runner : loader) {
             Class<? extends BootstrapRunner> clazz = runner.getClass();
@@ -56,27 +129,50 @@ public class DefaultCapApplication implements CapApplication {
             if(meta == null){
                 throw new BootstrapRunnerException("BootstrapRunner[" + clazz.getName() + "] is missing @RunnerMeta annotation");
             }
-            RunnerType type = meta.type();
-            int order = meta.order();
-            String name = meta.name();
-            String description = meta.description();
-
-            runners.add(new RunnerDefinition<>(order, clazz, runner, type, name, description));
+            runners.add(RunnerDefinition.of(runner));
         }
+        RunnerGraph<BootstrapRunner> graph = RunnerGraph.of(runners);
 
+        boolean parallel = Boolean.parseBoolean(launchArgument(launchArguments, PropertyArguments.PARALLEL_BOOTSTRAP_PROPERTY_KEY, "false"));
+        int parallelism = parallel
+                ? Integer.parseInt(launchArgument(launchArguments, PropertyArguments.BOOTSTRAP_PARALLELISM_PROPERTY_KEY,
+                        String.valueOf(Runtime.getRuntime().availableProcessors())))
+                : 1;
 
         // 输出 Bootstrap 阶段 banner
         printBootstrapBanner();
-        // 按顺序执行所有 Initializer
-        for(RunnerDefinition<BootstrapRunner> runner : runners){
-            log.info("Running BootstrapRunner [{}]", runner);
-            BootstrapRunner instance = runner.runner();
-            instance.initialize(bootstrapContext);
-            instance.close();
+        // 执行所有 Initializer（并行模式下按依赖图调度），全部执行完毕后释放共享的类路径扫描结果
+        if (parallelism > 1) {
+            log.info("Running {} BootstrapRunners in parallel (parallelism={})", graph.size(), parallelism);
+        }
+        try {
+            graph.execute(runner -> {
+                BootstrapRunner instance = runner.runner();
+                if (snapshot.isRestored() && instance instanceof RegistryBootstrapRunner) {
+                    log.info("Skipping BootstrapRunner [{}], bean definitions restored from wiring snapshot", runner);
+                    instance.close();
+                    return;
+                }
+                log.info("Running BootstrapRunner [{}]", runner);
+                try (StartupStep step = StartupTimeline.step("bootstrap-runner", runner.name())) {
+                    step.tag("class", runner.clazz().getName());
+                    instance.initialize(bootstrapContext);
+                    instance.close();
+                }
+            }, parallelism);
+        } finally {
+            classpathScanView.close();
+        }
+        if (wiringSnapshot != null) {
+            try (StartupStep ignored = StartupTimeline.step("bootstrap", "wiring-snapshot-save")) {
+                wiringSnapshot.saveIfStale(beanContainer);
+            }
         }
 
         // 构造完成后，BootstrapContext 处于完全初始化状态
-        this.runtimeContext = bootstrapContext.build();
+        try (StartupStep ignored = StartupTimeline.step("bootstrap", "build")) {
+            this.runtimeContext = bootstrapContext.build();
+        }
     }
 
     @Override
@@ -85,8 +181,8 @@ public class DefaultCapApplication implements CapApplication {
             return runtimeContext;
         }
 
-        // 通过 SPI 发现所有 RuntimeRunner 收集到有序集合
-        TreeSet<RunnerDefinition<RuntimeRunner>> runners = new TreeSet<>();
+        // 通过 SPI 发现所有 RuntimeRunner，按 order 与 after / before 声明排序
+        List<RunnerDefinition<RuntimeRunner>> runners = new ArrayList<>();
         ServiceLoader<RuntimeRunner> loader = ServiceLoader.load(RuntimeRunner.class);
         for (RuntimeRunner runner : loader) {
             Class<? extends RuntimeRunner> clazz = runner.getClass();
@@ -94,25 +190,118 @@ public class DefaultCapApplication implements CapApplication {
             if(meta == null){
                 throw new BootstrapRunnerException("RuntimeRunner[" + clazz.getName() + "] is missing @RunnerMeta annotation");
             }
-            RunnerType type = meta.type();
-            int order = meta.order();
-            String name = meta.name();
-            String description = meta.description();
-
-            runners.add(new RunnerDefinition<>(order, clazz, runner, type, name, description));
+            runners.add(RunnerDefinition.of(runner));
         }
 
         // 输出 Runtime 阶段 banner
         printRuntimeBanner();
         // 按顺序执行所有 Initializer
-        for(RunnerDefinition<RuntimeRunner> runner : runners){
+        List<RunnerDefinition<RuntimeRunner>> order = RunnerGraph.of(runners).sequentialOrder();
+        for(RunnerDefinition<RuntimeRunner> runner : order){
             log.info("Running BootstrapRunner {} ({})", runner.name(), runner.clazz().getName());
             RuntimeRunner instance = runner.runner();
-            instance.onApplicationStarted(runtimeContext);
+            try (StartupStep step = StartupTimeline.step("runtime-runner", runner.name())) {
+                step.tag("class", runner.clazz().getName());
+                instance.onApplicationStarted(runtimeContext);
+            }
+        }
+
+        if (timeline != null) {
+            reportTimeline(timeline.stop());
+        }
+
+        // 启动训练模式：RuntimeRunner 已完成预热，关闭应用并写出 AppCDS 归档，是否退出 JVM 由调用方根据训练结果决定
+        PropertyOfficer officer = runtimeContext.getPropertyOfficer();
+        if (officer.getPropertyValueOrDefault(PropertyArguments.STARTUP_TRAIN_PROPERTY_KEY, Boolean.class, false)) {
+            trainingResult = finishTraining(order, officer);
         }
         return runtimeContext;
     }
 
+    /**
+     * 获取启动训练的结果；以启动训练模式运行时 {@link #run()} 返回的 RuntimeContext 已经关闭
+     *
+     * @return 启动训练的结果，未以启动训练模式运行或尚未运行时为空
+     */
+    public Optional<TrainingResult> getTrainingResult() {
+        return Optional.ofNullable(trainingResult);
+    }
+
+    /**
+     * 写出 AppCDS 动态归档，默认委托 {@link CdsArchive#dump(Path)}
+     *
+     * @return 已写出或将在 JVM 退出时写出时返回 true
+     */
+    protected boolean dumpArchive(Path archive) {
+        return CdsArchive.dump(archive);
+    }
+
+    /**
+     * 结束启动训练：逆序关闭 RuntimeRunner 与运行时上下文，再写出 AppCDS 归档。
+     * 关闭过程中的异常只记录，不阻止归档写出
+     */
+    private TrainingResult finishTraining(List<RunnerDefinition<RuntimeRunner>> order, PropertyOfficer officer) {
+        log.info("Startup training finished, shutting down");
+        for (int i = order.size() - 1; i >= 0; i--) {
+            RunnerDefinition<RuntimeRunner> runner = order.get(i);
+            try {
+                runner.runner().onApplicationClosed();
+            } catch (Exception e) {
+                log.warn("RuntimeRunner {} failed to close during startup training", runner.name(), e);
+            }
+        }
+        Path archive = Path.of(officer.getPropertyValueOrDefault(PropertyArguments.STARTUP_CDS_ARCHIVE_PROPERTY_KEY, String.class, "cap-app.jsa").trim());
+        try {
+            runtimeContext.close();
+        } catch (Exception e) {
+            log.warn("Failed to close runtime context during startup training", e);
+        }
+        return new TrainingResult(archive, dumpArchive(archive));
+    }
+
+    /**
+     * 读取在配置文件加载之前就要确定的启动参数，命令行参数优先于系统属性
+     */
+    private static String launchArgument(Map<String, Object> arguments, String key, String defaultValue) {
+        Object value = arguments.get(key);
+        if (value == null) {
+            value = System.getProperty(key);
+        }
+        return value == null || value.toString().isBlank() ? defaultValue : value.toString().trim();
+    }
+
+    /**
+     * 输出启动时间线摘要，并在配置了导出路径时写入文件；导出失败只记录警告，不影响应用运行
+     */
+    private void reportTimeline(StartupTimeline timeline) {
+        PropertyOfficer officer = runtimeContext.getPropertyOfficer();
+        int summarySize = officer.getPropertyValueOrDefault(PropertyArguments.STARTUP_TIMELINE_SUMMARY_SIZE_PROPERTY_KEY, Integer.class, 10);
+        log.info("{}", timeline.summarize(summarySize).stripTrailing());
+
+        String output = officer.getPropertyValueOptional(PropertyArguments.STARTUP_TIMELINE_OUTPUT_PROPERTY_KEY, String.class).orElse("");
+        if (output.isBlank()) {
+            return;
+        }
+        String format = officer.getPropertyValueOrDefault(PropertyArguments.STARTUP_TIMELINE_FORMAT_PROPERTY_KEY, String.class, "chrome");
+        Path path = Path.of(output.trim());
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                if ("json".equalsIgnoreCase(format.trim())) {
+                    timeline.writeJson(writer);
+                } else {
+                    timeline.writeChromeTrace(writer);
+                }
+            }
+            log.info("Startup timeline written to {}", path.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write startup timeline to {}", path.toAbsolutePath(), e);
+        }
+    }
+
     private void printSystemBanner(){
         URL url = getClass().getClassLoader().getResource(BannerConstants.SUPPORTED_BANNER_FILE);
         if(url == null) BannerPrinter.printBannerFromClasspath(BannerConstants.DEFAULT_BANNER_FILE);
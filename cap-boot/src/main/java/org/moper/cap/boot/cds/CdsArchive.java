@@ -0,0 +1,75 @@
+package org.moper.cap.boot.cds;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.VMOption;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+/**
+ * AppCDS 动态归档的写出 </br>
+ *
+ * 启动训练模式结束时调用，按 JVM 的启动方式选择写出途径：
+ * <ul>
+ *   <li>以 {@code -XX:ArchiveClassesAtExit} 启动：JVM 退出时自动写出，这里只记录日志</li>
+ *   <li>以 {@code -XX:+RecordDynamicDumpInfo} 启动：通过 DiagnosticCommand {@code VM.cds dynamic_dump} 立即写出</li>
+ *   <li>其他情况无法写出动态归档，只输出重新启动的提示</li>
+ * </ul>
+ */
+@Slf4j
+public final class CdsArchive {
+
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    private CdsArchive() {
+    }
+
+    /**
+     * 写出动态归档，失败只记录警告，不影响训练进程退出
+     *
+     * @param archive 未以 -XX:ArchiveClassesAtExit 启动时使用的归档路径
+     * @return 已写出或将在退出时写出时返回 true
+     */
+    public static boolean dump(Path archive) {
+        try {
+            String atExit = vmOption("ArchiveClassesAtExit");
+            if (atExit != null && !atExit.isBlank()) {
+                log.info("AppCDS archive will be written to {} when the JVM exits", Path.of(atExit).toAbsolutePath());
+                return true;
+            }
+            if (Boolean.parseBoolean(vmOption("RecordDynamicDumpInfo"))) {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                Object result = server.invoke(new ObjectName(DIAGNOSTIC_COMMAND), "vmCds",
+                        new Object[]{new String[]{"dynamic_dump", archive.toAbsolutePath().toString()}},
+                        new String[]{String[].class.getName()});
+                log.info("AppCDS archive written to {}: {}", archive.toAbsolutePath(), String.valueOf(result).strip());
+                return true;
+            }
+        } catch (Exception | LinkageError e) {
+            log.warn("Failed to write AppCDS archive to {}", archive.toAbsolutePath(), e);
+            return false;
+        }
+        log.warn("AppCDS archive was not written: restart the training run with -XX:ArchiveClassesAtExit={} "
+                + "(or -XX:+RecordDynamicDumpInfo), or use {}", archive, CdsLauncher.class.getName());
+        return false;
+    }
+
+    /**
+     * 读取 HotSpot 参数的当前值，参数不存在或平台不支持时返回 null
+     */
+    private static String vmOption(String name) {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            if (bean == null) {
+                return null;
+            }
+            VMOption option = bean.getVMOption(name);
+            return option.getValue();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
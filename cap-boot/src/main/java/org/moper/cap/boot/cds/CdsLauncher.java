@@ -0,0 +1,185 @@
+package org.moper.cap.boot.cds;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.core.constants.PropertyArguments;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 使用 AppCDS 动态归档启动应用的启动器 </br>
+ *
+ * 归档不存在或已过期时，先以启动训练模式运行一次应用并在退出时写出归档，
+ * 之后以 {@code -XX:SharedArchiveFile} 启动应用进程：
+ * <pre>
+ * java -Dapplication.startup.cds.archive=app.jsa -cp &lt;classpath&gt; \
+ *      org.moper.cap.boot.cds.CdsLauncher com.example.Main --server.port=8080
+ * </pre>
+ * 归档旁的 {@code .classpath} 文件记录训练时的 Java 版本与类路径指纹（每个条目的路径、大小与修改时间），
+ * 指纹不一致时重新训练。训练进程的主类需要在 {@code run()} 返回后以 {@link TrainingResult#exitCode()} 退出，
+ * 启动器据此判断归档是否可用。应用进程继承当前进程的标准输入输出，启动器以其退出码退出。
+ * JVM 不允许在类路径包含非空目录时写出动态归档，应用需要以 jar 包形式运行。
+ */
+@Slf4j
+public final class CdsLauncher {
+
+    private static final String DEFAULT_ARCHIVE = "cap-app.jsa";
+
+    private final String javaExecutable;
+    private final String classpath;
+    private final List<String> jvmOptions;
+    private final Path archive;
+
+    public CdsLauncher(String javaExecutable, String classpath, List<String> jvmOptions, Path archive) {
+        this.javaExecutable = javaExecutable;
+        this.classpath = classpath;
+        this.jvmOptions = List.copyOf(jvmOptions);
+        this.archive = archive;
+    }
+
+    /**
+     * 以当前 JVM 的 java 可执行文件与类路径创建启动器，归档路径与附加 JVM 参数取自系统属性
+     */
+    public static CdsLauncher fromCurrentJvm() {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String options = System.getProperty(PropertyArguments.STARTUP_CDS_JVM_OPTIONS_PROPERTY_KEY, "");
+        List<String> jvmOptions = options.isBlank() ? List.of() : List.of(options.trim().split("\\s+"));
+        Path archive = Path.of(System.getProperty(PropertyArguments.STARTUP_CDS_ARCHIVE_PROPERTY_KEY, DEFAULT_ARCHIVE));
+        return new CdsLauncher(java, System.getProperty("java.class.path"), jvmOptions, archive);
+    }
+
+    /**
+     * 训练进程的命令行：退出时写出动态归档，并开启启动训练模式
+     */
+    public List<String> trainingCommand(String mainClass, List<String> args) {
+        List<String> command = base("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+        command.add(mainClass);
+        command.addAll(args);
+        command.add("--" + PropertyArguments.STARTUP_TRAIN_PROPERTY_KEY + "=true");
+        return command;
+    }
+
+    /**
+     * 应用进程的命令行：使用动态归档，归档不可用时 JVM 自动回退为不共享
+     */
+    public List<String> launchCommand(String mainClass, List<String> args) {
+        List<String> command = base("-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:auto");
+        command.add(mainClass);
+        command.addAll(args);
+        return command;
+    }
+
+    /**
+     * 归档是否存在且与当前 Java 版本、类路径匹配
+     */
+    public boolean isArchiveCurrent() {
+        Path stamp = stampFile();
+        if (!Files.isRegularFile(archive) || !Files.isRegularFile(stamp)) {
+            return false;
+        }
+        try {
+            return Files.readString(stamp, StandardCharsets.UTF_8).strip().equals(fingerprint());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 运行训练进程并写出归档
+     *
+     * @return 训练进程成功退出且归档已写出时返回 true
+     */
+    public boolean train(String mainClass, List<String> args) throws IOException, InterruptedException {
+        for (String entry : classpath.split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                try (var children = Files.list(path)) {
+                    if (children.findAny().isPresent()) {
+                        log.warn("AppCDS archive cannot be written while the classpath contains the non-empty directory {}; "
+                                + "package it as a jar", path.toAbsolutePath());
+                        return false;
+                    }
+                }
+            }
+        }
+        Files.deleteIfExists(stampFile());
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        log.info("Training AppCDS archive {}", archive.toAbsolutePath());
+        int exitCode = new ProcessBuilder(trainingCommand(mainClass, args)).inheritIO().start().waitFor();
+        if (exitCode != 0 || !Files.isRegularFile(archive)) {
+            log.warn("AppCDS training exited with code {}; the application will start without the archive", exitCode);
+            return false;
+        }
+        Files.writeString(stampFile(), fingerprint(), StandardCharsets.UTF_8);
+        return true;
+    }
+
+    /**
+     * 必要时先训练，再以归档启动应用进程并等待其结束
+     *
+     * @return 应用进程的退出码
+     */
+    public int launch(String mainClass, List<String> args) throws IOException, InterruptedException {
+        if (!isArchiveCurrent()) {
+            train(mainClass, args);
+        }
+        Process process = new ProcessBuilder(launchCommand(mainClass, args)).inheritIO().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(process::destroy, "cap-cds-launcher-shutdown"));
+        return process.waitFor();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: CdsLauncher <main-class> [application arguments...]");
+            System.exit(2);
+        }
+        List<String> applicationArgs = List.of(args).subList(1, args.length);
+        System.exit(fromCurrentJvm().launch(args[0], applicationArgs));
+    }
+
+    private List<String> base(String... cdsOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable);
+        command.addAll(jvmOptions);
+        command.addAll(List.of(cdsOptions));
+        command.add("-cp");
+        command.add(classpath);
+        return command;
+    }
+
+    private Path stampFile() {
+        return archive.resolveSibling(archive.getFileName() + ".classpath");
+    }
+
+    /**
+     * 计算 Java 版本与类路径的指纹，目录条目只记录路径
+     */
+    private String fingerprint() throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Runtime.version().toString().getBytes(StandardCharsets.UTF_8));
+            for (String entry : classpath.split(File.pathSeparator)) {
+                Path path = Path.of(entry).toAbsolutePath();
+                StringBuilder line = new StringBuilder("\n").append(path);
+                if (Files.isRegularFile(path)) {
+                    line.append('|').append(Files.size(path)).append('|').append(Files.getLastModifiedTime(path).toMillis());
+                }
+                digest.update(line.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.moper.cap.boot.cds;
+
+import java.nio.file.Path;
+
+/**
+ * 启动训练模式的结果 </br>
+ *
+ * 训练结束时应用已经关闭，由调用方（应用主类或 {@link CdsLauncher} 启动的训练进程）决定是否以 {@link #exitCode()} 退出 JVM
+ *
+ * @param archive  归档路径（未以 -XX:ArchiveClassesAtExit 启动时写出的位置）
+ * @param archived 归档已写出或将在 JVM 退出时写出
+ */
+public record TrainingResult(Path archive, boolean archived) {
+
+    /**
+     * 训练进程的退出码：归档可用时为 0，否则为 1
+     */
+    public int exitCode() {
+        return archived ? 0 : 1;
+    }
+}
@@ -0,0 +1,317 @@
+package org.moper.cap.boot.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.bean.exception.BeanDefinitionException;
+import org.moper.cap.core.constants.PropertyArguments;
+import org.moper.cap.core.exception.ResourceLoaderException;
+import org.moper.cap.core.scan.ScannedResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 编译期组件索引（由 cap-processor 生成的 {@value #INDEX_LOCATION}）的运行时视图。
+ *
+ * <p>类路径上每个携带索引的根目录 / jar 各自贡献一份索引，加载时按类路径顺序合并。
+ * 索引只覆盖携带了索引的根，因此在使用前需通过 {@link #covers(String[])} 确认
+ * 所有包含扫描包的根都带有索引，否则调用方应回退到类路径扫描。
+ *
+ * <p>索引格式见 {@code org.moper.cap.processor.ComponentIndexProcessor}。
+ */
+@Slf4j
+public final class ComponentIndex {
+
+    /**
+     * 索引文件在类路径中的位置
+     */
+    public static final String INDEX_LOCATION = "META-INF/cap/components.idx";
+
+    private final ClassLoader classLoader;
+
+    /**
+     * 携带索引的类路径根（URL 字符串，以 "/" 结尾）
+     */
+    private final Set<String> indexedRoots;
+
+    private final List<Component> components;
+
+    private final Map<String, Component> componentsByName = new HashMap<>();
+
+    private final List<FactoryMethod> factoryMethods;
+
+    private final List<ScannedResource> resources;
+
+    private ComponentIndex(ClassLoader classLoader, Set<String> indexedRoots, List<Component> components,
+                           List<FactoryMethod> factoryMethods, List<ScannedResource> resources) {
+        this.classLoader = classLoader;
+        this.indexedRoots = indexedRoots;
+        this.components = components;
+        components.forEach(c -> componentsByName.putIfAbsent(c.className(), c));
+        this.factoryMethods = factoryMethods;
+        this.resources = resources;
+    }
+
+    /**
+     * 从指定类加载器加载并合并所有组件索引。
+     *
+     * @param classLoader 类加载器
+     * @return 组件索引；类路径上不存在索引时返回 null
+     */
+    public static ComponentIndex load(ClassLoader classLoader) {
+        Set<String> roots = new LinkedHashSet<>();
+        List<Component> components = new ArrayList<>();
+        List<FactoryMethod> factoryMethods = new ArrayList<>();
+        List<ScannedResource> resources = new ArrayList<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String root = rootOf(url, INDEX_LOCATION);
+                roots.add(root);
+                try (InputStream in = url.openStream();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank() || line.startsWith("#")) continue;
+                        String[] columns = line.split("\t", -1);
+                        switch (columns[0]) {
+                            case "C" -> components.add(new Component(columns[1], columns[2]));
+                            case "F" -> factoryMethods.add(new FactoryMethod(columns[1], columns[2], split(columns[3])));
+                            case "R" -> resources.add(new ScannedResource(columns[1], URI.create(root + columns[1]).toURL()));
+                            default -> throw new ResourceLoaderException("Malformed component index entry in " + url + ": " + line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceLoaderException("Failed to read component index " + INDEX_LOCATION, e);
+        }
+        if (roots.isEmpty()) {
+            return null;
+        }
+        return new ComponentIndex(classLoader, roots, List.copyOf(components), List.copyOf(factoryMethods), List.copyOf(resources));
+    }
+
+    /**
+     * 判断索引是否完整覆盖指定的组件扫描包。
+     *
+     * <p>只有当类路径上所有包含这些包的根都携带索引时才算覆盖；
+     * 空包名（扫描整个类路径）无法确认，视为未覆盖。
+     *
+     * @param packages 组件扫描包
+     * @return 索引可替代扫描时返回 true
+     */
+    public boolean covers(String[] packages) {
+        if (packages.length == 0) {
+            return false;
+        }
+        try {
+            for (String pkg : packages) {
+                if (pkg == null || pkg.isBlank()) {
+                    return false;
+                }
+                String path = pkg.replace('.', '/');
+                Enumeration<URL> urls = classLoader.getResources(path);
+                while (urls.hasMoreElements()) {
+                    String root = rootOf(urls.nextElement(), path);
+                    if (!indexedRoots.contains(root)) {
+                        log.info("Classpath root {} contains package {} but has no component index", root, pkg);
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 判断索引是否完整覆盖指定资源路径下的指定资源文件。
+     *
+     * <p>资源扫描路径本身以及路径下直接存放的同名资源所在的根都必须携带索引；
+     * 扫描整个类路径时，类加载器能列出的目录根（{@code getResources("")}）也都必须携带索引。
+     * 未携带索引的 jar 中更深层目录下的资源无法被发现，可通过
+     * {@value PropertyArguments#COMPONENT_INDEX_IGNORE_PROPERTY_KEY} 回退到扫描。
+     *
+     * @param paths     资源扫描路径，为空时表示整个类路径
+     * @param fileNames 资源文件名
+     * @return 索引可替代扫描时返回 true
+     */
+    public boolean coversResources(String[] paths, Collection<String> fileNames) {
+        String[] candidates = paths.length == 0 ? new String[]{""} : paths;
+        try {
+            for (String path : candidates) {
+                String normalized = path.startsWith("/") ? path.substring(1) : path;
+                if (normalized.endsWith("/")) normalized = normalized.substring(0, normalized.length() - 1);
+                List<String> lookups = new ArrayList<>();
+                lookups.add(normalized);
+                for (String fileName : fileNames) {
+                    lookups.add(normalized.isEmpty() ? fileName : normalized + "/" + fileName);
+                }
+                for (String lookup : lookups) {
+                    Enumeration<URL> urls = classLoader.getResources(lookup);
+                    while (urls.hasMoreElements()) {
+                        String root = rootOf(urls.nextElement(), lookup);
+                        if (!indexedRoots.contains(root)) {
+                            log.info("Classpath root {} contains resource {} but has no component index", root, lookup);
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取位于指定包（含子包）下的 @Capper 类。
+     *
+     * @param packages 组件扫描包
+     * @return 按类路径顺序排列的组件条目
+     */
+    public List<Component> getComponents(String[] packages) {
+        return components.stream().filter(c -> inPackages(c.className(), packages)).toList();
+    }
+
+    /**
+     * 按类名查找 @Capper 类条目。
+     *
+     * @param className 类的二进制名
+     * @return 组件条目；类不在索引中时返回 null
+     */
+    public Component findComponent(String className) {
+        return componentsByName.get(className);
+    }
+
+    /**
+     * 获取声明在指定包（含子包）下的 @Capper 工厂方法。
+     *
+     * @param packages 组件扫描包
+     * @return 按类路径顺序排列的工厂方法条目
+     */
+    public List<FactoryMethod> getFactoryMethods(String[] packages) {
+        return factoryMethods.stream().filter(f -> inPackages(f.className(), packages)).toList();
+    }
+
+    /**
+     * 获取位于指定资源路径（含子路径）下、文件名为 {@code fileName} 的资源。
+     *
+     * <p>不同的类路径根中可能存在同一路径的资源，它们作为不同的条目分别返回。
+     *
+     * @param paths    资源扫描路径，为空时表示整个类路径
+     * @param fileName 资源文件名
+     * @return 按类路径顺序排列的资源
+     */
+    public List<ScannedResource> getResources(String[] paths, String fileName) {
+        return resources.stream()
+                .filter(r -> r.path().equals(fileName) || r.path().endsWith("/" + fileName))
+                .filter(r -> inPaths(r.path(), paths))
+                .toList();
+    }
+
+    /**
+     * 加载类
+     *
+     * @param className 类的二进制名
+     * @return 类对象
+     */
+    public Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BeanDefinitionException("Indexed class not found, the component index may be stale: " + className, e);
+        }
+    }
+
+    private static boolean inPackages(String className, String[] packages) {
+        for (String pkg : packages) {
+            if (className.startsWith(pkg + ".")) return true;
+        }
+        return false;
+    }
+
+    private static boolean inPaths(String resource, String[] paths) {
+        if (paths.length == 0) return true;
+        for (String path : paths) {
+            String normalized = path.startsWith("/") ? path.substring(1) : path;
+            if (normalized.isEmpty() || normalized.equals("/")) return true;
+            if (!normalized.endsWith("/")) normalized = normalized + "/";
+            if (resource.startsWith(normalized)) return true;
+        }
+        return false;
+    }
+
+    private static String rootOf(URL url, String path) {
+        String external = url.toExternalForm();
+        if (path.isEmpty()) return external.endsWith("/") ? external : external + "/";
+        if (external.endsWith("/")) external = external.substring(0, external.length() - 1);
+        return external.substring(0, external.length() - path.length());
+    }
+
+    private static String[] split(String column) {
+        return column.isEmpty() ? new String[0] : column.split(",");
+    }
+
+    /**
+     * 索引中的 @Capper 类条目。
+     *
+     * @param className           类的二进制名
+     * @param constructorArguments 构造函数参数 Bean 名称（逗号分隔），以 "!" 开头时表示编译期记录的错误
+     */
+    public record Component(String className, String constructorArguments) {
+
+        /**
+         * 获取构造函数参数 Bean 名称
+         *
+         * @return 参数 Bean 名称数组
+         * @throws BeanDefinitionException 如果编译期无法确定构造函数
+         */
+        public String[] parameterBeanNames() {
+            if (constructorArguments.startsWith("!")) {
+                throw new BeanDefinitionException(constructorArguments.substring(1));
+            }
+            return split(constructorArguments);
+        }
+    }
+
+    /**
+     * 索引中的 @Capper 工厂方法条目。
+     *
+     * @param className      声明类的二进制名
+     * @param methodName     方法名
+     * @param parameterTypes 参数类型名（与 {@link Class#getTypeName()} 一致）
+     */
+    public record FactoryMethod(String className, String methodName, String[] parameterTypes) {
+
+        /**
+         * 在已加载的声明类中定位该工厂方法
+         *
+         * @param declaringClass 声明类
+         * @return 方法对象
+         * @throws BeanDefinitionException 如果方法不存在（索引已过期）
+         */
+        public Method resolve(Class<?> declaringClass) {
+            for (Method method : declaringClass.getDeclaredMethods()) {
+                if (!method.getName().equals(methodName) || method.getParameterCount() != parameterTypes.length) continue;
+                Class<?>[] types = method.getParameterTypes();
+                boolean matched = true;
+                for (int i = 0; i < types.length && matched; i++) {
+                    matched = types[i].getTypeName().equals(parameterTypes[i]);
+                }
+                if (matched) return method;
+            }
+            throw new BeanDefinitionException("Indexed factory method not found, the component index may be stale: "
+                    + className + "#" + methodName + "(" + String.join(",", parameterTypes) + ")");
+        }
+    }
+}
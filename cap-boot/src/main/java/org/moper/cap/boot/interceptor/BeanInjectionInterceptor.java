@@ -4,13 +4,12 @@ import org.moper.cap.bean.annotation.Inject;
 import org.moper.cap.bean.container.BeanContainer;
 import org.moper.cap.bean.definition.BeanDefinition;
 import org.moper.cap.bean.exception.BeanException;
+import org.moper.cap.bean.inject.LazyDependencies;
 import org.moper.cap.bean.interceptor.BeanInterceptor;
-import org.moper.cap.bean.util.BeanNamesResolver;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * @Inject 字段注入拦截器。
@@ -18,6 +17,11 @@ import java.util.List;
  * <p>在属性注入阶段扫描 Bean 类中所有标注了 {@link Inject} 的字段，
  * 并从 {@link BeanContainer} 中解析依赖进行注入。
  * 支持 private/protected/public 字段可见性。
+ *
+ * <p>{@code Provider<T>} / {@code ObjectProvider<T>} 类型或标注了 @Lazy 的字段注入的是延迟解析的句柄，
+ * 目标 Bean 在第一次使用时才从容器获取，见 {@link LazyDependencies}。
+ *
+ * <p>每个类的 @Inject 字段及其写入句柄由 {@link InjectionMetadata} 缓存，只在第一次创建该类的 Bean 时解析。
  */
 public class BeanInjectionInterceptor implements BeanInterceptor {
 
@@ -35,31 +39,37 @@ public class BeanInjectionInterceptor implements BeanInterceptor {
 
     private void injectFields(Object bean) {
         Class<?> beanClass = bean.getClass();
-        for (Field field : getAllFields(beanClass)) {
-            if (!field.isAnnotationPresent(Inject.class)) {
-                continue;
-            }
+        for (InjectionMetadata.InjectPoint point : InjectionMetadata.forClass(beanClass).injectPoints()) {
             try {
-                field.setAccessible(true);
-                String beanName = BeanNamesResolver.resolve(field);
-                Object dependency = beanContainer.getBean(beanName, field.getType());
-                field.set(bean, dependency);
-            } catch (Exception e) {
+                if (point.failure() != null) {
+                    throw point.failure();
+                }
+                Object dependency = point.deferred()
+                        ? LazyDependencies.resolve(beanContainer, point.beanName(),
+                                point.field().getType(), point.field().getGenericType())
+                        : beanContainer.getBean(point.beanName(), point.field().getType());
+                point.inject(bean, dependency);
+            } catch (Throwable e) {
                 throw new BeanException(
-                        "Failed to inject @Inject field '" + field.getName() +
+                        "Failed to inject @Inject field '" + point.field().getName() +
                         "' in " + beanClass.getName() + ": " + e.getMessage(), e);
             }
         }
     }
 
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            fields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
-        }
-        return fields;
+    @Override
+    public Set<BeanInterceptorPhase> getPhases() {
+        return EnumSet.of(BeanInterceptorPhase.AFTER_PROPERTY_INJECTION);
+    }
+
+    /**
+     * 构造函数创建的 Bean 的运行时类型即 {@link BeanDefinition#type()}，没有 @Inject 字段时无需拦截；
+     * 工厂方法的返回值类型在运行时才能确定，始终拦截。
+     */
+    @Override
+    public boolean supports(BeanDefinition definition) {
+        return definition.isFactoryMethod()
+                || !InjectionMetadata.forClass(definition.type()).injectPoints().isEmpty();
     }
 
     @Override
@@ -0,0 +1,277 @@
+package org.moper.cap.boot.interceptor;
+
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.exception.BeanException;
+import org.moper.cap.bean.inject.LazyDependencies;
+import org.moper.cap.bean.util.BeanNamesResolver;
+import org.moper.cap.property.annotation.Subscriber;
+import org.moper.cap.property.annotation.Value;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 单个类的注入元数据：@Inject、@Value、@Subscriber 标注的字段及其预绑定的句柄。
+ *
+ * <p>元数据按类计算一次并缓存在 {@link ClassValue} 中，类被卸载时随之回收。
+ * 每次创建 Bean（包括每一个原型 Bean）只需按列表写入字段，
+ * 无需再遍历继承层级、检查注解、调用 setAccessible 或重新解析 {@code ${...}} 表达式。
+ *
+ * <p>字段顺序与原先的遍历顺序一致：先子类后父类，同一类内按声明顺序。
+ * 无效的 @Value 表达式与不可写的字段仍在注入时报错，而不是在计算元数据时。
+ *
+ * <p>@Subscriber 的元数据包含对回调方法的校验，只对需要处理订阅的 Bean 有意义，
+ * 因此在第一次访问时才计算，避免普通 Bean 因无关的校验失败而无法创建。
+ */
+final class InjectionMetadata {
+
+    private static final Pattern VALUE_PATTERN = Pattern.compile("\\$\\{([^}:]+)(?::([^}]*))?\\}");
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set", SETTER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<InjectionMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected InjectionMetadata computeValue(Class<?> type) {
+            return new InjectionMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final List<InjectPoint> injectPoints;
+
+    private final List<ValuePoint> valuePoints;
+
+    private volatile List<SubscriberPoint> subscriberPoints;
+
+    private InjectionMetadata(Class<?> type) {
+        this.type = type;
+        List<InjectPoint> injects = new ArrayList<>();
+        List<ValuePoint> values = new ArrayList<>();
+        for (Field field : getAllFields(type)) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                injects.add(InjectPoint.of(field));
+            }
+            Value value = field.getAnnotation(Value.class);
+            if (value != null) {
+                values.add(ValuePoint.of(field, value.value()));
+            }
+        }
+        this.injectPoints = List.copyOf(injects);
+        this.valuePoints = List.copyOf(values);
+    }
+
+    /**
+     * 获取指定类的注入元数据
+     *
+     * @param type Bean 类
+     * @return 缓存的注入元数据
+     */
+    static InjectionMetadata forClass(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * 获取 @Inject 字段，按遍历顺序排列
+     */
+    List<InjectPoint> injectPoints() {
+        return injectPoints;
+    }
+
+    /**
+     * 获取 @Value 字段，按遍历顺序排列
+     */
+    List<ValuePoint> valuePoints() {
+        return valuePoints;
+    }
+
+    /**
+     * 获取 @Subscriber 字段，按遍历顺序排列；回调方法在第一次访问时解析并校验
+     *
+     * @throws BeanException 如果 @Subscriber 配置无效
+     */
+    List<SubscriberPoint> subscriberPoints() {
+        List<SubscriberPoint> points = subscriberPoints;
+        if (points == null) {
+            List<SubscriberPoint> resolved = new ArrayList<>();
+            for (Field field : getAllFields(type)) {
+                Subscriber annotation = field.getAnnotation(Subscriber.class);
+                if (annotation != null) {
+                    resolved.add(SubscriberPoint.of(type, field, annotation));
+                }
+            }
+            points = List.copyOf(resolved);
+            subscriberPoints = points;
+        }
+        return points;
+    }
+
+    private static List<Field> getAllFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        Class<?> current = clazz;
+        while (current != null && current != Object.class) {
+            fields.addAll(List.of(current.getDeclaredFields()));
+            current = current.getSuperclass();
+        }
+        return fields;
+    }
+
+    /**
+     * 字段写入句柄；字段不可写（如 static final 字段）时退化为 {@link Field#set} 的句柄，
+     * 使异常仍在注入时抛出，与直接反射写入的行为一致
+     */
+    private static MethodHandle setter(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return FIELD_SET.bindTo(field);
+        }
+    }
+
+    private static MethodHandle method(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new BeanException("Cannot access method '" + method.getName() + "' in "
+                    + method.getDeclaringClass().getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @Inject 字段
+     *
+     * @param field    字段
+     * @param beanName 依赖的 Bean 名称，无法推导时为 null
+     * @param failure  Bean 名称推导失败的原因，在注入时抛出
+     * @param setter   写入句柄，类型为 {@code (Object, Object)void}
+     * @param deferred 是否为延迟注入（Provider / ObjectProvider / @Lazy），注入时不获取目标 Bean
+     */
+    record InjectPoint(Field field, String beanName, RuntimeException failure, MethodHandle setter, boolean deferred) {
+
+        static InjectPoint of(Field field) {
+            boolean deferred = LazyDependencies.isDeferred(field.getType(), field);
+            try {
+                return new InjectPoint(field, BeanNamesResolver.resolve(field), null, InjectionMetadata.setter(field), deferred);
+            } catch (RuntimeException e) {
+                return new InjectPoint(field, null, e, null, deferred);
+            }
+        }
+
+        void inject(Object bean, Object value) throws Throwable {
+            setter.invokeExact(bean, value);
+        }
+    }
+
+    /**
+     * @Value 字段，{@code ${key:default}} 表达式已预先解析
+     *
+     * @param field        字段
+     * @param expression   原始表达式
+     * @param key          属性键，表达式无效时为 null
+     * @param defaultValue 默认值字面量，未指定时为 null
+     * @param setter       写入句柄，类型为 {@code (Object, Object)void}
+     */
+    record ValuePoint(Field field, String expression, String key, String defaultValue, MethodHandle setter) {
+
+        static ValuePoint of(Field field, String expression) {
+            Matcher matcher = VALUE_PATTERN.matcher(expression);
+            if (!matcher.matches()) {
+                return new ValuePoint(field, expression, null, null, null);
+            }
+            return new ValuePoint(field, expression, matcher.group(1), matcher.group(2), InjectionMetadata.setter(field));
+        }
+
+        boolean isValid() {
+            return key != null;
+        }
+
+        void inject(Object bean, Object value) throws Throwable {
+            setter.invokeExact(bean, value);
+        }
+    }
+
+    /**
+     * @Subscriber 字段
+     *
+     * @param field       字段
+     * @param propertyKey 订阅的属性键
+     * @param onSet       属性设置回调，类型为 {@code (Bean, FieldType)void}，未指定时为 null
+     * @param onRemoved   属性移除回调，类型为 {@code (Bean)void}，未指定时为 null
+     */
+    record SubscriberPoint(Field field, String propertyKey, MethodHandle onSet, MethodHandle onRemoved) {
+
+        static SubscriberPoint of(Class<?> beanType, Field field, Subscriber annotation) {
+            String propertyKey = annotation.propertyKey();
+            if (propertyKey == null || propertyKey.isBlank()) {
+                throw new BeanException(
+                        "@Subscriber.propertyKey must not be blank on field '"
+                        + field.getName() + "' in " + beanType.getName());
+            }
+            Method onSet = resolveOnSetMethod(beanType, field, annotation.onSet(), field.getType());
+            Method onRemoved = resolveOnRemovedMethod(beanType, field, annotation.onRemoved());
+            field.setAccessible(true);
+            return new SubscriberPoint(field, propertyKey,
+                    onSet == null ? null : method(onSet),
+                    onRemoved == null ? null : method(onRemoved));
+        }
+
+        private static Method resolveOnSetMethod(Class<?> beanType, Field field, String methodName, Class<?> fieldType) {
+            if (methodName == null || methodName.isBlank()) {
+                return null;
+            }
+            try {
+                Method method = beanType.getDeclaredMethod(methodName, fieldType);
+                if (!method.getReturnType().equals(void.class)) {
+                    throw new BeanException(
+                            "@Subscriber onSet method '" + methodName + "' in " + beanType.getName()
+                            + " must have void return type");
+                }
+                return method;
+            } catch (NoSuchMethodException e) {
+                throw new BeanException(
+                        "@Subscriber onSet method '" + methodName + "(" + fieldType.getSimpleName() + ")"
+                        + "' not found in " + beanType.getName()
+                        + " for field '" + field.getName() + "'", e);
+            }
+        }
+
+        private static Method resolveOnRemovedMethod(Class<?> beanType, Field field, String methodName) {
+            if (methodName == null || methodName.isBlank()) {
+                return null;
+            }
+            try {
+                Method method = beanType.getDeclaredMethod(methodName);
+                if (!method.getReturnType().equals(void.class)) {
+                    throw new BeanException(
+                            "@Subscriber onRemoved method '" + methodName + "' in " + beanType.getName()
+                            + " must have void return type");
+                }
+                return method;
+            } catch (NoSuchMethodException e) {
+                throw new BeanException(
+                        "@Subscriber onRemoved method '" + methodName + "()"
+                        + "' not found in " + beanType.getName()
+                        + " for field '" + field.getName() + "'", e);
+            }
+        }
+    }
+}
@@ -11,12 +11,15 @@ import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.property.subscriber.PropertySubscriber;
 import org.moper.cap.property.subscriber.impl.DefaultAbstractPropertySubscriber;
 import org.moper.cap.property.subscriber.impl.DefaultPropertySubscription;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * {@link Subscriber @Subscriber} 字段订阅拦截器。
@@ -27,6 +30,8 @@ import java.util.List;
  *
  * <p>只处理同时标注了 {@link Capper} 和 {@link Subscription} 的类，
  * 以及工厂方法上标注了 {@link Subscription} 的工厂 Bean。
+ *
+ * <p>回调方法的解析与校验结果由 {@link InjectionMetadata} 按类缓存，回调通过 {@link MethodHandle} 调用。
  */
 public class PropertySubscriptionBeanInterceptor implements BeanInterceptor {
 
@@ -47,10 +52,8 @@ public class PropertySubscriptionBeanInterceptor implements BeanInterceptor {
         }
 
         List<PropertySubscriber<?>> subscribers = new ArrayList<>();
-        for (Field field : getAllFields(beanType)) {
-            Subscriber subscriberAnnotation = field.getAnnotation(Subscriber.class);
-            if (subscriberAnnotation == null) continue;
-            subscribers.add(createSubscriber(bean, beanType, field, subscriberAnnotation));
+        for (InjectionMetadata.SubscriberPoint point : InjectionMetadata.forClass(beanType).subscriberPoints()) {
+            subscribers.add(createSubscriber(bean, point));
         }
 
         if (subscribers.isEmpty()) {
@@ -106,34 +109,18 @@ public class PropertySubscriptionBeanInterceptor implements BeanInterceptor {
     }
 
     @SuppressWarnings("unchecked")
-    private <T> PropertySubscriber<T> createSubscriber(
-            Object bean, Class<?> beanType, Field field, Subscriber annotation) {
-
-        String propertyKey = annotation.propertyKey();
-        if (propertyKey == null || propertyKey.isBlank()) {
-            throw new BeanException(
-                    "@Subscriber.propertyKey must not be blank on field '"
-                    + field.getName() + "' in " + beanType.getName());
-        }
-
+    private <T> PropertySubscriber<T> createSubscriber(Object bean, InjectionMetadata.SubscriberPoint point) {
+        Field field = point.field();
         Class<T> fieldType = (Class<T>) field.getType();
+        MethodHandle onSet = point.onSet();
+        MethodHandle onRemoved = point.onRemoved();
 
-        Method onSetMethod = resolveOnSetMethod(beanType, field, annotation.onSet(), fieldType);
-        Method onRemovedMethod = resolveOnRemovedMethod(beanType, field, annotation.onRemoved());
-
-        field.setAccessible(true);
-        if (onSetMethod != null) onSetMethod.setAccessible(true);
-        if (onRemovedMethod != null) onRemovedMethod.setAccessible(true);
-
-        final Method finalOnSet = onSetMethod;
-        final Method finalOnRemoved = onRemovedMethod;
-
-        return new DefaultAbstractPropertySubscriber<T>(propertyKey, fieldType) {
+        return new DefaultAbstractPropertySubscriber<T>(point.propertyKey(), fieldType) {
             @Override
             public void onSet(T value) {
                 try {
-                    if (finalOnSet != null) finalOnSet.invoke(bean, value);
-                } catch (Exception e) {
+                    if (onSet != null) onSet.invoke(bean, value);
+                } catch (Throwable e) {
                     throw new BeanException(
                             "Failed to execute onSet for @Subscriber field '"
                             + field.getName() + "': " + e.getMessage(), e);
@@ -143,8 +130,8 @@ public class PropertySubscriptionBeanInterceptor implements BeanInterceptor {
             @Override
             public void onRemoved() {
                 try {
-                    if (finalOnRemoved != null) finalOnRemoved.invoke(bean);
-                } catch (Exception e) {
+                    if (onRemoved != null) onRemoved.invoke(bean);
+                } catch (Throwable e) {
                     throw new BeanException(
                             "Failed to execute onRemoved for @Subscriber field '"
                             + field.getName() + "': " + e.getMessage(), e);
@@ -153,54 +140,14 @@ public class PropertySubscriptionBeanInterceptor implements BeanInterceptor {
         };
     }
 
-    private Method resolveOnSetMethod(Class<?> beanType, Field field, String methodName, Class<?> fieldType) {
-        if (methodName == null || methodName.isBlank()) {
-            return null;
-        }
-        try {
-            Method method = beanType.getDeclaredMethod(methodName, fieldType);
-            if (!method.getReturnType().equals(void.class)) {
-                throw new BeanException(
-                        "@Subscriber onSet method '" + methodName + "' in " + beanType.getName()
-                        + " must have void return type");
-            }
-            return method;
-        } catch (NoSuchMethodException e) {
-            throw new BeanException(
-                    "@Subscriber onSet method '" + methodName + "(" + fieldType.getSimpleName() + ")"
-                    + "' not found in " + beanType.getName()
-                    + " for field '" + field.getName() + "'", e);
-        }
-    }
-
-    private Method resolveOnRemovedMethod(Class<?> beanType, Field field, String methodName) {
-        if (methodName == null || methodName.isBlank()) {
-            return null;
-        }
-        try {
-            Method method = beanType.getDeclaredMethod(methodName);
-            if (!method.getReturnType().equals(void.class)) {
-                throw new BeanException(
-                        "@Subscriber onRemoved method '" + methodName + "' in " + beanType.getName()
-                        + " must have void return type");
-            }
-            return method;
-        } catch (NoSuchMethodException e) {
-            throw new BeanException(
-                    "@Subscriber onRemoved method '" + methodName + "()"
-                    + "' not found in " + beanType.getName()
-                    + " for field '" + field.getName() + "'", e);
-        }
+    @Override
+    public Set<BeanInterceptorPhase> getPhases() {
+        return EnumSet.of(BeanInterceptorPhase.AFTER_PROPERTY_INJECTION);
     }
 
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            fields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
-        }
-        return fields;
+    @Override
+    public boolean supports(BeanDefinition definition) {
+        return shouldProcess(definition, definition.type());
     }
 
     @Override
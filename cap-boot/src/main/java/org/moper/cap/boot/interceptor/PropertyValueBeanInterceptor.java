@@ -6,13 +6,11 @@ import org.moper.cap.bean.interceptor.BeanInterceptor;
 import org.moper.cap.common.converter.TypeResolverFactory;
 import org.moper.cap.property.annotation.Value;
 import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.bean.interceptor.BeanInterceptorPhase;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * {@link Value @Value} 字段注入拦截器。
@@ -20,11 +18,11 @@ import java.util.regex.Pattern;
  * <p>在实例化之后阶段扫描 Bean 类中所有标注了 {@link Value} 的字段，
  * 解析 {@code ${key}} 或 {@code ${key:defaultValue}} 表达式，
  * 并从 {@link PropertyOfficer} 中获取属性值注入字段。
+ *
+ * <p>表达式按类预先解析并由 {@link InjectionMetadata} 缓存，创建 Bean 时只需查询属性并写入字段。
  */
 public class PropertyValueBeanInterceptor implements BeanInterceptor {
 
-    private static final Pattern VALUE_PATTERN = Pattern.compile("\\$\\{([^}:]+)(?::([^}]*))?\\}");
-
     private final PropertyOfficer propertyOfficer;
 
     public PropertyValueBeanInterceptor(PropertyOfficer propertyOfficer) {
@@ -33,53 +31,51 @@ public class PropertyValueBeanInterceptor implements BeanInterceptor {
 
     @Override
     public Object afterInstantiation(Object bean, BeanDefinition definition) throws BeanException {
-        for (Field field : getAllFields(bean.getClass())) {
-            Value annotation = field.getAnnotation(Value.class);
-            if (annotation == null) continue;
-            injectValueField(bean, field, annotation.value());
+        for (InjectionMetadata.ValuePoint point : InjectionMetadata.forClass(bean.getClass()).valuePoints()) {
+            injectValueField(bean, point);
         }
         return bean;
     }
 
     @SuppressWarnings("unchecked")
-    private void injectValueField(Object bean, Field field, String expression) {
-        Matcher matcher = VALUE_PATTERN.matcher(expression);
-        if (!matcher.matches()) {
+    private void injectValueField(Object bean, InjectionMetadata.ValuePoint point) {
+        Field field = point.field();
+        if (!point.isValid()) {
             throw new BeanException(
-                    "Invalid @Value expression '" + expression + "' on field '"
+                    "Invalid @Value expression '" + point.expression() + "' on field '"
                     + field.getName() + "' in " + bean.getClass().getName());
         }
 
-        String key = matcher.group(1);
-        String defaultStr = matcher.group(2);
-
         try {
-            field.setAccessible(true);
             Object value;
-            if (defaultStr != null) {
-                Object defaultValue = TypeResolverFactory.getTypeResolver().resolve(defaultStr, (Class) field.getType());
-                value = propertyOfficer.getPropertyValueOrDefault(key, (Class) field.getType(), defaultValue);
+            if (point.defaultValue() != null) {
+                Object defaultValue = TypeResolverFactory.getTypeResolver().resolve(point.defaultValue(), (Class) field.getType());
+                value = propertyOfficer.getPropertyValueOrDefault(point.key(), (Class) field.getType(), defaultValue);
             } else {
-                value = propertyOfficer.getPropertyValue(key, (Class) field.getType());
+                value = propertyOfficer.getPropertyValue(point.key(), (Class) field.getType());
             }
-            field.set(bean, value);
+            point.inject(bean, value);
         } catch (BeanException e) {
             throw e;
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new BeanException(
                     "Failed to inject @Value field '" + field.getName()
                     + "' in " + bean.getClass().getName() + ": " + e.getMessage(), e);
         }
     }
 
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            fields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
-        }
-        return fields;
+    @Override
+    public Set<BeanInterceptorPhase> getPhases() {
+        return EnumSet.of(BeanInterceptorPhase.AFTER_INSTANTIATION);
+    }
+
+    /**
+     * 构造函数创建的 Bean 没有 @Value 字段时无需拦截；工厂方法创建的 Bean 始终拦截。
+     */
+    @Override
+    public boolean supports(BeanDefinition definition) {
+        return definition.isFactoryMethod()
+                || !InjectionMetadata.forClass(definition.type()).valuePoints().isEmpty();
     }
 
     @Override
@@ -0,0 +1,230 @@
+package org.moper.cap.boot.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.boot.util.FlatConfigCache;
+import org.moper.cap.boot.util.ResourceFileLoader;
+import org.moper.cap.core.constants.ResourceConstants;
+import org.moper.cap.property.event.PropertyOperation;
+import org.moper.cap.property.event.PropertyRemoveOperation;
+import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.property.publisher.PropertyPublisher;
+import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件系统配置文件属性发布者 </br>
+ *
+ * 负责一个外部配置文件（.yaml、.yml 或 .properties）：{@link #load()} 发布文件的全部属性；
+ * {@link #watch()} 之后通过 {@link WatchService} 监听文件所在目录，文件被修改、替换或删除时，
+ * 在防抖间隔内不再有新事件后重新解析文件，与上一次发布的扁平化属性比较，
+ * 只发布新增或值改变的 {@link PropertySetOperation} 与被删除的 {@link PropertyRemoveOperation}，
+ * 修改一个属性只通知订阅了该属性的订阅者 </br>
+ *
+ * 文件解析失败（如编辑器写入到一半）或清单被拒绝时保留上一次的属性，等待下一次变更后重试。
+ * 关闭发布者时停止监听
+ */
+@Slf4j
+public class ConfigFilePropertyPublisher implements PropertyPublisher {
+
+    private final PropertyPublisher delegate;
+
+    private final Path file;
+
+    private final Duration debounce;
+
+    private final FlatConfigCache cache;
+
+    /**
+     * 上一次成功发布的扁平化属性，只在 {@link #load()} 与监听线程中访问
+     */
+    private Map<String, Object> published = Map.of();
+
+    private WatchService watchService;
+
+    private Thread watcher;
+
+    /**
+     * @param cache 首次加载时使用的扁平化配置缓存，为null时直接解析；监听到的变更总是直接解析
+     */
+    public ConfigFilePropertyPublisher(String name, PropertyOfficer officer, Path file, Duration debounce, FlatConfigCache cache) {
+        if (file == null) {
+            throw new IllegalArgumentException("ConfigFilePropertyPublisher file cannot be null");
+        }
+        if (debounce == null || debounce.isNegative()) {
+            throw new IllegalArgumentException("ConfigFilePropertyPublisher debounce cannot be null or negative");
+        }
+
+        this.delegate = new DefaultPropertyPublisher(name, officer, ResourceConstants.CONFIG_FILE_PUBLISHER_PRECEDENCE);
+        this.file = file.toAbsolutePath().normalize();
+        this.debounce = debounce;
+        this.cache = cache;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * 解析配置文件并发布全部属性
+     *
+     * @throws Exception 文件读取或解析失败
+     */
+    public synchronized void load() throws Exception {
+        Map<String, Object> current = ResourceFileLoader.load(file, cache);
+        if (current.isEmpty()) {
+            log.info("No properties found to publish in [{}]", file);
+        }
+        publishDiff(current);
+    }
+
+    /**
+     * 开始监听配置文件的变更，重复调用不产生额外的监听
+     *
+     * @throws IOException 无法注册文件所在目录
+     */
+    public synchronized void watch() throws IOException {
+        if (isClosed()) {
+            throw new IllegalStateException("ConfigFilePropertyPublisher " + name() + " is closed");
+        }
+        if (watcher != null) return;
+
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watcher = Thread.ofPlatform()
+                .name("config-file-watcher[" + file.getFileName() + "]")
+                .daemon(true)
+                .start(this::watchLoop);
+        log.info("Watching config file [{}] for changes, debounce {} ms", file, debounce.toMillis());
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // 防抖：编辑器保存时通常产生一连串事件，等到防抖间隔内不再有新事件再重新加载
+                while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(key);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            log.debug("Config file watcher for [{}] stopped", file);
+        }
+    }
+
+    /**
+     * 取出目录事件并重置监听键
+     *
+     * @return 是否有事件涉及当前配置文件
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private synchronized void reload() {
+        if (isClosed()) return;
+        Map<String, Object> current;
+        try {
+            current = Files.exists(file) ? ResourceFileLoader.load(file, null) : Map.of();
+        } catch (Exception e) {
+            log.warn("Failed to reload config file [{}], keeping previous properties", file, e);
+            return;
+        }
+        try {
+            int changed = publishDiff(current);
+            log.info("Reloaded config file [{}]: {} property changes published", file, changed);
+        } catch (RuntimeException e) {
+            log.error("Failed to publish changes of config file [{}], keeping previous properties", file, e);
+        }
+    }
+
+    /**
+     * 发布与上一次发布内容的差异，发布成功后才记录新内容
+     *
+     * @return 发布的属性操作数量
+     */
+    private int publishDiff(Map<String, Object> current) {
+        List<PropertyOperation> operations = diff(published, current);
+        delegate.publishAll(operations);
+        published = current;
+        return operations.size();
+    }
+
+    /**
+     * 计算两次扁平化属性之间的差异：新增或值改变的属性为设置操作，消失的属性为移除操作
+     */
+    static List<PropertyOperation> diff(Map<String, Object> previous, Map<String, Object> current) {
+        List<PropertyOperation> operations = new ArrayList<>();
+        current.forEach((key, value) -> {
+            if (!previous.containsKey(key) || !Objects.equals(previous.get(key), value)) {
+                operations.add(new PropertySetOperation(key, value));
+            }
+        });
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                operations.add(new PropertyRemoveOperation(key));
+            }
+        }
+        return operations;
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public int precedence() {
+        return delegate.precedence();
+    }
+
+    @Override
+    public void publish(PropertyOperation... operations) {
+        delegate.publish(operations);
+    }
+
+    @Override
+    public void publishAsync(PropertyOperation... operations) {
+        delegate.publishAsync(operations);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public void close() throws Exception {
+        Thread stopped;
+        synchronized (this) {
+            if (isClosed()) return;
+            delegate.close();
+            if (watchService != null) {
+                watchService.close();
+            }
+            stopped = watcher;
+        }
+        // 在锁外等待：监听线程可能正在等待锁以完成一次重新加载
+        if (stopped != null && stopped != Thread.currentThread()) {
+            stopped.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
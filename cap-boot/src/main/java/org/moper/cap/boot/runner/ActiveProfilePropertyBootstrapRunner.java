@@ -2,10 +2,8 @@ package org.moper.cap.boot.runner;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.Resource;
-import io.github.classgraph.ScanResult;
 import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.boot.util.FlatConfigCache;
 import org.moper.cap.boot.util.ResourceFileLoader;
 import org.moper.cap.core.annotation.RunnerMeta;
 import org.moper.cap.core.constants.PropertyArguments;
@@ -14,16 +12,16 @@ import org.moper.cap.core.context.BootstrapContext;
 import org.moper.cap.core.exception.ResourceLoaderException;
 import org.moper.cap.core.runner.BootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
-import org.moper.cap.property.event.PropertyOperation;
-import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.core.scan.ScannedResource;
 import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.property.publisher.PropertyPublisher;
+import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
 
 import java.io.InputStream;
 import java.util.*;
 
 @Slf4j
-@RunnerMeta(type = RunnerType.KERNEL, order = 130, description = "Loads application-{profile}.yaml/.properties resources for active environment, flatten and inject via publisher")
+@RunnerMeta(type = RunnerType.KERNEL, order = 130, after = "StaticResourcePropertyBootstrapRunner", description = "Loads application-{profile}.yaml/.properties resources for active environment, flatten and inject via publisher")
 public class ActiveProfilePropertyBootstrapRunner implements BootstrapRunner {
 
     private final ObjectMapper YamlMapper = new ObjectMapper(new YAMLFactory());
@@ -48,58 +46,48 @@ public class ActiveProfilePropertyBootstrapRunner implements BootstrapRunner {
         String profile = profileValue.toString().trim();
         log.info("Active profile: {}", profile);
 
-        // 扫描资源扫描路径下的所有资源文件，过滤出符合条件的文件，并记录日志
-        try (ScanResult scan = new ClassGraph()
-                .acceptPaths(context.getConfigurationClassParser().getResourceScanPaths())
-                .scan()) {
-
-            // 扫描所有符合条件的资源文件
-            List<Resource> resources = new ArrayList<>();
-            for(String suffix : ResourceConstants.SUPPORTED_RESOURCE_SUFFIXES){
-                resources.addAll(scan.getResourcesWithLeafName(ResourceConstants.SUPPORTED_RESOURCE_PREFIX + "-" + profile + suffix));
-            }
-            // 若找不到任何相关的资源文件，抛出异常
-            if(resources.isEmpty()) throw new ResourceLoaderException("No resource file found for active profile: " + profile);
-            // 若找到多个相关的资源文件，抛出异常，提示存在歧义
-            else if(resources.size() > 1) throw new ResourceLoaderException("Multiple resource files found for active profile: " + profile);
-
-            // 提取资源文件
-            Resource resource = resources.get(0);
-            // 资源文件路径
-            String resourcePath = resource.getPath();
-            // 资源文件名称
-            String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
-            log.info("Found resource file: {}", resourcePath);
-
-            // 解析资源文件内容，支持YAML和Properties格式，并将嵌套结构扁平化为键值对
-            Map<String, Object> flatProps = new LinkedHashMap<>();
-            try (InputStream in = resource.open()) {
-                if (fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
-                    flatProps = ResourceFileLoader.loadYaml(in, true);
-                }
-                // 解析Properties文件
-                else if (fileName.endsWith(".properties")) {
-                    flatProps = ResourceFileLoader.loadProperties(in);
-                }
-            }
-
-            // 如果没有解析到任何属性，记录日志
-            if (flatProps.isEmpty()) {
-                log.info("No properties found to publish in [{}]", resourcePath);
-            }
-
-            // 获取系统内部属性管理平台实例，并根据资源文件路径构建唯一的属性发布者名称，获取对应的属性发布者实例
-            final String publisherName = ResourceConstants.getActiveProfileResourcePublisherName(profile);
-            PropertyPublisher publisher = officer.getPublisher(publisherName);
-
-            // 将扁平化后的属性转换为属性操作列表，并通过属性发布者发布这些属性，记录日志
-            List<PropertyOperation> operations = new ArrayList<>();
-            flatProps.forEach((key, value) -> {
-                operations.add(new PropertySetOperation(key, value));
-            });
-            // 发布属性操作列表
-            publisher.publish(operations.toArray(new PropertyOperation[0]));
+        // 从共享扫描视图中获取所有符合条件的资源文件
+        List<ScannedResource> resources = new ArrayList<>();
+        for(String suffix : ResourceConstants.SUPPORTED_RESOURCE_SUFFIXES){
+            String fileName = ResourceConstants.SUPPORTED_RESOURCE_PREFIX + "-" + profile + suffix;
+            resources.addAll(context.getClasspathScanView().getResourcesWithLeafName(fileName));
         }
+        checkUnique(profile, resources.size());
 
+        // 提取资源文件
+        ScannedResource resource = resources.get(0);
+        log.info("Found resource file: {}", resource.path());
+
+        try (InputStream in = resource.open()) {
+            publish(officer, profile, resource.path(), in);
+        }
+    }
+
+    private void checkUnique(String profile, int found) {
+        // 若找不到任何相关的资源文件，抛出异常
+        if(found == 0) throw new ResourceLoaderException("No resource file found for active profile: " + profile);
+        // 若找到多个相关的资源文件，抛出异常，提示存在歧义
+        else if(found > 1) throw new ResourceLoaderException("Multiple resource files found for active profile: " + profile);
+    }
+
+    private void publish(PropertyOfficer officer, String profile, String resourcePath, InputStream in) throws Exception {
+        // 资源文件名称
+        String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+
+        // 解析资源文件内容，支持YAML和Properties格式，并将嵌套结构扁平化为键值对；开启配置缓存时内容不变则直接读取缓存
+        Map<String, Object> flatProps = ResourceFileLoader.load(fileName, in, FlatConfigCache.fromProperties(officer));
+
+        // 如果没有解析到任何属性，记录日志
+        if (flatProps.isEmpty()) {
+            log.info("No properties found to publish in [{}]", resourcePath);
+        }
+
+        // 获取系统内部属性管理平台实例，并根据资源文件路径构建唯一的属性发布者名称，获取对应的属性发布者实例
+        final String publisherName = ResourceConstants.getActiveProfileResourcePublisherName(profile);
+        PropertyPublisher publisher = officer.getPublisher(publisherName,
+                () -> new DefaultPropertyPublisher(publisherName, officer, ResourceConstants.ACTIVE_PROFILE_RESOURCE_PUBLISHER_PRECEDENCE));
+
+        // 将扁平化后的属性作为设置操作批量发布，没有属性时不发布
+        publisher.publishAll(flatProps);
     }
 }
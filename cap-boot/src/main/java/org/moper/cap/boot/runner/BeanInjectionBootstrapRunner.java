@@ -9,7 +9,7 @@ import org.moper.cap.core.runner.RunnerType;
 /**
  * 注册 {@link BeanInjectionInterceptor} 的引导器。
  */
-@RunnerMeta(type = RunnerType.KERNEL, order = 350, description = "Registers BeanInjectionInterceptor for @Inject field injection")
+@RunnerMeta(type = RunnerType.KERNEL, order = 350, before = "PreInstantiateSingletonBootstrapRunner", description = "Registers BeanInjectionInterceptor for @Inject field injection")
 public class BeanInjectionBootstrapRunner implements BootstrapRunner {
     @Override
     public void initialize(BootstrapContext context) throws Exception {
@@ -5,16 +5,13 @@ import org.moper.cap.core.constants.ResourceConstants;
 import org.moper.cap.core.context.BootstrapContext;
 import org.moper.cap.core.runner.BootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
-import org.moper.cap.property.event.PropertyOperation;
-import org.moper.cap.property.event.PropertySetOperation;
 import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.property.publisher.PropertyPublisher;
+import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
-@RunnerMeta(type = RunnerType.KERNEL, order = 110, description = "Parse Command Line Arguments and set them as properties in the PropertyOfficer")
+@RunnerMeta(type = RunnerType.KERNEL, order = 110, after = "SystemPropertyBootstrapRunner", description = "Parse Command Line Arguments and set them as properties in the PropertyOfficer")
 public class CommandArgumentsBootstrapRunner implements BootstrapRunner {
     /**
      * 以默认方式创建名为"command-property-publisher"的PropertyPublisher，
@@ -31,15 +28,10 @@ public class CommandArgumentsBootstrapRunner implements BootstrapRunner {
 
         // 获取PropertyOfficer并创建一个专门用于命令行参数的Publisher
         PropertyOfficer officer = context.getPropertyOfficer();
-        PropertyPublisher publisher = officer.getPublisher(ResourceConstants.COMMAND_PUBLISHER);
+        PropertyPublisher publisher = officer.getPublisher(ResourceConstants.COMMAND_PUBLISHER,
+                () -> new DefaultPropertyPublisher(ResourceConstants.COMMAND_PUBLISHER, officer, ResourceConstants.COMMAND_PUBLISHER_PRECEDENCE));
 
-        // 将命令行参数转换为PropertySetOperation
-        List<PropertyOperation> operations = new ArrayList<>();
-        arguments.forEach((key, value) -> {
-            PropertySetOperation operation = new PropertySetOperation(key, value);
-            operations.add(operation);
-        });
-        // 发布所有命令行参数
-        publisher.publish(operations.toArray(new PropertyOperation[0]));
+        // 以PropertySetOperation发布所有命令行参数
+        publisher.publishAll(arguments);
     }
 }
@@ -0,0 +1,68 @@
+package org.moper.cap.boot.runner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.boot.publisher.ConfigFilePropertyPublisher;
+import org.moper.cap.boot.util.FlatConfigCache;
+import org.moper.cap.core.annotation.RunnerMeta;
+import org.moper.cap.core.constants.PropertyArguments;
+import org.moper.cap.core.constants.ResourceConstants;
+import org.moper.cap.core.context.BootstrapContext;
+import org.moper.cap.core.exception.ResourceLoaderException;
+import org.moper.cap.core.runner.BootstrapRunner;
+import org.moper.cap.core.runner.RunnerType;
+import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.property.publisher.PropertyPublisher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Slf4j
+@RunnerMeta(type = RunnerType.KERNEL, order = 140, after = "ActiveProfilePropertyBootstrapRunner", description = "Loads external config files from application.config.location and optionally watches them for changes")
+public class ConfigFilePropertyBootstrapRunner implements BootstrapRunner {
+
+    /**
+     * 外部配置文件执行器 </br>
+     * <p>
+     * 加载 application.config.location 指定的外部配置文件，每个文件由一个 {@link ConfigFilePropertyPublisher} 发布；
+     * application.config.watch 为 true 时继续监听这些文件，变更后只发布变化的属性。
+     * 发布者随属性管理平台关闭，监听也随之停止 </br>
+     *
+     * @param context 框架初始化阶段系统上下文
+     * @throws Exception 执行过程中可能抛出的异常
+     */
+    @Override
+    public void initialize(BootstrapContext context) throws Exception {
+        PropertyOfficer officer = context.getPropertyOfficer();
+        String location = officer.getPropertyValue(PropertyArguments.CONFIG_LOCATION_PROPERTY_KEY, String.class);
+        if (location == null || location.isBlank()) {
+            log.debug("No external config file specified ({})", PropertyArguments.CONFIG_LOCATION_PROPERTY_KEY);
+            return;
+        }
+
+        boolean watch = officer.getPropertyValueOrDefault(PropertyArguments.CONFIG_WATCH_PROPERTY_KEY, Boolean.class, false);
+        FlatConfigCache cache = FlatConfigCache.fromProperties(officer);
+        Duration debounce = Duration.ofMillis(officer.getPropertyValueOrDefault(PropertyArguments.CONFIG_WATCH_DEBOUNCE_PROPERTY_KEY, Long.class, 200L));
+
+        for (String entry : location.split(",")) {
+            if (entry.isBlank()) continue;
+            Path file = Path.of(entry.trim()).toAbsolutePath().normalize();
+            if (!Files.isRegularFile(file)) {
+                throw new ResourceLoaderException("External config file not found: " + file);
+            }
+            log.info("Found external config file: {}", file);
+
+            String publisherName = ResourceConstants.getResourcePublisherNam(file.toString());
+            PropertyPublisher publisher = officer.getPublisher(publisherName,
+                    () -> new ConfigFilePropertyPublisher(publisherName, officer, file, debounce, cache));
+            if (!(publisher instanceof ConfigFilePropertyPublisher configFilePublisher)) {
+                throw new ResourceLoaderException("Publisher " + publisherName + " is not a config file publisher");
+            }
+            // 先注册监听再加载：加载与注册之间写入的变更同样会被监听到，重新加载与首次加载互斥，结果与顺序无关
+            if (watch) {
+                configFilePublisher.watch();
+            }
+            configFilePublisher.load();
+        }
+    }
+}
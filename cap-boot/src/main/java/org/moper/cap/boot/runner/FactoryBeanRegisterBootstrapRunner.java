@@ -1,6 +1,5 @@
 package org.moper.cap.boot.runner;
 
-import io.github.classgraph.*;
 import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.bean.annotation.Capper;
 import org.moper.cap.bean.container.BeanContainer;
@@ -10,97 +9,92 @@ import org.moper.cap.bean.util.BeanLifecycleResolver;
 import org.moper.cap.bean.util.BeanNamesResolver;
 import org.moper.cap.core.annotation.RunnerMeta;
 import org.moper.cap.core.context.BootstrapContext;
-import org.moper.cap.core.runner.BootstrapRunner;
+import org.moper.cap.core.runner.RegistryBootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.util.*;
 
 /**
  * 扫描 @Capper 标注的方法并注册 BeanDefinition（工厂方法实例化）。
  *
  * <p>执行顺序为 310，在 {@link ClassBeanRegisterBootstrapRunner}（300）之后执行。
  * 工厂 Bean 可以覆盖同名的普通 Bean（由类注册的 Bean）。
+ * 候选方法来自 {@link BootstrapContext#getClasspathScanView()} 共享的扫描视图。
  */
 @Slf4j
-@RunnerMeta(type = RunnerType.KERNEL, order = 310, description = "Scan @Capper annotated methods and register Bean Definitions (factory method instantiation)")
-public class FactoryBeanRegisterBootstrapRunner implements BootstrapRunner {
+@RunnerMeta(type = RunnerType.KERNEL, order = 310, after = "ClassBeanRegisterBootstrapRunner", description = "Scan @Capper annotated methods and register Bean Definitions (factory method instantiation)")
+public class FactoryBeanRegisterBootstrapRunner implements RegistryBootstrapRunner {
     @Override
     public void initialize(BootstrapContext context) throws Exception {
         BeanContainer container = context.getBeanContainer();
 
-        try (ScanResult scan = new ClassGraph().enableAllInfo()
-                .acceptPackages(context.getConfigurationClassParser().getComponentScanPaths())
-                .scan()) {
-
-            for (ClassInfo classInfo : scan.getAllClasses()) {
-                for (MethodInfo methodInfo : classInfo.getDeclaredMethodInfo()
-                        .filter(mi -> mi.hasAnnotation(Capper.class))) {
+        for (Method factoryMethod : context.getClasspathScanView().getMethodsWithAnnotation(Capper.class)) {
+            register(container, factoryMethod.getDeclaringClass(), factoryMethod);
+        }
+    }
 
-                    // 非静态工厂方法所在类必须是可实例化的
-                    if (!methodInfo.isStatic() && (classInfo.isInterface() || classInfo.isAbstract())) {
-                        throw new BeanDefinitionException(
-                                "Non-static @Capper method requires its class be instantiable: " + classInfo.getName());
-                    }
+    private void register(BeanContainer container, Class<?> factoryClazz, Method factoryMethod) {
+        // 非静态工厂方法所在类必须是可实例化的
+        if (!Modifier.isStatic(factoryMethod.getModifiers())
+                && (factoryClazz.isInterface() || Modifier.isAbstract(factoryClazz.getModifiers()))) {
+            throw new BeanDefinitionException(
+                    "Non-static @Capper method requires its class be instantiable: " + factoryClazz.getName());
+        }
 
-                    Class<?> factoryClazz = classInfo.loadClass();
-                    String factoryClassBeanName = BeanNamesResolver.resolve(factoryClazz)[0];
+        String factoryClassBeanName = BeanNamesResolver.resolve(factoryClazz)[0];
 
-                    // 工厂方法所在的类无论是否有 @Capper 注解，都需要被管理
-                    // 由于在 ClassBeanRegisterBootstrapRunner 中已经处理了所有的 @Capper 类
-                    // 因此此处的类只要不在 BeanContainer 的注册中，就一定是非 @Capper 类
-                    if(!container.containsBeanDefinition(factoryClassBeanName)) {
-                        BeanDefinition factoryDef = BeanDefinition.of(factoryClassBeanName, factoryClazz);
-                        container.registerBeanDefinition(factoryDef);
-                    }
+        // 工厂方法所在的类无论是否有 @Capper 注解，都需要被管理
+        // 由于在 ClassBeanRegisterBootstrapRunner 中已经处理了所有的 @Capper 类
+        // 因此此处的类只要不在 BeanContainer 的注册中，就一定是非 @Capper 类
+        if(!container.containsBeanDefinition(factoryClassBeanName)) {
+            BeanDefinition factoryDef = BeanDefinition.of(factoryClassBeanName, factoryClazz);
+            container.registerBeanDefinition(factoryDef);
+        }
 
-                    Method factoryMethod = methodInfo.loadClassAndGetMethod();
-                    String factoryMethodName = factoryMethod.getName();
-                    String[] factoryMethodParameterBeanNames = resolveMethodParameterBeanNames(factoryMethod);
+        String factoryMethodName = factoryMethod.getName();
+        String[] factoryMethodParameterBeanNames = resolveMethodParameterBeanNames(factoryMethod);
 
-                    String[] beanNames = BeanNamesResolver.resolve(factoryMethod);
-                    String primaryBeanName = beanNames[0];
+        String[] beanNames = BeanNamesResolver.resolve(factoryMethod);
+        String primaryBeanName = beanNames[0];
 
-                    Class<?> beanType = factoryMethod.getReturnType();
-                    Capper capper = factoryMethod.getAnnotation(Capper.class);
+        Class<?> beanType = factoryMethod.getReturnType();
+        Capper capper = factoryMethod.getAnnotation(Capper.class);
 
-                    // 注册Bean定义
-                    String initMethodName = capper.initMethod();
-                    String destroyMethodName = capper.destroyMethod();
-                    if (!initMethodName.isBlank()) {
-                        BeanLifecycleResolver.validate(beanType, initMethodName);
-                    }
-                    if (!destroyMethodName.isBlank()) {
-                        BeanLifecycleResolver.validate(beanType, destroyMethodName);
-                    }
-                    BeanDefinition def = BeanDefinition.of(primaryBeanName, beanType)
-                            .withFactoryMethod(factoryClassBeanName, factoryMethodName)
-                            .withParameterBeanNames(factoryMethodParameterBeanNames)
-                            .withPrimary(capper.primary())
-                            .withLazy(capper.lazy())
-                            .withScope(capper.scope())
-                            .withDescription(capper.description())
-                            .withInitMethod(initMethodName.isBlank() ? null : initMethodName)
-                            .withDestroyMethod(destroyMethodName.isBlank() ? null : destroyMethodName);
-                    // 若已经存在Bean定义，则进行覆盖
-                    // 目前已知的满足条件有：当@Capper方法的返回类型上存在@Capper注解，且两者均未显式定义Bean名称，则@Capper方法的Bean定义会覆盖@Capper类的Bean定义
-                    if(container.containsBeanDefinition(primaryBeanName)) {
-                        container.removeBeanDefinition(primaryBeanName);
-                        log.info("Override bean: {}", primaryBeanName);
-                    }
-                    container.registerBeanDefinition(def);
-                    log.info("Register bean: {}", def);
+        // 注册Bean定义
+        String initMethodName = capper.initMethod();
+        String destroyMethodName = capper.destroyMethod();
+        if (!initMethodName.isBlank()) {
+            BeanLifecycleResolver.validate(beanType, initMethodName);
+        }
+        if (!destroyMethodName.isBlank()) {
+            BeanLifecycleResolver.validate(beanType, destroyMethodName);
+        }
+        BeanDefinition def = BeanDefinition.of(primaryBeanName, beanType)
+                .withFactoryMethod(factoryClassBeanName, factoryMethodName)
+                .withParameterBeanNames(factoryMethodParameterBeanNames)
+                .withPrimary(capper.primary())
+                .withLazy(capper.lazy())
+                .withScope(capper.scope())
+                .withDescription(capper.description())
+                .withInitMethod(initMethodName.isBlank() ? null : initMethodName)
+                .withDestroyMethod(destroyMethodName.isBlank() ? null : destroyMethodName);
+        // 若已经存在Bean定义，则进行覆盖
+        // 目前已知的满足条件有：当@Capper方法的返回类型上存在@Capper注解，且两者均未显式定义Bean名称，则@Capper方法的Bean定义会覆盖@Capper类的Bean定义
+        if(container.containsBeanDefinition(primaryBeanName)) {
+            container.removeBeanDefinition(primaryBeanName);
+            log.info("Override bean: {}", primaryBeanName);
+        }
+        container.registerBeanDefinition(def);
+        log.info("Register bean: {}", def);
 
-                    // 注册别名
-                    if(beanNames.length > 1) {
-                        for(int i = 1; i < beanNames.length; i++) {
-                            String alias = beanNames[i];
-                            container.registerAlias(primaryBeanName, alias);
-                            log.info("Register alias: {} -> {}", alias, primaryBeanName);
-                        }
-                    }
-                }
+        // 注册别名
+        if(beanNames.length > 1) {
+            for(int i = 1; i < beanNames.length; i++) {
+                String alias = beanNames[i];
+                container.registerAlias(primaryBeanName, alias);
+                log.info("Register alias: {} -> {}", alias, primaryBeanName);
             }
         }
     }
@@ -7,7 +7,7 @@ import org.moper.cap.bean.definition.BeanDefinition;
 import org.moper.cap.bean.util.BeanLifecycleResolver;
 import org.moper.cap.core.annotation.RunnerMeta;
 import org.moper.cap.core.context.BootstrapContext;
-import org.moper.cap.core.runner.BootstrapRunner;
+import org.moper.cap.core.runner.RegistryBootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
 
 /**
@@ -20,8 +20,8 @@ import org.moper.cap.core.runner.RunnerType;
  * 对于工厂 Bean，{@link BeanDefinition#type()} 即为工厂方法的返回类型，同样从该类型上查找注解。
  */
 @Slf4j
-@RunnerMeta(type = RunnerType.KERNEL, order = 320, description = "Register lifecycle methods (init and destroy) from @Capper annotations")
-public class LifecycleMethodRegisterBootstrapRunner implements BootstrapRunner {
+@RunnerMeta(type = RunnerType.KERNEL, order = 320, after = "FactoryBeanRegisterBootstrapRunner", description = "Register lifecycle methods (init and destroy) from @Capper annotations")
+public class LifecycleMethodRegisterBootstrapRunner implements RegistryBootstrapRunner {
 
     @Override
     public void initialize(BootstrapContext context) throws Exception {
@@ -2,9 +2,11 @@ package org.moper.cap.boot.runner;
 
 import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.core.annotation.RunnerMeta;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.context.BootstrapContext;
 import org.moper.cap.core.runner.BootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
+import org.moper.cap.property.officer.PropertyOfficer;
 
 @Slf4j
 @RunnerMeta(type = RunnerType.KERNEL, order = 499, description = "Pre-instantiates all non-lazy singleton beans to optimize runtime latency")
@@ -13,12 +15,28 @@ public class PreInstantiateSingletonBootstrapRunner implements BootstrapRunner {
     /**
      * 框架初始化阶段执行器 </br>
      *
+     * 默认按注册顺序逐个创建单例；当属性
+     * {@value PropertyArguments#PARALLEL_PRE_INSTANTIATION_PROPERTY_KEY} 为 true 时，
+     * 按依赖图并行创建，并行度由 {@value PropertyArguments#PRE_INSTANTIATION_PARALLELISM_PROPERTY_KEY} 指定 </br>
+     *
      * @param context 框架初始化阶段系统上下文
      * @throws Exception 执行过程中可能抛出的异常
      */
     @Override
     public void initialize(BootstrapContext context) throws Exception {
-        context.getBeanContainer().preInstantiateSingletons();
-        log.info("Eagerly instantiated all singleton beans");
+        PropertyOfficer officer = context.getPropertyOfficer();
+        boolean parallel = officer.getPropertyValueOrDefault(
+                PropertyArguments.PARALLEL_PRE_INSTANTIATION_PROPERTY_KEY, Boolean.class, false);
+        if (!parallel) {
+            context.getBeanContainer().preInstantiateSingletons();
+            log.info("Eagerly instantiated all singleton beans");
+            return;
+        }
+
+        int parallelism = officer.getPropertyValueOrDefault(
+                PropertyArguments.PRE_INSTANTIATION_PARALLELISM_PROPERTY_KEY, Integer.class,
+                Runtime.getRuntime().availableProcessors());
+        context.getBeanContainer().preInstantiateSingletons(parallelism);
+        log.info("Eagerly instantiated all singleton beans in parallel (parallelism={})", parallelism);
     }
 }
@@ -9,7 +9,7 @@ import org.moper.cap.core.runner.RunnerType;
 /**
  * 注册 {@link PropertyValueBeanInterceptor} 的引导器。
  */
-@RunnerMeta(type = RunnerType.KERNEL, order = 360, description = "Registers PropertyValueBeanInterceptor for @Value field injection")
+@RunnerMeta(type = RunnerType.KERNEL, order = 360, before = "PreInstantiateSingletonBootstrapRunner", description = "Registers PropertyValueBeanInterceptor for @Value field injection")
 public class PropertyValueBootstrapRunner implements BootstrapRunner {
 
     @Override
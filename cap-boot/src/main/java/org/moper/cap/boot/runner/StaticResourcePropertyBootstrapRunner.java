@@ -2,26 +2,24 @@ package org.moper.cap.boot.runner;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.Resource;
-import io.github.classgraph.ScanResult;
 import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.boot.util.FlatConfigCache;
 import org.moper.cap.boot.util.ResourceFileLoader;
 import org.moper.cap.core.annotation.RunnerMeta;
 import org.moper.cap.core.constants.ResourceConstants;
 import org.moper.cap.core.context.BootstrapContext;
 import org.moper.cap.core.runner.BootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
-import org.moper.cap.property.event.PropertyOperation;
-import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.core.scan.ScannedResource;
 import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.property.publisher.PropertyPublisher;
+import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
 
 import java.io.InputStream;
 import java.util.*;
 
 @Slf4j
-@RunnerMeta(type = RunnerType.KERNEL, order = 120, description = "Scans resource paths for application.yaml or application.properties file, flattens and registers properties")
+@RunnerMeta(type = RunnerType.KERNEL, order = 120, after = "CommandArgumentsBootstrapRunner", description = "Scans resource paths for application.yaml or application.properties file, flattens and registers properties")
 public class StaticResourcePropertyBootstrapRunner implements BootstrapRunner {
 
     private final ObjectMapper YamlMapper = new ObjectMapper(new YAMLFactory());
@@ -38,49 +36,35 @@ public class StaticResourcePropertyBootstrapRunner implements BootstrapRunner {
      */
     @Override
     public void initialize(BootstrapContext context) throws Exception {
-        // 扫描资源扫描路径下的所有资源文件，过滤出符合条件的文件，并记录日志
-        try (ScanResult scan = new ClassGraph()
-                .acceptPaths(context.getConfigurationClassParser().getResourceScanPaths())
-                .scan()) {
-            for (Resource resource : scan.getAllResources()) {
-                // 资源文件路径
-                String resourcePath = resource.getPath();
-                // 资源文件名称
-                String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
-                // 过滤出符合条件的资源文件，记录日志
-                if(!ResourceConstants.SUPPORTED_BASE_RESOURCE_FILE_NAMES.contains(fileName)) continue;
-                log.info("Found resource file: {}", resourcePath);
-
-                // 解析资源文件内容，支持YAML和Properties格式，并将嵌套结构扁平化为键值对
-                Map<String, Object> flatProps = new LinkedHashMap<>();
+        // 从共享扫描视图中获取资源扫描路径下所有符合条件的资源文件，并记录日志
+        for (String fileName : ResourceConstants.SUPPORTED_BASE_RESOURCE_FILE_NAMES) {
+            for (ScannedResource resource : context.getClasspathScanView().getResourcesWithLeafName(fileName)) {
+                log.info("Found resource file: {}", resource.path());
                 try (InputStream in = resource.open()) {
-                    if (fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
-                        flatProps = ResourceFileLoader.loadYaml(in, true);
-                    }
-                    // 解析Properties文件
-                    else if (fileName.endsWith(".properties")) {
-                        flatProps = ResourceFileLoader.loadProperties(in);
-                    }
+                    publish(context, resource.path(), in);
                 }
+            }
+        }
+    }
 
-                // 如果没有解析到任何属性，记录日志并继续处理下一个文件
-                if (flatProps.isEmpty()) {
-                    log.info("No properties found to publish in [{}]", resourcePath);
-                }
+    private void publish(BootstrapContext context, String resourcePath, InputStream in) throws Exception {
+        String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
 
-                // 获取系统内部属性管理平台实例，并根据资源文件路径构建唯一的属性发布者名称，获取对应的属性发布者实例
-                PropertyOfficer officer = context.getPropertyOfficer();
-                final String publisherName = ResourceConstants.getResourcePublisherNam(resourcePath);
-                PropertyPublisher publisher = officer.getPublisher(publisherName);
+        // 解析资源文件内容，支持YAML和Properties格式，并将嵌套结构扁平化为键值对；开启配置缓存时内容不变则直接读取缓存
+        Map<String, Object> flatProps = ResourceFileLoader.load(fileName, in, FlatConfigCache.fromProperties(context.getPropertyOfficer()));
 
-                // 将扁平化后的属性转换为属性操作列表，并通过属性发布者发布这些属性，记录日志
-                List<PropertyOperation> operations = new ArrayList<>();
-                flatProps.forEach((key, value) -> {
-                    operations.add(new PropertySetOperation(key, value));
-                });
-                // 发布属性操作列表
-                publisher.publish(operations.toArray(new PropertyOperation[0]));
-            }
+        // 如果没有解析到任何属性，记录日志并继续处理下一个文件
+        if (flatProps.isEmpty()) {
+            log.info("No properties found to publish in [{}]", resourcePath);
         }
+
+        // 获取系统内部属性管理平台实例，并根据资源文件路径构建唯一的属性发布者名称，获取对应的属性发布者实例
+        PropertyOfficer officer = context.getPropertyOfficer();
+        final String publisherName = ResourceConstants.getResourcePublisherNam(resourcePath);
+        PropertyPublisher publisher = officer.getPublisher(publisherName,
+                () -> new DefaultPropertyPublisher(publisherName, officer, ResourceConstants.RESOURCE_PUBLISHER_PRECEDENCE));
+
+        // 将扁平化后的属性作为设置操作批量发布，没有属性时不发布
+        publisher.publishAll(flatProps);
     }
 }
@@ -6,13 +6,11 @@ import org.moper.cap.core.constants.ResourceConstants;
 import org.moper.cap.core.context.BootstrapContext;
 import org.moper.cap.core.runner.BootstrapRunner;
 import org.moper.cap.core.runner.RunnerType;
-import org.moper.cap.property.event.PropertyOperation;
-import org.moper.cap.property.event.PropertySetOperation;
 import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.property.publisher.PropertyPublisher;
+import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
@@ -28,7 +26,8 @@ public class SystemPropertyBootstrapRunner implements BootstrapRunner {
     @Override
     public void initialize(BootstrapContext context) throws Exception {
         PropertyOfficer officer = context.getPropertyOfficer();
-        PropertyPublisher publisher = officer.getPublisher(ResourceConstants.SYSTEM_PROPERTY_PUBLISHER);
+        PropertyPublisher publisher = officer.getPublisher(ResourceConstants.SYSTEM_PROPERTY_PUBLISHER,
+                () -> new DefaultPropertyPublisher(ResourceConstants.SYSTEM_PROPERTY_PUBLISHER, officer, ResourceConstants.SYSTEM_PROPERTY_PUBLISHER_PRECEDENCE));
 
         // 注册 OS 环境变量
         Map<String, String> env = System.getenv();
@@ -36,11 +35,7 @@ public class SystemPropertyBootstrapRunner implements BootstrapRunner {
             log.warn("OS environment variables are null or empty (System.getenv() == null/empty); please verify your runtime security settings!");
             return;
         }
-        List<PropertyOperation> envOperations = new ArrayList<>();
-        for(Map.Entry<String, String> entry : env.entrySet()) {
-            envOperations.add(new PropertySetOperation(entry.getKey(), entry.getValue()));
-        }
-        publisher.publish(envOperations.toArray(new PropertyOperation[0]));
+        publisher.publishAll(env);
 
         // 注册 JVM 系统属性
         Properties system = System.getProperties();
@@ -48,11 +43,9 @@ public class SystemPropertyBootstrapRunner implements BootstrapRunner {
             log.warn("JVM system properties are null or empty (System.getProperties() == null/empty); please check your JVM launch options and security policy!");
             return;
         }
-        List<PropertyOperation> systemOperations = new ArrayList<>();
-        for(Map.Entry<Object, Object> entry : system.entrySet()) {
-            systemOperations.add(new PropertySetOperation(entry.getKey().toString(), entry.getValue().toString()));
-        }
-        publisher.publish(systemOperations.toArray(new PropertyOperation[0]));
+        Map<String, String> systemProperties = HashMap.newHashMap(system.size());
+        system.forEach((key, value) -> systemProperties.put(key.toString(), value.toString()));
+        publisher.publishAll(systemProperties);
 
     }
 }
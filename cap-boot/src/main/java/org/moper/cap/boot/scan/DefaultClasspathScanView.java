@@ -0,0 +1,312 @@
+package org.moper.cap.boot.scan;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.Resource;
+import io.github.classgraph.ScanResult;
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.bean.annotation.Capper;
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.exception.BeanDefinitionException;
+import org.moper.cap.bean.util.BeanNamesResolver;
+import org.moper.cap.boot.index.ComponentIndex;
+import org.moper.cap.common.startup.StartupStep;
+import org.moper.cap.common.startup.StartupTimeline;
+import org.moper.cap.core.config.ConfigurationClassParser;
+import org.moper.cap.core.constants.PropertyArguments;
+import org.moper.cap.core.exception.ResourceLoaderException;
+import org.moper.cap.core.scan.ClasspathScanView;
+import org.moper.cap.core.scan.ScannedResource;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于编译期组件索引与 ClassGraph 的共享类路径扫描视图。
+ *
+ * <p>视图在第一次被查询时才初始化：
+ * <ul>
+ *   <li>类路径上的组件索引完整覆盖组件扫描包时，@Capper 相关的查询直接由索引回答</li>
+ *   <li>否则在工作线程池上启动一次类扫描（仅组件扫描包，含类 / 方法 / 注解信息）</li>
+ *   <li>资源查询优先由索引回答，无法覆盖时启动一次资源扫描（仅资源扫描路径，不解析类文件）</li>
+ * </ul>
+ * 类扫描与资源扫描相互独立、并行执行，各自最多执行一次；
+ * 将两者合并为一次扫描会使资源扫描路径（默认为整个类路径）下的所有类文件都被解析，代价远高于分开扫描。
+ *
+ * <p>工作线程数（{@value PropertyArguments#CLASSPATH_SCAN_PARALLELISM_PROPERTY_KEY}）与是否忽略索引
+ * （{@value PropertyArguments#COMPONENT_INDEX_IGNORE_PROPERTY_KEY}）在构造时确定：第一次查询发生在配置文件加载期间，
+ * 此时读取 PropertyOfficer 会得到不完整的结果，因此两者只能通过命令行参数或系统属性指定。
+ * 同一个视图被所有 BootstrapRunner 共享（并行启动时可被并发查询）。{@link #close()} 释放扫描结果与线程池。
+ */
+@Slf4j
+public class DefaultClasspathScanView implements ClasspathScanView, AutoCloseable {
+
+    /**
+     * 共享线程池的扫描数量（类扫描与资源扫描）
+     */
+    private static final int SCANS = 2;
+
+    private final ConfigurationClassParser configurationClassParser;
+
+    private final int parallelism;
+
+    private final boolean ignoreIndex;
+
+    private final ClassLoader classLoader;
+
+    private ExecutorService executor;
+
+    /**
+     * 组件索引，不可用时为 null
+     */
+    private ComponentIndex index;
+
+    /**
+     * 组件索引是否完整覆盖组件扫描包
+     */
+    private boolean classesIndexed;
+
+    private Future<ScanResult> classScan;
+
+    private Future<ScanResult> resourceScan;
+
+    private boolean initialized;
+
+    private boolean closed;
+
+    /**
+     * @param parallelism 扫描工作线程数，小于 1 时按 1 处理
+     * @param ignoreIndex 是否忽略组件索引，始终使用类路径扫描
+     */
+    public DefaultClasspathScanView(ConfigurationClassParser configurationClassParser, int parallelism, boolean ignoreIndex) {
+        if (configurationClassParser == null) {
+            throw new IllegalArgumentException("configurationClassParser cannot be null");
+        }
+        this.configurationClassParser = configurationClassParser;
+        this.parallelism = Math.max(1, parallelism);
+        this.ignoreIndex = ignoreIndex;
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        this.classLoader = contextClassLoader != null ? contextClassLoader : DefaultClasspathScanView.class.getClassLoader();
+    }
+
+    @Override
+    public List<Class<?>> getClassesWithAnnotation(Class<? extends Annotation> annotation) {
+        if (annotation == Capper.class && useIndexForClasses()) {
+            List<Class<?>> classes = new ArrayList<>();
+            for (ComponentIndex.Component component : index.getComponents(configurationClassParser.getComponentScanPaths())) {
+                classes.add(index.loadClass(component.className()));
+            }
+            return classes;
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (ClassInfo classInfo : classScan().getClassesWithAnnotation(annotation)
+                .filter(ci -> !ci.isInterface() && !ci.isAbstract() && !ci.isAnnotation())) {
+            classes.add(classInfo.loadClass());
+        }
+        return classes;
+    }
+
+    @Override
+    public List<Method> getMethodsWithAnnotation(Class<? extends Annotation> annotation) {
+        if (annotation == Capper.class && useIndexForClasses()) {
+            List<Method> methods = new ArrayList<>();
+            for (ComponentIndex.FactoryMethod entry : index.getFactoryMethods(configurationClassParser.getComponentScanPaths())) {
+                methods.add(entry.resolve(index.loadClass(entry.className())));
+            }
+            return methods;
+        }
+
+        List<Method> methods = new ArrayList<>();
+        for (ClassInfo classInfo : classScan().getAllClasses()) {
+            for (MethodInfo methodInfo : classInfo.getDeclaredMethodInfo().filter(mi -> mi.hasAnnotation(annotation))) {
+                methods.add(methodInfo.loadClassAndGetMethod());
+            }
+        }
+        return methods;
+    }
+
+    @Override
+    public String[] getConstructorParameterBeanNames(Class<?> componentClass) {
+        if (useIndexForClasses()) {
+            ComponentIndex.Component component = index.findComponent(componentClass.getName());
+            if (component != null) {
+                return component.parameterBeanNames();
+            }
+        }
+
+        List<Constructor<?>> constructors = Arrays.asList(componentClass.getDeclaredConstructors());
+        List<Constructor<?>> injectConstructors = constructors.stream()
+                .filter(c -> c.isAnnotationPresent(Inject.class))
+                .toList();
+        Constructor<?> constructor;
+        if (injectConstructors.size() > 1) {
+            throw new BeanDefinitionException("Multiple constructors annotated with @Inject found in class: " + componentClass.getName());
+        } else if (injectConstructors.size() == 1) {
+            constructor = injectConstructors.getFirst();
+        } else if (constructors.size() > 1) {
+            throw new BeanDefinitionException("Multiple constructors found in class without @Inject annotation: " + componentClass.getName());
+        } else if (constructors.size() == 1) {
+            constructor = constructors.getFirst();
+        } else {
+            return new String[0];
+        }
+        Parameter[] parameters = constructor.getParameters();
+        String[] beanNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            beanNames[i] = BeanNamesResolver.resolve(parameters[i]);
+        }
+        return beanNames;
+    }
+
+    @Override
+    public List<ScannedResource> getResourcesWithLeafName(String leafName) {
+        String[] paths = configurationClassParser.getResourceScanPaths();
+        initialize();
+        if (index != null && index.coversResources(paths, List.of(leafName))) {
+            return index.getResources(paths, leafName);
+        }
+
+        List<ScannedResource> resources = new ArrayList<>();
+        for (Resource resource : resourceScan().getResourcesWithLeafName(leafName)) {
+            resources.add(new ScannedResource(resource.getPath(), resource.getURL()));
+        }
+        return resources;
+    }
+
+    /**
+     * 释放扫描结果与工作线程池，此后视图不可再访问
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeQuietly(classScan);
+        closeQuietly(resourceScan);
+        classScan = null;
+        resourceScan = null;
+        index = null;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        log.info("Classpath scan view released");
+    }
+
+    private synchronized boolean useIndexForClasses() {
+        initialize();
+        return classesIndexed;
+    }
+
+    private synchronized void initialize() {
+        if (closed) {
+            throw new IllegalStateException("Classpath scan view has been released after bootstrap");
+        }
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+
+        try (StartupStep ignored = StartupTimeline.step("classpath-scan", "component-index")) {
+            index = ignoreIndex ? null : ComponentIndex.load(classLoader);
+        }
+        classesIndexed = index != null && index.covers(configurationClassParser.getComponentScanPaths());
+
+        if (classesIndexed) {
+            log.info("Use component index for component scan paths");
+        } else {
+            // 类扫描在后台提前启动，与资源相关的 Runner 并行执行
+            classScanFuture();
+        }
+    }
+
+    private ScanResult classScan() {
+        return await("classes", classScanFuture());
+    }
+
+    private ScanResult resourceScan() {
+        return await("resources", resourceScanFuture());
+    }
+
+    private synchronized Future<ScanResult> classScanFuture() {
+        initialize();
+        if (classScan == null) {
+            classScan = new ClassGraph()
+                    .enableClassInfo()
+                    .enableMethodInfo()
+                    .enableAnnotationInfo()
+                    .ignoreClassVisibility()
+                    .ignoreMethodVisibility()
+                    .acceptPackages(configurationClassParser.getComponentScanPaths())
+                    .scanAsync(executor(), parallelism);
+        }
+        return classScan;
+    }
+
+    private synchronized Future<ScanResult> resourceScanFuture() {
+        initialize();
+        if (resourceScan == null) {
+            resourceScan = new ClassGraph()
+                    .acceptPaths(configurationClassParser.getResourceScanPaths())
+                    .scanAsync(executor(), parallelism);
+        }
+        return resourceScan;
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            // 每次扫描的主任务在线程池上等待自己提交的工作任务完成，
+            // 为类扫描与资源扫描的主任务各预留一个线程，否则两个主任务可能占满线程池而互相阻塞
+            executor = Executors.newFixedThreadPool(parallelism + SCANS, runnable -> {
+                Thread thread = new Thread(runnable, "cap-classpath-scan-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * 等待后台扫描完成；启动时间线中记录的是调用线程实际被阻塞的时长
+     */
+    private static ScanResult await(String name, Future<ScanResult> future) {
+        try (StartupStep step = StartupTimeline.step("classpath-scan", name)) {
+            step.tag("alreadyDone", Boolean.toString(future.isDone()));
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceLoaderException("Interrupted while scanning classpath", e);
+        } catch (ExecutionException e) {
+            throw new ResourceLoaderException("Failed to scan classpath", e.getCause());
+        }
+    }
+
+    private static void closeQuietly(Future<ScanResult> future) {
+        if (future == null) {
+            return;
+        }
+        if (!future.isDone()) {
+            future.cancel(true);
+            return;
+        }
+        try {
+            future.get().close();
+        } catch (Exception e) {
+            log.debug("Failed to close scan result", e);
+        }
+    }
+}
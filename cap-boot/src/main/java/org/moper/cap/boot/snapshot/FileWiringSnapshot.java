@@ -0,0 +1,373 @@
+package org.moper.cap.boot.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.bean.container.BeanContainer;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+import org.moper.cap.core.snapshot.WiringSnapshot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 以文本文件保存的布线快照。
+ *
+ * <p>文件为 UTF-8 文本，每行一条记录，字段以制表符分隔，字段内的反斜杠、制表符、换行与逗号均被转义：
+ * <ul>
+ *   <li>{@code V  <格式版本>}、{@code K  <类路径指纹>}：位于文件开头，任一不匹配时整个快照作废</li>
+ *   <li>{@code D  <name>  <type>  <scope>  <lazy>  <primary>  <dependsOn>  <parameterBeanNames>
+ *       <factoryBeanName>  <factoryMethodName>  <initMethod>  <destroyMethod>  <description>}：
+ *       按注册顺序排列的 BeanDefinition，数组字段以逗号分隔，null 记为 {@code \-}</li>
+ *   <li>{@code A  <alias>  <beanName>}：别名</li>
+ *   <li>{@code S  <分区名>  <内容>}：附加分区的一行</li>
+ * </ul>
+ *
+ * <p>类路径指纹覆盖格式版本、Java 版本、主配置类、影响注册结果的启动参数（命令行参数或系统属性，例如活动环境与组件索引开关）
+ * 以及 {@code java.class.path} 中每个条目：jar 记录大小与修改时间，目录记录其中每个文件的相对路径、大小与修改时间。
+ * 快照中的任何类无法加载时同样视为失效，回退到正常注册；失效的快照在本次启动结束时被重写。
+ */
+@Slf4j
+public final class FileWiringSnapshot implements WiringSnapshot {
+
+    /**
+     * 快照格式版本，格式变化时递增
+     */
+    static final int FORMAT_VERSION = 1;
+
+    private static final String NULL = "\\-";
+
+    private final Path file;
+
+    private final String fingerprint;
+
+    private final ClassLoader classLoader;
+
+    /**
+     * 从文件读取的记录，快照失效时为 null
+     */
+    private List<String[]> records;
+
+    private final Map<String, List<String>> sections = new HashMap<>();
+
+    private final Map<String, Supplier<List<String>>> contributions = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile boolean restored;
+
+    private FileWiringSnapshot(Path file, String fingerprint, ClassLoader classLoader) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 打开快照文件；文件不存在、格式版本或类路径指纹不匹配时返回一个只会在结束时写出的快照
+     *
+     * @param file          快照文件
+     * @param primarySource 主配置类
+     * @param classLoader   加载快照中类型的类加载器
+     * @param launchSettings 影响注册结果的启动参数，任一取值变化都使快照失效
+     * @return 布线快照
+     */
+    public static FileWiringSnapshot open(Path file, Class<?> primarySource, ClassLoader classLoader, Map<String, String> launchSettings) {
+        FileWiringSnapshot snapshot = new FileWiringSnapshot(file,
+                fingerprint(primarySource, System.getProperty("java.class.path", ""), launchSettings), classLoader);
+        snapshot.read();
+        return snapshot;
+    }
+
+    private void read() {
+        List<String[]> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                lines.add(line.split("\t", -1));
+            }
+        } catch (NoSuchFileException e) {
+            log.info("Wiring snapshot {} does not exist, it will be written after bootstrap", file);
+            return;
+        } catch (IOException e) {
+            log.warn("Failed to read wiring snapshot {}, falling back to bean registration", file, e);
+            return;
+        }
+        if (lines.size() < 2
+                || !Arrays.equals(lines.get(0), new String[]{"V", String.valueOf(FORMAT_VERSION)})
+                || !Arrays.equals(lines.get(1), new String[]{"K", fingerprint})) {
+            log.info("Wiring snapshot {} is stale (format or classpath changed), falling back to bean registration", file);
+            return;
+        }
+        List<String[]> body = lines.subList(2, lines.size());
+        for (String[] record : body) {
+            if (record[0].equals("S") && record.length == 3) {
+                sections.computeIfAbsent(unescape(record[1]), k -> new ArrayList<>()).add(unescape(record[2]));
+            }
+        }
+        records = body;
+    }
+
+    /**
+     * 将快照中的 BeanDefinition 与别名恢复到容器
+     *
+     * <p>先解析全部记录、加载全部类型，任何一步失败都不修改容器，直接回退到正常注册。
+     *
+     * @param container 尚未注册任何 BeanDefinition 的容器
+     * @return 是否恢复成功
+     */
+    public boolean restore(BeanContainer container) {
+        if (records == null) {
+            return false;
+        }
+        List<BeanDefinition> definitions = new ArrayList<>();
+        List<String[]> aliases = new ArrayList<>();
+        try {
+            for (String[] record : records) {
+                switch (record[0]) {
+                    case "D" -> definitions.add(toDefinition(record));
+                    case "A" -> aliases.add(new String[]{unescape(record[1]), unescape(record[2])});
+                    case "S" -> { }
+                    default -> throw new IllegalStateException("Unknown record type '" + record[0] + "'");
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            log.warn("Wiring snapshot {} cannot be restored, falling back to bean registration: {}", file, e.toString());
+            records = null;
+            sections.clear();
+            return false;
+        }
+        for (BeanDefinition definition : definitions) {
+            container.registerBeanDefinition(definition);
+        }
+        for (String[] alias : aliases) {
+            container.registerAlias(alias[1], alias[0]);
+        }
+        restored = true;
+        log.info("Restored {} bean definitions and {} aliases from wiring snapshot {}", definitions.size(), aliases.size(), file);
+        return true;
+    }
+
+    @Override
+    public boolean isRestored() {
+        return restored;
+    }
+
+    @Override
+    public List<String> getSection(String name) {
+        return restored ? sections.getOrDefault(name, List.of()) : List.of();
+    }
+
+    @Override
+    public void contributeSection(String name, Supplier<List<String>> lines) {
+        contributions.put(name, lines);
+    }
+
+    /**
+     * 在快照未恢复时，将容器当前的 BeanDefinition、别名与附加分区写入快照文件。
+     * 先写入同目录下的临时文件再原子替换，写出失败只记录警告
+     *
+     * @param container Bootstrap 阶段结束后的容器
+     */
+    public void saveIfStale(BeanContainer container) {
+        if (restored) {
+            return;
+        }
+        try {
+            Path target = file.toAbsolutePath();
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            int definitionCount = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# Cap wiring snapshot, regenerated automatically when the classpath changes\n");
+                writeRecord(writer, "V", String.valueOf(FORMAT_VERSION));
+                writeRecord(writer, "K", fingerprint);
+                for (String name : container.getBeanDefinitionNames()) {
+                    writeDefinition(writer, container.getBeanDefinition(name));
+                    definitionCount++;
+                }
+                for (String name : container.getBeanDefinitionNames()) {
+                    for (String alias : container.getAliases(name)) {
+                        writeRecord(writer, "A", escape(alias), escape(name));
+                    }
+                }
+                Map<String, Supplier<List<String>>> sectionSuppliers;
+                synchronized (contributions) {
+                    sectionSuppliers = new LinkedHashMap<>(contributions);
+                }
+                for (Map.Entry<String, Supplier<List<String>>> section : sectionSuppliers.entrySet()) {
+                    for (String line : section.getValue().get()) {
+                        writeRecord(writer, "S", escape(section.getKey()), escape(line));
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote {} bean definitions to wiring snapshot {}", definitionCount, target);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write wiring snapshot {}", file, e);
+        }
+    }
+
+    private BeanDefinition toDefinition(String[] record) throws ClassNotFoundException {
+        if (record.length != 13) {
+            throw new IllegalStateException("Malformed bean definition record with " + record.length + " fields");
+        }
+        return new BeanDefinition(
+                unescape(record[1]),
+                Class.forName(unescape(record[2]), false, classLoader),
+                BeanScope.valueOf(unescape(record[3])),
+                splitArray(record[6]),
+                Boolean.parseBoolean(record[4]),
+                Boolean.parseBoolean(record[5]),
+                unescape(record[12]),
+                splitArray(record[7]),
+                unescape(record[9]),
+                unescape(record[8]),
+                unescape(record[10]),
+                unescape(record[11]));
+    }
+
+    private static void writeDefinition(BufferedWriter writer, BeanDefinition definition) throws IOException {
+        writeRecord(writer, "D",
+                escape(definition.name()),
+                escape(definition.type().getName()),
+                escape(definition.scope().name()),
+                String.valueOf(definition.lazy()),
+                String.valueOf(definition.primary()),
+                joinArray(definition.dependsOn()),
+                joinArray(definition.parameterBeanNames()),
+                escape(definition.factoryBeanName()),
+                escape(definition.factoryMethodName()),
+                escape(definition.initMethod()),
+                escape(definition.destroyMethod()),
+                escape(definition.description()));
+    }
+
+    private static void writeRecord(BufferedWriter writer, String... fields) throws IOException {
+        writer.write(String.join("\t", fields));
+        writer.write('\n');
+    }
+
+    private static String joinArray(String[] values) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (String value : values) {
+            joiner.add(escape(value));
+        }
+        return joiner.toString();
+    }
+
+    private static String[] splitArray(String field) {
+        if (field.isEmpty()) {
+            return new String[0];
+        }
+        List<String> values = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ',') {
+                values.add(unescape(field.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        values.add(unescape(field.substring(start)));
+        return values.toArray(String[]::new);
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> builder.append("\\\\");
+                case '\t' -> builder.append("\\t");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case ',' -> builder.append("\\,");
+                default -> builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    static String unescape(String value) {
+        if (value.equals(NULL)) {
+            return null;
+        }
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                builder.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            builder.append(switch (next) {
+                case 't' -> '\t';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                default -> next;
+            });
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 计算类路径指纹
+     *
+     * @param primarySource 主配置类
+     * @param classpath     以路径分隔符分隔的类路径
+     * @param launchSettings 影响注册结果的启动参数，按键排序后计入摘要
+     * @return 十六进制的 SHA-256 摘要
+     */
+    public static String fingerprint(Class<?> primarySource, String classpath, Map<String, String> launchSettings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, FORMAT_VERSION + "|" + Runtime.version() + "|" + primarySource.getName());
+            for (Map.Entry<String, String> setting : new TreeMap<>(launchSettings).entrySet()) {
+                update(digest, "\n" + escape(setting.getKey()) + "=" + escape(setting.getValue()));
+            }
+            for (String entry : classpath.split(File.pathSeparator)) {
+                if (entry.isBlank()) continue;
+                Path path = Path.of(entry).toAbsolutePath();
+                update(digest, "\n" + path);
+                if (Files.isRegularFile(path)) {
+                    update(digest, "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis());
+                } else if (Files.isDirectory(path)) {
+                    try (Stream<Path> files = Files.walk(path)) {
+                        for (Path child : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator) {
+                            update(digest, "\n  " + path.relativize(child) + "|" + Files.size(child)
+                                    + "|" + Files.getLastModifiedTime(child).toMillis());
+                        }
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (IOException e) {
+            // 无法读取的类路径条目使指纹每次都不同，快照不会被误用
+            return "unreadable-" + UUID.randomUUID();
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
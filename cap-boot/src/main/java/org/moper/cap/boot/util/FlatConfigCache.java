@@ -0,0 +1,327 @@
+package org.moper.cap.boot.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.core.constants.PropertyArguments;
+import org.moper.cap.property.officer.PropertyView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 扁平化配置的二进制缓存 </br>
+ *
+ * 第一次加载某个配置文件时，把解析并扁平化后的键值表写入缓存目录下以文件内容 SHA-256 命名的二进制文件；
+ * 之后内容相同的配置文件直接内存映射该文件并顺序解码，跳过 YAML 解析与扁平化。
+ * 缓存以内容命名，文件内容改变后自然不再命中，旧文件不会被误用；内容相同的配置文件可以安全地在多个应用之间共享缓存目录 </br>
+ *
+ * 命中缓存时刷新缓存文件的修改时间，写入新的缓存文件后只保留修改时间最近的 {@code maxEntries} 个，
+ * 配置文件反复修改时缓存目录不会无限增长 </br>
+ *
+ * 文件格式（大端）：魔数 {@code CAPF}、格式版本、条目数，之后每个条目为属性键与带类型标记的值，
+ * 字符串以长度前缀的 UTF-8 存储。值的类型不在支持范围内时不写缓存，缓存文件损坏时回退到解析并重写
+ */
+@Slf4j
+public final class FlatConfigCache {
+
+    private static final int MAGIC = 0x43415046;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SUFFIX = ".flat";
+
+    /**
+     * 默认保留的缓存文件数量
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte BIG_INTEGER = 6;
+    private static final byte BIG_DECIMAL = 7;
+    private static final byte FLOAT = 8;
+
+    private final Path directory;
+
+    private final int maxEntries;
+
+    public FlatConfigCache(Path directory) {
+        this(directory, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries 缓存目录中最多保留的缓存文件数量
+     */
+    public FlatConfigCache(Path directory, int maxEntries) {
+        if (directory == null) {
+            throw new IllegalArgumentException("FlatConfigCache directory cannot be null");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("FlatConfigCache maxEntries must be positive");
+        }
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 默认缓存目录：用户主目录下的 .cap/config-cache，不随工作目录变化
+     */
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("user.home"), ".cap", "config-cache");
+    }
+
+    /**
+     * 根据 application.config.cache 与 application.config.cache-dir 创建缓存
+     *
+     * @return 未开启缓存时返回null
+     */
+    public static FlatConfigCache fromProperties(PropertyView properties) {
+        if (!properties.getPropertyValueOrDefault(PropertyArguments.CONFIG_CACHE_PROPERTY_KEY, Boolean.class, false)) {
+            return null;
+        }
+        String directory = properties.getPropertyValue(PropertyArguments.CONFIG_CACHE_DIR_PROPERTY_KEY, String.class);
+        return new FlatConfigCache(directory == null || directory.isBlank() ? defaultDirectory() : Path.of(directory));
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * 获取配置内容扁平化后的键值表：命中缓存时直接解码，否则解析并写入缓存
+     *
+     * @param fileName 配置文件名，按扩展名选择解析方式，扩展名同样参与缓存键
+     * @param content  配置文件的完整内容
+     * @return 扁平化后的键值对，保持原有顺序
+     * @throws Exception 解析失败
+     */
+    public Map<String, Object> load(String fileName, byte[] content) throws Exception {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        Path file = directory.resolve(hash(extension, content) + SUFFIX);
+        if (Files.isRegularFile(file)) {
+            try {
+                Map<String, Object> properties = read(file);
+                touch(file);
+                return properties;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Config cache file [{}] is unreadable, parsing source again", file, e);
+            }
+        }
+
+        Map<String, Object> properties = ResourceFileLoader.parse(fileName, new ByteArrayInputStream(content));
+        try {
+            if (write(file, properties)) {
+                prune(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write config cache file [{}]", file, e);
+        }
+        return properties;
+    }
+
+    /**
+     * 刷新缓存文件的修改时间，使常用的缓存文件不被清理；目录只读时忽略
+     */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Failed to touch config cache file [{}]", file, e);
+        }
+    }
+
+    /**
+     * 按修改时间从新到旧保留 maxEntries 个缓存文件，删除其余的；刚写入的文件总是保留。
+     * 其他进程可能同时在清理或映射同一个文件，删除失败只记录日志
+     */
+    private void prune(Path written) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(f -> f.getFileName().toString().endsWith(SUFFIX) && !f.equals(written)).toList();
+        }
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path entry : entries) {
+            try {
+                modified.put(entry, Files.getLastModifiedTime(entry));
+            } catch (IOException e) {
+                // 已被其他进程删除
+            }
+        }
+        List<Path> stale = modified.keySet().stream()
+                .sorted(Comparator.comparing(modified::get).reversed())
+                .skip(maxEntries - 1)
+                .toList();
+        for (Path entry : stale) {
+            try {
+                Files.deleteIfExists(entry);
+            } catch (IOException e) {
+                log.debug("Failed to delete stale config cache file [{}]", entry, e);
+            }
+        }
+        log.debug("Pruned {} stale config cache files from [{}]", stale.size(), directory);
+    }
+
+    private static Map<String, Object> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                    throw new IOException("Not a config cache file of version " + FORMAT_VERSION);
+                }
+                int size = buffer.getInt();
+                Map<String, Object> properties = LinkedHashMap.newLinkedHashMap(size);
+                for (int i = 0; i < size; i++) {
+                    String key = readString(buffer);
+                    properties.put(key, readValue(buffer));
+                }
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Trailing bytes in config cache file");
+                }
+                return properties;
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Truncated config cache file", e);
+            }
+        }
+    }
+
+    private static Object readValue(ByteBuffer buffer) throws IOException {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(buffer);
+            case INTEGER -> buffer.getInt();
+            case LONG -> buffer.getLong();
+            case DOUBLE -> buffer.getDouble();
+            case BOOLEAN -> buffer.get() != 0;
+            case BIG_INTEGER -> new BigInteger(readString(buffer));
+            case BIG_DECIMAL -> new BigDecimal(readString(buffer));
+            case FLOAT -> buffer.getFloat();
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 值的类型不受支持、未写入缓存时返回false
+     */
+    private boolean write(Path file, Map<String, Object> properties) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, properties.size() * 48));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(properties.size());
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            writeString(out, entry.getKey());
+            if (!writeValue(out, entry.getValue())) {
+                log.debug("Config value of [{}] has unsupported type {}, not cached",
+                        entry.getKey(), entry.getValue().getClass().getName());
+                return false;
+            }
+        }
+
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /**
+     * @return 值的类型不受支持时返回false
+     */
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case String s -> {
+                out.writeByte(STRING);
+                writeString(out, s);
+            }
+            case Integer i -> {
+                out.writeByte(INTEGER);
+                out.writeInt(i);
+            }
+            case Long l -> {
+                out.writeByte(LONG);
+                out.writeLong(l);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(d);
+            }
+            case Boolean b -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(b);
+            }
+            case BigInteger b -> {
+                out.writeByte(BIG_INTEGER);
+                writeString(out, b.toString());
+            }
+            case BigDecimal b -> {
+                out.writeByte(BIG_DECIMAL);
+                writeString(out, b.toString());
+            }
+            case Float f -> {
+                out.writeByte(FLOAT);
+                out.writeFloat(f);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String hash(String extension, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(new byte[]{FORMAT_VERSION});
+            digest.update(extension.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package org.moper.cap.boot.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.moper.cap.core.exception.ResourceLoaderException;
 
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -51,6 +54,50 @@ public final class ResourceFileLoader {
         return map;
     }
 
+    /**
+     * 按文件扩展名解析资源文件内容，YAML 会被扁平化为键值对 </br>
+     *
+     * @param fileName 资源文件名，扩展名为 .yaml、.yml 或 .properties
+     * @param is 资源文件输入流
+     * @return 扁平化后的键值对
+     * @throws Exception 读取或解析过程中可能抛出的异常；扩展名不受支持时抛出 ResourceLoaderException
+     */
+    public static Map<String, Object> parse(String fileName, InputStream is) throws Exception {
+        if (fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
+            return loadYaml(is, true);
+        } else if (fileName.endsWith(".properties")) {
+            return loadProperties(is);
+        }
+        throw new ResourceLoaderException("Unsupported resource file type: " + fileName);
+    }
+
+    /**
+     * 按文件扩展名加载并扁平化资源文件，开启配置缓存时优先读取缓存 </br>
+     *
+     * @param fileName 资源文件名，扩展名为 .yaml、.yml 或 .properties
+     * @param is 资源文件输入流
+     * @param cache 扁平化配置缓存，为null时直接解析
+     * @return 扁平化后的键值对
+     * @throws Exception 读取或解析过程中可能抛出的异常
+     */
+    public static Map<String, Object> load(String fileName, InputStream is, FlatConfigCache cache) throws Exception {
+        return cache == null ? parse(fileName, is) : cache.load(fileName, is.readAllBytes());
+    }
+
+    /**
+     * 按文件扩展名加载并扁平化文件系统中的资源文件 </br>
+     *
+     * @param file 资源文件路径，扩展名为 .yaml、.yml 或 .properties
+     * @param cache 扁平化配置缓存，为null时直接解析
+     * @return 扁平化后的键值对
+     * @throws Exception 文件读取或解析过程中可能抛出的异常
+     */
+    public static Map<String, Object> load(Path file, FlatConfigCache cache) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(file.getFileName().toString(), in, cache);
+        }
+    }
+
     /**
      * 将嵌套的Map结构转换为扁平化的Map结构 </br>
      *
@@ -76,7 +123,7 @@ public final class ResourceFileLoader {
         } else if (value instanceof List) {
             List<Object> list = (List<Object>) value;
             for (int i = 0; i < list.size(); i++) {
-                String key = String.format("%s[%d]", path, i);
+                String key = path + "[" + i + "]";
                 flatten(key, list.get(i), to);
             }
         } else {
@@ -0,0 +1,126 @@
+package org.moper.cap.boot.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.moper.cap.bean.exception.BeanDefinitionException;
+import org.moper.cap.core.exception.ResourceLoaderException;
+import org.moper.cap.core.scan.ScannedResource;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 类路径上只有部分根携带组件索引时，索引必须报告未覆盖，由调用方回退到扫描
+ */
+public class ComponentIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPartiallyIndexedClasspath() throws Exception {
+        Path indexed = indexedRoot(dir.resolve("a"));
+        Path plain = dir.resolve("b");
+        Files.createDirectories(plain.resolve("demo/b"));
+        write(plain.resolve("conf/application.yaml"), "app: b");
+
+        try (URLClassLoader loader = loader(indexed, plain)) {
+            ComponentIndex index = ComponentIndex.load(loader);
+            assertNotNull(index);
+
+            assertTrue(index.covers(new String[]{"demo.a"}));
+            // demo 同时存在于未携带索引的根中
+            assertFalse(index.covers(new String[]{"demo"}));
+            assertFalse(index.covers(new String[]{"demo.a", "demo.b"}));
+            assertFalse(index.covers(new String[0]));
+            assertFalse(index.covers(new String[]{""}));
+
+            assertTrue(index.coversResources(new String[]{"only"}, List.of("application.yaml")));
+            assertFalse(index.coversResources(new String[]{"conf"}, List.of("application.yaml")));
+            assertFalse(index.coversResources(new String[0], List.of("application.yaml")));
+
+            assertEquals(List.of("demo.a.Plain", "demo.a.Broken"),
+                    index.getComponents(new String[]{"demo.a"}).stream().map(ComponentIndex.Component::className).toList());
+            assertEquals(List.of(), index.getComponents(new String[]{"demo.b"}));
+            assertArrayEquals(new String[0], index.findComponent("demo.a.Plain").parameterBeanNames());
+            BeanDefinitionException error = assertThrows(BeanDefinitionException.class,
+                    () -> index.findComponent("demo.a.Broken").parameterBeanNames());
+            assertEquals("Multiple constructors found in class without @Inject annotation: demo.a.Broken", error.getMessage());
+            assertNull(index.findComponent("demo.b.Missing"));
+
+            ComponentIndex.FactoryMethod factoryMethod = index.getFactoryMethods(new String[]{"demo"}).getFirst();
+            assertEquals("repo", factoryMethod.methodName());
+            assertArrayEquals(new String[]{"java.lang.String", "int[]"}, factoryMethod.parameterTypes());
+
+            List<ScannedResource> resources = index.getResources(new String[]{"conf"}, "application.yaml");
+            assertEquals(1, resources.size());
+            assertEquals("conf/application.yaml", resources.getFirst().path());
+            assertEquals(indexed.resolve("conf/application.yaml").toUri().toURL(), resources.getFirst().url());
+            assertEquals(List.of("only/application.yaml"),
+                    index.getResources(new String[0], "application.yaml").stream().map(ScannedResource::path)
+                            .filter(p -> p.startsWith("only/")).toList());
+
+            BeanDefinitionException stale = assertThrows(BeanDefinitionException.class, () -> index.loadClass("demo.a.Plain"));
+            assertTrue(stale.getMessage().contains("stale"));
+        }
+    }
+
+    @Test
+    void testNoIndexOnClasspath() throws Exception {
+        Path plain = dir.resolve("b");
+        Files.createDirectories(plain.resolve("demo/b"));
+        try (URLClassLoader loader = loader(plain)) {
+            assertNull(ComponentIndex.load(loader));
+        }
+    }
+
+    @Test
+    void testMalformedIndex() throws Exception {
+        Path root = dir.resolve("bad");
+        write(root.resolve(ComponentIndex.INDEX_LOCATION), "X\tdemo.Unknown\n");
+        try (URLClassLoader loader = loader(root)) {
+            assertThrows(ResourceLoaderException.class, () -> ComponentIndex.load(loader));
+        }
+    }
+
+    private static Path indexedRoot(Path root) throws IOException {
+        write(root.resolve(ComponentIndex.INDEX_LOCATION), String.join("\n",
+                "# component index",
+                "C\tdemo.a.Plain\t",
+                "C\tdemo.a.Broken\t!Multiple constructors found in class without @Inject annotation: demo.a.Broken",
+                "F\tdemo.a.Config\trepo\tjava.lang.String,int[]",
+                "R\tconf/application.yaml",
+                "R\tonly/application.yaml",
+                ""));
+        Files.createDirectories(root.resolve("demo/a"));
+        write(root.resolve("conf/application.yaml"), "app: a");
+        write(root.resolve("only/application.yaml"), "only: a");
+        return root;
+    }
+
+    private static URLClassLoader loader(Path... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
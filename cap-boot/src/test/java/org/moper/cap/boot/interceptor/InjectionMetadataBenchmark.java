@@ -0,0 +1,177 @@
+package org.moper.cap.boot.interceptor;
+
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.container.impl.DefaultBeanContainer;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+import org.moper.cap.bean.interceptor.BeanInterceptor;
+import org.moper.cap.bean.util.BeanNamesResolver;
+import org.moper.cap.common.converter.TypeResolver;
+import org.moper.cap.common.converter.TypeResolverFactory;
+import org.moper.cap.common.converter.impl.DefaultTypeResolver;
+import org.moper.cap.property.annotation.Value;
+import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.property.officer.impl.DefaultPropertyOfficer;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 原型 Bean 创建吞吐量基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>反复获取一个带有 3 个 @Inject 字段和 3 个 @Value 字段的原型 Bean，比较：
+ * <ul>
+ *   <li>反射遍历：与引入 {@link InjectionMetadata} 之前等价的实现，每次创建都遍历继承层级、检查注解并解析表达式</li>
+ *   <li>注入元数据：{@link BeanInjectionInterceptor} 与 {@link PropertyValueBeanInterceptor} 使用按类缓存的句柄写入字段</li>
+ * </ul>
+ */
+public class InjectionMetadataBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURE_ITERATIONS = 1_000_000;
+
+    public static class Repository {}
+
+    public static class Cache {}
+
+    public static class Clock {}
+
+    public static class BaseHandler {
+        @Inject
+        private Clock clock;
+
+        @Value("${handler.timeout:30}")
+        private Integer timeout;
+    }
+
+    public static class RequestHandler extends BaseHandler {
+        @Inject
+        private Repository repository;
+
+        @Inject
+        private Cache cache;
+
+        @Value("${handler.name}")
+        private String name;
+
+        @Value("${handler.retries:3}")
+        private Integer retries;
+
+        private String unannotated;
+    }
+
+    public static void main(String[] args) throws Exception {
+        TypeResolver typeResolver = new DefaultTypeResolver();
+        TypeResolverFactory.setTypeResolver(typeResolver);
+        DefaultPropertyOfficer officer = new DefaultPropertyOfficer("benchmark", typeResolver);
+        try {
+            officer.getPublisher("benchmark").publish(new PropertySetOperation("handler.name", "orders"));
+
+            DefaultBeanContainer legacy = container();
+            legacy.addBeanInterceptor(new ReflectiveInjectionInterceptor(legacy, officer));
+
+            DefaultBeanContainer cached = container();
+            cached.addBeanInterceptor(new PropertyValueBeanInterceptor(officer));
+            cached.addBeanInterceptor(new BeanInjectionInterceptor(cached));
+
+            report("reflective walk", legacy);
+            report("injection metadata", cached);
+        } finally {
+            officer.close();
+        }
+    }
+
+    private static DefaultBeanContainer container() {
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        container.registerBeanDefinition(BeanDefinition.of("repository", Repository.class));
+        container.registerBeanDefinition(BeanDefinition.of("cache", Cache.class));
+        container.registerBeanDefinition(BeanDefinition.of("clock", Clock.class));
+        container.registerBeanDefinition(BeanDefinition.of("requestHandler", RequestHandler.class)
+                .withScope(BeanScope.PROTOTYPE));
+        container.preInstantiateSingletons();
+        return container;
+    }
+
+    private static void report(String label, DefaultBeanContainer container) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            container.getBean("requestHandler", RequestHandler.class);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            container.getBean("requestHandler", RequestHandler.class);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %,8d ns/op, %,12d prototypes/s%n", label,
+                elapsed / MEASURE_ITERATIONS, MEASURE_ITERATIONS * 1_000_000_000L / elapsed);
+    }
+
+    /**
+     * 引入注入元数据缓存之前的 @Inject / @Value 处理方式
+     */
+    private static final class ReflectiveInjectionInterceptor implements BeanInterceptor {
+
+        private static final Pattern VALUE_PATTERN = Pattern.compile("\\$\\{([^}:]+)(?::([^}]*))?\\}");
+
+        private final DefaultBeanContainer beanContainer;
+
+        private final PropertyOfficer propertyOfficer;
+
+        ReflectiveInjectionInterceptor(DefaultBeanContainer beanContainer, PropertyOfficer propertyOfficer) {
+            this.beanContainer = beanContainer;
+            this.propertyOfficer = propertyOfficer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object afterInstantiation(Object bean, BeanDefinition definition) {
+            for (Field field : getAllFields(bean.getClass())) {
+                Value annotation = field.getAnnotation(Value.class);
+                if (annotation == null) continue;
+                Matcher matcher = VALUE_PATTERN.matcher(annotation.value());
+                if (!matcher.matches()) throw new IllegalStateException(annotation.value());
+                try {
+                    field.setAccessible(true);
+                    Object value;
+                    if (matcher.group(2) != null) {
+                        Object defaultValue = TypeResolverFactory.getTypeResolver().resolve(matcher.group(2), (Class) field.getType());
+                        value = propertyOfficer.getPropertyValueOrDefault(matcher.group(1), (Class) field.getType(), defaultValue);
+                    } else {
+                        value = propertyOfficer.getPropertyValue(matcher.group(1), (Class) field.getType());
+                    }
+                    field.set(bean, value);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return bean;
+        }
+
+        @Override
+        public Object afterPropertyInjection(Object bean, BeanDefinition definition) {
+            for (Field field : getAllFields(bean.getClass())) {
+                if (!field.isAnnotationPresent(Inject.class)) continue;
+                try {
+                    field.setAccessible(true);
+                    field.set(bean, beanContainer.getBean(BeanNamesResolver.resolve(field), field.getType()));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return bean;
+        }
+
+        private static List<Field> getAllFields(Class<?> clazz) {
+            List<Field> fields = new ArrayList<>();
+            Class<?> current = clazz;
+            while (current != null && current != Object.class) {
+                fields.addAll(List.of(current.getDeclaredFields()));
+                current = current.getSuperclass();
+            }
+            return fields;
+        }
+    }
+}
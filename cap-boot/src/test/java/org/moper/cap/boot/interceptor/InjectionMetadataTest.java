@@ -0,0 +1,191 @@
+package org.moper.cap.boot.interceptor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.moper.cap.bean.annotation.Inject;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.exception.BeanException;
+import org.moper.cap.common.converter.TypeResolver;
+import org.moper.cap.common.converter.TypeResolverFactory;
+import org.moper.cap.common.converter.impl.DefaultTypeResolver;
+import org.moper.cap.property.annotation.Subscriber;
+import org.moper.cap.property.annotation.Value;
+import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.property.officer.impl.DefaultPropertyOfficer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InjectionMetadataTest {
+
+    public static class Clock {}
+
+    public static class Repository {}
+
+    public static class BaseHandler {
+        @Inject
+        private Clock clock;
+
+        @Value("${handler.timeout:30}")
+        private Integer timeout;
+    }
+
+    public static class RequestHandler extends BaseHandler {
+        @Inject
+        private Repository repository;
+
+        @Value("${handler.name}")
+        private String name;
+
+        private String unannotated;
+    }
+
+    public static class FinalFields {
+        @Value("${handler.name}")
+        private final String name = null;
+
+        @Value("${handler.timeout:30}")
+        private static final Integer TIMEOUT = 0;
+    }
+
+    public static class Expressions {
+        @Value("handler.name")
+        private String literal;
+
+        @Value("${}")
+        private String empty;
+
+        @Value("${handler.name:}")
+        private String emptyDefault;
+
+        @Value("${handler.url:http://localhost:8080}")
+        private String colonDefault;
+    }
+
+    public static class BrokenSubscriber {
+        @Inject
+        private Clock clock;
+
+        @Value("${handler.name}")
+        private String name;
+
+        @Subscriber(propertyKey = "handler.name", onSet = "missing")
+        private String subscribed;
+    }
+
+    public static class WrongReturnSubscriber {
+        @Subscriber(propertyKey = "handler.name", onRemoved = "removed")
+        private String subscribed;
+
+        int removed() {
+            return 0;
+        }
+    }
+
+    public static class ValidSubscriber {
+        @Subscriber(propertyKey = "handler.name", onSet = "changed", onRemoved = "removed")
+        private String subscribed;
+
+        void changed(String value) {}
+
+        void removed() {}
+    }
+
+    private TypeResolver previousResolver;
+
+    private DefaultPropertyOfficer officer;
+
+    @BeforeEach
+    void setUp() {
+        previousResolver = TypeResolverFactory.getTypeResolver();
+        TypeResolver typeResolver = new DefaultTypeResolver();
+        TypeResolverFactory.setTypeResolver(typeResolver);
+        officer = new DefaultPropertyOfficer("injection-metadata-test", typeResolver);
+        officer.getPublisher("test").publish(new PropertySetOperation("handler.name", "orders"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        officer.close();
+        TypeResolverFactory.setTypeResolver(previousResolver);
+    }
+
+    @Test
+    void testInheritedFieldsSubclassFirst() throws Throwable {
+        InjectionMetadata metadata = InjectionMetadata.forClass(RequestHandler.class);
+        assertSame(metadata, InjectionMetadata.forClass(RequestHandler.class));
+
+        assertEquals(List.of("repository", "clock"),
+                metadata.injectPoints().stream().map(p -> p.field().getName()).toList());
+        assertEquals(List.of("name", "timeout"),
+                metadata.valuePoints().stream().map(p -> p.field().getName()).toList());
+        assertEquals(List.of(), metadata.subscriberPoints());
+
+        // 父类的私有字段同样通过预绑定的句柄写入
+        RequestHandler handler = new RequestHandler();
+        Clock clock = new Clock();
+        metadata.injectPoints().get(1).inject(handler, clock);
+        assertSame(clock, ((BaseHandler) handler).clock);
+
+        new PropertyValueBeanInterceptor(officer).afterInstantiation(handler, BeanDefinition.of("handler", RequestHandler.class));
+        assertEquals("orders", handler.name);
+        assertEquals(30, ((BaseHandler) handler).timeout);
+    }
+
+    @Test
+    void testFinalFields() {
+        InjectionMetadata metadata = InjectionMetadata.forClass(FinalFields.class);
+        assertEquals(2, metadata.valuePoints().size());
+        PropertyValueBeanInterceptor interceptor = new PropertyValueBeanInterceptor(officer);
+
+        // 实例 final 字段在 setAccessible 之后可以写入；static final 字段在注入时才报错
+        FinalFields bean = new FinalFields();
+        BeanException e = assertThrows(BeanException.class,
+                () -> interceptor.afterInstantiation(bean, BeanDefinition.of("finalFields", FinalFields.class)));
+        assertEquals("orders", bean.name);
+        assertTrue(e.getMessage().contains("TIMEOUT"));
+        assertInstanceOf(IllegalAccessException.class, e.getCause());
+    }
+
+    @Test
+    void testValueExpressions() {
+        List<InjectionMetadata.ValuePoint> points = InjectionMetadata.forClass(Expressions.class).valuePoints();
+        assertEquals(4, points.size());
+
+        assertFalse(points.get(0).isValid());
+        assertFalse(points.get(1).isValid());
+        assertEquals("handler.name", points.get(2).key());
+        assertEquals("", points.get(2).defaultValue());
+        assertEquals("handler.url", points.get(3).key());
+        assertEquals("http://localhost:8080", points.get(3).defaultValue());
+
+        // 无效表达式不影响元数据的计算，在注入时报错
+        BeanException e = assertThrows(BeanException.class, () -> new PropertyValueBeanInterceptor(officer)
+                .afterInstantiation(new Expressions(), BeanDefinition.of("expressions", Expressions.class)));
+        assertEquals("Invalid @Value expression 'handler.name' on field 'literal' in " + Expressions.class.getName(), e.getMessage());
+    }
+
+    @Test
+    void testSubscriberValidatedOnFirstAccess() {
+        // 无效的 @Subscriber 不影响 @Inject / @Value 元数据
+        InjectionMetadata metadata = InjectionMetadata.forClass(BrokenSubscriber.class);
+        assertEquals(1, metadata.injectPoints().size());
+        assertEquals(1, metadata.valuePoints().size());
+
+        BeanException e = assertThrows(BeanException.class, metadata::subscriberPoints);
+        assertTrue(e.getMessage().contains("onSet method 'missing(String)' not found"));
+        // 校验失败不被缓存为成功结果，再次访问仍然报错
+        assertThrows(BeanException.class, metadata::subscriberPoints);
+
+        e = assertThrows(BeanException.class, InjectionMetadata.forClass(WrongReturnSubscriber.class)::subscriberPoints);
+        assertTrue(e.getMessage().contains("must have void return type"));
+
+        List<InjectionMetadata.SubscriberPoint> points = InjectionMetadata.forClass(ValidSubscriber.class).subscriberPoints();
+        assertEquals(1, points.size());
+        assertEquals("handler.name", points.getFirst().propertyKey());
+        assertNotNull(points.getFirst().onSet());
+        assertNotNull(points.getFirst().onRemoved());
+    }
+}
@@ -0,0 +1,165 @@
+package org.moper.cap.boot.scan;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.moper.cap.bean.annotation.Capper;
+import org.moper.cap.bean.exception.BeanDefinitionException;
+import org.moper.cap.boot.index.ComponentIndex;
+import org.moper.cap.core.config.ConfigurationClassParser;
+import org.moper.cap.core.scan.ScannedResource;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultClasspathScanViewTest {
+
+    @TempDir
+    Path dir;
+
+    private Path indexed;
+
+    private Path plain;
+
+    private URLClassLoader loader;
+
+    private ClassLoader previousLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 根 a 携带索引，索引中记录了实际不存在的类与资源，用来区分结果来自索引还是扫描
+        indexed = dir.resolve("a");
+        write(indexed.resolve(ComponentIndex.INDEX_LOCATION), String.join("\n",
+                "C\tdemo.a.Ghost\t",
+                "R\tconf/application.yaml",
+                "R\tonly/application.yaml",
+                "R\tonly/ghost.yaml",
+                ""));
+        write(indexed.resolve("conf/application.yaml"), "app: a");
+        write(indexed.resolve("only/application.yaml"), "only: a");
+        Files.createDirectories(indexed.resolve("demo/a"));
+        plain = dir.resolve("b");
+        write(plain.resolve("conf/application.yaml"), "app: b");
+        Files.createDirectories(plain.resolve("demo/b"));
+
+        loader = new URLClassLoader(new URL[]{indexed.toUri().toURL(), plain.toUri().toURL()}, null);
+        previousLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(loader);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        loader.close();
+    }
+
+    @Test
+    void testPartialIndexFallsBackToResourceScan() {
+        try (DefaultClasspathScanView view = new DefaultClasspathScanView(parser("conf"), 2, false)) {
+            // 根 b 中的 conf/application.yaml 不在索引中，必须扫描才能发现
+            List<ScannedResource> resources = view.getResourcesWithLeafName("application.yaml");
+            assertEquals(List.of(url(indexed, "conf/application.yaml"), url(plain, "conf/application.yaml")),
+                    resources.stream().map(ScannedResource::url).toList());
+        }
+    }
+
+    @Test
+    void testCoveredResourcesServedFromIndex() {
+        try (DefaultClasspathScanView view = new DefaultClasspathScanView(parser("only"), 2, false)) {
+            assertEquals(List.of("only/ghost.yaml"),
+                    view.getResourcesWithLeafName("ghost.yaml").stream().map(ScannedResource::path).toList());
+        }
+    }
+
+    @Test
+    void testPartialIndexFallsBackToClassScan() {
+        try (DefaultClasspathScanView view = new DefaultClasspathScanView(parser(new String[]{"demo.a"}, new String[0]), 2, false)) {
+            BeanDefinitionException stale = assertThrows(BeanDefinitionException.class,
+                    () -> view.getClassesWithAnnotation(Capper.class));
+            assertTrue(stale.getMessage().contains("stale"));
+        }
+        // 根 b 同样包含 demo 包但未携带索引，扫描时不会读到索引中的 demo.a.Ghost
+        try (DefaultClasspathScanView view = new DefaultClasspathScanView(parser(new String[]{"demo"}, new String[0]), 2, false)) {
+            assertEquals(List.of(), view.getClassesWithAnnotation(Capper.class));
+        }
+    }
+
+    @Test
+    void testIgnoreIndex() {
+        try (DefaultClasspathScanView view = new DefaultClasspathScanView(parser(new String[]{"demo.a"}, new String[]{"only"}), 2, true)) {
+            assertEquals(List.of(), view.getClassesWithAnnotation(Capper.class));
+            assertEquals(List.of(), view.getResourcesWithLeafName("ghost.yaml"));
+            assertEquals(List.of("only/application.yaml"),
+                    view.getResourcesWithLeafName("application.yaml").stream().map(ScannedResource::path).toList());
+        }
+    }
+
+    @Test
+    void testSharedViewAnswersConcurrentQueries() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (DefaultClasspathScanView view = new DefaultClasspathScanView(parser("conf", "only"), 2, false)) {
+            // 并行启动时多个 Runner 同时查询同一个视图，应得到同一次扫描的结果
+            Callable<List<URL>> query = () -> view.getResourcesWithLeafName("application.yaml").stream()
+                    .map(ScannedResource::url).toList();
+            List<Future<List<URL>>> futures = executor.invokeAll(List.of(query, query, query, query, query, query, query, query));
+            List<URL> expected = List.of(url(indexed, "conf/application.yaml"), url(indexed, "only/application.yaml"),
+                    url(plain, "conf/application.yaml"));
+            for (Future<List<URL>> future : futures) {
+                assertEquals(expected.stream().sorted(Comparator.comparing(URL::toString)).toList(),
+                        future.get().stream().sorted(Comparator.comparing(URL::toString)).toList());
+            }
+            assertEquals(List.of(), view.getClassesWithAnnotation(Capper.class));
+
+            view.close();
+            assertThrows(IllegalStateException.class, () -> view.getResourcesWithLeafName("application.yaml"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static ConfigurationClassParser parser(String... resourcePaths) {
+        return parser(new String[]{"demo"}, resourcePaths);
+    }
+
+    static ConfigurationClassParser parser(String[] componentScanPaths, String[] resourcePaths) {
+        return new ConfigurationClassParser() {
+            @Override
+            public String[] getComponentScanPaths() {
+                return componentScanPaths;
+            }
+
+            @Override
+            public String[] getResourceScanPaths() {
+                return resourcePaths;
+            }
+        };
+    }
+
+    private static URL url(Path root, String path) {
+        try {
+            return root.resolve(path).toUri().toURL();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,123 @@
+package org.moper.cap.boot.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.moper.cap.bean.container.impl.DefaultBeanContainer;
+import org.moper.cap.bean.definition.BeanDefinition;
+import org.moper.cap.bean.definition.BeanScope;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileWiringSnapshotTest {
+
+    public static class Service {}
+
+    private static final Map<String, String> DEV = Map.of("application.profiles.active", "dev",
+            "application.component-index.ignore", "");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEscapeRoundTrip() {
+        for (String value : new String[]{"", "plain", "a\\b", "tab\there", "line\nbreak\r", "a,b", "\\-", "-", "trailing\\", "\\t"}) {
+            String escaped = FileWiringSnapshot.escape(value);
+            assertFalse(escaped.contains("\t") || escaped.contains("\n"), escaped);
+            assertEquals(value, FileWiringSnapshot.unescape(escaped));
+        }
+        assertNull(FileWiringSnapshot.unescape(FileWiringSnapshot.escape(null)));
+    }
+
+    @Test
+    void testSaveAndRestore() {
+        Path file = dir.resolve("wiring.snapshot");
+        DefaultBeanContainer source = new DefaultBeanContainer();
+        source.registerBeanDefinition(new BeanDefinition("odd\tname,1", Service.class, BeanScope.PROTOTYPE,
+                new String[]{"a,b", "c\\d"}, true, true, "line\nbreak", new String[]{"x\ty", ""}, null, null, "init", null));
+        source.registerAlias("odd\tname,1", "alias,1");
+
+        FileWiringSnapshot first = open(file, DEV);
+        first.contributeSection("routes", () -> List.of("GET\t/a,b"));
+        assertFalse(first.restore(new DefaultBeanContainer()));
+        first.saveIfStale(source);
+
+        DefaultBeanContainer target = new DefaultBeanContainer();
+        FileWiringSnapshot second = open(file, DEV);
+        assertTrue(second.restore(target));
+        assertTrue(second.isRestored());
+        BeanDefinition restored = target.getBeanDefinition("odd\tname,1");
+        assertEquals(Service.class, restored.type());
+        assertEquals(BeanScope.PROTOTYPE, restored.scope());
+        assertArrayEquals(new String[]{"a,b", "c\\d"}, restored.dependsOn());
+        assertArrayEquals(new String[]{"x\ty", ""}, restored.parameterBeanNames());
+        assertTrue(restored.lazy());
+        assertTrue(restored.primary());
+        assertEquals("line\nbreak", restored.description());
+        assertEquals("init", restored.initMethod());
+        assertNull(restored.destroyMethod());
+        assertNull(restored.factoryBeanName());
+        assertArrayEquals(new String[]{"alias,1"}, target.getAliases("odd\tname,1"));
+        assertEquals(List.of("GET\t/a,b"), second.getSection("routes"));
+    }
+
+    @Test
+    void testLaunchSettingsInvalidateSnapshot() {
+        Path file = dir.resolve("wiring.snapshot");
+        DefaultBeanContainer source = new DefaultBeanContainer();
+        source.registerBeanDefinition(BeanDefinition.of("service", Service.class));
+        open(file, DEV).saveIfStale(source);
+        assertTrue(open(file, DEV).restore(new DefaultBeanContainer()));
+
+        // 切换活动环境或组件索引开关后，注册结果可能不同，快照不能被恢复
+        assertFalse(open(file, Map.of("application.profiles.active", "prod",
+                "application.component-index.ignore", "")).restore(new DefaultBeanContainer()));
+        assertFalse(open(file, Map.of("application.profiles.active", "dev",
+                "application.component-index.ignore", "true")).restore(new DefaultBeanContainer()));
+        assertFalse(open(file, Map.of()).restore(new DefaultBeanContainer()));
+    }
+
+    @Test
+    void testStaleOrMalformedDefinitionRecord() throws Exception {
+        Path file = dir.resolve("wiring.snapshot");
+        String header = "V\t" + FileWiringSnapshot.FORMAT_VERSION + "\n"
+                + "K\t" + FileWiringSnapshot.fingerprint(Service.class, System.getProperty("java.class.path", ""), DEV) + "\n";
+        String valid = "D\tservice\t" + Service.class.getName() + "\tSINGLETON\tfalse\tfalse\t\t\t\\-\t\\-\t\\-\t\\-\t\\-\n";
+        String section = "S\troutes\tGET /\n";
+
+        Files.writeString(file, header + valid + section, StandardCharsets.UTF_8);
+        DefaultBeanContainer container = new DefaultBeanContainer();
+        FileWiringSnapshot snapshot = open(file, DEV);
+        assertTrue(snapshot.restore(container));
+        assertTrue(container.containsBeanDefinition("service"));
+        assertEquals(List.of("GET /"), snapshot.getSection("routes"));
+
+        List<String> broken = List.of(
+                // 类已被删除
+                "D\tmissing\tdemo.Missing\tSINGLETON\tfalse\tfalse\t\t\t\\-\t\\-\t\\-\t\\-\t\\-\n",
+                // 字段数量不对
+                "D\tshort\t" + Service.class.getName() + "\tSINGLETON\n",
+                // 无法识别的作用域
+                "D\tscope\t" + Service.class.getName() + "\tCONVERSATION\tfalse\tfalse\t\t\t\\-\t\\-\t\\-\t\\-\t\\-\n",
+                "X\tunknown\n");
+        for (String record : broken) {
+            Files.writeString(file, header + valid + record + section, StandardCharsets.UTF_8);
+            container = new DefaultBeanContainer();
+            snapshot = open(file, DEV);
+            // 任何一条记录无法恢复时，前面有效的记录也不会注册到容器
+            assertFalse(snapshot.restore(container), record);
+            assertFalse(snapshot.isRestored());
+            assertEquals(0, container.getBeanDefinitionNames().length);
+            assertEquals(List.of(), snapshot.getSection("routes"));
+        }
+    }
+
+    private static FileWiringSnapshot open(Path file, Map<String, String> launchSettings) {
+        return FileWiringSnapshot.open(file, Service.class, FileWiringSnapshotTest.class.getClassLoader(), launchSettings);
+    }
+}
@@ -2,14 +2,32 @@ package org.moper.cap.boot.test;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.moper.cap.bean.annotation.Capper;
 import org.moper.cap.bean.annotation.Inject;
 import org.moper.cap.bean.definition.BeanScope;
 import org.moper.cap.boot.application.impl.DefaultCapApplication;
+import org.moper.cap.boot.cds.TrainingResult;
 import org.moper.cap.core.annotation.ComponentScan;
 import org.moper.cap.core.annotation.ResourceScan;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.property.subscriber.impl.DefaultAbstractPropertySubscriber;
+import org.moper.cap.property.subscriber.impl.DefaultPropertySubscription;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
 
@@ -92,4 +110,156 @@ public class CapApplicationTest {
             trueConfigurationBean2.print();
         }
     }
+
+    @Test
+    void parallelBootstrapTest() throws Exception {
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class,
+                "--" + PropertyArguments.PARALLEL_BOOTSTRAP_PROPERTY_KEY + "=true",
+                "--" + PropertyArguments.BOOTSTRAP_PARALLELISM_PROPERTY_KEY + "=4").run()){
+            PropertyOfficer officer = context.getPropertyOfficer();
+            assertEquals("true", officer.getPropertyValue(PropertyArguments.PARALLEL_BOOTSTRAP_PROPERTY_KEY, String.class));
+            assertEquals("wang", officer.getPropertyValue("student.name", String.class));
+            // application-dev.yaml 中的属性：ActiveProfile 在静态配置文件加载之后执行
+            assertEquals("dog", officer.getPropertyValue("student.sex", String.class));
+
+            FalseConfigurationClass falseConfigurationBean = context.getBean("false", FalseConfigurationClass.class);
+            assertSame(falseConfigurationBean, context.getBean("FalseConfigurationClass", FalseConfigurationClass.class));
+            assertEquals(1, falseConfigurationBean.index);
+            assertEquals(2, context.getBean("TrueConfigurationClass2", FalseConfigurationClass.class).index);
+        }
+    }
+
+    @Test
+    void startupTrainingTest(@TempDir Path dir) throws Exception {
+        Path archive = dir.resolve("train.jsa");
+        List<Path> dumped = new CopyOnWriteArrayList<>();
+        int closedBefore = RecordingRuntimeRunner.CLOSED.get();
+        DefaultCapApplication application = new DefaultCapApplication(TrueConfigurationClass.class,
+                "--" + PropertyArguments.STARTUP_TRAIN_PROPERTY_KEY + "=true",
+                "--" + PropertyArguments.STARTUP_CDS_ARCHIVE_PROPERTY_KEY + "=" + archive) {
+            @Override
+            protected boolean dumpArchive(Path path) {
+                // RuntimeRunner 先于归档写出关闭
+                assertEquals(closedBefore + 1, RecordingRuntimeRunner.CLOSED.get());
+                dumped.add(path);
+                return false;
+            }
+        };
+        assertTrue(application.getTrainingResult().isEmpty());
+
+        // 训练结束后 run() 正常返回已关闭的上下文，由调用方根据训练结果决定退出码
+        RuntimeContext context = application.run();
+        assertEquals(List.of(archive), dumped);
+        assertTrue(context.getPropertyOfficer().isClosed());
+        TrainingResult result = application.getTrainingResult().orElseThrow();
+        assertEquals(new TrainingResult(archive, false), result);
+        assertEquals(1, result.exitCode());
+        assertSame(context, application.run());
+        assertEquals(1, dumped.size());
+    }
+
+    @Test
+    void wiringSnapshotTest(@TempDir Path dir) throws Exception {
+        Path snapshot = dir.resolve("wiring.snapshot");
+        String argument = "--" + PropertyArguments.WIRING_SNAPSHOT_PROPERTY_KEY + "=" + snapshot;
+
+        // 第一次启动：正常注册并写出快照
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class, argument).run()){
+            assertEquals(1, context.getBean("false", FalseConfigurationClass.class).index);
+        }
+        assertTrue(Files.exists(snapshot));
+        List<String> lines = Files.readAllLines(snapshot, StandardCharsets.UTF_8);
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("D\tfalse\t")));
+
+        // 第二次启动：从快照恢复，快照中追加的别名生效，说明注册执行器被跳过
+        Files.writeString(snapshot, "A\tsnapshotAlias\tfalse\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class, argument).run()){
+            FalseConfigurationClass bean = context.getBean("false", FalseConfigurationClass.class);
+            assertSame(bean, context.getBean("snapshotAlias", FalseConfigurationClass.class));
+            assertSame(bean, context.getBean("FalseConfigurationClass", FalseConfigurationClass.class));
+            assertEquals(2, context.getBean("TrueConfigurationClass2", FalseConfigurationClass.class).index);
+        }
+
+        // 类路径指纹不一致：回退到正常注册，并重写快照
+        List<String> stale = Files.readAllLines(snapshot, StandardCharsets.UTF_8).stream()
+                .map(line -> line.startsWith("K\t") ? "K\tstale" : line)
+                .toList();
+        Files.write(snapshot, stale, StandardCharsets.UTF_8);
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class, argument).run()){
+            assertFalse(context.containsBean("snapshotAlias"));
+            assertEquals(1, context.getBean("false", FalseConfigurationClass.class).index);
+        }
+        assertFalse(Files.readString(snapshot, StandardCharsets.UTF_8).contains("snapshotAlias"));
+    }
+
+    @Test
+    void configFileWatchTest(@TempDir Path dir) throws Exception {
+        Path config = dir.resolve("external.yaml");
+        Files.writeString(config, "watch:\n  alpha: 1\n  beta: 2\n  gamma: 3\n", StandardCharsets.UTF_8);
+
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class,
+                "--" + PropertyArguments.CONFIG_LOCATION_PROPERTY_KEY + "=" + config,
+                "--" + PropertyArguments.CONFIG_WATCH_PROPERTY_KEY + "=true",
+                "--" + PropertyArguments.CONFIG_WATCH_DEBOUNCE_PROPERTY_KEY + "=50",
+                // 订阅的回放默认异步交付，这里显式等待交付完成再检查收到的值
+                "--" + PropertyArguments.PROPERTY_DELIVERY_TIMEOUT_PROPERTY_KEY + "=10000").run()){
+            PropertyOfficer officer = context.getPropertyOfficer();
+            assertEquals(2, officer.getPropertyValue("watch.beta", Integer.class));
+
+            List<Integer> alphaEvents = new CopyOnWriteArrayList<>();
+            officer.getSubscription("watch-test", () -> new DefaultPropertySubscription("watch-test", List.of(
+                    new DefaultAbstractPropertySubscriber<>("watch.alpha", Integer.class) {
+                        @Override public void onSet(Integer value) { alphaEvents.add(value); }
+                        @Override public void onRemoved() { alphaEvents.add(null); }
+                    })));
+            assertEquals(List.of(1), alphaEvents);
+
+            // 只有变化的属性被发布：alpha 不变，不会再次通知
+            Files.writeString(config, "watch:\n  alpha: 1\n  beta: 20\n  delta: 4\n", StandardCharsets.UTF_8);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!officer.containsProperty("watch.delta") || officer.containsProperty("watch.gamma")) {
+                assertTrue(System.nanoTime() < deadline, "config file change was not published");
+                Thread.sleep(20);
+            }
+            assertEquals(20, officer.getPropertyValue("watch.beta", Integer.class));
+            assertEquals(4, officer.getPropertyValue("watch.delta", Integer.class));
+            assertEquals(List.of(1), alphaEvents);
+        }
+    }
+
+    @Test
+    void configCacheTest(@TempDir Path dir) throws Exception {
+        String[] arguments = {
+                "--" + PropertyArguments.CONFIG_CACHE_PROPERTY_KEY + "=true",
+                "--" + PropertyArguments.CONFIG_CACHE_DIR_PROPERTY_KEY + "=" + dir
+        };
+
+        // 第一次启动：解析配置文件并写出缓存
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class, arguments).run()){
+            assertEquals("wang", context.getPropertyOfficer().getPropertyValue("student.name", String.class));
+        }
+        List<Path> cached;
+        try (var files = Files.list(dir)) {
+            cached = files.filter(file -> file.toString().endsWith(".flat")).toList();
+        }
+        assertFalse(cached.isEmpty());
+
+        // 第二次启动：从缓存读取，属性值与类型保持不变
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class, arguments).run()){
+            PropertyOfficer officer = context.getPropertyOfficer();
+            assertEquals("wang", officer.getPropertyValue("student.name", String.class));
+            assertEquals(officer.getPropertyValue("student.age", Integer.class), officer.getRawPropertyValue("student.age"));
+        }
+
+        // 缓存文件损坏：回退到解析并重写
+        for (Path file : cached) {
+            Files.write(file, new byte[]{1, 2, 3});
+        }
+        try(RuntimeContext context = new DefaultCapApplication(TrueConfigurationClass.class, arguments).run()){
+            assertEquals("wang", context.getPropertyOfficer().getPropertyValue("student.name", String.class));
+        }
+        for (Path file : cached) {
+            assertTrue(Files.size(file) > 3);
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.moper.cap.bean.annotation.Capper;
 import org.moper.cap.boot.application.impl.DefaultCapApplication;
 import org.moper.cap.core.annotation.ComponentScan;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.annotation.ResourceScan;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.property.annotation.Subscriber;
@@ -19,6 +20,11 @@ import org.moper.cap.property.publisher.PropertyPublisher;
 @Slf4j
 public class PropertyAnnotationTest {
 
+    /**
+     * 属性变更默认异步交付给订阅者，订阅相关的用例显式开启交付等待，发布返回时订阅字段已经更新
+     */
+    private static final String AWAIT_DELIVERY = "--" + PropertyArguments.PROPERTY_DELIVERY_TIMEOUT_PROPERTY_KEY + "=10000";
+
     /* ──────────────────── @Value 注入测试 ──────────────────── */
 
     @ComponentScan("org.moper.cap.boot.test")
@@ -78,7 +84,7 @@ public class PropertyAnnotationTest {
 
     @Test
     void subscriptionTest() throws Exception {
-        try (RuntimeContext context = new DefaultCapApplication(ValueConfig.class).run()) {
+        try (RuntimeContext context = new DefaultCapApplication(ValueConfig.class, AWAIT_DELIVERY).run()) {
             PropertyOfficer officer = context.getPropertyOfficer();
 
             // Register a publisher and set/remove a property
@@ -111,7 +117,7 @@ public class PropertyAnnotationTest {
 
     @Test
     void simpleSubscriptionTest() throws Exception {
-        try (RuntimeContext context = new DefaultCapApplication(ValueConfig.class).run()) {
+        try (RuntimeContext context = new DefaultCapApplication(ValueConfig.class, AWAIT_DELIVERY).run()) {
             PropertyOfficer officer = context.getPropertyOfficer();
             PropertyPublisher publisher = officer.getPublisher("simple-publisher");
 
@@ -0,0 +1,28 @@
+package org.moper.cap.boot.test;
+
+import org.moper.cap.core.annotation.RunnerMeta;
+import org.moper.cap.core.context.RuntimeContext;
+import org.moper.cap.core.runner.RuntimeRunner;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 记录启动与关闭次数的 RuntimeRunner，通过 SPI 注册到测试类路径
+ */
+@RunnerMeta(description = "Records runtime runner callbacks for tests")
+public class RecordingRuntimeRunner implements RuntimeRunner {
+
+    static final AtomicInteger STARTED = new AtomicInteger();
+
+    static final AtomicInteger CLOSED = new AtomicInteger();
+
+    @Override
+    public void onApplicationStarted(RuntimeContext context) {
+        STARTED.incrementAndGet();
+    }
+
+    @Override
+    public void onApplicationClosed() {
+        CLOSED.incrementAndGet();
+    }
+}
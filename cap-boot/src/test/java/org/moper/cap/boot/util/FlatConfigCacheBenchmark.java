@@ -0,0 +1,93 @@
+package org.moper.cap.boot.util;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 启动时配置文件加载耗时基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>生成含 1k 与 100k 个叶子属性的 application.yaml（嵌套对象与列表混合），比较：
+ * <ul>
+ *   <li>解析：{@link ResourceFileLoader#loadYaml} 经 Jackson YAML 解析为嵌套 Map 后扁平化</li>
+ *   <li>缓存：{@link FlatConfigCache} 命中时内存映射二进制缓存文件并顺序解码（包含读取内容与计算 SHA-256 的时间）</li>
+ * </ul>
+ * 每种情况先预热再取多次运行的平均值，模拟重复启动时 JIT 已预热的最好情况；首轮冷启动的差距通常更大。
+ */
+public class FlatConfigCacheBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("cap-config-cache-benchmark");
+        try {
+            for (int keys : new int[]{1_000, 100_000}) {
+                run(directory, keys);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(Path directory, int keys) throws Exception {
+        byte[] content = generateYaml(keys);
+        FlatConfigCache cache = new FlatConfigCache(directory);
+        Map<String, Object> expected = ResourceFileLoader.loadYaml(new ByteArrayInputStream(content), true);
+        // 写入缓存
+        cache.load("application.yaml", content);
+        if (!expected.equals(cache.load("application.yaml", content))) {
+            throw new IllegalStateException("Cached properties differ from parsed properties");
+        }
+
+        double parse = measure(() -> ResourceFileLoader.loadYaml(new ByteArrayInputStream(content), true).size());
+        double cached = measure(() -> cache.load("application.yaml", content).size());
+
+        System.out.printf("%,d keys (%,d KB yaml): parse %.2f ms, cache %.2f ms (%.1fx)%n",
+                expected.size(), content.length / 1024, parse, cached, parse / cached);
+    }
+
+    private interface Load {
+        int run() throws Exception;
+    }
+
+    private static double measure(Load load) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += load.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            sink += load.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print("");
+        return elapsed / 1_000_000.0 / MEASURE_ITERATIONS;
+    }
+
+    /**
+     * 每个分组 10 个属性：字符串、整数、布尔、小数与一个 6 元素列表
+     */
+    private static byte[] generateYaml(int keys) {
+        StringBuilder yaml = new StringBuilder(keys * 40);
+        yaml.append("generated:\n");
+        for (int group = 0; group < keys / 10; group++) {
+            yaml.append("  group").append(group).append(":\n")
+                    .append("    name: service-").append(group).append('\n')
+                    .append("    port: ").append(8000 + group % 1000).append('\n')
+                    .append("    enabled: ").append(group % 2 == 0).append('\n')
+                    .append("    ratio: ").append(group / 7.0).append('\n')
+                    .append("    hosts:\n");
+            for (int host = 0; host < 6; host++) {
+                yaml.append("      - host-").append(group).append('-').append(host).append(".internal\n");
+            }
+        }
+        return yaml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package org.moper.cap.boot.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlatConfigCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStaleEntriesArePruned() throws Exception {
+        FlatConfigCache cache = new FlatConfigCache(dir, 3);
+        byte[] first = yaml(0);
+        assertEquals(Map.of("app.version", 0), cache.load("application.yaml", first));
+        Path firstEntry = entries().getFirst();
+
+        for (int i = 1; i < 6; i++) {
+            cache.load("application.yaml", yaml(i));
+            // 让修改时间可区分，并在每次写入之后访问一次第一个版本
+            age(1000 - i);
+            assertEquals(Map.of("app.version", 0), cache.load("application.yaml", first));
+        }
+
+        List<Path> entries = entries();
+        assertEquals(3, entries.size());
+        // 一直被访问的第一个版本与最近写入的版本被保留
+        assertTrue(entries.contains(firstEntry));
+        assertEquals(Map.of("app.version", 5), cache.load("application.yaml", yaml(5)));
+        assertEquals(3, entries().size());
+    }
+
+    @Test
+    void testDefaultDirectoryIsAbsolute() {
+        assertTrue(FlatConfigCache.defaultDirectory().isAbsolute());
+    }
+
+    private List<Path> entries() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".flat")).sorted().toList();
+        }
+    }
+
+    /**
+     * 把所有缓存文件的修改时间提前，之后被访问或写入的文件总是更新
+     */
+    private void age(long seconds) throws Exception {
+        for (Path entry : entries()) {
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now().minusSeconds(seconds)));
+        }
+    }
+
+    private static byte[] yaml(int version) {
+        return ("app:\n  version: " + version + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -57,6 +57,11 @@ public class DefaultTypeResolver implements TypeResolver {
             return (T) value;
         }
 
+        // 值本身已是目标类型（如目标为 Object、Number 或接口），直接返回
+        if (!targetType.isPrimitive() && targetType.isInstance(value)) {
+            return (T) value;
+        }
+
         Class<?> sourceType = value.getClass();
 
         // 策略1：精确匹配 (sourceType -> targetType)
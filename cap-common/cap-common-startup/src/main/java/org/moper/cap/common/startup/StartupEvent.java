@@ -0,0 +1,36 @@
+package org.moper.cap.common.startup;
+
+import java.util.Map;
+
+/**
+ * 启动时间线中一个已结束的步骤
+ *
+ * @param id             步骤编号，从 1 开始按开始顺序递增
+ * @param parentId       同一线程上外层步骤的编号，没有外层步骤时为 0
+ * @param category       步骤类别，如 {@code bootstrap-runner}、{@code bean}
+ * @param name           步骤名称
+ * @param threadId       执行线程的编号
+ * @param threadName     执行线程的名称
+ * @param startNanos     相对时间线开始时刻的开始时间（纳秒）
+ * @param durationNanos  持续时间（纳秒），包含子步骤
+ * @param allocatedBytes 执行线程在步骤期间分配的堆内存（字节），包含子步骤；JVM 不支持时为 -1
+ * @param tags           附加标签
+ */
+public record StartupEvent(long id,
+                           long parentId,
+                           String category,
+                           String name,
+                           long threadId,
+                           String threadName,
+                           long startNanos,
+                           long durationNanos,
+                           long allocatedBytes,
+                           Map<String, String> tags) {
+
+    /**
+     * 结束时间（纳秒），相对时间线开始时刻
+     */
+    public long endNanos() {
+        return startNanos + durationNanos;
+    }
+}
@@ -0,0 +1,51 @@
+package org.moper.cap.common.startup;
+
+/**
+ * 启动时间线中的一个步骤。
+ *
+ * <p>步骤由 {@link StartupTimeline#step(String, String)} 开始，在 {@link #end()} 或 {@link #close()} 时结束，
+ * 推荐使用 try-with-resources：
+ * <pre>
+ * try (StartupStep step = StartupTimeline.step("bootstrap-runner", name)) {
+ *     runner.initialize(context);
+ * }
+ * </pre>
+ *
+ * <p>同一线程上嵌套开始的步骤自动成为外层步骤的子步骤。
+ * 未启用时返回的是不做任何记录的空步骤，所有方法均为空操作。
+ */
+public interface StartupStep extends AutoCloseable {
+
+    /**
+     * 不做任何记录的空步骤
+     */
+    StartupStep NOOP = new StartupStep() {
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    /**
+     * 为步骤附加一个标签，导出时随步骤一起输出
+     *
+     * @param key   标签名
+     * @param value 标签值
+     * @return 当前步骤
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * 结束步骤；重复调用时只有第一次生效
+     */
+    void end();
+
+    @Override
+    default void close() {
+        end();
+    }
+}
@@ -0,0 +1,370 @@
+package org.moper.cap.common.startup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 启动时间线：记录启动过程中各步骤的纳秒级耗时与内存分配。
+ *
+ * <p>全局同一时刻最多只有一个处于记录状态的时间线，由 {@link #start()} 开始、{@link #stop()} 结束。
+ * 框架各处通过静态方法 {@link #step(String, String)} 记录步骤；没有处于记录状态的时间线时，
+ * 该方法只读取一次 volatile 字段并返回 {@link StartupStep#NOOP}，几乎没有开销。
+ *
+ * <p>步骤按线程维护嵌套关系：同一线程上在某个步骤结束前开始的步骤成为它的子步骤，
+ * 例如创建 Bean 时递归创建的依赖 Bean。不同线程上的步骤互不嵌套。
+ *
+ * <p>记录结果可以导出为：
+ * <ul>
+ *   <li>{@link #writeJson(Writer)}：包含全部字段的 JSON 时间线</li>
+ *   <li>{@link #writeChromeTrace(Writer)}：Chrome Trace Event 格式，可在 {@code chrome://tracing} 或 Perfetto 中查看</li>
+ *   <li>{@link #summarize(int)}：按类别汇总并列出自身耗时最长的步骤的文本摘要</li>
+ * </ul>
+ */
+public final class StartupTimeline {
+
+    private static volatile StartupTimeline active;
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Queue<StartupEvent> events = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<Deque<RecordingStep>> openSteps = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private volatile long stopNanos = -1;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * 开始一个新的时间线并使其处于记录状态；之前处于记录状态的时间线随之停止记录
+     *
+     * @return 新的时间线
+     */
+    public static StartupTimeline start() {
+        StartupTimeline timeline = new StartupTimeline();
+        StartupTimeline previous = active;
+        active = timeline;
+        if (previous != null) {
+            previous.stopNanos = System.nanoTime();
+        }
+        return timeline;
+    }
+
+    /**
+     * 获取处于记录状态的时间线
+     *
+     * @return 时间线；未启用时返回 null
+     */
+    public static StartupTimeline current() {
+        return active;
+    }
+
+    /**
+     * 是否有处于记录状态的时间线
+     */
+    public static boolean isEnabled() {
+        return active != null;
+    }
+
+    /**
+     * 在处于记录状态的时间线中开始一个步骤
+     *
+     * @param category 步骤类别
+     * @param name     步骤名称
+     * @return 步骤；未启用时返回 {@link StartupStep#NOOP}
+     */
+    public static StartupStep step(String category, String name) {
+        StartupTimeline timeline = active;
+        return timeline == null ? StartupStep.NOOP : timeline.begin(category, name);
+    }
+
+    /**
+     * 停止记录；之后开始的步骤不再记录，已开始的步骤结束时仍会记录
+     *
+     * @return 当前时间线
+     */
+    public StartupTimeline stop() {
+        if (active == this) {
+            active = null;
+        }
+        if (stopNanos < 0) {
+            stopNanos = System.nanoTime();
+        }
+        return this;
+    }
+
+    /**
+     * 时间线的总时长（纳秒），未停止时为截至当前的时长
+     */
+    public long getDurationNanos() {
+        long stop = stopNanos;
+        return (stop < 0 ? System.nanoTime() : stop) - startNanos;
+    }
+
+    /**
+     * 获取已结束的步骤，按开始顺序排列
+     */
+    public List<StartupEvent> getEvents() {
+        List<StartupEvent> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparingLong(StartupEvent::id));
+        return sorted;
+    }
+
+    /**
+     * 以 JSON 时间线格式导出全部步骤
+     *
+     * @param writer 输出目标，不会被关闭
+     */
+    public void writeJson(Writer writer) {
+        StringBuilder json = new StringBuilder(256 + events.size() * 192);
+        json.append("{\"durationNanos\":").append(getDurationNanos()).append(",\"events\":[");
+        boolean first = true;
+        for (StartupEvent event : getEvents()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("\n{\"id\":").append(event.id())
+                    .append(",\"parentId\":").append(event.parentId());
+            appendString(json.append(",\"category\":"), event.category());
+            appendString(json.append(",\"name\":"), event.name());
+            json.append(",\"threadId\":").append(event.threadId());
+            appendString(json.append(",\"threadName\":"), event.threadName());
+            json.append(",\"startNanos\":").append(event.startNanos())
+                    .append(",\"durationNanos\":").append(event.durationNanos())
+                    .append(",\"allocatedBytes\":").append(event.allocatedBytes());
+            appendTags(json.append(",\"tags\":"), event.tags());
+            json.append('}');
+        }
+        json.append("\n]}\n");
+        write(writer, json);
+    }
+
+    /**
+     * 以 Chrome Trace Event 格式导出全部步骤（完整事件 {@code "ph":"X"}，时间单位为微秒）
+     *
+     * @param writer 输出目标，不会被关闭
+     */
+    public void writeChromeTrace(Writer writer) {
+        StringBuilder json = new StringBuilder(256 + events.size() * 192);
+        json.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        Map<Long, String> threads = new LinkedHashMap<>();
+        boolean first = true;
+        for (StartupEvent event : getEvents()) {
+            threads.putIfAbsent(event.threadId(), event.threadName());
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("\n{\"ph\":\"X\",\"pid\":1,\"tid\":").append(event.threadId());
+            appendString(json.append(",\"cat\":"), event.category());
+            appendString(json.append(",\"name\":"), event.name());
+            json.append(",\"ts\":").append(micros(event.startNanos()))
+                    .append(",\"dur\":").append(micros(event.durationNanos()))
+                    .append(",\"args\":");
+            Map<String, String> args = new LinkedHashMap<>(event.tags());
+            if (event.allocatedBytes() >= 0) {
+                args.put("allocatedBytes", Long.toString(event.allocatedBytes()));
+            }
+            appendTags(json, args);
+            json.append('}');
+        }
+        for (Map.Entry<Long, String> thread : threads.entrySet()) {
+            json.append(",\n{\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getKey())
+                    .append(",\"name\":\"thread_name\",\"args\":{\"name\":");
+            appendString(json, thread.getValue());
+            json.append("}}");
+        }
+        json.append("\n]}\n");
+        write(writer, json);
+    }
+
+    /**
+     * 生成文本摘要：各类别的步骤数与自身耗时合计，以及自身耗时最长的若干步骤。
+     *
+     * <p>自身耗时为步骤耗时减去同一线程上直接子步骤的耗时，嵌套的步骤不会被重复计算。
+     *
+     * @param limit 列出的最慢步骤数量
+     * @return 多行文本摘要
+     */
+    public String summarize(int limit) {
+        List<StartupEvent> sorted = getEvents();
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupEvent event : sorted) {
+            if (event.parentId() != 0) {
+                childNanos.merge(event.parentId(), event.durationNanos(), Long::sum);
+            }
+        }
+        Map<String, long[]> categories = new TreeMap<>();
+        for (StartupEvent event : sorted) {
+            long[] totals = categories.computeIfAbsent(event.category(), k -> new long[2]);
+            totals[0]++;
+            totals[1] += selfNanos(event, childNanos);
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Startup timeline: %s total, %d steps recorded%n",
+                millis(getDurationNanos()), sorted.size()));
+        for (Map.Entry<String, long[]> category : categories.entrySet()) {
+            summary.append(String.format("  %-20s %6d steps %12s self%n",
+                    category.getKey(), category.getValue()[0], millis(category.getValue()[1])));
+        }
+        summary.append(String.format("Slowest steps by self time:%n"));
+        sorted.stream()
+                .sorted(Comparator.comparingLong((StartupEvent e) -> selfNanos(e, childNanos)).reversed())
+                .limit(limit)
+                .forEach(event -> summary.append(String.format("  %12s self %12s total %10s  %s %s%n",
+                        millis(selfNanos(event, childNanos)), millis(event.durationNanos()),
+                        bytes(event.allocatedBytes()), event.category(), event.name())));
+        return summary.toString();
+    }
+
+    private StartupStep begin(String category, String name) {
+        RecordingStep step = new RecordingStep(sequence.incrementAndGet(), category, name);
+        Deque<RecordingStep> stack = openSteps.get();
+        RecordingStep parent = stack.peekLast();
+        step.parentId = parent == null ? 0 : parent.id;
+        stack.addLast(step);
+        return step;
+    }
+
+    private static long selfNanos(StartupEvent event, Map<Long, Long> childNanos) {
+        return Math.max(0, event.durationNanos() - childNanos.getOrDefault(event.id(), 0L));
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION_BEAN == null ? -1 : ALLOCATION_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError | RuntimeException ignored) {
+            // 非 HotSpot 兼容的 JVM 不提供线程级内存分配统计
+        }
+        return null;
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000.0);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%,.1f ms", nanos / 1_000_000.0);
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes < 0) return "n/a";
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%,.1f KB", bytes / 1024.0);
+        return String.format(Locale.ROOT, "%,.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static void appendTags(StringBuilder json, Map<String, String> tags) {
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendString(json, tag.getKey());
+            json.append(':');
+            appendString(json, tag.getValue());
+        }
+        json.append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private static void write(Writer writer, CharSequence content) {
+        try {
+            writer.append(content);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export startup timeline", e);
+        }
+    }
+
+    /**
+     * 处于记录中的步骤
+     */
+    private final class RecordingStep implements StartupStep {
+
+        private final long id;
+        private final String category;
+        private final String name;
+        private final Thread thread = Thread.currentThread();
+        private final long begin = System.nanoTime();
+        private final long allocatedAtBegin = allocatedBytes();
+        private long parentId;
+        private Map<String, String> tags = Map.of();
+        private boolean ended;
+
+        private RecordingStep(long id, String category, String name) {
+            this.id = id;
+            this.category = category;
+            this.name = name;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            if (tags.isEmpty()) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            long duration = System.nanoTime() - begin;
+            long allocated = allocatedAtBegin < 0 || Thread.currentThread() != thread
+                    ? -1 : allocatedBytes() - allocatedAtBegin;
+            if (Thread.currentThread() == thread) {
+                openSteps.get().removeLastOccurrence(this);
+            }
+            events.add(new StartupEvent(id, parentId, category, name, thread.threadId(), thread.getName(),
+                    begin - startNanos, duration, allocated, tags));
+        }
+    }
+}
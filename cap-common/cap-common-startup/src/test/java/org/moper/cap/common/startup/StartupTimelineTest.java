@@ -0,0 +1,100 @@
+package org.moper.cap.common.startup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTimelineTest {
+
+    @AfterEach
+    void tearDown() {
+        StartupTimeline timeline = StartupTimeline.current();
+        if (timeline != null) {
+            timeline.stop();
+        }
+    }
+
+    @Test
+    void stepIsNoopWhenNotStarted() {
+        assertFalse(StartupTimeline.isEnabled());
+        assertSame(StartupStep.NOOP, StartupTimeline.step("bean", "a"));
+    }
+
+    @Test
+    void nestedStepsOnSameThreadRecordParent() {
+        StartupTimeline timeline = StartupTimeline.start();
+        try (StartupStep outer = StartupTimeline.step("bootstrap-runner", "outer")) {
+            outer.tag("class", "Outer");
+            try (StartupStep ignored = StartupTimeline.step("bean", "inner")) {
+                // 空步骤
+            }
+        }
+        timeline.stop();
+        assertSame(StartupStep.NOOP, StartupTimeline.step("bean", "late"));
+
+        List<StartupEvent> events = timeline.getEvents();
+        assertEquals(2, events.size());
+        StartupEvent outer = events.get(0);
+        StartupEvent inner = events.get(1);
+        assertEquals("outer", outer.name());
+        assertEquals(0, outer.parentId());
+        assertEquals("Outer", outer.tags().get("class"));
+        assertEquals(outer.id(), inner.parentId());
+        assertTrue(inner.startNanos() >= outer.startNanos());
+        assertTrue(inner.endNanos() <= outer.endNanos());
+    }
+
+    @Test
+    void stepsOnOtherThreadsAreRoots() throws Exception {
+        StartupTimeline timeline = StartupTimeline.start();
+        try (StartupStep ignored = StartupTimeline.step("bootstrap-runner", "main")) {
+            Thread worker = new Thread(() -> StartupTimeline.step("bean", "worker").end());
+            worker.start();
+            worker.join();
+        }
+        timeline.stop();
+
+        StartupEvent worker = timeline.getEvents().stream()
+                .filter(event -> event.name().equals("worker"))
+                .findFirst().orElseThrow();
+        assertEquals(0, worker.parentId());
+    }
+
+    @Test
+    void endIsIdempotent() {
+        StartupTimeline timeline = StartupTimeline.start();
+        StartupStep step = StartupTimeline.step("bean", "a");
+        step.end();
+        step.end();
+        timeline.stop();
+        assertEquals(1, timeline.getEvents().size());
+    }
+
+    @Test
+    void exportsJsonChromeTraceAndSummary() {
+        StartupTimeline timeline = StartupTimeline.start();
+        try (StartupStep step = StartupTimeline.step("bean", "quote\"name")) {
+            step.tag("type", "a\\b");
+        }
+        timeline.stop();
+
+        StringWriter json = new StringWriter();
+        timeline.writeJson(json);
+        assertTrue(json.toString().startsWith("{\"durationNanos\":"));
+        assertTrue(json.toString().contains("\"quote\\\"name\""));
+        assertTrue(json.toString().contains("\"a\\\\b\""));
+
+        StringWriter trace = new StringWriter();
+        timeline.writeChromeTrace(trace);
+        assertTrue(trace.toString().contains("\"ph\":\"X\""));
+        assertTrue(trace.toString().contains("\"ph\":\"M\""));
+
+        String summary = timeline.summarize(5);
+        assertTrue(summary.contains("1 steps recorded"));
+        assertTrue(summary.contains("bean"));
+    }
+}
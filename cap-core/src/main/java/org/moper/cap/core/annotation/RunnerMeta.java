@@ -7,7 +7,13 @@ import java.lang.annotation.*;
 /**
  * Runner元信息注解 </br>
  *
- * 用于标注Runner类的元信息，框架会根据RunnerMeta注解中的type和order属性来决定Runner的执行顺序
+ * 用于标注Runner类的元信息，框架会根据RunnerMeta注解中的order、after、before属性来决定Runner的执行顺序 </br>
+ *
+ * <ul>
+ *   <li>未声明after与before的Runner是顺序屏障：它在所有order更小的Runner之后执行，所有order更大的Runner都在它之后执行</li>
+ *   <li>声明了after或before的Runner只受声明的依赖与顺序屏障约束，彼此之间可以并行执行（并行启动模式下）</li>
+ *   <li>顺序启动模式下，Runner按满足上述约束的拓扑顺序逐个执行，约束之外按order排序</li>
+ * </ul>
  */
 @Documented
 @Target(ElementType.TYPE)
@@ -42,4 +48,20 @@ public @interface RunnerMeta {
      * @return Runner相关描述，默认为空字符串
      */
     String description() default "";
+
+    /**
+     * 必须在当前Runner之前执行完毕的Runner名字 </br>
+     *
+     * 名字对应{@link #name()}（未指定时为Runner类的简单类名）；不存在的名字会被忽略，便于声明对可选模块的依赖
+     * @return Runner名字，默认为空数组
+     */
+    String[] after() default {};
+
+    /**
+     * 必须在当前Runner执行完毕之后才能执行的Runner名字 </br>
+     *
+     * 名字对应{@link #name()}（未指定时为Runner类的简单类名）；不存在的名字会被忽略，便于声明对可选模块的依赖
+     * @return Runner名字，默认为空数组
+     */
+    String[] before() default {};
 }
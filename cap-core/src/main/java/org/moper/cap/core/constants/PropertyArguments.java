@@ -6,4 +6,155 @@ public final class PropertyArguments {
      * 框架内部支持的活动环境属性键
      */
     public static final String SUPPORTED_ACTIVE_PROFILE_PROPERTY_KEY = "application.profiles.active";
+
+    /**
+     * 是否按依赖图并行预实例化单例 Bean 的属性键，默认为 false
+     */
+    public static final String PARALLEL_PRE_INSTANTIATION_PROPERTY_KEY = "application.beans.parallel-pre-instantiation";
+
+    /**
+     * 并行预实例化单例 Bean 时的并行度属性键，默认为可用处理器数量
+     */
+    public static final String PRE_INSTANTIATION_PARALLELISM_PROPERTY_KEY = "application.beans.pre-instantiation-parallelism";
+
+    /**
+     * 关闭时是否按依赖图并行销毁单例 Bean 的属性键，默认为 false
+     */
+    public static final String PARALLEL_DESTRUCTION_PROPERTY_KEY = "application.beans.parallel-destruction";
+
+    /**
+     * 并行销毁单例 Bean 时的并行度属性键，默认为可用处理器数量
+     */
+    public static final String DESTRUCTION_PARALLELISM_PROPERTY_KEY = "application.beans.destruction-parallelism";
+
+    /**
+     * 单个 Bean 销毁超时时间（毫秒）的属性键，默认为 0，即不限制
+     */
+    public static final String DESTROY_TIMEOUT_PROPERTY_KEY = "application.beans.destroy-timeout";
+
+    /**
+     * 记录慢销毁日志的耗时阈值（毫秒）的属性键，默认为 1000
+     */
+    public static final String SLOW_DESTROY_THRESHOLD_PROPERTY_KEY = "application.beans.slow-destroy-threshold";
+
+    /**
+     * 是否忽略编译期组件索引（META-INF/cap/components.idx）并回退到类路径扫描的属性键，默认为 false。
+     * 类路径扫描视图在配置文件加载之前就要确定，因此只能通过命令行参数或系统属性指定
+     */
+    public static final String COMPONENT_INDEX_IGNORE_PROPERTY_KEY = "application.component-index.ignore";
+
+    /**
+     * Bootstrap 阶段类路径扫描的工作线程数属性键，默认为可用处理器数量；只能通过命令行参数或系统属性指定
+     */
+    public static final String CLASSPATH_SCAN_PARALLELISM_PROPERTY_KEY = "application.scan.parallelism";
+
+    /**
+     * 是否记录启动时间线的属性键，默认为 false。
+     * 记录从应用构造开始，因此只能通过命令行参数或系统属性指定，配置文件中的值不生效
+     */
+    public static final String STARTUP_TIMELINE_ENABLED_PROPERTY_KEY = "application.startup.timeline.enabled";
+
+    /**
+     * 启动时间线导出文件路径的属性键，未指定时只输出摘要日志
+     */
+    public static final String STARTUP_TIMELINE_OUTPUT_PROPERTY_KEY = "application.startup.timeline.output";
+
+    /**
+     * 启动时间线导出格式的属性键：{@code chrome}（Chrome Trace Event，默认）或 {@code json}
+     */
+    public static final String STARTUP_TIMELINE_FORMAT_PROPERTY_KEY = "application.startup.timeline.format";
+
+    /**
+     * 启动时间线摘要中列出的最慢步骤数量的属性键，默认为 10
+     */
+    public static final String STARTUP_TIMELINE_SUMMARY_SIZE_PROPERTY_KEY = "application.startup.timeline.summary-size";
+
+    /**
+     * 是否并行执行 BootstrapRunner 的属性键，默认为 false。
+     * 开启后按 @RunnerMeta 的 order、after、before 构建依赖图，在有界线程池上并行调度；
+     * 需要在执行 Runner 之前确定，因此只能通过命令行参数或系统属性指定
+     */
+    public static final String PARALLEL_BOOTSTRAP_PROPERTY_KEY = "application.bootstrap.parallel";
+
+    /**
+     * 并行执行 BootstrapRunner 的最大线程数的属性键，默认为可用处理器数量；只能通过命令行参数或系统属性指定
+     */
+    public static final String BOOTSTRAP_PARALLELISM_PROPERTY_KEY = "application.bootstrap.parallelism";
+
+    /**
+     * 是否以启动训练模式运行的属性键，默认为 false。
+     * 训练模式下应用完整启动（包括 RuntimeRunner），由各 RuntimeRunner 执行预热请求，随后关闭应用并写出 AppCDS 归档；
+     * 是否退出 JVM 由主类根据 DefaultCapApplication#getTrainingResult() 决定
+     */
+    public static final String STARTUP_TRAIN_PROPERTY_KEY = "application.startup.train";
+
+    /**
+     * 启动训练模式下每个路由的预热请求次数的属性键，默认为 3
+     */
+    public static final String STARTUP_TRAIN_ITERATIONS_PROPERTY_KEY = "application.startup.train-iterations";
+
+    /**
+     * AppCDS 动态归档文件路径的属性键，默认为工作目录下的 cap-app.jsa。
+     * 训练进程未以 -XX:ArchiveClassesAtExit 启动、但开启了 -XX:+RecordDynamicDumpInfo 时写出到该路径；
+     * 同时也是 CdsLauncher 读写归档的位置
+     */
+    public static final String STARTUP_CDS_ARCHIVE_PROPERTY_KEY = "application.startup.cds.archive";
+
+    /**
+     * CdsLauncher 启动应用进程时附加的 JVM 参数（以空白分隔）的属性键
+     */
+    public static final String STARTUP_CDS_JVM_OPTIONS_PROPERTY_KEY = "application.startup.cds.jvm-options";
+
+    /**
+     * 布线快照文件路径的属性键，未指定时不使用快照。
+     * 快照记录完整解析后的 BeanDefinition 与别名，类路径指纹不变时下次启动直接恢复并跳过注册类执行器；
+     * 需要在执行 Runner 之前确定，因此只能通过命令行参数或系统属性指定
+     */
+    public static final String WIRING_SNAPSHOT_PROPERTY_KEY = "application.startup.wiring-snapshot";
+
+    /**
+     * 外部配置文件路径（以逗号分隔，支持 .yaml、.yml、.properties）的属性键，未指定时不加载外部配置文件。
+     * 外部配置文件中的属性键不能与其他来源的属性键重复
+     */
+    public static final String CONFIG_LOCATION_PROPERTY_KEY = "application.config.location";
+
+    /**
+     * 是否监听外部配置文件变更并只发布变化的属性的属性键，默认为 false
+     */
+    public static final String CONFIG_WATCH_PROPERTY_KEY = "application.config.watch";
+
+    /**
+     * 外部配置文件变更的防抖间隔（毫秒）的属性键，默认为 200
+     */
+    public static final String CONFIG_WATCH_DEBOUNCE_PROPERTY_KEY = "application.config.watch-debounce";
+
+    /**
+     * 是否缓存扁平化后的配置文件的属性键，默认为 false。
+     * 开启后配置文件第一次加载时把扁平化后的键值表写入缓存目录，内容不变时之后的启动直接映射缓存文件，跳过解析
+     */
+    public static final String CONFIG_CACHE_PROPERTY_KEY = "application.config.cache";
+
+    /**
+     * 扁平化配置缓存目录的属性键，默认为用户主目录下的 .cap/config-cache；
+     * 缓存以配置内容命名，多个应用可以共享同一个目录，目录中只保留最近使用的 64 个缓存文件
+     */
+    public static final String CONFIG_CACHE_DIR_PROPERTY_KEY = "application.config.cache-dir";
+
+    /**
+     * 属性变更审计日志保留的变更记录数量的属性键，默认为 1024，为 0 时不记录。
+     * 需要在第一个属性清单之前确定，因此只能通过命令行参数或系统属性指定
+     */
+    public static final String PROPERTY_CHANGE_LOG_CAPACITY_PROPERTY_KEY = "application.property.change-log.capacity";
+
+    /**
+     * 属性变更审计日志溢写文件路径的属性键，未指定时只保留在内存中。
+     * 变更记录被异步追加到该文件中；只能通过命令行参数或系统属性指定
+     */
+    public static final String PROPERTY_CHANGE_LOG_FILE_PROPERTY_KEY = "application.property.change-log.file";
+
+    /**
+     * 同步发布的属性清单等待订阅者交付完成的最长时间（毫秒）的属性键，默认为 0，即清单提交后立即返回、不等待交付。
+     * 大于 0 时发布方最多等待该时间，超时后记录警告并返回，变更仍在交付线程上继续交付；只能通过命令行参数或系统属性指定
+     */
+    public static final String PROPERTY_DELIVERY_TIMEOUT_PROPERTY_KEY = "application.property.delivery-timeout";
 }
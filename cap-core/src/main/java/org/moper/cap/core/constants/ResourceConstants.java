@@ -20,6 +20,20 @@ public final class ResourceConstants {
      */
     public static final String COMMAND_PUBLISHER = "commandline-property-publisher";
 
+    /**
+     * 框架内置属性发布者的优先级：不同来源写入了规范形式相同的属性键（如 {@code SERVER_PORT} 与 {@code server.port}）时，
+     * 按宽松规则查找使用优先级高者，依次为命令行参数、系统属性与环境变量、外部配置文件、活动环境资源文件、基础资源文件
+     */
+    public static final int COMMAND_PUBLISHER_PRECEDENCE = 500;
+
+    public static final int SYSTEM_PROPERTY_PUBLISHER_PRECEDENCE = 400;
+
+    public static final int CONFIG_FILE_PUBLISHER_PRECEDENCE = 300;
+
+    public static final int ACTIVE_PROFILE_RESOURCE_PUBLISHER_PRECEDENCE = 200;
+
+    public static final int RESOURCE_PUBLISHER_PRECEDENCE = 100;
+
     /**
      * 系统内部资源文件属性发布者名称
      */
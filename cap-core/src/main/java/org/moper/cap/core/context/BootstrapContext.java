@@ -3,6 +3,8 @@ package org.moper.cap.core.context;
 import org.moper.cap.bean.container.BeanContainer;
 import org.moper.cap.core.command.CommandArgumentParser;
 import org.moper.cap.core.config.ConfigurationClassParser;
+import org.moper.cap.core.scan.ClasspathScanView;
+import org.moper.cap.core.snapshot.WiringSnapshot;
 import org.moper.cap.property.officer.PropertyOfficer;
 
 import java.util.function.Function;
@@ -10,7 +12,8 @@ import java.util.function.Function;
 /**
  * 框架初始化完成后的系统上下文。
  * 所有初始化工作在 DefaultBootstrapContext 构造时完成。
- * build() 仅负责将已初始化的 BootstrapContext 转换为 ApplicationContext。
+ * build() 仅负责将已初始化的 BootstrapContext 转换为 ApplicationContext，
+ * 转换前冻结 Bean 容器（见 {@link BeanContainer#freeze()}），此后不能再注册 BeanDefinition、别名或外部单例。
  */
 public interface BootstrapContext {
 
@@ -34,5 +37,17 @@ public interface BootstrapContext {
      */
     ConfigurationClassParser getConfigurationClassParser();
 
+    /**
+     * 获取共享的类路径扫描视图（仅在 Bootstrap 阶段有效）
+     */
+    ClasspathScanView getClasspathScanView();
+
+    /**
+     * 获取布线快照（仅在 Bootstrap 阶段有效），未启用时为 {@link WiringSnapshot#DISABLED}
+     */
+    default WiringSnapshot getWiringSnapshot() {
+        return WiringSnapshot.DISABLED;
+    }
+
     <T extends RuntimeContext> T build(Function<BootstrapContext, T> factory) throws Exception;
 }
\ No newline at end of file
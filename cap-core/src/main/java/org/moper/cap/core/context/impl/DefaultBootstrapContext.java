@@ -7,6 +7,8 @@ import org.moper.cap.core.command.CommandArgumentParser;
 import org.moper.cap.core.config.ConfigurationClassParser;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.core.context.BootstrapContext;
+import org.moper.cap.core.scan.ClasspathScanView;
+import org.moper.cap.core.snapshot.WiringSnapshot;
 import org.moper.cap.property.officer.PropertyOfficer;
 
 import java.util.function.Function;
@@ -21,7 +23,15 @@ public class DefaultBootstrapContext implements BootstrapContext {
 
     private final ConfigurationClassParser configurationClassParser;
 
-    public DefaultBootstrapContext(BeanContainer beanContainer, PropertyOfficer propertyOfficer, CommandArgumentParser commandArgumentParser, ConfigurationClassParser configurationClassParser, TypeResolver typeResolver) {
+    private final ClasspathScanView classpathScanView;
+
+    private final WiringSnapshot wiringSnapshot;
+
+    public DefaultBootstrapContext(BeanContainer beanContainer, PropertyOfficer propertyOfficer, CommandArgumentParser commandArgumentParser, ConfigurationClassParser configurationClassParser, ClasspathScanView classpathScanView, TypeResolver typeResolver) {
+        this(beanContainer, propertyOfficer, commandArgumentParser, configurationClassParser, classpathScanView, typeResolver, WiringSnapshot.DISABLED);
+    }
+
+    public DefaultBootstrapContext(BeanContainer beanContainer, PropertyOfficer propertyOfficer, CommandArgumentParser commandArgumentParser, ConfigurationClassParser configurationClassParser, ClasspathScanView classpathScanView, TypeResolver typeResolver, WiringSnapshot wiringSnapshot) {
         if(beanContainer == null){
             throw new IllegalArgumentException("beanContainer cannot be null");
         }
@@ -38,14 +48,24 @@ public class DefaultBootstrapContext implements BootstrapContext {
             throw new IllegalArgumentException("configurationClassParser cannot be null");
         }
 
+        if(classpathScanView == null){
+            throw new IllegalArgumentException("classpathScanView cannot be null");
+        }
+
         if(typeResolver == null){
             throw new IllegalArgumentException("typeResolver cannot be null");
         }
 
+        if(wiringSnapshot == null){
+            throw new IllegalArgumentException("wiringSnapshot cannot be null");
+        }
+
         this.beanContainer = beanContainer;
         this.propertyOfficer = propertyOfficer;
         this.commandArgumentParser = commandArgumentParser;
         this.configurationClassParser = configurationClassParser;
+        this.classpathScanView = classpathScanView;
+        this.wiringSnapshot = wiringSnapshot;
         
         // 设置全局单例 TypeResolver
         TypeResolverFactory.setTypeResolver(typeResolver);
@@ -85,12 +105,33 @@ public class DefaultBootstrapContext implements BootstrapContext {
         return configurationClassParser;
     }
 
+    /**
+     * 获取共享的类路径扫描视图
+     */
+    @Override
+    public ClasspathScanView getClasspathScanView() {
+        return classpathScanView;
+    }
+
+    /**
+     * 获取布线快照
+     */
+    @Override
+    public WiringSnapshot getWiringSnapshot() {
+        return wiringSnapshot;
+    }
+
+    /**
+     * 冻结 Bean 容器并构建运行时上下文，此后容器结构不再变化，运行期的 Bean 查找不再加锁
+     */
     public RuntimeContext build(){
+        beanContainer.freeze();
         return new DefaultRuntimeContext(this);
     }
 
     @Override
     public <T extends RuntimeContext> T build(Function<BootstrapContext, T> factory) throws Exception {
+        beanContainer.freeze();
         return factory.apply(this);
     }
 
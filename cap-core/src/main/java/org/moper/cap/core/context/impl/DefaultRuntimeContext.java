@@ -1,8 +1,11 @@
 package org.moper.cap.core.context.impl;
 
 import org.moper.cap.bean.container.BeanContainer;
+import org.moper.cap.bean.container.BeanPoolMetrics;
+import org.moper.cap.bean.container.PooledBean;
 import org.moper.cap.bean.definition.BeanDefinition;
 import org.moper.cap.bean.exception.*;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.core.context.BootstrapContext;
 import org.moper.cap.property.officer.PropertyOfficer;
@@ -10,12 +13,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * {@link RuntimeContext} 的默认实现 </br>
- * 委托 {@link BeanContainer} 实现 BeanProvider 和 BeanInspector 的所有方法
+ * 委托 {@link BeanContainer} 实现 BeanProvider 和 BeanInspector 的所有方法 </br>
+ * 关闭时先按依赖图销毁单例 Bean（属性
+ * {@value PropertyArguments#PARALLEL_DESTRUCTION_PROPERTY_KEY} 为 true 时并行销毁），再关闭 PropertyOfficer
  */
 public class DefaultRuntimeContext implements RuntimeContext {
 
@@ -37,7 +43,7 @@ public class DefaultRuntimeContext implements RuntimeContext {
             return;
         }
         try {
-            beanContainer.destroySingletons();
+            destroySingletons();
         } catch (BeanDestructionException e) {
             log.error("Error destroying singletons during context close", e);
         }
@@ -49,6 +55,23 @@ public class DefaultRuntimeContext implements RuntimeContext {
         }
     }
 
+    /**
+     * 按属性配置的并行度、超时时间与慢销毁阈值销毁单例 Bean
+     */
+    private void destroySingletons() throws BeanDestructionException {
+        boolean parallel = propertyOfficer.getPropertyValueOrDefault(
+                PropertyArguments.PARALLEL_DESTRUCTION_PROPERTY_KEY, Boolean.class, false);
+        int parallelism = parallel
+                ? propertyOfficer.getPropertyValueOrDefault(PropertyArguments.DESTRUCTION_PARALLELISM_PROPERTY_KEY,
+                        Integer.class, Runtime.getRuntime().availableProcessors())
+                : 1;
+        int timeout = propertyOfficer.getPropertyValueOrDefault(
+                PropertyArguments.DESTROY_TIMEOUT_PROPERTY_KEY, Integer.class, 0);
+        int slowThreshold = propertyOfficer.getPropertyValueOrDefault(
+                PropertyArguments.SLOW_DESTROY_THRESHOLD_PROPERTY_KEY, Integer.class, 1000);
+        beanContainer.destroySingletons(parallelism, Duration.ofMillis(timeout), Duration.ofMillis(slowThreshold));
+    }
+
     /**
      * 获取属性管理平台
      */
@@ -77,6 +100,12 @@ public class DefaultRuntimeContext implements RuntimeContext {
         return beanContainer.getBean(requiredType);
     }
 
+    @Override
+    public <T> PooledBean<T> borrowBean(String beanName, Class<T> requiredType)
+            throws NoSuchBeanDefinitionException, BeanCreationException, BeanNotOfRequiredTypeException {
+        return beanContainer.borrowBean(beanName, requiredType);
+    }
+
     // ===== BeanInspector delegation =====
 
     @Override
@@ -158,4 +187,9 @@ public class DefaultRuntimeContext implements RuntimeContext {
             throws NoSuchBeanDefinitionException {
         return beanContainer.findAnnotationOnBean(beanName, annotationType);
     }
+
+    @Override
+    public BeanPoolMetrics getBeanPoolMetrics(String beanName) throws NoSuchBeanDefinitionException {
+        return beanContainer.getBeanPoolMetrics(beanName);
+    }
 }
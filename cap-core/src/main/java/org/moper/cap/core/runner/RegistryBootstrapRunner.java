@@ -0,0 +1,14 @@
+package org.moper.cap.core.runner;
+
+import org.moper.cap.core.snapshot.WiringSnapshot;
+
+/**
+ * 注册类执行器 </br>
+ *
+ * 只向 Bean 容器注册 BeanDefinition 与别名、且结果只取决于类路径内容的执行器。
+ * 约定只有注册类执行器注册 BeanDefinition 与别名，其余执行器至多注册外部单例与拦截器，
+ * 因此 Bootstrap 阶段结束时容器中的 BeanDefinition 与别名可以由 {@link WiringSnapshot} 完整记录；
+ * 快照恢复成功时注册类执行器被跳过
+ */
+public interface RegistryBootstrapRunner extends BootstrapRunner {
+}
@@ -3,6 +3,9 @@ package org.moper.cap.core.runner;
 
 import org.moper.cap.core.annotation.RunnerMeta;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * 框架执行器定义字段 </br>
  *
@@ -12,6 +15,8 @@ import org.moper.cap.core.annotation.RunnerMeta;
  * @param type 执行器类型，不能为null
  * @param name 执行器名称，默认为执行器类名
  * @param description 执行器描述
+ * @param after 必须在该执行器之前执行完毕的执行器名称，不能为null
+ * @param before 必须在该执行器执行完毕之后才能执行的执行器名称，不能为null
  */
 public record RunnerDefinition<T extends Runner>(
         int priority,
@@ -19,7 +24,9 @@ public record RunnerDefinition<T extends Runner>(
         T runner,
         RunnerType type,
         String name,
-        String description
+        String description,
+        Set<String> after,
+        Set<String> before
 ) implements Comparable<RunnerDefinition<T>> {
 
     public RunnerDefinition{
@@ -40,6 +47,40 @@ public record RunnerDefinition<T extends Runner>(
         if(name == null || name.isBlank()) {
             name = clazz.getSimpleName();
         }
+
+        after = after == null ? Set.of() : Set.copyOf(after);
+        before = before == null ? Set.of() : Set.copyOf(before);
+    }
+
+    public RunnerDefinition(int priority, Class<? extends T> clazz, T runner, RunnerType type, String name, String description) {
+        this(priority, clazz, runner, type, name, description, Set.of(), Set.of());
+    }
+
+    /**
+     * 根据执行器实例上的@RunnerMeta注解创建执行器定义
+     *
+     * @param runner 执行器实例，其类必须被@RunnerMeta注解标注
+     * @return 执行器定义
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Runner> RunnerDefinition<T> of(T runner) {
+        if(runner == null) {
+            throw new IllegalArgumentException("BootstrapRunner must not be null");
+        }
+        Class<? extends T> clazz = (Class<? extends T>) runner.getClass();
+        RunnerMeta meta = clazz.getAnnotation(RunnerMeta.class);
+        if(meta == null) {
+            throw new IllegalArgumentException("BootstrapRunner class must be annotated with @RunnerMeta");
+        }
+        return new RunnerDefinition<>(meta.order(), clazz, runner, meta.type(), meta.name(), meta.description(),
+                Set.copyOf(List.of(meta.after())), Set.copyOf(List.of(meta.before())));
+    }
+
+    /**
+     * 是否通过@RunnerMeta的after或before声明了依赖；未声明依赖的执行器在并行启动时作为顺序屏障
+     */
+    public boolean declaresDependencies() {
+        return !after.isEmpty() || !before.isEmpty();
     }
 
 
@@ -56,6 +97,8 @@ public record RunnerDefinition<T extends Runner>(
                 ", type=" + type +
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
+                (after.isEmpty() ? "" : ", after=" + after) +
+                (before.isEmpty() ? "" : ", before=" + before) +
                 '}';
     }
 }
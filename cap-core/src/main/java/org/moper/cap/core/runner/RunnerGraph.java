@@ -0,0 +1,226 @@
+package org.moper.cap.core.runner;
+
+import org.moper.cap.core.annotation.RunnerMeta;
+import org.moper.cap.core.exception.RunnerException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 执行器依赖图 </br>
+ *
+ * 由{@link RunnerMeta#order()}、{@link RunnerMeta#after()}、{@link RunnerMeta#before()}共同确定执行器之间的先后约束：
+ * <ul>
+ *   <li>after / before 声明的名字对应的执行器存在时，产生一条依赖边；不存在的名字被忽略</li>
+ *   <li>未声明after与before的执行器是顺序屏障：依赖所有排在它之前的执行器，并被所有排在它之后的执行器依赖</li>
+ * </ul>
+ * 执行器先按order、再按类名排序，作为顺序屏障与拓扑排序的基准顺序。
+ *
+ * @param <T> 执行器类型
+ */
+public final class RunnerGraph<T extends Runner> {
+
+    /**
+     * 对单个执行器的执行动作
+     */
+    @FunctionalInterface
+    public interface RunnerAction<T extends Runner> {
+        void execute(RunnerDefinition<T> definition) throws Exception;
+    }
+
+    /**
+     * 按基准顺序排列的执行器
+     */
+    private final List<RunnerDefinition<T>> runners;
+
+    /**
+     * dependents[i]：依赖第 i 个执行器的执行器下标
+     */
+    private final List<Set<Integer>> dependents;
+
+    /**
+     * indegrees[i]：第 i 个执行器依赖的执行器数量
+     */
+    private final int[] indegrees;
+
+    private RunnerGraph(List<RunnerDefinition<T>> runners) {
+        this.runners = runners;
+        this.dependents = new ArrayList<>(runners.size());
+        this.indegrees = new int[runners.size()];
+        for (int i = 0; i < runners.size(); i++) {
+            dependents.add(new LinkedHashSet<>());
+        }
+
+        // 名字不强制唯一，同名的执行器都会被依赖
+        Map<String, List<Integer>> byName = new HashMap<>();
+        for (int i = 0; i < runners.size(); i++) {
+            byName.computeIfAbsent(runners.get(i).name(), k -> new ArrayList<>()).add(i);
+        }
+
+        for (int i = 0; i < runners.size(); i++) {
+            RunnerDefinition<T> runner = runners.get(i);
+            if (!runner.declaresDependencies()) {
+                for (int j = 0; j < runners.size(); j++) {
+                    if (j < i) addEdge(j, i);
+                    else if (j > i) addEdge(i, j);
+                }
+                continue;
+            }
+            for (String name : runner.after()) {
+                for (int dependency : byName.getOrDefault(name, List.of())) {
+                    if (dependency != i) addEdge(dependency, i);
+                }
+            }
+            for (String name : runner.before()) {
+                for (int dependent : byName.getOrDefault(name, List.of())) {
+                    if (dependent != i) addEdge(i, dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * 根据执行器定义构建依赖图
+     *
+     * @param definitions 执行器定义
+     * @return 依赖图
+     */
+    public static <T extends Runner> RunnerGraph<T> of(Collection<RunnerDefinition<T>> definitions) {
+        List<RunnerDefinition<T>> sorted = new ArrayList<>(definitions);
+        sorted.sort(Comparator.<RunnerDefinition<T>>comparingInt(RunnerDefinition::priority)
+                .thenComparing(definition -> definition.clazz().getName()));
+        return new RunnerGraph<>(sorted);
+    }
+
+    /**
+     * 执行器数量
+     */
+    public int size() {
+        return runners.size();
+    }
+
+    /**
+     * 获取满足全部约束的执行顺序，约束之外按基准顺序排列
+     *
+     * @return 执行器定义列表
+     * @throws RunnerException 约束之间存在循环
+     */
+    public List<RunnerDefinition<T>> sequentialOrder() {
+        int[] remaining = indegrees.clone();
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < remaining.length; i++) {
+            if (remaining[i] == 0) ready.add(i);
+        }
+        List<RunnerDefinition<T>> order = new ArrayList<>(runners.size());
+        while (!ready.isEmpty()) {
+            int current = ready.poll();
+            order.add(runners.get(current));
+            for (int dependent : dependents.get(current)) {
+                if (--remaining[dependent] == 0) ready.add(dependent);
+            }
+        }
+        if (order.size() != runners.size()) {
+            throw cycleException(remaining);
+        }
+        return order;
+    }
+
+    /**
+     * 在有界线程池上按依赖关系并行执行全部执行器 </br>
+     *
+     * 执行器在其全部依赖执行完毕后提交。
+     * 某个执行器失败后不再提交新的执行器，等待已提交的执行器结束后抛出第一个失败，其余失败作为suppressed附加。
+     *
+     * @param action      执行动作
+     * @param parallelism 最大并行数，小于等于1时退化为{@link #sequentialOrder()}顺序执行
+     * @throws Exception 执行器抛出的第一个异常
+     * @throws RunnerException 约束之间存在循环
+     */
+    public void execute(RunnerAction<T> action, int parallelism) throws Exception {
+        if (parallelism <= 1 || runners.size() <= 1) {
+            for (RunnerDefinition<T> runner : sequentialOrder()) {
+                action.execute(runner);
+            }
+            return;
+        }
+        // 先做一次完整的拓扑排序，循环依赖在执行任何执行器之前报告
+        sequentialOrder();
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, runners.size()), runnable -> {
+            Thread thread = new Thread(runnable, "cap-bootstrap-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+        int[] remaining = indegrees.clone();
+        Throwable failure = null;
+        int running = 0;
+        try {
+            for (int i = 0; i < remaining.length; i++) {
+                if (remaining[i] == 0) {
+                    submit(completion, action, i);
+                    running++;
+                }
+            }
+            while (running > 0) {
+                Future<Integer> done = completion.take();
+                running--;
+                int finished;
+                try {
+                    finished = done.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) failure = e.getCause();
+                    else failure.addSuppressed(e.getCause());
+                    continue;
+                }
+                if (failure != null) {
+                    continue;
+                }
+                for (int dependent : dependents.get(finished)) {
+                    if (--remaining[dependent] == 0) {
+                        submit(completion, action, dependent);
+                        running++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RunnerException("Interrupted while running runners in parallel", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failure instanceof Exception exception) {
+            throw exception;
+        } else if (failure instanceof Error error) {
+            throw error;
+        } else if (failure != null) {
+            throw new RunnerException("Runner failed", failure);
+        }
+    }
+
+    private void submit(CompletionService<Integer> completion, RunnerAction<T> action, int index) {
+        RunnerDefinition<T> runner = runners.get(index);
+        completion.submit(() -> {
+            action.execute(runner);
+            return index;
+        });
+    }
+
+    private void addEdge(int from, int to) {
+        if (dependents.get(from).add(to)) {
+            indegrees[to]++;
+        }
+    }
+
+    private RunnerException cycleException(int[] remaining) {
+        StringJoiner names = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < remaining.length; i++) {
+            if (remaining[i] > 0) names.add(runners.get(i).name());
+        }
+        return new RunnerException("Circular runner dependencies among " + names
+                + "; check @RunnerMeta after/before declarations against runner order");
+    }
+}
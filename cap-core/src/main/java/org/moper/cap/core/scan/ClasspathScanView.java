@@ -0,0 +1,52 @@
+package org.moper.cap.core.scan;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Bootstrap 阶段共享的类路径扫描视图。
+ *
+ * <p>组件扫描路径与资源扫描路径由 {@link org.moper.cap.core.config.ConfigurationClassParser} 决定，
+ * 整个 Bootstrap 阶段只扫描一次，所有 BootstrapRunner 共享同一份结果；
+ * 最后一个 BootstrapRunner 执行完毕后视图被释放，此后不可再访问。
+ *
+ * <p>实现必须是线程安全的。
+ */
+public interface ClasspathScanView {
+
+    /**
+     * 获取组件扫描路径下直接标注了指定注解的具体类（排除接口、抽象类与注解类型）
+     *
+     * @param annotation 注解类型
+     * @return 按扫描顺序排列的类
+     */
+    List<Class<?>> getClassesWithAnnotation(Class<? extends Annotation> annotation);
+
+    /**
+     * 获取组件扫描路径下所有类中直接标注了指定注解的声明方法（含非 public 方法）
+     *
+     * @param annotation 注解类型
+     * @return 按扫描顺序排列的方法
+     */
+    List<Method> getMethodsWithAnnotation(Class<? extends Annotation> annotation);
+
+    /**
+     * 获取组件类构造函数参数对应的 Bean 名称
+     *
+     * <p>使用唯一的 @Inject 构造函数；没有 @Inject 构造函数时使用唯一的构造函数。
+     *
+     * @param componentClass 组件类
+     * @return 构造函数参数 Bean 名称
+     * @throws org.moper.cap.bean.exception.BeanDefinitionException 如果无法确定构造函数
+     */
+    String[] getConstructorParameterBeanNames(Class<?> componentClass);
+
+    /**
+     * 获取资源扫描路径下文件名为 {@code leafName} 的资源
+     *
+     * @param leafName 资源文件名称
+     * @return 按类路径顺序排列的资源
+     */
+    List<ScannedResource> getResourcesWithLeafName(String leafName);
+}
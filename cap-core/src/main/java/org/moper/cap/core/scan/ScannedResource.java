@@ -0,0 +1,36 @@
+package org.moper.cap.core.scan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * 类路径扫描得到的资源文件。
+ *
+ * <p>不同的类路径根中可能存在同一相对路径的资源，它们是不同的 ScannedResource，
+ * 通过 {@link #url()} 区分。
+ *
+ * @param path 资源在类路径根中的相对路径（如 {@code config/application.yaml}）
+ * @param url  资源的完整地址
+ */
+public record ScannedResource(String path, URL url) {
+
+    /**
+     * 获取资源文件名称（路径最后一段）
+     *
+     * @return 资源文件名称
+     */
+    public String fileName() {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * 打开资源
+     *
+     * @return 资源输入流，由调用方负责关闭
+     * @throws IOException 如果资源无法读取
+     */
+    public InputStream open() throws IOException {
+        return url.openStream();
+    }
+}
@@ -0,0 +1,58 @@
+package org.moper.cap.core.snapshot;
+
+import org.moper.cap.core.runner.RegistryBootstrapRunner;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 布线快照 </br>
+ *
+ * 记录 Bootstrap 阶段完整解析后的 BeanDefinition 与别名，并以类路径指纹为键保存；
+ * 下次启动时类路径未变化则直接恢复到容器，跳过全部 {@link RegistryBootstrapRunner}，指纹不一致时自动回退到正常注册 </br>
+ *
+ * 其他执行器可以通过附加分区保存自己的解析结果（如 AOP 的 Advisor 匹配结果）：
+ * 用 {@link #getSection(String)} 读取上次保存的内容，用 {@link #contributeSection(String, Supplier)} 登记本次要保存的内容
+ */
+public interface WiringSnapshot {
+
+    /**
+     * 未启用布线快照时使用的空实现
+     */
+    WiringSnapshot DISABLED = new WiringSnapshot() {
+        @Override
+        public boolean isRestored() {
+            return false;
+        }
+
+        @Override
+        public List<String> getSection(String name) {
+            return List.of();
+        }
+
+        @Override
+        public void contributeSection(String name, Supplier<List<String>> lines) {
+        }
+    };
+
+    /**
+     * 容器中的 BeanDefinition 与别名是否已从快照恢复
+     */
+    boolean isRestored();
+
+    /**
+     * 获取快照中的附加分区
+     *
+     * @param name 分区名
+     * @return 分区内容；快照未恢复或不包含该分区时为空列表
+     */
+    List<String> getSection(String name);
+
+    /**
+     * 登记一个附加分区，写出快照时（Bootstrap 阶段结束后）才调用 {@code lines} 获取内容
+     *
+     * @param name  分区名
+     * @param lines 分区内容的提供者，每个元素为一行
+     */
+    void contributeSection(String name, Supplier<List<String>> lines);
+}
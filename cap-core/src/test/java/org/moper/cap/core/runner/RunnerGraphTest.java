@@ -0,0 +1,170 @@
+package org.moper.cap.core.runner;
+
+import org.junit.jupiter.api.Test;
+import org.moper.cap.core.annotation.RunnerMeta;
+import org.moper.cap.core.context.BootstrapContext;
+import org.moper.cap.core.exception.RunnerException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunnerGraphTest {
+
+    public static abstract class Stub implements BootstrapRunner {
+        @Override
+        public void initialize(BootstrapContext context) {
+        }
+    }
+
+    @RunnerMeta
+    public static class Alpha extends Stub {}
+
+    @RunnerMeta
+    public static class Bravo extends Stub {}
+
+    @RunnerMeta
+    public static class Charlie extends Stub {}
+
+    @RunnerMeta
+    public static class Delta extends Stub {}
+
+    @RunnerMeta
+    public static class Echo extends Stub {}
+
+    @RunnerMeta
+    public static class Foxtrot extends Stub {}
+
+    @Test
+    void testDeclaredRunnersStayBetweenBarriers() throws Exception {
+        RunnerGraph<BootstrapRunner> graph = RunnerGraph.of(List.of(
+                runner(1, Alpha.class, Set.of(), Set.of()),
+                runner(2, Bravo.class, Set.of("missing"), Set.of()),
+                runner(3, Charlie.class, Set.of(), Set.of("Bravo")),
+                runner(3, Delta.class, Set.of("Alpha"), Set.of()),
+                runner(4, Echo.class, Set.of(), Set.of()),
+                runner(5, Foxtrot.class, Set.of("missing"), Set.of())));
+        // Charlie 声明在 Bravo 之前执行，越过了 order；Foxtrot 声明了依赖，但仍在屏障 Echo 之后
+        assertEquals(List.of("Alpha", "Charlie", "Bravo", "Delta", "Echo", "Foxtrot"), names(graph.sequentialOrder()));
+
+        for (int i = 0; i < 20; i++) {
+            List<String> executed = Collections.synchronizedList(new ArrayList<>());
+            graph.execute(definition -> executed.add(definition.name()), 4);
+
+            assertEquals(6, executed.size());
+            assertEquals("Alpha", executed.getFirst());
+            assertTrue(executed.indexOf("Charlie") < executed.indexOf("Bravo"));
+            assertEquals(List.of("Echo", "Foxtrot"), executed.subList(4, 6));
+        }
+
+        // 声明的依赖不能越过屏障
+        RunnerGraph<BootstrapRunner> crossing = RunnerGraph.of(List.of(
+                runner(1, Alpha.class, Set.of("missing"), Set.of()),
+                runner(2, Bravo.class, Set.of(), Set.of()),
+                runner(3, Charlie.class, Set.of(), Set.of("Alpha"))));
+        assertThrows(RunnerException.class, crossing::sequentialOrder);
+    }
+
+    @Test
+    void testUnknownNamesAreIgnored() throws Exception {
+        RunnerGraph<BootstrapRunner> graph = RunnerGraph.of(List.of(
+                runner(2, Bravo.class, Set.of(), Set.of("absent")),
+                runner(1, Alpha.class, Set.of("missing"), Set.of())));
+        assertEquals(List.of("Alpha", "Bravo"), names(graph.sequentialOrder()));
+
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        graph.execute(definition -> executed.add(definition.name()), 2);
+        assertEquals(Set.of("Alpha", "Bravo"), Set.copyOf(executed));
+    }
+
+    @Test
+    void testCycleReportedBeforeAnyRunnerExecutes() throws Exception {
+        RunnerGraph<BootstrapRunner> graph = RunnerGraph.of(List.of(
+                runner(0, Alpha.class, Set.of(), Set.of()),
+                runner(1, Bravo.class, Set.of("Charlie"), Set.of()),
+                runner(2, Charlie.class, Set.of("Bravo"), Set.of()),
+                runner(3, Delta.class, Set.of("Alpha"), Set.of())));
+
+        RunnerException e = assertThrows(RunnerException.class, graph::sequentialOrder);
+        assertTrue(e.getMessage().startsWith("Circular runner dependencies among [Bravo, Charlie]"), e.getMessage());
+
+        // 屏障 Alpha 本可以立即执行，但循环必须在任何执行器执行之前报告
+        for (int parallelism : new int[]{1, 4}) {
+            List<String> executed = Collections.synchronizedList(new ArrayList<>());
+            assertThrows(RunnerException.class, () -> graph.execute(definition -> executed.add(definition.name()), parallelism));
+            assertEquals(List.of(), executed);
+        }
+    }
+
+    @Test
+    void testFailureStopsFurtherSubmissions() throws Exception {
+        RunnerGraph<BootstrapRunner> graph = RunnerGraph.of(List.of(
+                runner(1, Alpha.class, Set.of("missing"), Set.of()),
+                runner(2, Bravo.class, Set.of("Alpha"), Set.of()),
+                runner(3, Charlie.class, Set.of("missing"), Set.of()),
+                runner(4, Delta.class, Set.of("Charlie"), Set.of()),
+                runner(5, Echo.class, Set.of("missing"), Set.of())));
+
+        CountDownLatch failed = new CountDownLatch(1);
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> graph.execute(definition -> {
+            executed.add(definition.name());
+            switch (definition.name()) {
+                case "Alpha" -> {
+                    failed.countDown();
+                    throw new IllegalStateException("Alpha failed");
+                }
+                case "Charlie" -> {
+                    // Alpha 的失败先被处理，Charlie 之后成功也不再提交依赖它的 Delta
+                    failed.await();
+                    Thread.sleep(200);
+                }
+                case "Echo" -> {
+                    failed.await();
+                    Thread.sleep(200);
+                    throw new IllegalArgumentException("Echo failed");
+                }
+                default -> {
+                }
+            }
+        }, 3));
+
+        assertEquals("Alpha failed", e.getMessage());
+        assertEquals(1, e.getSuppressed().length);
+        assertEquals("Echo failed", e.getSuppressed()[0].getMessage());
+        assertEquals(Set.of("Alpha", "Charlie", "Echo"), Set.copyOf(executed));
+    }
+
+    @Test
+    void testEqualOrderTiesBrokenByClassName() throws Exception {
+        RunnerGraph<BootstrapRunner> graph = RunnerGraph.of(List.of(
+                runner(1, Charlie.class, Set.of(), Set.of()),
+                runner(1, Alpha.class, Set.of(), Set.of()),
+                runner(0, Delta.class, Set.of(), Set.of()),
+                runner(1, Bravo.class, Set.of(), Set.of())));
+        assertEquals(List.of("Delta", "Alpha", "Bravo", "Charlie"), names(graph.sequentialOrder()));
+
+        // 声明了依赖的执行器之间同样按类名排序
+        RunnerGraph<BootstrapRunner> declared = RunnerGraph.of(List.of(
+                runner(1, Echo.class, Set.of("missing"), Set.of()),
+                runner(1, Bravo.class, Set.of("missing"), Set.of()),
+                runner(1, Delta.class, Set.of("missing"), Set.of())));
+        List<String> executed = new ArrayList<>();
+        declared.execute(definition -> executed.add(definition.name()), 1);
+        assertEquals(List.of("Bravo", "Delta", "Echo"), executed);
+    }
+
+    private static RunnerDefinition<BootstrapRunner> runner(int order, Class<? extends Stub> clazz,
+                                                            Set<String> after, Set<String> before) throws Exception {
+        return new RunnerDefinition<>(order, clazz, clazz.getDeclaredConstructor().newInstance(),
+                RunnerType.EXTENSION, null, "", after, before);
+    }
+
+    private static List<String> names(List<RunnerDefinition<BootstrapRunner>> definitions) {
+        return definitions.stream().map(RunnerDefinition::name).toList();
+    }
+}
@@ -2,8 +2,11 @@ package org.moper.cap.example;
 
 import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.boot.application.impl.DefaultCapApplication;
+import org.moper.cap.boot.cds.TrainingResult;
 import org.moper.cap.core.context.RuntimeContext;
 
+import java.util.Optional;
+
 /**
  * CAP Framework 示例应用启动入口。
  *
@@ -52,14 +55,22 @@ public class ExampleMain {
         log.info("║  Version: 1.0.0                         ║");
         log.info("╚════════════════════════════════════════╝");
 
-        try (RuntimeContext context = new DefaultCapApplication(ExampleApplication.class, args).run()) {
-            log.info("╔════════════════════════════════════════╗");
-            log.info("║  应用启动完成！                          ║");
-            log.info("║  访问地址: http://localhost:8080       ║");
-            log.info("║  按 Ctrl+C 停止应用                     ║");
-            log.info("╚════════════════════════════════════════╝");
+        try {
+            DefaultCapApplication application = new DefaultCapApplication(ExampleApplication.class, args);
+            try (RuntimeContext context = application.run()) {
+                Optional<TrainingResult> training = application.getTrainingResult();
+                if (training.isPresent()) {
+                    // 启动训练模式：应用已关闭，以训练结果退出，供 CdsLauncher 判断归档是否可用
+                    System.exit(training.get().exitCode());
+                }
+                log.info("╔════════════════════════════════════════╗");
+                log.info("║  应用启动完成！                          ║");
+                log.info("║  访问地址: http://localhost:8080       ║");
+                log.info("║  按 Ctrl+C 停止应用                     ║");
+                log.info("╚════════════════════════════════════════╝");
 
-            Thread.currentThread().join();
+                Thread.currentThread().join();
+            }
         } catch (Exception e) {
             log.error("应用启动失败", e);
             System.exit(1);
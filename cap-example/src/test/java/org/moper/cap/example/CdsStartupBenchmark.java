@@ -0,0 +1,147 @@
+package org.moper.cap.example;
+
+import org.moper.cap.boot.cds.CdsLauncher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * AppCDS 动态归档对首个请求耗时的基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>先用 {@link CdsLauncher} 以启动训练模式运行一次示例应用并写出归档，
+ * 再分别以不使用归档和使用归档两种方式启动独立的 {@link ExampleMain} 进程，
+ * 统计从创建进程到 {@code GET /api/users} 首次返回 200 的耗时。两种方式交替运行，减少系统负载波动的影响。
+ *
+ * <p>JVM 不允许在类路径包含非空目录时写出动态归档，因此先将类路径上的目录（target/classes 等）打包为临时 jar 包，
+ * 测试类目录不参与打包。
+ */
+public class CdsStartupBenchmark {
+
+    private static final int ITERATIONS = 5;
+    private static final long TIMEOUT_NANOS = 60_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("cap-cds");
+        Path archive = dir.resolve("example.jsa");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        CdsLauncher launcher = new CdsLauncher(java, jarClasspath(dir), List.of(), archive);
+
+        long trainStart = System.nanoTime();
+        boolean trained = launcher.train(ExampleMain.class.getName(), List.of("--server.port=0"));
+        System.out.printf("training %s in %,d ms, archive %,d KB%n", trained ? "succeeded" : "FAILED",
+                (System.nanoTime() - trainStart) / 1_000_000, trained ? Files.size(archive) / 1024 : 0);
+        if (!trained) {
+            System.exit(1);
+        }
+
+        long plain = 0;
+        long cds = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            plain += timeToFirstRequest(launcher, false);
+            cds += timeToFirstRequest(launcher, true);
+        }
+        System.out.printf("%-8s time to first request %,6d ms%n", "plain", plain / ITERATIONS / 1_000_000);
+        System.out.printf("%-8s time to first request %,6d ms%n", "appcds", cds / ITERATIONS / 1_000_000);
+    }
+
+    private static long timeToFirstRequest(CdsLauncher launcher, boolean useArchive) throws Exception {
+        int port = freePort();
+        List<String> appArgs = List.of("--server.port=" + port);
+        List<String> command = launcher.launchCommand(ExampleMain.class.getName(), appArgs);
+        if (!useArchive) {
+            command.removeIf(option -> option.startsWith("-XX:SharedArchiveFile="));
+        }
+        URI uri = URI.create("http://127.0.0.1:" + port + "/api/users");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Example application exited with code " + process.exitValue());
+                }
+                if (ok(uri)) {
+                    return System.nanoTime() - start;
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No response from " + uri);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * 将当前类路径中的目录打包为 jar 包，返回只由 jar 包组成的类路径
+     */
+    private static String jarClasspath(Path dir) throws IOException {
+        List<String> entries = new ArrayList<>();
+        int index = 0;
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (!Files.isDirectory(path)) {
+                entries.add(entry);
+            } else if (!path.endsWith("test-classes")) {
+                Path jar = dir.resolve("classes-" + index++ + ".jar");
+                writeJar(path, jar);
+                entries.add(jar.toString());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void writeJar(Path root, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.equals(root)) {
+                    continue;
+                }
+                String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(file)) {
+                    out.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(file, (OutputStream) out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static boolean ok(URI uri) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+            connection.setConnectTimeout(200);
+            connection.setReadTimeout(5_000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
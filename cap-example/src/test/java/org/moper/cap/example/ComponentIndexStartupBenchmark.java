@@ -0,0 +1,55 @@
+package org.moper.cap.example;
+
+import org.moper.cap.boot.application.impl.DefaultCapApplication;
+import org.moper.cap.core.constants.PropertyArguments;
+import org.moper.cap.core.context.RuntimeContext;
+
+/**
+ * 编译期组件索引的启动耗时基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>分别以“读取 META-INF/cap/components.idx”和“忽略索引、回退到 ClassGraph 扫描”两种方式
+ * 启动示例应用，统计 Bootstrap 阶段（{@link DefaultCapApplication} 构造）的耗时。
+ *
+ * <p>参数：{@code index} 或 {@code scan} 只运行单一模式，适合在独立 JVM 中比较冷启动；
+ * 不带参数时两种模式交替运行，比较预热后的稳态耗时。
+ */
+public class ComponentIndexStartupBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "both";
+        if (!mode.equals("scan")) {
+            report("component index", false);
+        }
+        if (!mode.equals("index")) {
+            report("classpath scan", true);
+        }
+        // 内嵌 Tomcat 的非守护线程不会随 RuntimeContext 关闭而退出
+        System.exit(0);
+    }
+
+    private static void report(String label, boolean ignoreIndex) throws Exception {
+        long first = bootstrap(ignoreIndex);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bootstrap(ignoreIndex);
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            total += bootstrap(ignoreIndex);
+        }
+        System.out.printf("%-16s first boot %,8d µs, steady %,8d µs/boot%n",
+                label, first / 1_000, total / MEASURE_ITERATIONS / 1_000);
+    }
+
+    private static long bootstrap(boolean ignoreIndex) throws Exception {
+        long start = System.nanoTime();
+        DefaultCapApplication application = new DefaultCapApplication(ExampleApplication.class,
+                "--server.port=0", "--" + PropertyArguments.COMPONENT_INDEX_IGNORE_PROPERTY_KEY + "=" + ignoreIndex);
+        long elapsed = System.nanoTime() - start;
+        try (RuntimeContext ignored = application.run()) {
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.moper.cap.example;
+
+import org.moper.cap.boot.application.impl.DefaultCapApplication;
+import org.moper.cap.core.constants.PropertyArguments;
+import org.moper.cap.core.context.RuntimeContext;
+
+/**
+ * BootstrapRunner 并行启动的耗时基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>分别以顺序执行和按依赖图并行执行 BootstrapRunner 两种方式启动示例应用，
+ * 统计 Bootstrap 阶段（{@link DefaultCapApplication} 构造）的耗时。
+ * 启用组件索引时类扫描几乎没有开销，可加参数 {@code --scan} 忽略索引，观察类扫描与配置文件加载重叠的效果。
+ *
+ * <p>参数：{@code sequential} 或 {@code parallel} 只运行单一模式，适合在独立 JVM 中比较冷启动；
+ * 不带参数时两种模式交替运行，比较预热后的稳态耗时。
+ */
+public class ParallelBootstrapBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 && !args[0].startsWith("--") ? args[0] : "both";
+        boolean ignoreIndex = args.length > 0 && args[args.length - 1].equals("--scan");
+        if (!mode.equals("parallel")) {
+            report("sequential", false, ignoreIndex);
+        }
+        if (!mode.equals("sequential")) {
+            report("parallel", true, ignoreIndex);
+        }
+        // 内嵌 Tomcat 的非守护线程不会随 RuntimeContext 关闭而退出
+        System.exit(0);
+    }
+
+    private static void report(String label, boolean parallel, boolean ignoreIndex) throws Exception {
+        long first = bootstrap(parallel, ignoreIndex);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bootstrap(parallel, ignoreIndex);
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            total += bootstrap(parallel, ignoreIndex);
+        }
+        System.out.printf("%-12s first boot %,8d µs, steady %,8d µs/boot%n",
+                label, first / 1_000, total / MEASURE_ITERATIONS / 1_000);
+    }
+
+    private static long bootstrap(boolean parallel, boolean ignoreIndex) throws Exception {
+        long start = System.nanoTime();
+        DefaultCapApplication application = new DefaultCapApplication(ExampleApplication.class,
+                "--server.port=0",
+                "--" + PropertyArguments.PARALLEL_BOOTSTRAP_PROPERTY_KEY + "=" + parallel,
+                "--" + PropertyArguments.COMPONENT_INDEX_IGNORE_PROPERTY_KEY + "=" + ignoreIndex);
+        long elapsed = System.nanoTime() - start;
+        try (RuntimeContext ignored = application.run()) {
+            return elapsed;
+        }
+    }
+}
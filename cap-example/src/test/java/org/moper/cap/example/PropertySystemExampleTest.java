@@ -3,6 +3,7 @@ package org.moper.cap.example;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.moper.cap.boot.application.impl.DefaultCapApplication;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.example.config.AppPropertyConfig;
 import org.moper.cap.example.config.DynamicPropertyWatcher;
@@ -67,7 +68,9 @@ public class PropertySystemExampleTest {
     void testSubscriptionAndSubscriber() throws Exception {
         log.info("\n========== 测试：@Subscription + @Subscriber 动态监听 ==========\n");
 
-        try (RuntimeContext context = new DefaultCapApplication(ExampleApplication.class, "--server.port=0").run()) {
+        try (RuntimeContext context = new DefaultCapApplication(ExampleApplication.class, "--server.port=0",
+                // 属性变更默认异步交付，显式开启交付等待，发布返回时订阅者回调已经执行
+                "--" + PropertyArguments.PROPERTY_DELIVERY_TIMEOUT_PROPERTY_KEY + "=10000").run()) {
             PropertyOfficer officer = context.getPropertyOfficer();
             assertNotNull(officer, "PropertyOfficer 不应为空");
 
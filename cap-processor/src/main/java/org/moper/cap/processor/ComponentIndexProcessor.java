@@ -0,0 +1,278 @@
+package org.moper.cap.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 编译期组件索引生成器。
+ *
+ * <p>在编译期收集 @Capper 标注的类与工厂方法，以及编译输出目录中的 application 资源文件，
+ * 写入 {@value #INDEX_LOCATION}，运行时由 cap-boot 直接读取，从而省去类路径扫描。
+ *
+ * <p>索引为 UTF-8 文本，每行一条记录，字段以制表符分隔：
+ * <ul>
+ *   <li>{@code C  <类的二进制名>  <构造函数参数 Bean 名称，逗号分隔>}：
+ *       若构造函数无法确定，第三列以 {@code !} 开头并记录错误信息，运行时原样抛出</li>
+ *   <li>{@code F  <声明类的二进制名>  <方法名>  <参数类型名，逗号分隔>}</li>
+ *   <li>{@code R  <资源路径>}</li>
+ * </ul>
+ *
+ * <p>Bean 名称的推导规则与 {@code BeanNamesResolver} 保持一致。
+ * 处理器仅依据注解的全限定名工作，不依赖 cap-bean 的类。
+ *
+ * <p>注意：增量编译只会看到本轮重新编译的源文件，因此索引以完整构建的结果为准。
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 索引文件在类路径中的位置
+     */
+    public static final String INDEX_LOCATION = "META-INF/cap/components.idx";
+
+    static final String CAPPER_ANNOTATION = "org.moper.cap.bean.annotation.Capper";
+
+    static final String INJECT_ANNOTATION = "org.moper.cap.bean.annotation.Inject";
+
+    /**
+     * 延迟注入的句柄类型，Bean 名称由类型参数推导
+     */
+    static final Set<String> PROVIDER_TYPES = Set.of(
+            "org.moper.cap.bean.inject.Provider", "org.moper.cap.bean.inject.ObjectProvider");
+
+    /**
+     * application.yaml、application-dev.yml、application.properties 等资源文件
+     */
+    private static final Pattern RESOURCE_FILE_NAME = Pattern.compile("application(-[^/]+)?\\.(yaml|yml|properties)");
+
+    private final Set<String> components = new LinkedHashSet<>();
+
+    private final Set<String> factoryMethods = new LinkedHashSet<>();
+
+    private Elements elements;
+
+    private Types types;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // 即使没有 @Capper 也需要记录资源文件，因此接收所有轮次
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        TypeElement capper = elements.getTypeElement(CAPPER_ANNOTATION);
+        if (capper == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(capper)) {
+            if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.RECORD
+                    || element.getKind() == ElementKind.ENUM) {
+                TypeElement type = (TypeElement) element;
+                if (!type.getModifiers().contains(Modifier.ABSTRACT)) {
+                    components.add(componentLine(type));
+                }
+            } else if (element.getKind() == ElementKind.METHOD) {
+                factoryMethods.add(factoryMethodLine((ExecutableElement) element));
+            }
+        }
+        // 不声明占有任何注解，其他处理器（如 Lombok）照常工作
+        return false;
+    }
+
+    private String componentLine(TypeElement type) {
+        String className = elements.getBinaryName(type).toString();
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        List<ExecutableElement> injectConstructors = constructors.stream()
+                .filter(c -> findAnnotation(c, INJECT_ANNOTATION) != null)
+                .toList();
+
+        ExecutableElement constructor;
+        if (injectConstructors.size() > 1) {
+            return "C\t" + className + "\t!Multiple constructors annotated with @Inject found in class: " + className;
+        } else if (injectConstructors.size() == 1) {
+            constructor = injectConstructors.getFirst();
+        } else if (constructors.size() > 1) {
+            return "C\t" + className + "\t!Multiple constructors found in class without @Inject annotation: " + className;
+        } else if (constructors.size() == 1) {
+            constructor = constructors.getFirst();
+        } else {
+            return "C\t" + className + "\t";
+        }
+
+        List<String> beanNames = new ArrayList<>();
+        for (VariableElement parameter : constructor.getParameters()) {
+            String explicit = injectValue(parameter);
+            beanNames.add(explicit != null ? explicit : decapitalize(simpleName(dependencyType(parameter.asType()))));
+        }
+        return "C\t" + className + "\t" + String.join(",", beanNames);
+    }
+
+    private String factoryMethodLine(ExecutableElement method) {
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+        List<String> parameterTypes = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add(typeName(parameter.asType()));
+        }
+        return "F\t" + elements.getBinaryName(owner) + "\t" + method.getSimpleName() + "\t" + String.join(",", parameterTypes);
+    }
+
+    private void writeIndex() {
+        Filer filer = processingEnv.getFiler();
+        try {
+            FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            List<String> resources = collectResources(index.toUri());
+            if (components.isEmpty() && factoryMethods.isEmpty() && resources.isEmpty()) {
+                index.delete();
+                return;
+            }
+            try (Writer writer = index.openWriter()) {
+                writer.write("# CAP component index v1\n");
+                for (String line : components) writer.write(line + "\n");
+                for (String line : factoryMethods) writer.write(line + "\n");
+                for (String resource : resources) writer.write("R\t" + resource + "\n");
+            }
+        } catch (IOException | RuntimeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write CAP component index " + INDEX_LOCATION + ": " + e);
+        }
+    }
+
+    /**
+     * 资源文件在编译前已由构建工具复制到编译输出目录，从索引文件的位置反推输出目录并遍历。
+     */
+    private List<String> collectResources(URI indexUri) throws IOException {
+        if (!"file".equals(indexUri.getScheme())) {
+            return List.of();
+        }
+        Path root = Path.of(indexUri);
+        for (int i = 0; i < INDEX_LOCATION.split("/").length; i++) {
+            root = root.getParent();
+        }
+        // 未指定输出目录时（如直接调用 javac）不遍历文件系统根目录
+        if (root == null || root.getParent() == null || !Files.isDirectory(root)) {
+            return List.of();
+        }
+        final Path outputRoot = root;
+        try (Stream<Path> files = Files.walk(outputRoot)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> RESOURCE_FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .map(file -> outputRoot.relativize(file).toString().replace('\\', '/'))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private String injectValue(Element element) {
+        AnnotationMirror inject = findAnnotation(element, INJECT_ANNOTATION);
+        if (inject == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : inject.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                String value = String.valueOf(entry.getValue().getValue());
+                return value.isBlank() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 与运行时 LazyDependencies#dependencyType 一致：{@code Provider<T>} / {@code ObjectProvider<T>} 取 {@code T}
+     */
+    private TypeMirror dependencyType(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declared = (DeclaredType) type;
+            String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+            if (PROVIDER_TYPES.contains(name)) {
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                return arguments.size() == 1 && arguments.getFirst().getKind() == TypeKind.DECLARED
+                        ? arguments.getFirst()
+                        : elements.getTypeElement("java.lang.Object").asType();
+            }
+        }
+        return type;
+    }
+
+    /**
+     * 与 {@link Class#getSimpleName()} 一致的简单类名
+     */
+    private String simpleName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return simpleName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) erased).asElement().getSimpleName().toString();
+        }
+        return erased.toString();
+    }
+
+    /**
+     * 与 {@link Class#getTypeName()} 一致的类型名，用于运行时定位重载方法
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return elements.getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+        }
+        return erased.toString();
+    }
+
+    private static String decapitalize(String name) {
+        if (name == null || name.isBlank()) return name;
+        if (Character.isLowerCase(name.charAt(0))) return name;
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
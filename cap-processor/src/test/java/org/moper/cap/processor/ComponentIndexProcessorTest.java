@@ -0,0 +1,165 @@
+package org.moper.cap.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentIndexProcessorTest {
+
+    /**
+     * 处理器只按全限定名识别注解，测试以同名的桩注解代替 cap-bean
+     */
+    private static final Map<String, String> ANNOTATIONS = Map.of(
+            "org.moper.cap.bean.annotation.Capper", """
+                    package org.moper.cap.bean.annotation;
+                    import java.lang.annotation.*;
+                    @Retention(RetentionPolicy.RUNTIME)
+                    @Target({ElementType.TYPE, ElementType.METHOD})
+                    public @interface Capper {}
+                    """,
+            "org.moper.cap.bean.annotation.Inject", """
+                    package org.moper.cap.bean.annotation;
+                    import java.lang.annotation.*;
+                    @Retention(RetentionPolicy.RUNTIME)
+                    @Target({ElementType.CONSTRUCTOR, ElementType.PARAMETER, ElementType.FIELD})
+                    public @interface Inject { String value() default ""; }
+                    """,
+            "org.moper.cap.bean.inject.Provider", """
+                    package org.moper.cap.bean.inject;
+                    public interface Provider<T> { T get(); }
+                    """);
+
+    @Test
+    void testWritesComponentFactoryAndResourceEntries(@TempDir Path dir) throws IOException {
+        Path classes = dir.resolve("classes");
+        // 构建工具在编译前把资源文件复制到输出目录
+        write(classes.resolve("application.yaml"), "a: 1\n");
+        write(classes.resolve("config/application-dev.properties"), "a=2\n");
+        write(classes.resolve("config/other.yaml"), "b: 3\n");
+
+        compile(classes, Map.of(
+                "demo.Repo", """
+                        package demo;
+                        public class Repo {}
+                        """,
+                "demo.Plain", """
+                        package demo;
+                        @org.moper.cap.bean.annotation.Capper
+                        public class Plain {}
+                        """,
+                "demo.Service", """
+                        package demo;
+                        import org.moper.cap.bean.annotation.*;
+                        import org.moper.cap.bean.inject.Provider;
+                        @Capper
+                        public class Service {
+                            public Service(Repo repo, @Inject("custom") Object value, Provider<Repo> lazy, Repo[] all) {}
+                        }
+                        """,
+                "demo.Ambiguous", """
+                        package demo;
+                        @org.moper.cap.bean.annotation.Capper
+                        public class Ambiguous {
+                            public Ambiguous() {}
+                            public Ambiguous(Repo repo) {}
+                        }
+                        """,
+                "demo.TwoInject", """
+                        package demo;
+                        import org.moper.cap.bean.annotation.*;
+                        @Capper
+                        public class TwoInject {
+                            @Inject public TwoInject() {}
+                            @Inject public TwoInject(Repo repo) {}
+                        }
+                        """,
+                "demo.Config", """
+                        package demo;
+                        import org.moper.cap.bean.annotation.*;
+                        public class Config {
+                            @Capper public Repo repo(String name, int[] sizes, java.util.List<String> tags) { return new Repo(); }
+                            @Capper public static class Inner { @Inject Inner(Repo repo) {} public Inner() {} }
+                            @Capper public abstract static class Skipped {}
+                        }
+                        """));
+
+        List<String> index = Files.readAllLines(classes.resolve(ComponentIndexProcessor.INDEX_LOCATION), StandardCharsets.UTF_8);
+        assertEquals("# CAP component index v1", index.getFirst());
+        List<String> entries = index.subList(1, index.size());
+        assertTrue(entries.contains("C\tdemo.Plain\t"));
+        assertTrue(entries.contains("C\tdemo.Service\trepo,custom,repo,repo[]"));
+        assertTrue(entries.contains("C\tdemo.Ambiguous\t!Multiple constructors found in class without @Inject annotation: demo.Ambiguous"));
+        assertTrue(entries.contains("C\tdemo.TwoInject\t!Multiple constructors annotated with @Inject found in class: demo.TwoInject"));
+        // 嵌套类使用二进制名，@Inject 构造函数优先
+        assertTrue(entries.contains("C\tdemo.Config$Inner\trepo"));
+        assertTrue(entries.contains("F\tdemo.Config\trepo\tjava.lang.String,int[],java.util.List"));
+        assertTrue(entries.stream().noneMatch(line -> line.contains("Skipped")));
+        assertEquals(List.of("R\tapplication.yaml", "R\tconfig/application-dev.properties"),
+                entries.stream().filter(line -> line.startsWith("R\t")).toList());
+        // 组件条目在工厂方法之前，资源条目在最后
+        assertEquals(5, entries.indexOf("F\tdemo.Config\trepo\tjava.lang.String,int[],java.util.List"));
+        assertEquals(8, entries.size());
+    }
+
+    @Test
+    void testNoIndexWithoutComponentsOrResources(@TempDir Path dir) throws IOException {
+        Path classes = dir.resolve("classes");
+        compile(classes, Map.of("demo.Repo", """
+                package demo;
+                public class Repo {}
+                """));
+        assertFalse(Files.exists(classes.resolve(ComponentIndexProcessor.INDEX_LOCATION)));
+        assertTrue(Files.exists(classes.resolve("demo/Repo.class")));
+    }
+
+    private static void compile(Path classes, Map<String, String> sources) throws IOException {
+        Files.createDirectories(classes);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<JavaFileObject> units = new ArrayList<>();
+        ANNOTATIONS.forEach((name, source) -> units.add(new Source(name, source)));
+        sources.forEach((name, source) -> units.add(new Source(name, source)));
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-d", classes.toString(), "-implicit:none"), null, units);
+            task.setProcessors(List.of(new ComponentIndexProcessor()));
+            assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final String content;
+
+        Source(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.moper.cap.property.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 属性前缀绑定注解 </br>
+ *
+ * 标记一个 record 或 POJO 类型，把指定前缀下的全部属性整体绑定为该类型的一个实例，
+ * 由 {@link org.moper.cap.property.binder.PropertyBinder} 完成绑定 </br>
+ * 组件（或字段）{@code contextPath} 对应属性键 {@code <prefix>.context-path}，不存在时再查找 {@code <prefix>.contextPath}；
+ * 类型为 record 或同样标记了本注解的组件按嵌套前缀递归绑定
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BindProperties {
+
+    /**
+     * 属性键前缀，如 {@code server.tomcat}；作为嵌套组件被绑定时忽略
+     */
+    String prefix();
+}
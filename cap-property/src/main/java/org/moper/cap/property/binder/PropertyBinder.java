@@ -0,0 +1,277 @@
+package org.moper.cap.property.binder;
+
+import org.moper.cap.property.annotation.BindProperties;
+import org.moper.cap.property.exception.PropertyValidationException;
+import org.moper.cap.property.officer.PropertyView;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 属性前缀绑定器 </br>
+ *
+ * 把一个属性前缀下的全部属性绑定为 record 或 POJO 的实例：
+ * <ul>
+ *   <li>record：按组件顺序读取属性，调用规范构造函数；缺失的属性以 null（基本类型为零值）传入，
+ *       默认值与校验逻辑写在紧凑构造函数中</li>
+ *   <li>POJO：调用无参构造函数，再通过 setter（没有 setter 时直接写字段）写入存在的属性，缺失的属性保留字段初始值</li>
+ * </ul>
+ * 组件（或字段）名按 kebab-case 映射为属性键，并按 {@link PropertyView} 的宽松规则匹配；类型为 record 或标记了 {@link BindProperties} 的组件按嵌套前缀递归绑定 </br>
+ *
+ * 每个类型的绑定计划（属性键、目标类型、构造函数与 setter 的 {@link MethodHandle}）只在第一次使用时生成一次，
+ * 之后的每次绑定只做属性读取、类型转换与一次构造调用。
+ * 类型转换失败或构造函数（校验逻辑）抛出异常时，抛出 {@link PropertyValidationException}
+ *
+ * @param <T> 绑定的目标类型
+ */
+public final class PropertyBinder<T> {
+
+    private static final ClassValue<PropertyBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected PropertyBinder<?> computeValue(Class<?> type) {
+            return new PropertyBinder<>(type);
+        }
+    };
+
+    /**
+     * 一个组件或字段的绑定信息
+     *
+     * @param name      组件或字段名
+     * @param keySuffix kebab-case 形式的属性键后缀
+     * @param type      目标类型
+     * @param nested    是否按嵌套前缀递归绑定
+     * @param setter    POJO 的写入句柄 (Object, value)void；record 为null
+     */
+    private record Slot(String name, String keySuffix, Class<?> type, boolean nested, MethodHandle setter) {}
+
+    private final Class<T> type;
+
+    private final String prefix;
+
+    private final MethodHandle constructor;
+
+    private final Slot[] slots;
+
+    private PropertyBinder(Class<T> type) {
+        this.type = type;
+        BindProperties annotation = type.getAnnotation(BindProperties.class);
+        this.prefix = annotation == null ? null : annotation.prefix();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] parameterTypes = new Class<?>[components.length];
+                Slot[] recordSlots = new Slot[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    parameterTypes[i] = components[i].getType();
+                    recordSlots[i] = slot(components[i].getName(), components[i].getType(), null);
+                }
+                Constructor<T> canonical = type.getDeclaredConstructor(parameterTypes);
+                canonical.setAccessible(true);
+                this.constructor = lookup.unreflectConstructor(canonical).asSpreader(Object[].class, components.length);
+                this.slots = recordSlots;
+            } else {
+                if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                    throw new IllegalArgumentException("Cannot bind properties to abstract type " + type.getName());
+                }
+                Constructor<T> noArgs = type.getDeclaredConstructor();
+                noArgs.setAccessible(true);
+                this.constructor = lookup.unreflectConstructor(noArgs);
+                this.slots = beanSlots(lookup, type);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot create property binder for " + type.getName()
+                    + ": a record or a class with a no-arg constructor is required", e);
+        }
+    }
+
+    /**
+     * 获取指定类型的绑定器，同一类型只生成一次
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyBinder<T> of(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Binding type cannot be null");
+        }
+        return (PropertyBinder<T>) BINDERS.get(type);
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * 获取类型上 {@link BindProperties} 声明的前缀
+     *
+     * @throws IllegalArgumentException 类型没有标记 {@link BindProperties}
+     */
+    public String prefix() {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Type " + type.getName() + " is not annotated with @BindProperties");
+        }
+        return prefix;
+    }
+
+    /**
+     * 以 {@link BindProperties} 声明的前缀绑定
+     */
+    public T bind(PropertyView view) {
+        return bind(view, prefix());
+    }
+
+    /**
+     * 把属性视图中指定前缀下的属性绑定为一个新实例
+     *
+     * @param view   属性视图，通常是一个 {@link org.moper.cap.property.officer.PropertySnapshot}，保证读取到同一版本的属性
+     * @param prefix 属性键前缀，空字符串表示顶层属性
+     * @return 新的实例
+     * @throws PropertyValidationException 类型转换失败或构造函数抛出异常
+     */
+    public T bind(PropertyView view, String prefix) {
+        if (view == null) {
+            throw new IllegalArgumentException("PropertyView cannot be null");
+        }
+        if (prefix == null) {
+            throw new IllegalArgumentException("Binding prefix cannot be null");
+        }
+        return type.isRecord() ? bindRecord(view, prefix) : bindBean(view, prefix);
+    }
+
+    private T bindRecord(PropertyView view, String prefix) {
+        Object[] arguments = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            Object value = resolve(view, prefix, slots[i]);
+            arguments[i] = value == null && slots[i].type().isPrimitive() ? zero(slots[i].type()) : value;
+        }
+        try {
+            return type.cast(constructor.invoke(arguments));
+        } catch (PropertyValidationException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new PropertyValidationException(describe(prefix), describe(e), e);
+        }
+    }
+
+    private T bindBean(PropertyView view, String prefix) {
+        T instance;
+        try {
+            instance = type.cast(constructor.invoke());
+        } catch (Throwable e) {
+            throw new PropertyValidationException(describe(prefix), describe(e), e);
+        }
+        for (Slot slot : slots) {
+            Object value = resolve(view, prefix, slot);
+            if (value == null) continue;
+            try {
+                slot.setter().invoke(instance, value);
+            } catch (PropertyValidationException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new PropertyValidationException(key(prefix, slot.keySuffix()), describe(e), e);
+            }
+        }
+        return instance;
+    }
+
+    private Object resolve(PropertyView view, String prefix, Slot slot) {
+        if (slot.nested()) {
+            return of(slot.type()).bind(view, key(prefix, slot.keySuffix()));
+        }
+        // 属性视图按宽松规则匹配，kebab-case、驼峰与环境变量形式的属性键都能找到
+        String key = key(prefix, slot.keySuffix());
+        Object raw = view.getRawPropertyValue(key);
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return view.getPropertyValue(key, slot.type());
+        } catch (RuntimeException e) {
+            throw new PropertyValidationException(key, "cannot convert value '" + raw + "' to "
+                    + slot.type().getSimpleName(), e);
+        }
+    }
+
+    private static Slot[] beanSlots(MethodHandles.Lookup lookup, Class<?> type) throws IllegalAccessException {
+        List<Slot> beanSlots = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                MethodHandle setter;
+                Method method = findSetter(type, field);
+                if (method != null) {
+                    method.setAccessible(true);
+                    setter = lookup.unreflect(method);
+                } else {
+                    field.setAccessible(true);
+                    setter = lookup.unreflectSetter(field);
+                }
+                beanSlots.add(slot(field.getName(), field.getType(), setter));
+            }
+        }
+        return beanSlots.toArray(Slot[]::new);
+    }
+
+    private static Method findSetter(Class<?> type, Field field) {
+        String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method method = type.getMethod(name, field.getType());
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Slot slot(String name, Class<?> type, MethodHandle setter) {
+        boolean nested = type.isRecord() || type.isAnnotationPresent(BindProperties.class);
+        return new Slot(name, kebabCase(name), type, nested, setter);
+    }
+
+    /**
+     * contextPath → context-path，maxHTTPHeaderSize → max-http-header-size
+     */
+    static String kebabCase(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                boolean boundary = i > 0 && (Character.isLowerCase(name.charAt(i - 1))
+                        || Character.isDigit(name.charAt(i - 1))
+                        || (i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1))));
+                if (boundary && builder.charAt(builder.length() - 1) != '-') {
+                    builder.append('-');
+                }
+                builder.append(Character.toLowerCase(c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String key(String prefix, String suffix) {
+        return prefix.isEmpty() ? suffix : prefix + "." + suffix;
+    }
+
+    private String describe(String prefix) {
+        return prefix.isEmpty() ? type.getSimpleName() : prefix;
+    }
+
+    private String describe(Throwable e) {
+        return "cannot bind " + type.getSimpleName() + ": " + e;
+    }
+
+    private static Object zero(Class<?> primitive) {
+        return Array.get(Array.newInstance(primitive, 1), 0);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyBinder[" + type.getName() + "]";
+    }
+}
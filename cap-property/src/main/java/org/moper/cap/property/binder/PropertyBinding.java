@@ -0,0 +1,218 @@
+package org.moper.cap.property.binder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.property.event.PropertyChangeBatch;
+import org.moper.cap.property.exception.PropertyValidationException;
+import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.property.officer.PropertySnapshot;
+import org.moper.cap.property.subscriber.PropertySelector;
+import org.moper.cap.property.subscriber.PropertySubscriber;
+import org.moper.cap.property.subscriber.PropertySubscription;
+import org.moper.cap.property.subscriber.impl.PrefixPropertySelector;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 随属性变更自动重新绑定的前缀绑定 </br>
+ *
+ * 以属性订阅客户端的形式注册到属性管理平台，订阅前缀下的全部属性；每个变更批次交付后，
+ * 从最新的 {@link PropertySnapshot} 重新绑定出一个新的不可变实例，并以原子方式替换当前实例。
+ * 读取方通过 {@link #get()} 总是拿到某一个完整版本的配置，不会看到新旧属性混合的中间状态 </br>
+ *
+ * 重新绑定失败（类型转换失败或校验不通过）时保留上一个实例并记录错误日志
+ *
+ * @param <T> 绑定的目标类型
+ */
+@Slf4j
+public final class PropertyBinding<T> implements PropertySubscription {
+
+    private record Bound<T>(long version, T instance) {}
+
+    private final PropertyOfficer officer;
+
+    private final PropertyBinder<T> binder;
+
+    private final String prefix;
+
+    private final String name;
+
+    private final List<PropertySubscriber<?>> subscribers;
+
+    private final AtomicReference<Bound<T>> current = new AtomicReference<>();
+
+    private final List<Consumer<? super T>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean closed = false;
+
+    private PropertyBinding(PropertyOfficer officer, PropertyBinder<T> binder, String prefix) {
+        this.officer = officer;
+        this.binder = binder;
+        this.prefix = prefix;
+        this.name = "binding:" + prefix + ":" + binder.type().getName();
+        this.subscribers = List.of(new PrefixSubscriber(new PrefixPropertySelector(prefix + ".")));
+    }
+
+    /**
+     * 以 {@link org.moper.cap.property.annotation.BindProperties} 声明的前缀绑定
+     */
+    public static <T> PropertyBinding<T> bind(PropertyOfficer officer, Class<T> type) {
+        PropertyBinder<T> binder = PropertyBinder.of(type);
+        return bind(officer, type, binder.prefix());
+    }
+
+    /**
+     * 把属性管理平台中指定前缀下的属性绑定为指定类型，并在属性变更时自动重新绑定 </br>
+     *
+     * 同一前缀与类型只注册一个绑定，重复调用返回同一个实例
+     *
+     * @throws PropertyValidationException 首次绑定失败
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyBinding<T> bind(PropertyOfficer officer, Class<T> type, String prefix) {
+        if (officer == null) {
+            throw new IllegalArgumentException("PropertyOfficer cannot be null");
+        }
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Binding prefix cannot be null or blank");
+        }
+        PropertyBinder<T> binder = PropertyBinder.of(type);
+        PropertyBinding<T> created = new PropertyBinding<>(officer, binder, prefix);
+        PropertySubscription registered = officer.getSubscription(created.name(), () -> created);
+        if (registered != created) {
+            return (PropertyBinding<T>) registered;
+        }
+        // 先注册再绑定：注册期间提交的变更由 onBatch 重新绑定，版本号保证较旧的结果不会覆盖较新的结果
+        PropertySnapshot snapshot = officer.snapshot();
+        try {
+            created.swap(snapshot.version(), binder.bind(snapshot, prefix));
+        } catch (PropertyValidationException e) {
+            created.close();
+            throw e;
+        }
+        return created;
+    }
+
+    /**
+     * 获取当前绑定的实例
+     */
+    public T get() {
+        return current.get().instance();
+    }
+
+    /**
+     * 获取当前实例对应的属性快照版本
+     */
+    public long version() {
+        return current.get().version();
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public Class<T> type() {
+        return binder.type();
+    }
+
+    /**
+     * 注册重新绑定成功后的回调，在属性交付线程上以新实例调用
+     */
+    public void addListener(Consumer<? super T> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Binding listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onBatch(PropertyChangeBatch batch) {
+        if (closed) return;
+        PropertySnapshot snapshot = officer.snapshot();
+        T instance;
+        try {
+            instance = binder.bind(snapshot, prefix);
+        } catch (PropertyValidationException e) {
+            log.error("Rebinding [{}] to {} failed at version {}, keeping the previous instance",
+                    prefix, binder.type().getSimpleName(), snapshot.version(), e);
+            return;
+        }
+        if (swap(snapshot.version(), instance)) {
+            for (Consumer<? super T> listener : listeners) {
+                listener.accept(instance);
+            }
+        }
+    }
+
+    /**
+     * 版本号不小于当前实例时替换
+     *
+     * @return 是否替换
+     */
+    private boolean swap(long version, T instance) {
+        Bound<T> next = new Bound<>(version, instance);
+        while (true) {
+            Bound<T> previous = current.get();
+            if (previous != null && previous.version() > version) {
+                return false;
+            }
+            if (current.compareAndSet(previous, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 停止跟随属性变更；{@link #get()} 继续返回最后一次绑定的实例
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (!officer.isClosed() && officer.getSubscription(name) == this) {
+            officer.destroySubscription(name);
+        }
+    }
+
+    @Override
+    public Iterator<PropertySubscriber<?>> iterator() {
+        return subscribers.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyBinding[" + prefix + " -> " + binder.type().getName() + "]";
+    }
+
+    /**
+     * 只用于把前缀下的变更路由到本订阅客户端，原始值不做转换，变更在 {@link #onBatch} 中整体处理
+     */
+    private record PrefixSubscriber(PropertySelector selector) implements PropertySubscriber<Object> {
+
+        @Override
+        public Class<Object> getSubscribeType() {
+            return Object.class;
+        }
+
+        @Override
+        public void onSet(Object value) {
+        }
+
+        @Override
+        public void onRemoved() {
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.moper.cap.property.event;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 属性变更批次 </br>
+ *
+ * 一个已提交的属性操作清单中与某个订阅客户端相关的全部变更，作为一个整体交付给该订阅客户端。
+ * 订阅客户端的交付积压时，尚未开始交付的批次会被合并：同一属性键只保留最后一次操作（后写者胜）
+ *
+ * @param version 批次包含的最新属性快照版本号
+ * @param committedAt 批次中最早的属性操作清单的提交时间，用于计算交付延迟
+ * @param manifestCount 批次合并的属性操作清单数量，未发生合并时为1
+ * @param operations 属性操作，每个属性键至多出现一次，按首次出现的顺序排列
+ */
+public record PropertyChangeBatch(
+        long version,
+        Instant committedAt,
+        int manifestCount,
+        List<PropertyOperation> operations
+) {
+
+    public PropertyChangeBatch {
+        if (committedAt == null) {
+            throw new IllegalArgumentException("PropertyChangeBatch CommittedAt cannot be null");
+        }
+
+        if (manifestCount <= 0) {
+            throw new IllegalArgumentException("PropertyChangeBatch ManifestCount must be greater than 0");
+        }
+
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("PropertyChangeBatch Operations cannot be null or empty");
+        }
+        operations = List.copyOf(operations);
+    }
+
+    /**
+     * 将之后提交的批次合并到当前批次：同一属性键以后者的操作为准，版本号取后者
+     *
+     * @param later 之后提交的批次，不能为null
+     * @return 合并后的批次
+     */
+    public PropertyChangeBatch merge(PropertyChangeBatch later) {
+        Map<String, PropertyOperation> merged = new LinkedHashMap<>();
+        for (PropertyOperation operation : operations) {
+            merged.put(operation.key(), operation);
+        }
+        for (PropertyOperation operation : later.operations()) {
+            merged.put(operation.key(), operation);
+        }
+        return new PropertyChangeBatch(later.version(), committedAt, manifestCount + later.manifestCount(),
+                List.copyOf(merged.values()));
+    }
+}
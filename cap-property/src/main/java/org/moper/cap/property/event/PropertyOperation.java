@@ -6,4 +6,9 @@ import java.io.Serializable;
  * 属性操作相关基接口
  */
 public sealed interface PropertyOperation extends Serializable permits PropertySetOperation, PropertyRemoveOperation {
+
+    /**
+     * 获取操作的属性键
+     */
+    String key();
 }
@@ -7,4 +7,8 @@ public class PropertyValidationException extends PropertyException {
     public PropertyValidationException(String key, String reason) {
         super("Property validation failed for key='" + key + "': " + reason);
     }
+
+    public PropertyValidationException(String key, String reason, Throwable cause) {
+        super("Property validation failed for key='" + key + "': " + reason, cause);
+    }
 }
@@ -0,0 +1,42 @@
+package org.moper.cap.property.officer;
+
+import java.time.Instant;
+
+/**
+ * 属性变更审计记录 </br>
+ *
+ * 描述一次已提交的属性变更；属性值只记录哈希值（{@link java.util.Objects#hashCode(Object)}），
+ * 既能判断前后是否变化，也不会在审计日志中留下敏感配置的原文
+ *
+ * @param sequence 记录序号，从 0 开始连续递增
+ * @param version 所属属性操作清单提交后的快照版本号，同一清单中的变更版本号相同
+ * @param key 属性键
+ * @param publisher 发布该变更的属性发布者名称
+ * @param type 变更类型
+ * @param oldValueHash 变更前属性值的哈希值，新增的属性为 0
+ * @param newValueHash 变更后属性值的哈希值，移除的属性为 0
+ * @param timestamp 提交时间
+ */
+public record PropertyChangeRecord(
+        long sequence,
+        long version,
+        String key,
+        String publisher,
+        Type type,
+        int oldValueHash,
+        int newValueHash,
+        Instant timestamp
+) {
+
+    /**
+     * 属性变更类型
+     */
+    public enum Type {
+        /** 新增属性 */
+        ADD,
+        /** 修改已存在的属性 */
+        UPDATE,
+        /** 移除属性 */
+        REMOVE
+    }
+}
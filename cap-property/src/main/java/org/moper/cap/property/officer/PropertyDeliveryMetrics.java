@@ -0,0 +1,29 @@
+package org.moper.cap.property.officer;
+
+import java.time.Duration;
+
+/**
+ * 属性变更交付指标 </br>
+ *
+ * 描述属性管理平台向一个订阅客户端交付变更批次的情况
+ *
+ * @param subscription 订阅客户端名称
+ * @param pendingManifests 已提交但尚未开始交付的属性操作清单数量（积压深度）
+ * @param deliveredBatches 已交付的变更批次数量
+ * @param deliveredManifests 已交付的属性操作清单数量，包括被合并的清单
+ * @param coalescedManifests 因积压而合并到前一个批次中的属性操作清单数量
+ * @param failedCallbacks 交付过程中抛出异常的订阅者回调次数
+ * @param lastLag 最近一个批次从提交到交付完成的延迟
+ * @param maxLag 从提交到交付完成的最大延迟
+ */
+public record PropertyDeliveryMetrics(
+        String subscription,
+        int pendingManifests,
+        long deliveredBatches,
+        long deliveredManifests,
+        long coalescedManifests,
+        long failedCallbacks,
+        Duration lastLag,
+        Duration maxLag
+) {
+}
@@ -0,0 +1,58 @@
+package org.moper.cap.property.officer;
+
+import java.util.Optional;
+
+/**
+ * 类型化的属性句柄 </br>
+ *
+ * 由 {@link PropertyOfficer#handle(String, Class)} 获取，持有指定属性键转换为指定类型后的当前值。
+ * 属性变更时由属性管理平台转换一次并原子替换，读取只是一次 volatile 读，不查找属性表也不做类型转换，
+ * 适合每个请求都要读取的属性（功能开关、限流阈值等）。句柄应在初始化时获取并保存，而不是每次读取时获取
+ *
+ * @param <T> 属性值类型
+ */
+public interface PropertyHandle<T> {
+
+    /**
+     * 获取属性键
+     */
+    String key();
+
+    /**
+     * 获取属性值类型
+     */
+    Class<T> type();
+
+    /**
+     * 获取当前属性值
+     *
+     * @return 若存在对应的属性则返回转换后的值；否则返回null
+     * @throws RuntimeException 若属性值无法转换为指定类型，抛出与 {@link PropertyView#getPropertyValue(String, Class)} 相同的异常
+     */
+    T get();
+
+    /**
+     * 获取当前属性值，若属性不存在则返回默认值
+     *
+     * @param defaultValue 默认值
+     * @return 若存在对应的属性则返回转换后的值；否则返回默认值
+     */
+    default T getOrDefault(T defaultValue) {
+        T value = get();
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * 获取当前属性值的Optional
+     *
+     * @return 若存在对应的属性则返回转换后的值；否则返回Optional.empty()
+     */
+    default Optional<T> getOptional() {
+        return Optional.ofNullable(get());
+    }
+
+    /**
+     * 检查当前是否存在对应的属性且属性值不为null
+     */
+    boolean isPresent();
+}
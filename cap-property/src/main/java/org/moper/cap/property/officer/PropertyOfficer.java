@@ -6,6 +6,9 @@ import org.moper.cap.property.publisher.PropertyPublisher;
 import org.moper.cap.property.subscriber.PropertySubscription;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -16,14 +19,19 @@ import java.util.function.Supplier;
 public interface PropertyOfficer extends PropertyView, PropertyLifecycle {
 
     /**
-     * 以同步的方式接收来自属性发布者发送的属性操作清单
+     * 以同步的方式接收来自属性发布者发送的属性操作清单 </br>
+     *
+     * 清单提交、变更放入各相关属性订阅客户端的交付队列后即返回，返回时属性视图已经可见新值；
+     * 是否以及最多等待交付完成多久由实现配置（见 DefaultPropertyOfficer 的交付超时），在属性订阅者回调中发起的嵌套接收不等待交付
      *
      * @param manifest 属性操作清单，不可为null
      */
     void receive(PropertyManifest manifest);
 
     /**
-     * 以异步的方式接收来自属性发布者发送的属性操作清单
+     * 以异步的方式接收来自属性发布者发送的属性操作清单 </br>
+     *
+     * 同一属性发布者的异步清单按接收顺序依次提交；提交后的变更由各属性订阅客户端的交付队列异步交付
      *
      * @param manifest 属性操作清单，不可为null
      */
@@ -106,4 +114,56 @@ public interface PropertyOfficer extends PropertyView, PropertyLifecycle {
      * @return 属性订阅客户端集合。若不存在属性订阅客户端，则返回一个空集合
      */
     Collection<PropertySubscription> getAllSubscriptions();
+
+    /**
+     * 获取指定属性键与类型的属性句柄 </br>
+     *
+     * 相同的属性键与类型返回同一个句柄，句柄在属性管理平台的生命周期内一直跟随属性变化
+     *
+     * @param key 属性键，不能为null或blank
+     * @param type 属性值类型，不能为null
+     * @return 属性句柄
+     * @param <T> 属性值类型
+     */
+    <T> PropertyHandle<T> handle(String key, Class<T> type);
+
+    /**
+     * 获取当前已提交属性的快照 </br>
+     *
+     * 属性操作清单以原子方式提交：快照与 {@link PropertyView} 的读取方法都不会观察到只应用了一部分的清单
+     *
+     * @return 当前版本的属性快照
+     */
+    PropertySnapshot snapshot();
+
+    /**
+     * 获取向每个属性订阅客户端交付变更的指标
+     *
+     * @return key 为订阅客户端名称。若不存在属性订阅客户端，则返回一个空Map
+     */
+    Map<String, PropertyDeliveryMetrics> getDeliveryMetrics();
+
+    /**
+     * 获取审计日志中保留的属性变更记录 </br>
+     *
+     * 审计日志是容量有限的环形缓冲区，只保留最近的变更，按提交顺序排列
+     *
+     * @param filter 记录过滤条件，不能为null
+     * @return 满足条件的变更记录。未开启审计日志或没有满足条件的记录时，返回一个空列表
+     */
+    List<PropertyChangeRecord> getChangeHistory(Predicate<? super PropertyChangeRecord> filter);
+
+    /**
+     * 获取审计日志中保留的全部属性变更记录
+     */
+    default List<PropertyChangeRecord> getChangeHistory() {
+        return getChangeHistory(record -> true);
+    }
+
+    /**
+     * 获取审计日志中保留的指定属性键的变更记录
+     */
+    default List<PropertyChangeRecord> getChangeHistory(String key) {
+        return getChangeHistory(record -> record.key().equals(key));
+    }
 }
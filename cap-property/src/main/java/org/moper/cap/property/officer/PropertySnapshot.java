@@ -0,0 +1,19 @@
+package org.moper.cap.property.officer;
+
+/**
+ * 固定版本的属性视图 </br>
+ *
+ * 由 {@link PropertyOfficer#snapshot()} 获取，持有获取时刻已提交的全部属性，之后的属性变更对其不可见。
+ * 适合在一次请求的处理过程中固定属性版本，使多次读取得到相互一致的属性值；快照的获取只是一次引用读取
+ */
+public interface PropertySnapshot extends PropertyView {
+
+    /**
+     * 获取快照版本号 </br>
+     *
+     * 每提交一个属性操作清单，版本号加一；初始（不含任何属性）版本号为0
+     *
+     * @return 快照版本号
+     */
+    long version();
+}
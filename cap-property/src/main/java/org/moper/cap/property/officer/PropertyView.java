@@ -1,12 +1,18 @@
 package org.moper.cap.property.officer;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 /**
  * 属性视图接口 </br>
  *
- * 用于提供属性的获取能力
+ * 用于提供属性的获取能力 </br>
+ *
+ * 属性键按宽松规则匹配：按 {@link org.moper.cap.property.util.PropertyKeys#canonical(String)}
+ * 归一后查找，{@code server.port}、{@code SERVER_PORT} 与 {@code server.Port} 指向同一个属性；
+ * 多个属性的规范形式相同时，无论以哪种写法查找都得到首选属性：发布者优先级（{@link org.moper.cap.property.publisher.PropertyPublisher#precedence()}）
+ * 最高者，优先级相同时取属性键字典序最小者。首选属性只由属性键与发布者优先级决定，与写入顺序无关
  */
 public interface PropertyView {
 
@@ -63,4 +69,12 @@ public interface PropertyView {
      * @return 属性键集合。若不包含任何属性，则返回空集合
      */
     Set<String> getAllPropertyKeys();
+
+    /**
+     * 获取属性前缀下的全部属性，按规范键排序；规范形式相同的多个属性只返回首选属性（以其原始属性键为键）
+     *
+     * @param prefix 属性前缀，不能为null或blank，如 {@code server.tomcat} 返回 {@code server.tomcat.*} 的全部属性
+     * @return 属性键（原始形式）到原始值的不可变映射。若前缀下没有属性，则返回空映射
+     */
+    Map<String, Object> getSubtree(String prefix);
 }
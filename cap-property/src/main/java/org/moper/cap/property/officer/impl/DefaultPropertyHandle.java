@@ -0,0 +1,85 @@
+package org.moper.cap.property.officer.impl;
+
+import org.moper.cap.common.converter.TypeResolver;
+import org.moper.cap.property.officer.PropertyHandle;
+
+/**
+ * 属性句柄的默认实现
+ *
+ * <p>{@code current} 保存转换后的值本身；属性不存在时为 {@link #ABSENT}，转换失败时为 {@link Failure}，
+ * 读取时原样抛出转换异常，与 {@code getPropertyValue} 的行为一致。
+ * 只有 {@link DefaultPropertyOfficer} 在属性写入锁内调用 {@link #update(Object, boolean)}。
+ */
+final class DefaultPropertyHandle<T> implements PropertyHandle<T> {
+
+    private static final Object ABSENT = new Object();
+
+    private record Failure(RuntimeException error) {}
+
+    private final String key;
+
+    private final Class<T> type;
+
+    private final TypeResolver resolver;
+
+    private volatile Object current = ABSENT;
+
+    DefaultPropertyHandle(String key, Class<T> type, TypeResolver resolver) {
+        this.key = key;
+        this.type = type;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public Class<T> type() {
+        return type;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object value = current;
+        if (value == ABSENT) {
+            return null;
+        }
+        if (value instanceof Failure failure) {
+            throw failure.error();
+        }
+        return (T) value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return current != ABSENT;
+    }
+
+    /**
+     * 转换新的原始值并替换当前值
+     *
+     * @param rawValue 原始值
+     * @param present  属性是否存在，为false时忽略原始值
+     */
+    void update(Object rawValue, boolean present) {
+        if (!present) {
+            current = ABSENT;
+            return;
+        }
+        Object converted;
+        try {
+            converted = resolver.resolve(rawValue, type);
+        } catch (RuntimeException e) {
+            converted = new Failure(e);
+        }
+        current = converted == null ? ABSENT : converted;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyHandle[" + key + ", " + type.getSimpleName() + "]";
+    }
+}
@@ -2,6 +2,7 @@ package org.moper.cap.property.officer.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.property.PropertyDefinition;
+import org.moper.cap.property.event.PropertyChangeBatch;
 import org.moper.cap.property.event.PropertyManifest;
 import org.moper.cap.property.event.PropertyOperation;
 import org.moper.cap.property.event.PropertyRemoveOperation;
@@ -9,28 +10,40 @@ import org.moper.cap.property.event.PropertySetOperation;
 import org.moper.cap.property.exception.PropertyConflictException;
 import org.moper.cap.property.exception.PropertyNotFoundException;
 import org.moper.cap.property.exception.PropertyValidationException;
+import org.moper.cap.property.officer.PropertyChangeRecord;
+import org.moper.cap.property.officer.PropertyDeliveryMetrics;
+import org.moper.cap.property.officer.PropertyHandle;
 import org.moper.cap.property.officer.PropertyOfficer;
+import org.moper.cap.property.officer.PropertySnapshot;
 import org.moper.cap.property.publisher.PropertyPublisher;
 import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
 import org.moper.cap.common.converter.TypeResolver;
 import org.moper.cap.property.subscriber.PropertySubscriber;
 import org.moper.cap.property.subscriber.PropertySubscription;
+import org.moper.cap.property.util.PropertyKeys;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 @Slf4j
 public final class DefaultPropertyOfficer implements PropertyOfficer {
 
-    private final static int DEFAULT_THREAD_POOL_SIZE = 4;
-
     private final String name;
 
-    private final Map<String, PropertyDefinition> core = new ConcurrentHashMap<>();
+    /**
+     * 当前已提交的属性快照，属性操作清单在写入锁内复制修改后以一次引用替换发布
+     */
+    private volatile DefaultPropertySnapshot current;
 
     private final Map<String, PropertyPublisher> publishers = new ConcurrentHashMap<>();
 
@@ -38,29 +51,113 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
 
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
+    /**
+     * 属性写入锁：属性清单的处理与新订阅的注册互斥，保证属性归属检查与写入是原子的；
+     * 新订阅在锁内确定回放的内容并加入通道索引，订阅者不会漏收或重复收到通知。订阅者回调不在锁内执行
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * 订阅客户端的交付通道，key = 订阅客户端名称；与 subscriptions 一起在属性写入锁内修改
+     */
+    private final Map<String, SubscriptionChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * 按订阅者的选择器建立的交付通道索引，在属性写入锁内访问
+     */
+    private final SubscriberIndex<SubscriptionChannel> channelIndex = new SubscriberIndex<>();
+
+    /**
+     * 每个发布者最后一个异步属性操作清单的处理任务，同一发布者的异步清单按接收顺序依次处理
+     */
+    private final Map<String, CompletableFuture<Void>> ingestionTails = new ConcurrentHashMap<>();
+
+    /**
+     * 属性句柄，key = 属性键，value = 按属性值类型区分的句柄；句柄的创建与更新在属性写入锁内进行
+     */
+    private final Map<String, Map<Class<?>, DefaultPropertyHandle<?>>> handles = new ConcurrentHashMap<>();
+
+    /**
+     * 属性句柄的属性键按规范键归集，key = 规范键，value = 规范形式相同的句柄属性键；
+     * 属性变更时据此找到按宽松规则指向该属性的句柄，只在属性写入锁内访问
+     */
+    private final Map<String, Set<String>> handleKeys = new HashMap<>();
+
+    /**
+     * 异步清单处理与变更交付共用的虚拟线程执行器
+     */
     private final ExecutorService executorService;
 
     private final TypeResolver resolver;
 
+    /**
+     * 属性变更审计日志，在属性写入锁内追加
+     */
+    private final PropertyChangeLog changeLog;
+
+    /**
+     * 同步接收的清单等待变更交付的最长时间，为 0 时不等待
+     */
+    private final long deliveryTimeoutNanos;
+
+    /**
+     * 审计日志默认保留的变更记录数量
+     */
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 1024;
+
+    /**
+     * 同步接收的清单默认等待变更交付的最长时间：不等待，清单提交并把变更放入各订阅客户端的交付队列后即返回
+     */
+    public static final Duration DEFAULT_DELIVERY_TIMEOUT = Duration.ZERO;
+
     public DefaultPropertyOfficer(String name, TypeResolver resolver) {
-        this(name, DEFAULT_THREAD_POOL_SIZE, resolver);
+        this(name, resolver, DEFAULT_CHANGE_LOG_CAPACITY, null);
     }
 
+    /**
+     * 变更已改为在每个订阅客户端各自的虚拟线程队列上交付，不再使用固定大小的线程池
+     *
+     * @param threadPoolSize 已忽略
+     * @deprecated 使用 {@link #DefaultPropertyOfficer(String, TypeResolver)}
+     */
+    @Deprecated
     public DefaultPropertyOfficer(String name, int threadPoolSize, TypeResolver resolver) {
+        this(name, resolver);
+    }
+
+    /**
+     * @param changeLogCapacity  审计日志保留的变更记录数量，为 0 时不记录
+     * @param changeLogSpillFile 审计日志的溢写文件，变更记录被异步追加到该文件中；为null时不溢写
+     */
+    public DefaultPropertyOfficer(String name, TypeResolver resolver, int changeLogCapacity, Path changeLogSpillFile) {
+        this(name, resolver, changeLogCapacity, changeLogSpillFile, DEFAULT_DELIVERY_TIMEOUT);
+    }
+
+    /**
+     * @param changeLogCapacity  审计日志保留的变更记录数量，为 0 时不记录
+     * @param changeLogSpillFile 审计日志的溢写文件，变更记录被异步追加到该文件中；为null时不溢写
+     * @param deliveryTimeout    同步接收的清单与新订阅的回放等待交付完成的最长时间，超时后记录警告并返回，
+     *                           变更仍会在交付线程上继续交付；为 0 时不等待（默认）
+     */
+    public DefaultPropertyOfficer(String name, TypeResolver resolver, int changeLogCapacity, Path changeLogSpillFile,
+                                  Duration deliveryTimeout) {
         if(name == null || name.isBlank()) {
             throw new IllegalArgumentException("PropertyOfficer name cannot be null or blank");
         }
 
-        if (threadPoolSize <= 0) {
-            throw new IllegalArgumentException("Thread pool size must be greater than 0");
-        }
-
         if (resolver == null) {
             throw new IllegalArgumentException("TypeResolver cannot be null");
         }
+
+        if (deliveryTimeout == null || deliveryTimeout.isNegative()) {
+            throw new IllegalArgumentException("PropertyOfficer delivery timeout cannot be null or negative");
+        }
         this.name = name;
-        this.executorService = Executors.newFixedThreadPool(threadPoolSize);
+        this.deliveryTimeoutNanos = deliveryTimeout.toNanos();
+        this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("property-officer-" + name + "-", 0).factory());
         this.resolver = resolver;
+        this.current = new DefaultPropertySnapshot(0, PropertyTrie.EMPTY, PropertyKeyIndex.EMPTY, resolver);
+        this.changeLog = new PropertyChangeLog(changeLogCapacity, changeLogSpillFile, executorService);
     }
 
     /**
@@ -77,10 +174,11 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
         checkManifest(manifest);
 
         String operator = manifest.operator();
-        log.info("PropertyOfficer Received property manifest, operator: {}, operations count: {}", operator, manifest.operations().size());
+        log.debug("PropertyOfficer Received property manifest, operator: {}, operations count: {}", operator, manifest.operations().size());
 
-        processAllPropertyOperations(operator, manifest.operations());
-        log.info("Property manifest from [{}] processed Success!", operator);
+        Commit commit = processAllPropertyOperations(operator, manifest.operations());
+        awaitDelivery(commit);
+        log.debug("Property manifest from [{}] processed Success!", operator);
     }
 
     @Override
@@ -89,74 +187,98 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
         checkManifest(manifest);
 
         String operator = manifest.operator();
-        log.info("PropertyOfficer Received property async manifest, operator: {}, operations count: {}", operator, manifest.operations().size());
+        log.debug("PropertyOfficer Received property async manifest, operator: {}, operations count: {}", operator, manifest.operations().size());
 
-        executorService.submit(() -> {
+        Runnable task = () -> {
             try {
                 processAllPropertyOperations(operator, manifest.operations());
-                log.info("Property manifest from [{}] processed asynchronously, total subscriptions: {}", operator, subscriptions.size());
+                log.debug("Property manifest from [{}] processed asynchronously, total subscriptions: {}", operator, subscriptions.size());
             } catch (Exception e) {
                 log.error("Failed to process property manifest from [{}] asynchronously", operator, e);
             }
-        });
+        };
+        // 接在同一发布者上一个异步清单之后执行，保证同一发布者的清单按接收顺序提交
+        ingestionTails.compute(operator, (key, tail) -> tail == null || tail.isDone()
+                ? CompletableFuture.runAsync(task, executorService)
+                : tail.thenRunAsync(task, executorService));
     }
 
     @Override
     public Object getRawPropertyValue(String key) {
-        if (key == null || key.isBlank()) {
-            throw new IllegalArgumentException("Property key cannot be null or blank");
-        }
-
-        PropertyDefinition def = core.get(key);
-        if (def == null) return null;
-        else return def.value();
+        return current.getRawPropertyValue(key);
     }
 
     @Override
     public <T> T getPropertyValue(String key, Class<T> type) {
-        Object value = getRawPropertyValue(key);
-        return resolver.resolve(value, type);
+        return current.getPropertyValue(key, type);
     }
 
     @Override
     public <T> T getPropertyValueOrDefault(String key, Class<T> type, T rawDefaultValue) {
-        if (rawDefaultValue == null) {
-            throw new IllegalArgumentException("Default value cannot be null");
-        }
-
-        Object value = getRawPropertyValue(key);
-        if (value == null) return rawDefaultValue;
-        else return resolver.resolve(value, type);
+        return current.getPropertyValueOrDefault(key, type, rawDefaultValue);
     }
 
     @Override
     public <T> Optional<T> getPropertyValueOptional(String key, Class<T> type) {
-        Object value = getRawPropertyValue(key);
-        if(value == null) return Optional.empty();
-        else return Optional.of(resolver.resolve(value, type));
+        return current.getPropertyValueOptional(key, type);
     }
 
     @Override
     public boolean containsProperty(String key) {
+        return current.containsProperty(key);
+    }
+
+    @Override
+    public Set<String> getAllPropertyKeys() {
+        return current.getAllPropertyKeys();
+    }
+
+    @Override
+    public Map<String, Object> getSubtree(String prefix) {
+        return current.getSubtree(prefix);
+    }
+
+    @Override
+    public PropertySnapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> PropertyHandle<T> handle(String key, Class<T> type) {
         if (key == null || key.isBlank()) {
             throw new IllegalArgumentException("Property key cannot be null or blank");
         }
 
-        return core.containsKey(key);
-    }
+        if (type == null) {
+            throw new IllegalArgumentException("Property type cannot be null");
+        }
 
-    @Override
-    public Set<String> getAllPropertyKeys() {
-        return Set.copyOf(core.keySet());
+        Map<Class<?>, DefaultPropertyHandle<?>> byType = handles.get(key);
+        DefaultPropertyHandle<?> handle = byType == null ? null : byType.get(type);
+        if (handle != null) {
+            return (PropertyHandle<T>) handle;
+        }
+
+        // 在写入锁内以当前值初始化，保证不会错过并发的属性变更
+        synchronized (writeLock) {
+            byType = handles.computeIfAbsent(key, k -> new ConcurrentHashMap<>(2));
+            handle = byType.get(type);
+            if (handle == null) {
+                DefaultPropertyHandle<T> created = new DefaultPropertyHandle<>(key, type, resolver);
+                PropertyDefinition def = current.lookup(key);
+                created.update(def == null ? null : def.value(), def != null);
+                byType.put(type, created);
+                handleKeys.computeIfAbsent(PropertyKeys.canonical(key), k -> new HashSet<>(2)).add(key);
+                handle = created;
+            }
+            return (PropertyHandle<T>) handle;
+        }
     }
 
     @Override
     public PropertyPublisher getPublisher(String name) {
-        return getPublisher(name, () -> {
-            PropertyPublisher publisher = new DefaultPropertyPublisher(name, this);
-            publishers.put(name, publisher);
-            return publisher;
-        });
+        return getPublisher(name, () -> new DefaultPropertyPublisher(name, this));
     }
 
     @Override
@@ -171,15 +293,17 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             throw new IllegalArgumentException("Publisher supplier cannot be null");
         }
 
-        if (publishers.containsKey(name)) {
-            return publishers.get(name);
+        PropertyPublisher existing = publishers.get(name);
+        if (existing != null) {
+            return existing;
         }
         PropertyPublisher publisher = supplier.get();
         if (publisher == null) {
             throw new IllegalArgumentException("Publisher supplier cannot return null");
         }
-        publishers.put(name, publisher);
-        return publisher;
+        // 并发创建同名发布者时以先注册者为准
+        existing = publishers.putIfAbsent(name, publisher);
+        return existing != null ? existing : publisher;
     }
 
     @Override
@@ -204,6 +328,7 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
         if (!publishers.containsKey(name)) return;
 
         PropertyPublisher publisher = publishers.remove(name);
+        ingestionTails.remove(name);
         try {
             publisher.close();
         } catch (Exception e) {
@@ -241,8 +366,9 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             throw new IllegalArgumentException("Subscription supplier cannot be null");
         }
 
-        if(subscriptions.containsKey(name)) {
-            return subscriptions.get(name);
+        PropertySubscription existing = subscriptions.get(name);
+        if (existing != null) {
+            return existing;
         }
 
         PropertySubscription subscription = supplier.get();
@@ -250,18 +376,25 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             throw new IllegalArgumentException("Subscription supplier cannot return null");
         }
 
-        subscriptions.put(name, subscription);
-
-        for (@SuppressWarnings("rawtypes") PropertySubscriber subscriber : subscription) {
-            for(Map.Entry<String, PropertyDefinition> entry : core.entrySet()) {
-                String key = entry.getKey();
-                Object value = entry.getValue().value();
-                if(!subscriber.selector().matches(key)) continue;
-                subscriber.onSet(resolver.resolve(value, subscriber.getSubscribeType()));
-                log.debug("Subscriber [{}] notified of property [{}] set", subscriber, key);
+        SubscriptionChannel channel;
+        long version;
+        synchronized (writeLock) {
+            existing = subscriptions.putIfAbsent(name, subscription);
+            if (existing != null) {
+                return existing;
+            }
 
+            // 回放作为通道的第一个待交付内容，在交付线程上回调订阅者，写入锁内只计算需要回放的属性
+            channel = new SubscriptionChannel(subscription, resolver, executorService);
+            version = current.version();
+            channel.replay(current);
+            channels.put(name, channel);
+            for (PropertySubscriber<?> subscriber : subscription) {
+                channelIndex.add(subscriber.selector(), channel);
             }
         }
+        // 与同步接收的清单一样，配置了交付超时时在写入锁外等待回放交付完成后返回
+        awaitDelivery(new Commit(version, List.of(channel)));
 
         return subscription;
     }
@@ -284,9 +417,16 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             throw new IllegalArgumentException("Subscription cannot be null");
         }
 
-        if (!subscriptions.containsKey(name)) return;
-
-        PropertySubscription subscription = subscriptions.remove(name);
+        PropertySubscription subscription;
+        SubscriptionChannel channel;
+        synchronized (writeLock) {
+            subscription = subscriptions.remove(name);
+            if (subscription == null) return;
+            channel = removeChannel(name);
+        }
+        if (channel != null) {
+            channel.close();
+        }
         try {
             subscription.close();
         } catch (Exception ex) {
@@ -302,6 +442,24 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
         return Set.copyOf(subscriptions.values());
     }
 
+    @Override
+    public Map<String, PropertyDeliveryMetrics> getDeliveryMetrics() {
+        Map<String, PropertyDeliveryMetrics> metrics = new TreeMap<>();
+        for (Map.Entry<String, SubscriptionChannel> entry : channels.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().metrics());
+        }
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    @Override
+    public List<PropertyChangeRecord> getChangeHistory(Predicate<? super PropertyChangeRecord> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Change history filter cannot be null");
+        }
+
+        return Collections.unmodifiableList(changeLog.history(filter));
+    }
+
     @Override
     public boolean isClosed() {
         return closed.get();
@@ -321,6 +479,10 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             }
         }
 
+        for (SubscriptionChannel channel : channels.values()) {
+            channel.close();
+        }
+
         for(PropertySubscription subscription : subscriptions.values()) {
             try {
                 subscription.close();
@@ -329,6 +491,8 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             }
         }
 
+        changeLog.close();
+
         executorService.shutdown();
 
         log.info("PropertyOfficer closed");
@@ -350,29 +514,122 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
         }
     }
 
-    private void processAllPropertyOperations(String operator, List<PropertyOperation> operations) {
-        for (PropertyOperation operation : operations) {
-            switch (operation) {
-                case PropertySetOperation(String propertyKey, Object newValue) -> processPropertySetOperation(operator, propertyKey, newValue);
-                case PropertyRemoveOperation(String propertyKey) -> processPropertyRemoveOperation(operator, propertyKey);
+    /**
+     * 已提交的属性操作清单
+     *
+     * @param version  提交后的快照版本号
+     * @param channels 收到变更批次的交付通道
+     */
+    private record Commit(long version, Collection<SubscriptionChannel> channels) {}
+
+    /**
+     * 在写入锁内把属性操作清单应用到当前快照的副本上，全部操作校验通过后以一次引用替换提交新快照，
+     * 任何操作失败时清单中的全部操作都不生效；提交之后才更新属性句柄，并把变更批次放入相关订阅客户端的交付通道
+     */
+    private Commit processAllPropertyOperations(String operator, List<PropertyOperation> operations) {
+        synchronized (writeLock) {
+            DefaultPropertySnapshot base = current;
+            PropertyTrie properties = base.properties();
+            PropertyKeyIndex keyIndex = base.keyIndex();
+            // 异步清单处理时发布者可能已被销毁，此时按默认优先级处理
+            PropertyPublisher publisher = publishers.get(operator);
+            int precedence = publisher == null ? 0 : publisher.precedence();
+            // 开启审计日志时记录每个操作之前的属性定义，清单提交后再写入审计日志
+            PropertyDefinition[] previous = changeLog.isEnabled() ? new PropertyDefinition[operations.size()] : null;
+            int index = 0;
+            for (PropertyOperation operation : operations) {
+                if (previous != null) {
+                    previous[index++] = properties.get(operation.key());
+                }
+                PropertyTrie applied = switch (operation) {
+                    case PropertySetOperation(String propertyKey, Object newValue) -> applyPropertySetOperation(properties, operator, propertyKey, newValue);
+                    case PropertyRemoveOperation(String propertyKey) -> applyPropertyRemoveOperation(properties, operator, propertyKey);
+                };
+                // 只有属性的加入与移除才修改规范键索引，修改属性值不影响索引
+                if (applied.size() > properties.size()) {
+                    keyIndex = keyIndex.with(operation.key(), precedence);
+                } else if (applied.size() < properties.size()) {
+                    keyIndex = keyIndex.without(operation.key());
+                }
+                properties = applied;
+            }
+            long version = base.version() + 1;
+            current = new DefaultPropertySnapshot(version, properties, keyIndex, resolver);
+            Instant committedAt = Instant.now();
+            if (previous != null) {
+                recordChanges(version, operator, operations, previous, committedAt);
+            }
+
+            // 按交付通道归集变更，同一属性键只保留清单中的最后一次操作
+            Map<SubscriptionChannel, Map<String, PropertyOperation>> routed = new LinkedHashMap<>();
+            for (PropertyOperation operation : operations) {
+                updateHandles(operation.key());
+                channelIndex.forEachMatching(operation.key(), channel ->
+                        routed.computeIfAbsent(channel, c -> new LinkedHashMap<>()).put(operation.key(), operation));
+            }
+            for (Map.Entry<SubscriptionChannel, Map<String, PropertyOperation>> entry : routed.entrySet()) {
+                entry.getKey().enqueue(new PropertyChangeBatch(version, committedAt, 1, List.copyOf(entry.getValue().values())), base, current);
+            }
+            return new Commit(version, routed.keySet());
+        }
+    }
+
+    private void recordChanges(long version, String operator, List<PropertyOperation> operations,
+                               PropertyDefinition[] previous, Instant committedAt) {
+        for (int i = 0; i < previous.length; i++) {
+            PropertyDefinition oldDef = previous[i];
+            int oldHash = oldDef == null ? 0 : Objects.hashCode(oldDef.value());
+            switch (operations.get(i)) {
+                case PropertySetOperation(String propertyKey, Object newValue) -> changeLog.append(version, propertyKey, operator,
+                        oldDef == null ? PropertyChangeRecord.Type.ADD : PropertyChangeRecord.Type.UPDATE,
+                        oldHash, Objects.hashCode(newValue), committedAt);
+                case PropertyRemoveOperation(String propertyKey) -> changeLog.append(version, propertyKey, operator,
+                        PropertyChangeRecord.Type.REMOVE, oldHash, 0, committedAt);
             }
         }
+        changeLog.appended();
     }
 
-    private void processPropertySetOperation(String operator, String propertyKey, Object newValue) {
-        PropertyDefinition oldDef = core.get(propertyKey);
+    /**
+     * 配置了交付超时时，同步接收的清单在交付完成后才返回，最多等待 {@link #deliveryTimeoutNanos}，
+     * 超时的订阅客户端记录警告后不再等待；在订阅者回调或属性写入锁内发起的嵌套发布不等待，避免相互等待
+     */
+    private void awaitDelivery(Commit commit) {
+        if (deliveryTimeoutNanos == 0 || SubscriptionChannel.isDeliveryThread() || Thread.holdsLock(writeLock)) {
+            return;
+        }
+        long deadline = System.nanoTime() + deliveryTimeoutNanos;
+        for (SubscriptionChannel channel : commit.channels()) {
+            if (!channel.awaitDelivered(commit.version(), deadline)) {
+                log.warn("Property changes of version {} not delivered to subscription [{}] within {} ms, continuing without waiting",
+                        commit.version(), channel.subscription().name(), TimeUnit.NANOSECONDS.toMillis(deliveryTimeoutNanos));
+            }
+        }
+    }
+
+    private SubscriptionChannel removeChannel(String subscriptionName) {
+        SubscriptionChannel channel = channels.remove(subscriptionName);
+        if (channel != null) {
+            for (PropertySubscriber<?> subscriber : channel.subscription()) {
+                channelIndex.remove(subscriber.selector(), channel);
+            }
+        }
+        return channel;
+    }
+
+    private PropertyTrie applyPropertySetOperation(PropertyTrie properties, String operator, String propertyKey, Object newValue) {
+        PropertyDefinition oldDef = properties.get(propertyKey);
         if(oldDef != null && !oldDef.publisher().equals(operator)){
             log.warn("Property [{}] already exists and owned by [{}], forbidden to update by [{}]", propertyKey, oldDef.publisher(), operator);
             throw new PropertyConflictException("Property key " + propertyKey + " already exists and is owned by publisher " + oldDef.publisher());
         }
 
         PropertyDefinition newDef = oldDef == null ? PropertyDefinition.of(propertyKey, newValue, operator) : oldDef.withValue(newValue);
-        core.put(propertyKey, newDef);
-        notifyAllSubscriberSetOperation(propertyKey, newValue);
+        return properties.with(newDef);
     }
 
-    private void processPropertyRemoveOperation(String operator, String propertyKey) {
-        PropertyDefinition oldDef = core.get(propertyKey);
+    private PropertyTrie applyPropertyRemoveOperation(PropertyTrie properties, String operator, String propertyKey) {
+        PropertyDefinition oldDef = properties.get(propertyKey);
         if (oldDef == null) {
             log.warn("Property [{}] does not exist, cannot be removed by [{}]", propertyKey, operator);
             throw new PropertyNotFoundException("Property key " + propertyKey + " does not exist");
@@ -380,27 +637,21 @@ public final class DefaultPropertyOfficer implements PropertyOfficer {
             log.warn("Property [{}] already exists and owned by [{}], forbidden to remove by [{}]", propertyKey, oldDef.publisher(), operator);
             throw new PropertyConflictException("Property key " + propertyKey + " already exists and is owned by publisher " + oldDef.publisher());
         } else {
-            core.remove(propertyKey);
-            notifyAllSubscriberRemoveOperation(propertyKey);
+            return properties.without(propertyKey);
         }
     }
 
-    private void notifyAllSubscriberSetOperation(String propertyKey, Object newValue) {
-        for (PropertySubscription subscription : subscriptions.values()) {
-            for (@SuppressWarnings("rawtypes") PropertySubscriber subscriber : subscription) {
-                if (!subscriber.selector().matches(propertyKey)) continue;
-                subscriber.onSet(resolver.resolve(newValue, subscriber.getSubscribeType()));
-                log.debug("Subscriber [{}] notified of property [{}] set", subscriber, propertyKey);
-            }
-        }
-    }
-
-    private void notifyAllSubscriberRemoveOperation(String propertyKey) {
-        for (PropertySubscription subscription : subscriptions.values()) {
-            for (@SuppressWarnings("rawtypes") PropertySubscriber subscriber : subscription) {
-                if (!subscriber.selector().matches(propertyKey)) continue;
-                subscriber.onRemoved();
-                log.debug("Subscriber [{}] notified of property [{}] remove", subscriber, propertyKey);
+    /**
+     * 以提交后的快照更新按宽松规则指向该属性的全部句柄
+     */
+    private void updateHandles(String propertyKey) {
+        if (handleKeys.isEmpty()) return;
+        Set<String> keys = handleKeys.get(PropertyKeys.canonical(propertyKey));
+        if (keys == null) return;
+        for (String key : keys) {
+            PropertyDefinition def = current.lookup(key);
+            for (DefaultPropertyHandle<?> handle : handles.get(key).values()) {
+                handle.update(def == null ? null : def.value(), def != null);
             }
         }
     }
@@ -0,0 +1,135 @@
+package org.moper.cap.property.officer.impl;
+
+import org.moper.cap.common.converter.TypeResolver;
+import org.moper.cap.property.PropertyDefinition;
+import org.moper.cap.property.officer.PropertySnapshot;
+import org.moper.cap.property.util.PropertyKeys;
+
+import java.util.*;
+
+/**
+ * 属性快照的默认实现：版本号、不可变的 {@link PropertyTrie} 与按规范键排序的 {@link PropertyKeyIndex} </br>
+ *
+ * 按属性键查找时总是按规范键查找首选属性，同一属性键的任何写法得到的结果都与 {@link #getSubtree(String)} 一致
+ */
+final class DefaultPropertySnapshot implements PropertySnapshot {
+
+    private final long version;
+
+    private final PropertyTrie properties;
+
+    private final PropertyKeyIndex keyIndex;
+
+    private final TypeResolver resolver;
+
+    DefaultPropertySnapshot(long version, PropertyTrie properties, PropertyKeyIndex keyIndex, TypeResolver resolver) {
+        this.version = version;
+        this.properties = properties;
+        this.keyIndex = keyIndex;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    PropertyTrie properties() {
+        return properties;
+    }
+
+    PropertyKeyIndex keyIndex() {
+        return keyIndex;
+    }
+
+    /**
+     * @return 属性键对应的属性定义，不存在时返回null
+     */
+    PropertyDefinition definition(String key) {
+        return properties.get(key);
+    }
+
+    /**
+     * 按宽松规则查找属性定义：返回规范形式相同的首选属性，即使存在与属性键写法完全相同的属性
+     *
+     * @return 属性定义，不存在时返回null
+     */
+    PropertyDefinition lookup(String key) {
+        return preferred(PropertyKeys.canonical(key));
+    }
+
+    /**
+     * @return 规范键对应的首选属性（发布者优先级最高，优先级相同时属性键字典序最小），不存在时返回null
+     */
+    PropertyDefinition preferred(String canonical) {
+        String key = keyIndex.first(canonical);
+        return key == null ? null : properties.get(key);
+    }
+
+    @Override
+    public Object getRawPropertyValue(String key) {
+        checkKey(key);
+
+        PropertyDefinition def = lookup(key);
+        if (def == null) return null;
+        else return def.value();
+    }
+
+    @Override
+    public <T> T getPropertyValue(String key, Class<T> type) {
+        Object value = getRawPropertyValue(key);
+        return resolver.resolve(value, type);
+    }
+
+    @Override
+    public <T> T getPropertyValueOrDefault(String key, Class<T> type, T rawDefaultValue) {
+        if (rawDefaultValue == null) {
+            throw new IllegalArgumentException("Default value cannot be null");
+        }
+
+        Object value = getRawPropertyValue(key);
+        if (value == null) return rawDefaultValue;
+        else return resolver.resolve(value, type);
+    }
+
+    @Override
+    public <T> Optional<T> getPropertyValueOptional(String key, Class<T> type) {
+        Object value = getRawPropertyValue(key);
+        if(value == null) return Optional.empty();
+        else return Optional.of(resolver.resolve(value, type));
+    }
+
+    @Override
+    public boolean containsProperty(String key) {
+        checkKey(key);
+
+        return lookup(key) != null;
+    }
+
+    @Override
+    public Set<String> getAllPropertyKeys() {
+        Set<String> keys = new HashSet<>(properties.size() * 2);
+        properties.forEach(def -> keys.add(def.key()));
+        return Set.copyOf(keys);
+    }
+
+    @Override
+    public Map<String, Object> getSubtree(String prefix) {
+        checkKey(prefix);
+
+        Map<String, Object> subtree = new LinkedHashMap<>();
+        keyIndex.forEachUnder(PropertyKeys.canonicalPrefix(prefix), key -> subtree.put(key, properties.get(key).value()));
+        return Collections.unmodifiableMap(subtree);
+    }
+
+    private static void checkKey(String key) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Property key cannot be null or blank");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PropertySnapshot[version=" + version + ", size=" + properties.size() + "]";
+    }
+}
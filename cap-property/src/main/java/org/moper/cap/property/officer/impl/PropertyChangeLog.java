@@ -0,0 +1,218 @@
+package org.moper.cap.property.officer.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.property.officer.PropertyChangeRecord;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 属性变更审计日志：容量有限的无锁环形缓冲区 </br>
+ *
+ * <p>写入方以原子自增取得序号，把不可变的 {@link PropertyChangeRecord} 写入序号对应的槽位，
+ * 每条记录的代价固定为一次自增与一次数组写入；缓冲区写满后覆盖最旧的记录。
+ * 读取方不加锁，按序号遍历最近 {@code capacity} 个槽位，槽位中记录的序号与期望不一致时说明已被覆盖（或尚未写入），直接跳过。
+ *
+ * <p>指定了溢写文件时，每次写入后（若没有正在进行的溢写）向执行器提交一次溢写任务，
+ * 由它把上次溢写之后的记录以制表符分隔的文本追加到文件中；溢写落后超过一整圈的记录已被覆盖，
+ * 在文件中以注释行记录丢失的数量。属性读取路径不经过审计日志。
+ */
+@Slf4j
+final class PropertyChangeLog {
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<PropertyChangeRecord> slots;
+
+    /**
+     * 下一条记录的序号
+     */
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * 已完整写入槽位的记录的结束序号，溢写只处理此序号之前的记录
+     */
+    private volatile long published;
+
+    private final Path spillFile;
+
+    private final Executor executor;
+
+    private final AtomicBoolean spillScheduled = new AtomicBoolean(false);
+
+    /**
+     * 溢写锁：保护溢写进度与文件写入，溢写任务与关闭互斥
+     */
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private volatile long spilled;
+
+    private BufferedWriter writer;
+
+    private boolean closed;
+
+    /**
+     * @param capacity  保留的记录数量，为 0 时不记录
+     * @param spillFile 溢写文件，为null时不溢写
+     * @param executor  执行溢写任务的执行器
+     */
+    PropertyChangeLog(int capacity, Path spillFile, Executor executor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("PropertyChangeLog capacity cannot be negative");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.spillFile = spillFile;
+        this.executor = executor;
+    }
+
+    boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * 追加一条变更记录
+     */
+    void append(long version, String key, String publisher, PropertyChangeRecord.Type type,
+                int oldValueHash, int newValueHash, Instant timestamp) {
+        if (capacity == 0) return;
+        long sequence = next.getAndIncrement();
+        slots.set((int) (sequence % capacity),
+                new PropertyChangeRecord(sequence, version, key, publisher, type, oldValueHash, newValueHash, timestamp));
+    }
+
+    /**
+     * 一批记录追加完成后由写入方（{@link DefaultPropertyOfficer} 的属性写入锁内）调用：发布已写入的记录并按需调度溢写
+     */
+    void appended() {
+        published = next.get();
+        if (spillFile != null && spillScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::spill);
+            } catch (RejectedExecutionException e) {
+                spillScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 按提交顺序返回仍保留在缓冲区中且满足条件的记录
+     */
+    List<PropertyChangeRecord> history(Predicate<? super PropertyChangeRecord> filter) {
+        if (capacity == 0) return List.of();
+        long end = next.get();
+        long start = Math.max(0, end - capacity);
+        List<PropertyChangeRecord> records = new ArrayList<>();
+        for (long sequence = start; sequence < end; sequence++) {
+            PropertyChangeRecord record = slots.get((int) (sequence % capacity));
+            if (record != null && record.sequence() == sequence && filter.test(record)) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private void spill() {
+        do {
+            spillLock.lock();
+            try {
+                if (closed) return;
+                spillTo(published);
+            } finally {
+                spillLock.unlock();
+                spillScheduled.set(false);
+            }
+            // 清除标记之后再检查一次，避免丢掉清除标记之前追加的记录
+        } while (spilled < published && spillScheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * 把 [spilled, end) 之间的记录写入溢写文件，调用方持有溢写锁
+     */
+    private void spillTo(long end) {
+        if (spilled >= end) return;
+        try {
+            if (writer == null) {
+                Path parent = spillFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            long dropped = 0;
+            for (long sequence = spilled; sequence < end; sequence++) {
+                PropertyChangeRecord record = slots.get((int) (sequence % capacity));
+                if (record == null || record.sequence() != sequence) {
+                    dropped++;
+                    continue;
+                }
+                if (dropped > 0) {
+                    writer.write("# dropped " + dropped + " records before sequence " + sequence + "\n");
+                    dropped = 0;
+                }
+                writeRecord(record);
+            }
+            if (dropped > 0) {
+                writer.write("# dropped " + dropped + " records before sequence " + end + "\n");
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Failed to spill property change records to [{}]", spillFile, e);
+        }
+        spilled = end;
+    }
+
+    private void writeRecord(PropertyChangeRecord record) throws IOException {
+        writer.write(Long.toString(record.sequence()));
+        writer.write('\t');
+        writer.write(Long.toString(record.version()));
+        writer.write('\t');
+        writer.write(record.timestamp().toString());
+        writer.write('\t');
+        writer.write(record.type().name());
+        writer.write('\t');
+        writer.write(record.key());
+        writer.write('\t');
+        writer.write(record.publisher());
+        writer.write('\t');
+        writer.write(Integer.toHexString(record.oldValueHash()));
+        writer.write('\t');
+        writer.write(Integer.toHexString(record.newValueHash()));
+        writer.write('\n');
+    }
+
+    /**
+     * 溢写剩余的记录并关闭溢写文件
+     */
+    void close() {
+        if (spillFile == null) return;
+        spillLock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            spillTo(published);
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close property change spill file [{}]", spillFile, e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+}
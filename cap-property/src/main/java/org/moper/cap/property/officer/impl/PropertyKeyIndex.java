@@ -0,0 +1,220 @@
+package org.moper.cap.property.officer.impl;
+
+import org.moper.cap.property.util.PropertyKeys;
+
+import java.util.function.Consumer;
+
+/**
+ * 按规范键（{@link PropertyKeys#canonical(String)}）排序的属性键索引，持久化树堆（treap）实现
+ *
+ * <p>实例不可变：{@link #with(String, int)} 与 {@link #without(String)} 返回新的索引，
+ * 只复制从根到被修改节点的路径（期望深度为 O(log n)），其余节点与旧索引共享，旧版本在被引用期间保持完整可读。
+ * 节点优先级由规范键的哈希值决定，相同的键集合总是得到相同形状的树。
+ *
+ * <p>每个节点对应一个规范键，保存规范形式相同的全部属性键及其发布者优先级，
+ * 按优先级从高到低、优先级相同时按属性键的字典序排列，排在第一位的属性键即该规范键的首选属性键；
+ * 排列只由属性键与优先级决定，与写入顺序无关，属性被移除后重新写入不会改变首选属性键。
+ * 属性值的修改不改变索引，只有属性的加入与移除才会复制路径。
+ * 规范键有序，因此某个前缀下的全部属性键是一段连续区间，可以在 O(log n + m) 内遍历。
+ */
+final class PropertyKeyIndex {
+
+    static final PropertyKeyIndex EMPTY = new PropertyKeyIndex(null);
+
+    private final Node root;
+
+    private PropertyKeyIndex(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return 规范键对应的首选属性键（优先级最高），不存在时返回null
+     */
+    String first(String canonical) {
+        Node node = root;
+        while (node != null) {
+            int cmp = canonical.compareTo(node.canonical);
+            if (cmp == 0) {
+                return node.keys[0];
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * @param precedence 写入该属性的发布者的优先级
+     * @return 加入属性键后的新索引，属性键已以相同优先级存在时返回自身
+     */
+    PropertyKeyIndex with(String key, int precedence) {
+        String canonical = PropertyKeys.canonical(key);
+        Node newRoot = insert(root, canonical, priority(canonical), key, precedence);
+        return newRoot == root ? this : new PropertyKeyIndex(newRoot);
+    }
+
+    /**
+     * @return 移除属性键后的新索引，属性键不存在时返回自身
+     */
+    PropertyKeyIndex without(String key) {
+        Node newRoot = remove(root, PropertyKeys.canonical(key), key);
+        return newRoot == root ? this : new PropertyKeyIndex(newRoot);
+    }
+
+    /**
+     * 按规范键顺序遍历以规范前缀开头的规范键，对每个规范键传入其首选属性键
+     *
+     * @param canonicalPrefix 规范前缀，为空字符串时遍历全部规范键
+     */
+    void forEachUnder(String canonicalPrefix, Consumer<String> action) {
+        if (canonicalPrefix.isEmpty()) {
+            forEachBetween(root, "", null, action);
+            return;
+        }
+        // 以 prefix 开头的字符串恰好落在 [prefix, prefix 的最后一个字符加一) 之间
+        int last = canonicalPrefix.length() - 1;
+        String upper = canonicalPrefix.substring(0, last) + (char) (canonicalPrefix.charAt(last) + 1);
+        forEachBetween(root, canonicalPrefix, upper, action);
+    }
+
+    /**
+     * @param upper 上界（不含），为null时没有上界
+     */
+    private static void forEachBetween(Node node, String lower, String upper, Consumer<String> action) {
+        while (node != null) {
+            boolean aboveLower = node.canonical.compareTo(lower) >= 0;
+            boolean belowUpper = upper == null || node.canonical.compareTo(upper) < 0;
+            if (aboveLower) {
+                forEachBetween(node.left, lower, upper, action);
+            }
+            if (aboveLower && belowUpper) {
+                action.accept(node.keys[0]);
+            }
+            if (!belowUpper) {
+                return;
+            }
+            node = node.right;
+        }
+    }
+
+    private static int priority(String canonical) {
+        int h = canonical.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Node insert(Node node, String canonical, int priority, String key, int precedence) {
+        if (node == null) {
+            return new Node(canonical, new String[]{key}, new int[]{precedence}, priority, null, null);
+        }
+        int cmp = canonical.compareTo(node.canonical);
+        if (cmp == 0) {
+            int existing = indexOf(node.keys, key);
+            if (existing >= 0 && node.precedences[existing] == precedence) {
+                return node;
+            }
+            String[] keys = node.keys;
+            int[] precedences = node.precedences;
+            if (existing >= 0) {
+                keys = removeAt(keys, existing);
+                precedences = removeAt(precedences, existing);
+            }
+            // 插入到第一个排在它之后的属性键之前
+            int index = 0;
+            while (index < keys.length && (precedences[index] > precedence
+                    || precedences[index] == precedence && keys[index].compareTo(key) < 0)) {
+                index++;
+            }
+            String[] newKeys = new String[keys.length + 1];
+            int[] newPrecedences = new int[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(precedences, 0, newPrecedences, 0, index);
+            newKeys[index] = key;
+            newPrecedences[index] = precedence;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(precedences, index, newPrecedences, index + 1, keys.length - index);
+            return new Node(node.canonical, newKeys, newPrecedences, node.priority, node.left, node.right);
+        }
+        if (cmp < 0) {
+            Node left = insert(node.left, canonical, priority, key, precedence);
+            if (left == node.left) return node;
+            if (left.priority > node.priority) {
+                // 右旋：新的左子节点成为子树的根
+                return new Node(left.canonical, left.keys, left.precedences, left.priority, left.left,
+                        new Node(node.canonical, node.keys, node.precedences, node.priority, left.right, node.right));
+            }
+            return new Node(node.canonical, node.keys, node.precedences, node.priority, left, node.right);
+        }
+        Node right = insert(node.right, canonical, priority, key, precedence);
+        if (right == node.right) return node;
+        if (right.priority > node.priority) {
+            // 左旋：新的右子节点成为子树的根
+            return new Node(right.canonical, right.keys, right.precedences, right.priority,
+                    new Node(node.canonical, node.keys, node.precedences, node.priority, node.left, right.left), right.right);
+        }
+        return new Node(node.canonical, node.keys, node.precedences, node.priority, node.left, right);
+    }
+
+    private static Node remove(Node node, String canonical, String key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = canonical.compareTo(node.canonical);
+        if (cmp < 0) {
+            Node left = remove(node.left, canonical, key);
+            return left == node.left ? node : new Node(node.canonical, node.keys, node.precedences, node.priority, left, node.right);
+        }
+        if (cmp > 0) {
+            Node right = remove(node.right, canonical, key);
+            return right == node.right ? node : new Node(node.canonical, node.keys, node.precedences, node.priority, node.left, right);
+        }
+        int index = indexOf(node.keys, key);
+        if (index < 0) {
+            return node;
+        }
+        if (node.keys.length > 1) {
+            return new Node(node.canonical, removeAt(node.keys, index), removeAt(node.precedences, index),
+                    node.priority, node.left, node.right);
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * 合并两棵子树，左子树的全部规范键小于右子树
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            return new Node(left.canonical, left.keys, left.precedences, left.priority, left.left, merge(left.right, right));
+        }
+        return new Node(right.canonical, right.keys, right.precedences, right.priority, merge(left, right.left), right.right);
+    }
+
+    private static String[] removeAt(String[] array, int index) {
+        String[] copy = new String[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+        return copy;
+    }
+
+    private static int[] removeAt(int[] array, int index) {
+        int[] copy = new int[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+        return copy;
+    }
+
+    private static int indexOf(String[] keys, String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param keys        规范形式相同的属性键，按优先级从高到低、属性键字典序排列
+     * @param precedences 与 keys 一一对应的发布者优先级
+     */
+    private record Node(String canonical, String[] keys, int[] precedences, int priority, Node left, Node right) {}
+}
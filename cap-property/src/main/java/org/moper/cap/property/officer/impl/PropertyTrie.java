@@ -0,0 +1,308 @@
+package org.moper.cap.property.officer.impl;
+
+import org.moper.cap.property.PropertyDefinition;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 以属性键索引 {@link PropertyDefinition} 的持久化哈希数组映射树（HAMT）
+ *
+ * <p>实例不可变：{@link #with(PropertyDefinition)} 与 {@link #without(String)} 返回新的树，
+ * 只复制从根到被修改叶子的路径（每层最多 32 个槽位，共 7 层），其余节点与旧树共享，
+ * 因此每次修改的代价与属性总数基本无关，旧版本在被引用期间保持完整可读。
+ *
+ * <p>每层取哈希值的 5 位作为槽位，节点用 32 位位图标记已占用的槽位，槽位中存放叶子（{@link PropertyDefinition}）或子节点；
+ * 哈希值完全相同的属性键放在冲突节点中。
+ */
+final class PropertyTrie {
+
+    static final PropertyTrie EMPTY = new PropertyTrie(BitmapNode.EMPTY, 0);
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+
+    private final int size;
+
+    private PropertyTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return 属性键对应的属性定义，不存在时返回null
+     */
+    PropertyDefinition get(String key) {
+        return root.find(0, hash(key), key);
+    }
+
+    /**
+     * @return 加入（或替换）属性定义后的新树
+     */
+    PropertyTrie with(PropertyDefinition definition) {
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(0, hash(definition.key()), definition, added);
+        return new PropertyTrie(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return 移除属性键后的新树，属性键不存在时返回自身
+     */
+    PropertyTrie without(String key) {
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? EMPTY : new PropertyTrie(newRoot, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 遍历全部属性定义，顺序由哈希值决定
+     */
+    void forEach(Consumer<PropertyDefinition> action) {
+        root.forEach(action);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int fragment(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private sealed interface Node permits BitmapNode, CollisionNode {
+
+        PropertyDefinition find(int shift, int hash, String key);
+
+        Node put(int shift, int hash, PropertyDefinition definition, boolean[] added);
+
+        /**
+         * @return 移除后的节点；属性键不存在时返回自身，节点变空时返回null
+         */
+        Node remove(int shift, int hash, String key);
+
+        /**
+         * @return 节点只包含一个属性定义时返回它，否则返回null
+         */
+        PropertyDefinition singleLeaf();
+
+        void forEach(Consumer<PropertyDefinition> action);
+    }
+
+    private static final class BitmapNode implements Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        /**
+         * 按槽位顺序排列的叶子（PropertyDefinition）或子节点（Node）
+         */
+        private final Object[] entries;
+
+        BitmapNode(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public PropertyDefinition find(int shift, int hash, String key) {
+            int bit = 1 << fragment(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object entry = entries[index(bit)];
+            if (entry instanceof PropertyDefinition definition) {
+                return definition.key().equals(key) ? definition : null;
+            }
+            return ((Node) entry).find(shift + BITS, hash, key);
+        }
+
+        @Override
+        public Node put(int shift, int hash, PropertyDefinition definition, boolean[] added) {
+            int bit = 1 << fragment(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[entries.length + 1];
+                System.arraycopy(entries, 0, copy, 0, index);
+                copy[index] = definition;
+                System.arraycopy(entries, index, copy, index + 1, entries.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object entry = entries[index];
+            Object replacement;
+            if (entry instanceof PropertyDefinition existing) {
+                if (existing.key().equals(definition.key())) {
+                    replacement = definition;
+                } else {
+                    replacement = merge(shift + BITS, existing, hash(existing.key()), definition, hash);
+                    added[0] = true;
+                }
+            } else {
+                replacement = ((Node) entry).put(shift + BITS, hash, definition, added);
+            }
+            Object[] copy = entries.clone();
+            copy[index] = replacement;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, String key) {
+            int bit = 1 << fragment(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object entry = entries[index];
+            if (entry instanceof PropertyDefinition definition) {
+                return definition.key().equals(key) ? without(bit, index) : this;
+            }
+            Node child = (Node) entry;
+            Node newChild = child.remove(shift + BITS, hash, key);
+            if (newChild == child) {
+                return this;
+            }
+            if (newChild == null) {
+                return without(bit, index);
+            }
+            // 只剩一个属性定义的子节点折叠为叶子，保持树的紧凑
+            PropertyDefinition leaf = newChild.singleLeaf();
+            Object[] copy = entries.clone();
+            copy[index] = leaf != null ? leaf : newChild;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private Node without(int bit, int index) {
+            if (entries.length == 1) {
+                return null;
+            }
+            Object[] copy = new Object[entries.length - 1];
+            System.arraycopy(entries, 0, copy, 0, index);
+            System.arraycopy(entries, index + 1, copy, index, entries.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        @Override
+        public PropertyDefinition singleLeaf() {
+            return entries.length == 1 && entries[0] instanceof PropertyDefinition definition ? definition : null;
+        }
+
+        @Override
+        public void forEach(Consumer<PropertyDefinition> action) {
+            for (Object entry : entries) {
+                if (entry instanceof PropertyDefinition definition) {
+                    action.accept(definition);
+                } else {
+                    ((Node) entry).forEach(action);
+                }
+            }
+        }
+    }
+
+    private static final class CollisionNode implements Node {
+
+        private final int hash;
+
+        private final PropertyDefinition[] definitions;
+
+        CollisionNode(int hash, PropertyDefinition[] definitions) {
+            this.hash = hash;
+            this.definitions = definitions;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < definitions.length; i++) {
+                if (definitions[i].key().equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public PropertyDefinition find(int shift, int hash, String key) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : definitions[index];
+        }
+
+        @Override
+        public Node put(int shift, int hash, PropertyDefinition definition, boolean[] added) {
+            if (hash != this.hash) {
+                // 哈希值不同的属性键：在当前层把冲突节点放入位图节点后再加入
+                BitmapNode wrapper = new BitmapNode(1 << fragment(this.hash, shift), new Object[]{this});
+                return wrapper.put(shift, hash, definition, added);
+            }
+            int index = indexOf(definition.key());
+            PropertyDefinition[] copy;
+            if (index < 0) {
+                copy = Arrays.copyOf(definitions, definitions.length + 1);
+                copy[definitions.length] = definition;
+                added[0] = true;
+            } else {
+                copy = definitions.clone();
+                copy[index] = definition;
+            }
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, String key) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (definitions.length == 1) {
+                return null;
+            }
+            PropertyDefinition[] copy = new PropertyDefinition[definitions.length - 1];
+            System.arraycopy(definitions, 0, copy, 0, index);
+            System.arraycopy(definitions, index + 1, copy, index, definitions.length - index - 1);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public PropertyDefinition singleLeaf() {
+            return definitions.length == 1 ? definitions[0] : null;
+        }
+
+        @Override
+        public void forEach(Consumer<PropertyDefinition> action) {
+            for (PropertyDefinition definition : definitions) {
+                action.accept(definition);
+            }
+        }
+    }
+
+    /**
+     * 为两个落在同一槽位的不同属性键创建子树
+     */
+    private static Node merge(int shift, PropertyDefinition first, int firstHash, PropertyDefinition second, int secondHash) {
+        if (firstHash == secondHash || shift >= Integer.SIZE) {
+            return new CollisionNode(firstHash, new PropertyDefinition[]{first, second});
+        }
+        int firstFragment = fragment(firstHash, shift);
+        int secondFragment = fragment(secondHash, shift);
+        if (firstFragment == secondFragment) {
+            return new BitmapNode(1 << firstFragment, new Object[]{merge(shift + BITS, first, firstHash, second, secondHash)});
+        }
+        Object[] entries = firstFragment < secondFragment ? new Object[]{first, second} : new Object[]{second, first};
+        return new BitmapNode((1 << firstFragment) | (1 << secondFragment), entries);
+    }
+}
@@ -0,0 +1,146 @@
+package org.moper.cap.property.officer.impl;
+
+import org.moper.cap.property.subscriber.PropertySelector;
+import org.moper.cap.property.subscriber.impl.AnyPropertySelector;
+import org.moper.cap.property.subscriber.impl.ExactPropertySelector;
+import org.moper.cap.property.subscriber.impl.PrefixPropertySelector;
+import org.moper.cap.property.subscriber.impl.SinglePropertySelector;
+import org.moper.cap.property.util.PropertyKeys;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 按选择器类型建立的订阅索引
+ *
+ * <p>属性变更时只访问选择器可能匹配该属性键的元素：
+ * <ul>
+ *   <li>{@link SinglePropertySelector}、{@link ExactPropertySelector}：规范键 → 元素列表的散列表，一次查找</li>
+ *   <li>{@link PrefixPropertySelector}、{@link AnyPropertySelector}：按规范前缀的字符展开的前缀树，沿规范键下行，
+ *       收集途经节点上的元素（{@code AnyPropertySelector} 位于根节点）</li>
+ *   <li>其他选择器：线性列表，以原始属性键逐个调用 {@link PropertySelector#matches(String)}</li>
+ * </ul>
+ * 内置选择器按 {@link PropertyKeys#canonical(String)} 宽松匹配，与属性读取的规则一致：
+ * 订阅 {@code server.port} 的元素同样会被 {@code SERVER_PORT} 的变更访问到。
+ *
+ * <p>{@link DefaultPropertyOfficer} 用它把属性键映射到订阅客户端的交付通道，
+ * {@link SubscriptionChannel} 用它把属性键映射到订阅客户端内的订阅者。非线程安全，由持有者负责同步。
+ *
+ * @param <E> 元素类型
+ */
+final class SubscriberIndex<E> {
+
+    private record PredicateEntry<E>(PropertySelector selector, E element) {}
+
+    private final Map<String, List<E>> exact = new HashMap<>();
+
+    private final PrefixNode<E> prefixRoot = new PrefixNode<>();
+
+    private final List<PredicateEntry<E>> predicates = new ArrayList<>();
+
+    /**
+     * 以选择器为索引加入元素
+     */
+    void add(PropertySelector selector, E element) {
+        switch (selector) {
+            case SinglePropertySelector single -> exact.computeIfAbsent(PropertyKeys.canonical(single.propertyKey()), k -> new ArrayList<>(1)).add(element);
+            case ExactPropertySelector keys -> {
+                // 规范形式相同的多个属性键只加入一次
+                for (String key : canonicalKeys(keys)) {
+                    exact.computeIfAbsent(key, k -> new ArrayList<>(1)).add(element);
+                }
+            }
+            case PrefixPropertySelector prefix -> prefixRoot.descend(PropertyKeys.canonical(prefix.prefix()), true).elements.add(element);
+            case AnyPropertySelector ignored -> prefixRoot.elements.add(element);
+            default -> predicates.add(new PredicateEntry<>(selector, element));
+        }
+    }
+
+    /**
+     * 移除以同一选择器加入的元素（按引用比较）
+     */
+    void remove(PropertySelector selector, E element) {
+        switch (selector) {
+            case SinglePropertySelector single -> removeExact(PropertyKeys.canonical(single.propertyKey()), element);
+            case ExactPropertySelector keys -> {
+                for (String key : canonicalKeys(keys)) {
+                    removeExact(key, element);
+                }
+            }
+            case PrefixPropertySelector prefix -> {
+                PrefixNode<E> node = prefixRoot.descend(PropertyKeys.canonical(prefix.prefix()), false);
+                if (node != null) {
+                    removeByIdentity(node.elements, element);
+                }
+            }
+            case AnyPropertySelector ignored -> removeByIdentity(prefixRoot.elements, element);
+            default -> predicates.removeIf(entry -> entry.selector() == selector && entry.element() == element);
+        }
+    }
+
+    /**
+     * 依次访问所有选择了指定属性键的元素；同一元素以多个选择器加入时可能被访问多次
+     */
+    void forEachMatching(String key, Consumer<? super E> action) {
+        String canonical = PropertyKeys.canonical(key);
+        List<E> exactMatches = exact.get(canonical);
+        if (exactMatches != null) {
+            exactMatches.forEach(action);
+        }
+
+        PrefixNode<E> node = prefixRoot;
+        node.elements.forEach(action);
+        for (int i = 0; i < canonical.length(); i++) {
+            node = node.children.get(canonical.charAt(i));
+            if (node == null) break;
+            node.elements.forEach(action);
+        }
+
+        for (PredicateEntry<E> entry : predicates) {
+            if (entry.selector().matches(key)) {
+                action.accept(entry.element());
+            }
+        }
+    }
+
+    private static Set<String> canonicalKeys(ExactPropertySelector selector) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String key : selector.keys()) {
+            keys.add(PropertyKeys.canonical(key));
+        }
+        return keys;
+    }
+
+    private void removeExact(String key, E element) {
+        List<E> list = exact.get(key);
+        if (list != null && removeByIdentity(list, element) && list.isEmpty()) {
+            exact.remove(key);
+        }
+    }
+
+    private static <E> boolean removeByIdentity(List<E> list, E element) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == element) {
+                list.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class PrefixNode<E> {
+
+        private final Map<Character, PrefixNode<E>> children = new HashMap<>(4);
+
+        private final List<E> elements = new ArrayList<>(1);
+
+        PrefixNode<E> descend(String prefix, boolean create) {
+            PrefixNode<E> node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = create ? node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNode<>())
+                        : node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package org.moper.cap.property.officer.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.common.converter.TypeResolver;
+import org.moper.cap.property.PropertyDefinition;
+import org.moper.cap.property.event.PropertyChangeBatch;
+import org.moper.cap.property.event.PropertyOperation;
+import org.moper.cap.property.officer.PropertyDeliveryMetrics;
+import org.moper.cap.property.subscriber.PropertySubscriber;
+import org.moper.cap.property.subscriber.PropertySubscription;
+import org.moper.cap.property.subscriber.impl.AnyPropertySelector;
+import org.moper.cap.property.subscriber.impl.ExactPropertySelector;
+import org.moper.cap.property.subscriber.impl.PrefixPropertySelector;
+import org.moper.cap.property.subscriber.impl.SinglePropertySelector;
+import org.moper.cap.property.util.PropertyKeys;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 订阅客户端的串行交付通道
+ *
+ * <p>每个订阅客户端对应一个通道。通道最多持有一个尚未开始交付的批次：交付积压时新提交的批次合并进去（后写者胜），
+ * 因此积压的内存占用与订阅者的处理速度无关。有待交付的批次时通道在执行器（虚拟线程）上启动一个交付任务，
+ * 依次交付直到没有待交付的批次；同一通道同时只有一个交付任务，不同通道之间互不阻塞。
+ *
+ * <p>订阅者按宽松规则（{@link PropertyKeys#canonical(String)}）订阅属性，通知的是订阅者读取到的属性的变化：
+ * 批次加入通道时（属性写入锁内）比较提交前后的快照，只有订阅者按宽松规则读取到的属性定义发生变化时才通知，
+ * 被优先级更高的同名属性遮蔽的属性变更不会通知订阅者。订阅客户端仍会收到完整的批次。
+ */
+@Slf4j
+final class SubscriptionChannel {
+
+    /**
+     * 当前线程正在交付的通道，用于识别订阅者回调中的嵌套发布
+     */
+    private static final ThreadLocal<SubscriptionChannel> DELIVERING = new ThreadLocal<>();
+
+    private final PropertySubscription subscription;
+
+    /**
+     * 订阅客户端内的订阅者索引，构造完成后只读
+     */
+    private final SubscriberIndex<PropertySubscriber<?>> subscribers = new SubscriberIndex<>();
+
+    private final TypeResolver resolver;
+
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition progress = lock.newCondition();
+
+    // 以下字段由 lock 保护
+    /**
+     * 尚未开始交付的批次；只有初始回放待交付时为null
+     */
+    private PropertyChangeBatch pending;
+    /**
+     * 尚未交付的订阅者通知，value 为订阅者读取到的属性定义，属性被移除时为null；没有待交付的内容时为null
+     */
+    private Map<Target, PropertyDefinition> pendingChanges;
+    private long pendingVersion;
+    private boolean running;
+    private boolean closed;
+    private long deliveredVersion;
+    private long deliveredBatches;
+    private long deliveredManifests;
+    private long coalescedManifests;
+    private long failedCallbacks;
+    private long lastLagNanos;
+    private long maxLagNanos;
+
+    SubscriptionChannel(PropertySubscription subscription, TypeResolver resolver, Executor executor) {
+        this.subscription = subscription;
+        this.resolver = resolver;
+        this.executor = executor;
+        for (PropertySubscriber<?> subscriber : subscription) {
+            subscribers.add(subscriber.selector(), subscriber);
+        }
+    }
+
+    PropertySubscription subscription() {
+        return subscription;
+    }
+
+    /**
+     * 当前线程是否正在交付某个通道的变更（即处于订阅者回调中）
+     */
+    static boolean isDeliveryThread() {
+        return DELIVERING.get() != null;
+    }
+
+    /**
+     * 加入一个已提交的批次；有尚未开始交付的批次时与之合并。在属性写入锁内调用
+     *
+     * @param before 提交前的快照
+     * @param after  提交后的快照
+     */
+    void enqueue(PropertyChangeBatch batch, DefaultPropertySnapshot before, DefaultPropertySnapshot after) {
+        Map<Target, PropertyDefinition> changes = changes(batch, before, after);
+        lock.lock();
+        try {
+            if (closed) return;
+            if (pendingChanges == null) {
+                pending = batch;
+                pendingChanges = changes;
+            } else if (pending == null) {
+                pending = batch;
+                pendingChanges.putAll(changes);
+            } else {
+                pending = pending.merge(batch);
+                pendingChanges.putAll(changes);
+                coalescedManifests += batch.manifestCount();
+            }
+            pendingVersion = batch.version();
+            schedule();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 有待交付的内容且没有正在进行的交付任务时启动交付任务，调用方持有 lock
+     */
+    private void schedule() {
+        if (running) return;
+        running = true;
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            running = false;
+            pending = null;
+            pendingChanges = null;
+            closed = true;
+            progress.signalAll();
+            log.warn("Property change delivery to subscription [{}] rejected, executor is shut down", subscription.name());
+        }
+    }
+
+    /**
+     * 等待包含指定版本的批次交付完成；通道关闭时立即返回
+     *
+     * @param deadline 等待的截止时间（{@link System#nanoTime()}）
+     * @return 交付完成或通道已关闭时返回true，超时或等待被中断时返回false
+     */
+    boolean awaitDelivered(long version, long deadline) {
+        lock.lock();
+        try {
+            while (!closed && deliveredVersion < version) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                progress.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 关闭通道：丢弃尚未开始交付的批次，并等待正在进行的交付结束（在交付线程上调用时不等待）
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending = null;
+            pendingChanges = null;
+            progress.signalAll();
+            while (running && DELIVERING.get() != this) {
+                progress.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 向订阅者回放快照中已存在的属性：按属性键选择的订阅者按宽松规则查找，按前缀选择的订阅者遍历规范键索引，
+     * 其余订阅者遍历全部属性。在属性写入锁内、通道加入索引之前调用；
+     * 回放作为通道的第一个待交付内容，与其他变更一样在交付线程上通知订阅者，之后提交的批次合并在它后面
+     */
+    void replay(DefaultPropertySnapshot snapshot) {
+        Map<Target, PropertyDefinition> changes = new LinkedHashMap<>();
+        for (PropertySubscriber<?> subscriber : subscription) {
+            switch (subscriber.selector()) {
+                case SinglePropertySelector selector -> replayProperty(changes, subscriber, snapshot, selector.propertyKey());
+                case ExactPropertySelector selector -> {
+                    for (String key : selector.keys()) {
+                        replayProperty(changes, subscriber, snapshot, key);
+                    }
+                }
+                case PrefixPropertySelector selector -> replayUnder(changes, subscriber, snapshot, PropertyKeys.canonical(selector.prefix()));
+                case AnyPropertySelector selector -> replayUnder(changes, subscriber, snapshot, "");
+                default -> snapshot.properties().forEach(def -> {
+                    if (subscriber.selector().matches(def.key())) {
+                        changes.put(new Target(subscriber, def.key()), def);
+                    }
+                });
+            }
+        }
+        lock.lock();
+        try {
+            if (closed) return;
+            if (changes.isEmpty()) {
+                // 没有需要回放的属性，通道已经与快照一致
+                deliveredVersion = snapshot.version();
+                return;
+            }
+            pendingChanges = changes;
+            pendingVersion = snapshot.version();
+            schedule();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void replayProperty(Map<Target, PropertyDefinition> changes, PropertySubscriber<?> subscriber,
+                                       DefaultPropertySnapshot snapshot, String key) {
+        PropertyDefinition def = snapshot.lookup(key);
+        if (def != null) {
+            changes.put(new Target(subscriber, key), def);
+        }
+    }
+
+    private static void replayUnder(Map<Target, PropertyDefinition> changes, PropertySubscriber<?> subscriber,
+                                    DefaultPropertySnapshot snapshot, String canonicalPrefix) {
+        snapshot.keyIndex().forEachUnder(canonicalPrefix, key ->
+                changes.put(new Target(subscriber, PropertyKeys.canonical(key)), snapshot.definition(key)));
+    }
+
+    /**
+     * 计算批次中每个属性键对匹配的订阅者的影响：订阅者按宽松规则读取到的属性定义在提交前后不同时才记录
+     */
+    private Map<Target, PropertyDefinition> changes(PropertyChangeBatch batch, DefaultPropertySnapshot before,
+                                                    DefaultPropertySnapshot after) {
+        Map<Target, PropertyDefinition> changes = new LinkedHashMap<>();
+        for (PropertyOperation operation : batch.operations()) {
+            String propertyKey = operation.key();
+            String canonical = PropertyKeys.canonical(propertyKey);
+            subscribers.forEachMatching(propertyKey, subscriber -> {
+                switch (subscriber.selector()) {
+                    case SinglePropertySelector selector -> track(changes, subscriber, selector.propertyKey(),
+                            before.lookup(selector.propertyKey()), after.lookup(selector.propertyKey()));
+                    case ExactPropertySelector selector -> {
+                        for (String key : selector.keys()) {
+                            if (PropertyKeys.canonical(key).equals(canonical)) {
+                                track(changes, subscriber, key, before.lookup(key), after.lookup(key));
+                            }
+                        }
+                    }
+                    case PrefixPropertySelector selector -> track(changes, subscriber, canonical,
+                            before.preferred(canonical), after.preferred(canonical));
+                    case AnyPropertySelector selector -> track(changes, subscriber, canonical,
+                            before.preferred(canonical), after.preferred(canonical));
+                    default -> track(changes, subscriber, propertyKey,
+                            before.definition(propertyKey), after.definition(propertyKey));
+                }
+            });
+        }
+        return changes;
+    }
+
+    private static void track(Map<Target, PropertyDefinition> changes, PropertySubscriber<?> subscriber, String key,
+                              PropertyDefinition before, PropertyDefinition after) {
+        // 属性定义不可变，修改属性值总会得到新的定义
+        if (before != after) {
+            changes.put(new Target(subscriber, key), after);
+        }
+    }
+
+    PropertyDeliveryMetrics metrics() {
+        lock.lock();
+        try {
+            return new PropertyDeliveryMetrics(subscription.name(), pending == null ? 0 : pending.manifestCount(),
+                    deliveredBatches, deliveredManifests, coalescedManifests, failedCallbacks,
+                    Duration.ofNanos(lastLagNanos), Duration.ofNanos(maxLagNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        DELIVERING.set(this);
+        try {
+            while (true) {
+                PropertyChangeBatch batch;
+                Map<Target, PropertyDefinition> changes;
+                long version;
+                lock.lock();
+                try {
+                    batch = pending;
+                    changes = pendingChanges;
+                    version = pendingVersion;
+                    pending = null;
+                    pendingChanges = null;
+                    if (changes == null || closed) {
+                        running = false;
+                        progress.signalAll();
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                int failures = deliver(batch, changes);
+
+                lock.lock();
+                try {
+                    deliveredVersion = version;
+                    failedCallbacks += failures;
+                    // 只有初始回放时不计入批次与延迟统计
+                    if (batch != null) {
+                        long lag = Math.max(0, Duration.between(batch.committedAt(), Instant.now()).toNanos());
+                        deliveredBatches++;
+                        deliveredManifests += batch.manifestCount();
+                        lastLagNanos = lag;
+                        maxLagNanos = Math.max(maxLagNanos, lag);
+                    }
+                    progress.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            DELIVERING.remove();
+        }
+    }
+
+    /**
+     * 把变更通知给订阅者，有批次时最后回调订阅客户端；单个回调的失败只记录，不影响其余回调
+     *
+     * @param batch 待交付的批次，只有初始回放时为null
+     * @return 失败的回调次数
+     */
+    private int deliver(PropertyChangeBatch batch, Map<Target, PropertyDefinition> changes) {
+        int failures = 0;
+        // 同一属性的订阅者通常订阅同一类型，相邻的同类型订阅者复用上一次的转换结果
+        PropertyDefinition lastDef = null;
+        Class<?> lastType = null;
+        Object lastValue = null;
+        for (Map.Entry<Target, PropertyDefinition> entry : changes.entrySet()) {
+            PropertySubscriber<?> subscriber = entry.getKey().subscriber();
+            String propertyKey = entry.getKey().key();
+            PropertyDefinition def = entry.getValue();
+            try {
+                if (def == null) {
+                    subscriber.onRemoved();
+                    log.debug("Subscriber [{}] notified of property [{}] remove", subscriber, propertyKey);
+                    continue;
+                }
+                Class<?> type = subscriber.getSubscribeType();
+                if (def != lastDef || type != lastType) {
+                    lastValue = resolver.resolve(def.value(), type);
+                    lastDef = def;
+                    lastType = type;
+                }
+                notifySet(subscriber, propertyKey, lastValue);
+            } catch (RuntimeException e) {
+                lastDef = null;
+                failures++;
+                log.error("Subscriber [{}] failed to handle property [{}] {}", subscriber, propertyKey, def == null ? "remove" : "set", e);
+            }
+        }
+        if (batch == null) {
+            return failures;
+        }
+        try {
+            subscription.onBatch(batch);
+        } catch (RuntimeException e) {
+            failures++;
+            log.error("Subscription [{}] failed to handle property change batch", subscription.name(), e);
+        }
+        return failures;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void notifySet(PropertySubscriber subscriber, String propertyKey, Object convertedValue) {
+        subscriber.onSet(convertedValue);
+        log.debug("Subscriber [{}] notified of property [{}] set", subscriber, propertyKey);
+    }
+
+    /**
+     * 一个订阅者对一个属性的通知目标；订阅者按引用区分
+     *
+     * @param key 订阅者读取该属性使用的属性键，按前缀选择时为规范键
+     */
+    private record Target(PropertySubscriber<?> subscriber, String key) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Target other && subscriber == other.subscriber && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(subscriber) + key.hashCode();
+        }
+    }
+}
@@ -2,6 +2,10 @@ package org.moper.cap.property.publisher;
 
 import org.moper.cap.property.util.PropertyLifecycle;
 import org.moper.cap.property.event.PropertyOperation;
+import org.moper.cap.property.event.PropertySetOperation;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * 属性发布者接口 </br>
@@ -22,4 +26,42 @@ public interface PropertyPublisher extends PropertyLifecycle {
      * @param operations 属性操作列表
      */
     void publishAsync(PropertyOperation... operations);
+
+    /**
+     * 发布者优先级，数值越大越优先，默认为 0 </br>
+     *
+     * 不同发布者写入了规范形式相同的属性键（如 {@code SERVER_PORT} 与 {@code server.port}）时，
+     * 查找（无论以哪种写法）、{@link org.moper.cap.property.officer.PropertyView#getSubtree(String)}、属性句柄与订阅
+     * 均使用优先级最高者写入的属性
+     *
+     * @return 发布者优先级
+     */
+    default int precedence() {
+        return 0;
+    }
+
+    /**
+     * 批量发布属性值：每个键值对只创建一个设置操作，直接填入操作数组，在同一个清单中提交；Map为空时不发布
+     *
+     * @param values 属性键值对，键不能为null或blank，值可以为null
+     */
+    default void publishAll(Map<String, ?> values) {
+        if (values.isEmpty()) return;
+        PropertyOperation[] operations = new PropertyOperation[values.size()];
+        int i = 0;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            operations[i++] = new PropertySetOperation(entry.getKey(), entry.getValue());
+        }
+        publish(operations);
+    }
+
+    /**
+     * 批量发布属性操作，在同一个清单中提交；集合为空时不发布
+     *
+     * @param operations 属性操作集合，发布之后不应再修改
+     */
+    default void publishAll(Collection<? extends PropertyOperation> operations) {
+        if (operations.isEmpty()) return;
+        publish(operations.toArray(new PropertyOperation[0]));
+    }
 }
@@ -9,19 +9,49 @@ import org.moper.cap.property.publisher.PropertyPublisher;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 默认属性发布者 </br>
+ *
+ * 发布路径上不拼接日志字符串：每个清单只在 DEBUG 级别记录操作数量，开启 TRACE 时才逐条记录操作；
+ * 已发布的清单数与操作数累加在计数器中，INFO 级别每隔 {@value #SUMMARY_INTERVAL_SECONDS} 秒最多输出一次汇总
+ */
 @Slf4j
 public class DefaultPropertyPublisher implements PropertyPublisher {
 
+    private static final long SUMMARY_INTERVAL_SECONDS = 10;
+
+    private static final long SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(SUMMARY_INTERVAL_SECONDS);
+
     private final String name;
 
     private final PropertyOfficer officer;
 
+    private final int precedence;
+
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
+    private final LongAdder publishedManifests = new LongAdder();
+
+    private final LongAdder publishedOperations = new LongAdder();
+
+    /**
+     * 上一次输出汇总日志的时间，初始值保证第一次发布时输出一次
+     */
+    private final AtomicLong lastSummaryNanos = new AtomicLong(System.nanoTime() - SUMMARY_INTERVAL_NANOS);
+
     public DefaultPropertyPublisher(String name, PropertyOfficer officer) {
+        this(name, officer, 0);
+    }
+
+    /**
+     * @param precedence 发布者优先级，见 {@link PropertyPublisher#precedence()}
+     */
+    public DefaultPropertyPublisher(String name, PropertyOfficer officer, int precedence) {
         if(name == null || name.isBlank()) {
             throw new IllegalArgumentException("PropertyPublisher name cannot be null or empty");
         }
@@ -32,6 +62,7 @@ public class DefaultPropertyPublisher implements PropertyPublisher {
 
         this.name = name;
         this.officer = officer;
+        this.precedence = precedence;
     }
 
     @Override
@@ -40,28 +71,35 @@ public class DefaultPropertyPublisher implements PropertyPublisher {
     }
 
     @Override
-    public void publish(PropertyOperation... operations) {
-        if(isClosed()) {
-            throw new PropertyException("Publisher is closed");
-        }
-
-        for(PropertyOperation operation : operations) {
-            if(operation == null) {
-                throw new IllegalArgumentException("PropertyOperation cannot be null");
-            }
-        }
+    public int precedence() {
+        return precedence;
+    }
 
-        List<PropertyOperation> operationList = Arrays.asList(operations);
-        PropertyManifest manifest = PropertyManifest.of(name(), operationList);
-        log.info("PropertyPublisher {} Publishing Operations: \n{}",
-                name(),
-                operationList.stream().map(String::valueOf).collect(Collectors.joining("\n"))
-        );
-        officer.receive(manifest);
+    @Override
+    public void publish(PropertyOperation... operations) {
+        officer.receive(manifest(operations, false));
     }
 
     @Override
     public void publishAsync(PropertyOperation... operations) {
+        officer.receiveAsync(manifest(operations, true));
+    }
+
+    /**
+     * 已发布的清单数量
+     */
+    public long getPublishedManifests() {
+        return publishedManifests.sum();
+    }
+
+    /**
+     * 已发布的属性操作数量
+     */
+    public long getPublishedOperations() {
+        return publishedOperations.sum();
+    }
+
+    private PropertyManifest manifest(PropertyOperation[] operations, boolean async) {
         if(isClosed()) {
             throw new PropertyException("Publisher is closed");
         }
@@ -73,12 +111,24 @@ public class DefaultPropertyPublisher implements PropertyPublisher {
         }
 
         List<PropertyOperation> operationList = Arrays.asList(operations);
-        PropertyManifest manifest = PropertyManifest.of(name(), operationList);
-        log.info("PropertyPublisher {} Publishing Async Operations: \n {}",
-                name(),
-                operationList.stream().map(String::valueOf).collect(Collectors.joining("\n"))
-        );
-        officer.receiveAsync(manifest);
+        PropertyManifest manifest = PropertyManifest.of(name, operationList);
+        publishedManifests.increment();
+        publishedOperations.add(operations.length);
+
+        if(log.isTraceEnabled()) {
+            for(PropertyOperation operation : operations) {
+                log.trace("PropertyPublisher {} publishing{}: {}", name, async ? " async" : "", operation);
+            }
+        } else {
+            log.debug("PropertyPublisher {} publishing{} {} operations", name, async ? " async" : "", operations.length);
+        }
+        long now = System.nanoTime();
+        long last = lastSummaryNanos.get();
+        if(now - last >= SUMMARY_INTERVAL_NANOS && lastSummaryNanos.compareAndSet(last, now)) {
+            log.info("PropertyPublisher {} has published {} manifests with {} operations",
+                    name, publishedManifests.sum(), publishedOperations.sum());
+        }
+        return manifest;
     }
 
     @Override
@@ -3,7 +3,10 @@ package org.moper.cap.property.subscriber;
 /**
  * 属性选择器 </br>
  *
- * 负责判断指定的属性键是否满足要求
+ * 负责判断指定的属性键是否满足要求 </br>
+ *
+ * 属性管理平台按选择器类型建立订阅者索引：{@code SinglePropertySelector} 与 {@code ExactPropertySelector} 按属性键散列，
+ * {@code PrefixPropertySelector} 与 {@code AnyPropertySelector} 放入前缀树，只有其他选择器才会在每次属性变更时被逐个调用
  */
 @FunctionalInterface
 public interface PropertySelector {
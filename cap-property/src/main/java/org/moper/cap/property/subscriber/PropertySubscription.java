@@ -1,12 +1,26 @@
 package org.moper.cap.property.subscriber;
 
+import org.moper.cap.property.event.PropertyChangeBatch;
 import org.moper.cap.property.util.PropertyLifecycle;
 
 /**
  * 属性订阅客户端 </br>
  *
  * 负责管理一个或多个属性订阅者，并向属性管理平台对接。充当属性管理平台与属性订阅者之间的中介 </br>
- * 属性订阅客户端需要负责管理其内部的所有属性订阅者的生命周期。
+ * 属性订阅客户端需要负责管理其内部的所有属性订阅者的生命周期。 </br>
+ *
+ * 属性管理平台为每个订阅客户端维护一个串行的交付队列：同一订阅客户端的变更按提交顺序依次交付，
+ * 不同订阅客户端之间互不阻塞。
  */
 public interface PropertySubscription extends PropertyLifecycle, Iterable<PropertySubscriber<?>> {
+
+    /**
+     * 一个变更批次中的全部变更都已交付给内部的属性订阅者后的回调，默认不做任何事 </br>
+     *
+     * 需要把多个属性作为一个整体处理的订阅客户端可以在此处一次性读取批次中的全部变更
+     *
+     * @param batch 已交付的变更批次
+     */
+    default void onBatch(PropertyChangeBatch batch) {
+    }
 }
@@ -1,20 +1,41 @@
 package org.moper.cap.property.subscriber.impl;
 
 import org.moper.cap.property.subscriber.PropertySelector;
+import org.moper.cap.property.util.PropertyKeys;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * 多属性选择器 </br>
+ *
+ * 按 {@link PropertyKeys#canonical(String)} 宽松匹配给定的全部属性键
+ */
 public final class ExactPropertySelector implements PropertySelector {
 
     private final Set<String> keys;
 
+    private final Set<String> canonicalKeys;
+
     public ExactPropertySelector(Set<String> keys) {
-        this.keys = keys;
+        if(keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("ExactPropertySelector keys cannot be null or empty");
+        }
+
+        this.keys = Set.copyOf(keys);
+        this.canonicalKeys = this.keys.stream().map(PropertyKeys::canonical).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 获取选择的全部属性键（不可变）
+     */
+    public Set<String> keys() {
+        return keys;
     }
 
     @Override
     public boolean matches(String key) {
-        return keys.contains(key);
+        return canonicalKeys.contains(PropertyKeys.canonical(key));
     }
 
 }
@@ -0,0 +1,40 @@
+package org.moper.cap.property.subscriber.impl;
+
+import org.moper.cap.property.subscriber.PropertySelector;
+import org.moper.cap.property.util.PropertyKeys;
+
+/**
+ * 前缀属性选择器 </br>
+ *
+ * 选择以指定前缀开头的全部属性键；属性管理平台将其放入前缀树索引，属性变更时无需逐个调用 {@link #matches(String)} </br>
+ *
+ * 前缀与属性键都按 {@link PropertyKeys#canonical(String)} 归一后比较：前缀 {@code server.} 同样选中 {@code SERVER_PORT}；
+ * 规范形式相同的多个属性只以首选属性通知订阅者
+ */
+public final class PrefixPropertySelector implements PropertySelector {
+
+    private final String prefix;
+
+    private final String canonicalPrefix;
+
+    public PrefixPropertySelector(String prefix) {
+        if(prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("PrefixPropertySelector prefix cannot be null or blank");
+        }
+
+        this.prefix = prefix;
+        this.canonicalPrefix = PropertyKeys.canonical(prefix);
+    }
+
+    /**
+     * 获取属性键前缀
+     */
+    public String prefix() {
+        return prefix;
+    }
+
+    @Override
+    public boolean matches(String key) {
+        return PropertyKeys.canonical(key).startsWith(canonicalPrefix);
+    }
+}
@@ -1,21 +1,37 @@
 package org.moper.cap.property.subscriber.impl;
 
 import org.moper.cap.property.subscriber.PropertySelector;
+import org.moper.cap.property.util.PropertyKeys;
 
+/**
+ * 单属性选择器 </br>
+ *
+ * 按 {@link PropertyKeys#canonical(String)} 宽松匹配：选择 {@code server.port} 时同样选中 {@code SERVER_PORT}
+ */
 public class SinglePropertySelector implements PropertySelector {
 
     private final String propertyKey;
 
+    private final String canonicalKey;
+
     public SinglePropertySelector(final String propertyKey) {
         if(propertyKey == null || propertyKey.isBlank()) {
             throw new IllegalArgumentException("SinglePropertySelector propertyKey cannot be null or blank");
         }
 
         this.propertyKey = propertyKey;
+        this.canonicalKey = PropertyKeys.canonical(propertyKey);
+    }
+
+    /**
+     * 获取选择的属性键
+     */
+    public String propertyKey() {
+        return propertyKey;
     }
 
     @Override
     public boolean matches(String key) {
-        return propertyKey.equals(key);
+        return canonicalKey.equals(PropertyKeys.canonical(key));
     }
 }
@@ -0,0 +1,65 @@
+package org.moper.cap.property.util;
+
+/**
+ * 属性键的宽松匹配规则 </br>
+ *
+ * 同一个属性在不同来源中常以不同形式出现：环境变量 {@code SERVER_TOMCAT_MAXCONNECTIONS}、
+ * 配置文件 {@code server.tomcat.max-connections}、代码中的 {@code server.tomcat.maxConnections}，
+ * 列表元素在配置文件扁平化后为 {@code hosts[0]}，在环境变量中为 {@code HOSTS_0}。
+ * {@link #canonical(String)} 把它们归一为同一个规范键（{@code server.tomcat.maxconnections}、{@code hosts.0}），
+ * 属性管理平台在属性写入时按规范键建立索引，查找时只需归一一次 </br>
+ *
+ * 归一规则：字母转为小写，{@code _} 与 {@code [} 视为层级分隔符 {@code .}，{@code -} 与 {@code ]} 删除 </br>
+ *
+ * 环境变量中的 {@code _} 只表示层级，无法同时表示单词内的 {@code -}：名称中带 {@code -} 的属性在环境变量中
+ * 要去掉 {@code -} 书写，{@code SERVER_TOMCAT_MAX_CONNECTIONS} 归一为 {@code server.tomcat.max.connections}，
+ * 与 {@code server.tomcat.max-connections} 是不同的属性
+ */
+public final class PropertyKeys {
+
+    private PropertyKeys() {}
+
+    /**
+     * 获取属性键的规范形式
+     *
+     * @param key 属性键，不能为null
+     * @return 规范键；属性键已经是规范形式时返回其本身
+     */
+    public static String canonical(String key) {
+        int length = key.length();
+        int i = 0;
+        while (i < length && isCanonical(key.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return key;
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        builder.append(key, 0, i);
+        for (; i < length; i++) {
+            char c = key.charAt(i);
+            switch (c) {
+                case '_', '[' -> builder.append('.');
+                case '-', ']' -> { }
+                default -> builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取属性前缀下属性的规范键前缀（以 {@code .} 结尾）
+     *
+     * @param prefix 属性前缀，不能为null；结尾的分隔符可以省略
+     * @return 规范键前缀
+     */
+    public static String canonicalPrefix(String prefix) {
+        String canonical = canonical(prefix);
+        return canonical.endsWith(".") ? canonical : canonical + ".";
+    }
+
+    private static boolean isCanonical(char c) {
+        return c != '_' && c != '-' && c != '[' && c != ']' && (c < 'A' || c > 'Z') && (c < 128 || !Character.isUpperCase(c));
+    }
+}
@@ -2,19 +2,44 @@ package org.moper.cap.property.officer.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.moper.cap.property.annotation.BindProperties;
+import org.moper.cap.property.binder.PropertyBinder;
+import org.moper.cap.property.binder.PropertyBinding;
+import org.moper.cap.property.event.PropertyChangeBatch;
 import org.moper.cap.property.event.PropertyManifest;
 import org.moper.cap.property.event.PropertyOperation;
 import org.moper.cap.property.event.PropertySetOperation;
 import org.moper.cap.property.event.PropertyRemoveOperation;
+import org.moper.cap.property.exception.PropertyConflictException;
 import org.moper.cap.property.exception.PropertyValidationException;
+import org.moper.cap.property.officer.PropertyChangeRecord;
+import org.moper.cap.property.officer.PropertyDeliveryMetrics;
+import org.moper.cap.property.officer.PropertyHandle;
+import org.moper.cap.property.officer.PropertySnapshot;
 import org.moper.cap.property.publisher.PropertyPublisher;
+import org.moper.cap.property.publisher.impl.DefaultPropertyPublisher;
+import org.moper.cap.property.subscriber.PropertySelector;
 import org.moper.cap.property.subscriber.PropertySubscriber;
+import org.moper.cap.property.subscriber.PropertySubscription;
 import org.moper.cap.property.subscriber.impl.DefaultAbstractPropertySubscriber;
 import org.moper.cap.property.subscriber.impl.DefaultPropertySubscription;
+import org.moper.cap.property.subscriber.impl.ExactPropertySelector;
+import org.moper.cap.property.subscriber.impl.PrefixPropertySelector;
+import org.moper.cap.property.subscriber.impl.SinglePropertySelector;
 import org.moper.cap.common.converter.impl.DefaultTypeResolver;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,7 +50,9 @@ class DefaultPropertyOfficerTest {
 
     @BeforeEach
     void setUp() {
-        officer = new DefaultPropertyOfficer("cap-test-officer", new DefaultTypeResolver());
+        // 用例在发布后直接检查订阅者收到的值，显式开启交付等待
+        officer = new DefaultPropertyOfficer("cap-test-officer", new DefaultTypeResolver(),
+                DefaultPropertyOfficer.DEFAULT_CHANGE_LOG_CAPACITY, null, Duration.ofSeconds(10));
     }
 
     @AfterEach
@@ -106,4 +133,468 @@ class DefaultPropertyOfficerTest {
         fakePub.publish(new PropertyRemoveOperation("x"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testIndexedSubscriberDispatch() throws Exception {
+        PropertyPublisher publisher = officer.getPublisher("pub1");
+        publisher.publish(new PropertySetOperation("server.port", 8080), new PropertySetOperation("db.url", "jdbc:h2"));
+
+        List<String> exactEvents = new ArrayList<>();
+        List<String> prefixEvents = new ArrayList<>();
+        List<String> predicateEvents = new ArrayList<>();
+        List<Thread> replayThreads = new CopyOnWriteArrayList<>();
+        officer.getSubscription("indexed", () -> new DefaultPropertySubscription("indexed", List.of(
+                recordingSubscriber(new ExactPropertySelector(Set.of("server.port", "server.host")), exactEvents),
+                recordingSubscriber(new PrefixPropertySelector("server."), prefixEvents),
+                recordingSubscriber(key -> key.endsWith(".url"), predicateEvents),
+                new DefaultAbstractPropertySubscriber<>("db.url", String.class) {
+                    @Override public void onSet(String value) { replayThreads.add(Thread.currentThread()); }
+                    @Override public void onRemoved() {}
+                })));
+
+        // 新订阅回放已存在的属性：在交付线程上回调，getSubscription 等待回放完成后返回
+        assertEquals(1, replayThreads.size());
+        assertNotSame(Thread.currentThread(), replayThreads.get(0));
+        assertTrue(replayThreads.get(0).isVirtual());
+        assertEquals(List.of("8080"), exactEvents);
+        assertEquals(List.of("8080"), prefixEvents);
+        assertEquals(List.of("jdbc:h2"), predicateEvents);
+
+        publisher.publish(new PropertySetOperation("server.host", "localhost"),
+                new PropertySetOperation("server.ssl.enabled", true),
+                new PropertySetOperation("serverless", "x"),
+                new PropertySetOperation("cache.url", "redis"));
+        assertEquals(List.of("8080", "localhost"), exactEvents);
+        assertEquals(List.of("8080", "localhost", "true"), prefixEvents);
+        assertEquals(List.of("jdbc:h2", "redis"), predicateEvents);
+
+        publisher.publish(new PropertyRemoveOperation("server.port"));
+        assertEquals("removed", exactEvents.get(exactEvents.size() - 1));
+        assertEquals("removed", prefixEvents.get(prefixEvents.size() - 1));
+
+        // 销毁订阅后不再收到通知
+        officer.destroySubscription("indexed");
+        int closedSize = prefixEvents.size();
+        publisher.publish(new PropertySetOperation("server.port", 9090));
+        assertEquals(closedSize, prefixEvents.size());
+    }
+
+    @Test
+    void testPropertyHandleFollowsChanges() {
+        PropertyPublisher publisher = officer.getPublisher("pub1");
+        PropertyHandle<Integer> before = officer.handle("rate.limit", Integer.class);
+        assertFalse(before.isPresent());
+        assertNull(before.get());
+        assertEquals(10, before.getOrDefault(10));
+
+        publisher.publish(new PropertySetOperation("rate.limit", "100"));
+        assertSame(before, officer.handle("rate.limit", Integer.class));
+        assertEquals(100, before.get());
+        // 句柄创建时以当前值初始化
+        PropertyHandle<String> text = officer.handle("rate.limit", String.class);
+        assertEquals("100", text.get());
+
+        publisher.publish(new PropertySetOperation("rate.limit", 200));
+        assertEquals(200, before.get());
+        assertEquals("200", text.get());
+
+        publisher.publish(new PropertyRemoveOperation("rate.limit"));
+        assertFalse(before.isPresent());
+        assertEquals(Optional.empty(), text.getOptional());
+    }
+
+    @Test
+    void testManifestIsCommittedAtomically() {
+        PropertyPublisher owner = officer.getPublisher("owner");
+        PropertyPublisher other = officer.getPublisher("other");
+        owner.publish(new PropertySetOperation("owned", 1));
+        PropertySnapshot pinned = officer.snapshot();
+
+        List<String> events = new ArrayList<>();
+        List<Object> observed = new ArrayList<>();
+        officer.getSubscription("atomic", () -> new DefaultPropertySubscription("atomic", List.of(
+                recordingSubscriber(new ExactPropertySelector(Set.of("a", "b")), events),
+                new DefaultAbstractPropertySubscriber<>("x", Integer.class) {
+                    // 通知在提交之后发出：此时整个清单都已可见
+                    @Override public void onSet(Integer value) { observed.add(officer.getRawPropertyValue("y")); }
+                    @Override public void onRemoved() {}
+                })));
+
+        // 第二个操作冲突：整个清单都不生效，也不发出任何通知
+        assertThrows(PropertyConflictException.class, () -> other.publish(
+                new PropertySetOperation("a", 1), new PropertySetOperation("owned", 2), new PropertySetOperation("b", 2)));
+        assertFalse(officer.containsProperty("a"));
+        assertEquals(1, officer.getRawPropertyValue("owned"));
+        assertTrue(events.isEmpty());
+        assertEquals(pinned.version(), officer.snapshot().version());
+
+        other.publish(new PropertySetOperation("x", 1), new PropertySetOperation("y", 2));
+        assertEquals(List.of(2), observed);
+
+        // 固定版本的快照不受之后的变更影响
+        owner.publish(new PropertySetOperation("owned", 3));
+        assertEquals(1, pinned.getPropertyValue("owned", Integer.class));
+        assertFalse(pinned.containsProperty("x"));
+        assertEquals(Set.of("owned"), pinned.getAllPropertyKeys());
+        assertEquals(pinned.version() + 2, officer.snapshot().version());
+        assertEquals(Set.of("owned", "x", "y"), officer.getAllPropertyKeys());
+    }
+
+    @Test
+    void testAsyncDeliveryIsOrderedCoalescedAndIsolated() throws Exception {
+        PropertyPublisher publisher = officer.getPublisher("pub1");
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> slowEvents = new CopyOnWriteArrayList<>();
+        List<PropertyChangeBatch> slowBatches = new CopyOnWriteArrayList<>();
+        List<String> fastEvents = new CopyOnWriteArrayList<>();
+
+        PropertySubscriber<String> blocking = new DefaultAbstractPropertySubscriber<>("seq", String.class) {
+            @Override public void onSet(String value) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slowEvents.add(value);
+            }
+            @Override public void onRemoved() {}
+        };
+        PropertySubscription delegate = new DefaultPropertySubscription("slow", List.of(blocking));
+        officer.getSubscription("slow", () -> new PropertySubscription() {
+            @Override public String name() { return delegate.name(); }
+            @Override public Iterator<PropertySubscriber<?>> iterator() { return delegate.iterator(); }
+            @Override public boolean isClosed() { return delegate.isClosed(); }
+            @Override public void close() throws Exception { delegate.close(); }
+            @Override public void onBatch(PropertyChangeBatch batch) { slowBatches.add(batch); }
+        });
+        officer.getSubscription("fast", () -> new DefaultPropertySubscription("fast",
+                List.of(recordingSubscriber(new PrefixPropertySelector("seq"), fastEvents))));
+
+        // 同一发布者的异步清单按接收顺序提交；慢订阅者不阻塞发布者与其他订阅客户端
+        for (int i = 1; i <= 5; i++) {
+            publisher.publishAsync(new PropertySetOperation("seq", i));
+        }
+        awaitCondition(() -> fastEvents.size() == 5);
+        assertEquals(List.of("1", "2", "3", "4", "5"), fastEvents);
+        assertTrue(slowEvents.isEmpty());
+
+        // 积压的批次合并，后写者胜
+        release.countDown();
+        awaitCondition(() -> slowEvents.contains("5"));
+        assertEquals("5", slowEvents.get(slowEvents.size() - 1));
+        assertTrue(slowEvents.size() < 5);
+        assertEquals(5, slowBatches.stream().mapToInt(PropertyChangeBatch::manifestCount).sum());
+
+        PropertyDeliveryMetrics metrics = officer.getDeliveryMetrics().get("slow");
+        assertEquals(0, metrics.pendingManifests());
+        assertEquals(5, metrics.deliveredManifests());
+        assertEquals(slowBatches.size(), metrics.deliveredBatches());
+        assertEquals(5 - slowBatches.size(), metrics.coalescedManifests());
+        assertEquals(5, officer.getDeliveryMetrics().get("fast").deliveredManifests());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testReceiveDoesNotWaitForDeliveryByDefault() throws Exception {
+        DefaultPropertyOfficer unbounded = new DefaultPropertyOfficer("default", 4, new DefaultTypeResolver());
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+        try {
+            PropertyPublisher publisher = unbounded.getPublisher("pub1");
+            publisher.publish(new PropertySetOperation("stuck.key", "0"));
+
+            // 回放与之后的变更都排在阻塞的订阅者之后，订阅与发布都不等待交付
+            long start = System.nanoTime();
+            unbounded.getSubscription("stuck", () -> new DefaultPropertySubscription("stuck", List.of(
+                    new DefaultAbstractPropertySubscriber<>("stuck.key", String.class) {
+                        @Override public void onSet(String value) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            events.add(value);
+                        }
+                        @Override public void onRemoved() {}
+                    })));
+            publisher.publish(new PropertySetOperation("stuck.key", "1"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+            assertEquals("1", unbounded.getRawPropertyValue("stuck.key"));
+            assertTrue(events.isEmpty());
+
+            release.countDown();
+            awaitCondition(() -> !events.isEmpty() && events.getLast().equals("1"));
+        } finally {
+            release.countDown();
+            unbounded.close();
+        }
+    }
+
+    @Test
+    void testSynchronousReceiveWaitIsBounded() throws Exception {
+        DefaultPropertyOfficer bounded = new DefaultPropertyOfficer("bounded", new DefaultTypeResolver(),
+                DefaultPropertyOfficer.DEFAULT_CHANGE_LOG_CAPACITY, null, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+        try {
+            PropertyPublisher publisher = bounded.getPublisher("pub1");
+            bounded.getSubscription("stuck", () -> new DefaultPropertySubscription("stuck", List.of(
+                    new DefaultAbstractPropertySubscriber<>("stuck.key", String.class) {
+                        @Override public void onSet(String value) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            events.add(value);
+                        }
+                        @Override public void onRemoved() {}
+                    })));
+
+            // 订阅者阻塞时同步发布在超时后返回，变更已提交，交付继续进行
+            long start = System.nanoTime();
+            publisher.publish(new PropertySetOperation("stuck.key", "1"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+            assertEquals("1", bounded.getRawPropertyValue("stuck.key"));
+            assertTrue(events.isEmpty());
+
+            release.countDown();
+            awaitCondition(() -> events.equals(List.of("1")));
+        } finally {
+            release.countDown();
+            bounded.close();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new DefaultPropertyOfficer("negative", new DefaultTypeResolver(),
+                0, null, Duration.ofMillis(-1)));
+    }
+
+    @BindProperties(prefix = "pool")
+    record PoolProperties(String name, int maxSize, Timeouts timeouts) {
+        PoolProperties {
+            if (maxSize < 0) throw new IllegalArgumentException("maxSize cannot be negative");
+        }
+    }
+
+    record Timeouts(Integer connectTimeout) {
+        Timeouts {
+            if (connectTimeout == null) connectTimeout = 1000;
+        }
+    }
+
+    @Test
+    void testPrefixBindingRebindsAndSwapsAtomically() throws Exception {
+        PropertyPublisher publisher = officer.getPublisher("pub1");
+        publisher.publish(new PropertySetOperation("pool.name", "main"), new PropertySetOperation("pool.max-size", "8"));
+
+        PropertyBinding<PoolProperties> binding = PropertyBinding.bind(officer, PoolProperties.class);
+        assertSame(binding, PropertyBinding.bind(officer, PoolProperties.class));
+        assertEquals(new PoolProperties("main", 8, new Timeouts(1000)), binding.get());
+
+        // 一个清单中的多个属性作为一个整体重新绑定
+        List<PoolProperties> rebound = new CopyOnWriteArrayList<>();
+        binding.addListener(rebound::add);
+        publisher.publish(new PropertySetOperation("pool.max-size", 16), new PropertySetOperation("pool.timeouts.connect-timeout", "250"));
+        assertEquals(List.of(new PoolProperties("main", 16, new Timeouts(250))), rebound);
+        assertSame(rebound.get(0), binding.get());
+        assertEquals(officer.snapshot().version(), binding.version());
+
+        // 校验失败时保留上一个实例
+        publisher.publish(new PropertySetOperation("pool.max-size", -1));
+        assertEquals(16, binding.get().maxSize());
+        assertThrows(PropertyValidationException.class, () -> PropertyBinder.of(PoolProperties.class).bind(officer.snapshot()));
+
+        publisher.publish(new PropertyRemoveOperation("pool.max-size"));
+        assertEquals(0, binding.get().maxSize());
+
+        binding.close();
+        assertFalse(officer.containsSubscription(binding.name()));
+        publisher.publish(new PropertySetOperation("pool.name", "other"));
+        assertEquals("main", binding.get().name());
+    }
+
+    @Test
+    void testPublishAllCommitsOneManifestAndCounts() {
+        DefaultPropertyPublisher publisher = (DefaultPropertyPublisher) officer.getPublisher("bulk");
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("bulk.a", "1");
+        values.put("bulk.b", null);
+        values.put("bulk.c", 3);
+        long before = officer.snapshot().version();
+
+        publisher.publishAll(values);
+        publisher.publishAll(Map.of());
+        publisher.publishAll(List.of(new PropertySetOperation("bulk.a", "2"), new PropertyRemoveOperation("bulk.c")));
+
+        assertEquals(before + 2, officer.snapshot().version());
+        assertEquals(2, officer.getPropertyValue("bulk.a", Integer.class));
+        assertTrue(officer.containsProperty("bulk.b"));
+        assertFalse(officer.containsProperty("bulk.c"));
+        assertEquals(2, publisher.getPublishedManifests());
+        assertEquals(5, publisher.getPublishedOperations());
+    }
+
+    @Test
+    void testRelaxedLookupAndSubtree() {
+        PropertyPublisher yaml = officer.getPublisher("yaml", () -> new DefaultPropertyPublisher("yaml", officer, 100));
+        PropertyPublisher env = officer.getPublisher("env", () -> new DefaultPropertyPublisher("env", officer, 400));
+        // 低优先级的发布者先写入，首选属性仍由优先级决定
+        yaml.publishAll(Map.of("server.tomcat.max-connections", "100", "server.hosts[0]", "a", "server.hosts[1]", "b",
+                "serverless.enabled", "true", "server.port", "8080"));
+        env.publish(new PropertySetOperation("SERVER_PORT", "9090"), new PropertySetOperation("SERVER_TOMCAT_MAXCONNECTIONS", "50"));
+        PropertyHandle<Integer> handle = officer.handle("server.port", Integer.class);
+
+        // 任何写法都得到优先级最高的发布者写入的属性，即使存在写法完全相同的属性
+        assertEquals(9090, officer.getPropertyValue("server.port", Integer.class));
+        assertEquals(9090, officer.getPropertyValue("SERVER_PORT", Integer.class));
+        assertEquals(9090, handle.get());
+        assertEquals("50", officer.getRawPropertyValue("server.tomcat.max-connections"));
+        assertEquals("50", officer.getRawPropertyValue("server.tomcat.maxConnections"));
+        assertEquals(Optional.of(50), officer.getPropertyValueOptional("server.tomcat.max-connections", Integer.class));
+        assertEquals(50, officer.handle("server.tomcat.max-connections", Integer.class).get());
+        assertEquals("b", officer.getRawPropertyValue("SERVER_HOSTS_1"));
+        assertTrue(officer.containsProperty("Server.Hosts[0]"));
+
+        Map<String, Object> server = officer.getSubtree("SERVER");
+        assertEquals(List.of("server.hosts[0]", "server.hosts[1]", "SERVER_PORT", "SERVER_TOMCAT_MAXCONNECTIONS"),
+                List.copyOf(server.keySet()));
+        assertEquals(Map.of("server.hosts[0]", "a", "server.hosts[1]", "b"), officer.getSubtree("server.hosts"));
+        assertTrue(officer.getSubtree("missing").isEmpty());
+
+        // 移除后重新写入不改变首选属性
+        yaml.publish(new PropertyRemoveOperation("server.tomcat.max-connections"));
+        yaml.publish(new PropertySetOperation("server.tomcat.max-connections", "120"));
+        env.publish(new PropertyRemoveOperation("SERVER_TOMCAT_MAXCONNECTIONS"));
+        env.publish(new PropertySetOperation("SERVER_TOMCAT_MAXCONNECTIONS", "60"));
+        assertEquals("60", officer.getRawPropertyValue("server.tomcat.maxConnections"));
+        assertEquals(Map.of("SERVER_TOMCAT_MAXCONNECTIONS", "60"), officer.getSubtree("server.tomcat"));
+        // 优先级相同时按属性键字典序
+        yaml.publish(new PropertySetOperation("server.tomcat.maxThreads", "8"), new PropertySetOperation("server.tomcat.max-threads", "4"));
+        assertEquals("4", officer.getRawPropertyValue("SERVER_TOMCAT_MAXTHREADS"));
+
+        // 移除后回退到规范形式相同的其他属性，句柄随之更新
+        env.publish(new PropertyRemoveOperation("SERVER_TOMCAT_MAXCONNECTIONS"), new PropertyRemoveOperation("SERVER_PORT"));
+        assertEquals("120", officer.getRawPropertyValue("server.tomcat.maxConnections"));
+        assertEquals("120", officer.getSubtree("server.tomcat").get("server.tomcat.max-connections"));
+        assertEquals(8080, handle.get());
+        yaml.publish(new PropertyRemoveOperation("server.port"));
+        assertNull(handle.get());
+        assertFalse(handle.isPresent());
+        yaml.publish(new PropertySetOperation("server.port", 8081));
+        assertEquals(8081, handle.get());
+    }
+
+    @Test
+    void testRelaxedSubscriptionsAndBinding() {
+        PropertyPublisher yaml = officer.getPublisher("yaml", () -> new DefaultPropertyPublisher("yaml", officer, 100));
+        PropertyPublisher env = officer.getPublisher("env", () -> new DefaultPropertyPublisher("env", officer, 400));
+        yaml.publish(new PropertySetOperation("pool.name", "main"), new PropertySetOperation("app.timeout", "10"));
+        env.publish(new PropertySetOperation("APP_MODE", "a"));
+
+        PropertyBinding<PoolProperties> binding = PropertyBinding.bind(officer, PoolProperties.class);
+        assertEquals(0, binding.get().maxSize());
+        List<String> mode = new CopyOnWriteArrayList<>();
+        List<String> timeout = new CopyOnWriteArrayList<>();
+        List<String> app = new CopyOnWriteArrayList<>();
+        officer.getSubscription("relaxed", () -> new DefaultPropertySubscription("relaxed", List.of(
+                recordingSubscriber(new SinglePropertySelector("app.mode"), mode),
+                recordingSubscriber(new SinglePropertySelector("app.timeout"), timeout),
+                recordingSubscriber(new PrefixPropertySelector("app."), app))));
+        // 回放按宽松规则查找
+        assertEquals(List.of("a"), mode);
+        assertEquals(List.of("10"), timeout);
+        assertEquals(List.of("a", "10"), app);
+
+        // 环境变量形式的属性变更通知订阅者并重新绑定
+        env.publish(new PropertySetOperation("POOL_MAXSIZE", "12"), new PropertySetOperation("APP_MODE", "b"));
+        assertEquals(12, binding.get().maxSize());
+        assertEquals(List.of("a", "b"), mode);
+        env.publish(new PropertySetOperation("POOL_MAXSIZE", "20"));
+        assertEquals(new PoolProperties("main", 20, new Timeouts(1000)), binding.get());
+
+        // 订阅者与查找一致，收到优先级更高的同名属性，即使订阅的写法与原属性完全相同
+        env.publish(new PropertySetOperation("APP_TIMEOUT", "30"));
+        assertEquals(List.of("10", "30"), timeout);
+        // 被优先级更高的属性遮蔽的变更不通知；首选属性被移除时回退并通知
+        yaml.publish(new PropertySetOperation("app_mode", "fallback"));
+        assertEquals(List.of("a", "b"), mode);
+        env.publish(new PropertyRemoveOperation("APP_MODE"));
+        assertEquals(List.of("a", "b", "fallback"), mode);
+        assertEquals(List.of("a", "10", "b", "30", "fallback"), app);
+        env.publish(new PropertyRemoveOperation("POOL_MAXSIZE"));
+        assertEquals(0, binding.get().maxSize());
+    }
+
+    @Test
+    void testChangeHistoryRingBufferAndSpill(@TempDir Path dir) throws Exception {
+        Path spill = dir.resolve("audit/changes.tsv");
+        DefaultPropertyOfficer audited = new DefaultPropertyOfficer("audited", new DefaultTypeResolver(), 4, spill);
+        try {
+            PropertyPublisher publisher = audited.getPublisher("pub1");
+            publisher.publish(new PropertySetOperation("a", "1"), new PropertySetOperation("b", "2"));
+            long first = audited.snapshot().version();
+            publisher.publish(new PropertySetOperation("a", "3"));
+            publisher.publish(new PropertyRemoveOperation("b"));
+
+            List<PropertyChangeRecord> history = audited.getChangeHistory();
+            assertEquals(List.of(0L, 1L, 2L, 3L), history.stream().map(PropertyChangeRecord::sequence).toList());
+            PropertyChangeRecord update = history.get(2);
+            assertEquals(PropertyChangeRecord.Type.UPDATE, update.type());
+            assertEquals("pub1", update.publisher());
+            assertEquals(first + 1, update.version());
+            assertEquals("1".hashCode(), update.oldValueHash());
+            assertEquals("3".hashCode(), update.newValueHash());
+            assertEquals(PropertyChangeRecord.Type.REMOVE, history.get(3).type());
+            assertEquals(first, history.get(0).version());
+            assertEquals(history.get(0).version(), history.get(1).version());
+
+            // 溢写是异步的，等它写完前 4 条记录再覆盖环形缓冲区，否则被覆盖的记录只在文件中记为丢失
+            awaitCondition(() -> Files.exists(spill) && readLines(spill).size() == 4);
+
+            // 失败的清单不留下记录；写满后覆盖最旧的记录
+            assertThrows(RuntimeException.class, () -> publisher.publish(new PropertyRemoveOperation("missing")));
+            publisher.publish(new PropertySetOperation("c", 5), new PropertySetOperation("c", 6));
+            assertEquals(List.of(2L, 3L, 4L, 5L), audited.getChangeHistory().stream().map(PropertyChangeRecord::sequence).toList());
+            assertEquals(List.of(PropertyChangeRecord.Type.ADD, PropertyChangeRecord.Type.UPDATE),
+                    audited.getChangeHistory("c").stream().map(PropertyChangeRecord::type).toList());
+        } finally {
+            audited.close();
+        }
+
+        // 关闭时溢写剩余记录：每条记录一行，序号连续
+        List<String> lines = Files.readAllLines(spill);
+        assertEquals(6, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertTrue(lines.get(i).startsWith(i + "\t"), lines.get(i));
+        }
+        assertTrue(lines.get(3).contains("\tREMOVE\tb\tpub1\t"));
+
+        DefaultPropertyOfficer quiet = new DefaultPropertyOfficer("quiet", new DefaultTypeResolver(), 0, null);
+        quiet.getPublisher("pub1").publish(new PropertySetOperation("a", 1));
+        assertTrue(quiet.getChangeHistory().isEmpty());
+        quiet.close();
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 seconds");
+            Thread.sleep(5);
+        }
+    }
+
+    private static PropertySubscriber<String> recordingSubscriber(PropertySelector selector, List<String> events) {
+        return new PropertySubscriber<>() {
+            @Override public PropertySelector selector() { return selector; }
+            @Override public Class<String> getSubscribeType() { return String.class; }
+            @Override public void onSet(String value) { events.add(value); }
+            @Override public void onRemoved() { events.add("removed"); }
+        };
+    }
+}
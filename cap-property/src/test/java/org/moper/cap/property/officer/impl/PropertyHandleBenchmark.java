@@ -0,0 +1,78 @@
+package org.moper.cap.property.officer.impl;
+
+import org.moper.cap.common.converter.impl.DefaultTypeResolver;
+import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.property.officer.PropertyHandle;
+import org.moper.cap.property.publisher.PropertyPublisher;
+
+import java.util.function.Supplier;
+
+/**
+ * 属性读取基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>属性管理平台中有 10000 个属性，循环读取其中一个以字符串发布的整数属性，比较：
+ * <ul>
+ *   <li>{@code getPropertyValue(key, Integer.class)}：每次查找属性表并做类型转换</li>
+ *   <li>{@link PropertyHandle#get()}：一次 volatile 读</li>
+ * </ul>
+ * 测量期间另有一个线程每毫秒修改一次该属性，验证句柄在属性变化时仍然有效。
+ */
+public class PropertyHandleBenchmark {
+
+    private static final int PROPERTY_COUNT = 10_000;
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int MEASURE_ITERATIONS = 20_000_000;
+
+    public static void main(String[] args) throws Exception {
+        DefaultPropertyOfficer officer = new DefaultPropertyOfficer("benchmark", new DefaultTypeResolver());
+        try {
+            PropertyPublisher publisher = officer.getPublisher("benchmark");
+            PropertySetOperation[] operations = new PropertySetOperation[PROPERTY_COUNT];
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                operations[i] = new PropertySetOperation("feature.flag" + i, String.valueOf(i));
+            }
+            publisher.publish(operations);
+            String key = "feature.flag" + (PROPERTY_COUNT / 2);
+            PropertyHandle<Integer> handle = officer.handle(key, Integer.class);
+
+            Thread writer = Thread.ofPlatform().daemon().start(() -> {
+                int value = 0;
+                while (!Thread.currentThread().isInterrupted()) {
+                    publisher.publish(new PropertySetOperation(key, String.valueOf(value++ % 1000)));
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            try {
+                // 交替测量，减少 JIT 与测量顺序带来的偏差
+                for (int round = 1; round <= 3; round++) {
+                    report("getPropertyValue #" + round, () -> officer.getPropertyValue(key, Integer.class));
+                    report("handle.get #" + round, handle::get);
+                }
+            } finally {
+                writer.interrupt();
+            }
+        } finally {
+            officer.close();
+        }
+    }
+
+    private static void report(String label, Supplier<Integer> read) {
+        run(read, WARMUP_ITERATIONS);
+        long start = System.nanoTime();
+        long sink = run(read, MEASURE_ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %6.2f ns/read%s%n", label, (double) elapsed / MEASURE_ITERATIONS, sink == 42 ? " " : "");
+    }
+
+    private static long run(Supplier<Integer> read, int iterations) {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += read.get();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,97 @@
+package org.moper.cap.property.publisher.impl;
+
+import org.moper.cap.common.converter.impl.DefaultTypeResolver;
+import org.moper.cap.property.event.PropertyOperation;
+import org.moper.cap.property.event.PropertySetOperation;
+import org.moper.cap.property.officer.impl.DefaultPropertyOfficer;
+import org.moper.cap.property.publisher.PropertyPublisher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 属性发布吞吐量基准测试（手动运行，不参与单元测试）。
+ *
+ * <p>反复发布包含 1000 个属性的清单（模拟启动时加载配置文件），比较：
+ * <ul>
+ *   <li>旧路径：逐个创建操作放入列表，再复制为可变参数数组，并像原来的 INFO 日志那样把全部操作拼接为一个字符串</li>
+ *   <li>{@link PropertyPublisher#publishAll(Map)}：每个键值对创建一个操作直接填入数组，只在 DEBUG/TRACE 开启时才格式化日志</li>
+ * </ul>
+ * 两种方式都经过属性管理平台的完整提交（写入属性表、变更审计与通知分发），结果以每秒发布的属性操作数表示。
+ */
+public class PropertyPublishBenchmark {
+
+    private static final int KEYS_PER_MANIFEST = 1_000;
+    private static final int WARMUP_MANIFESTS = 500;
+    private static final int MEASURE_MANIFESTS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        DefaultPropertyOfficer officer = new DefaultPropertyOfficer("benchmark", new DefaultTypeResolver());
+        try {
+            PropertyPublisher legacy = officer.getPublisher("legacy");
+            PropertyPublisher bulk = officer.getPublisher("bulk");
+            List<Map<String, Object>> manifests = new ArrayList<>();
+            for (int round = 0; round < 4; round++) {
+                manifests.add(generate("legacy.", round));
+            }
+            List<Map<String, Object>> bulkManifests = new ArrayList<>();
+            for (int round = 0; round < 4; round++) {
+                bulkManifests.add(generate("bulk.", round));
+            }
+
+            // 交替测量，减少 JIT 与测量顺序带来的偏差
+            for (int round = 1; round <= 3; round++) {
+                report("legacy publish #" + round, manifests, values -> publishLegacy(legacy, values));
+                report("publishAll #" + round, bulkManifests, bulk::publishAll);
+            }
+        } finally {
+            officer.close();
+        }
+    }
+
+    /**
+     * 改动之前各启动器与发布者的发布方式
+     */
+    private static long publishLegacy(PropertyPublisher publisher, Map<String, Object> values) {
+        List<PropertyOperation> operations = new ArrayList<>();
+        values.forEach((key, value) -> operations.add(new PropertySetOperation(key, value)));
+        PropertyOperation[] array = operations.toArray(new PropertyOperation[0]);
+        String message = operations.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+        publisher.publish(array);
+        return message.length();
+    }
+
+    private interface Publish {
+        void run(Map<String, Object> values);
+    }
+
+    private static void report(String label, List<Map<String, Object>> manifests, Publish publish) {
+        run(manifests, publish, WARMUP_MANIFESTS);
+        long start = System.nanoTime();
+        run(manifests, publish, MEASURE_MANIFESTS);
+        long elapsed = System.nanoTime() - start;
+        double operationsPerSecond = (double) MEASURE_MANIFESTS * KEYS_PER_MANIFEST / elapsed * 1_000_000_000;
+        System.out.printf("%-20s %,12.0f ops/s  %8.1f us/manifest%n",
+                label, operationsPerSecond, elapsed / 1_000.0 / MEASURE_MANIFESTS);
+    }
+
+    private static void run(List<Map<String, Object>> manifests, Publish publish, int count) {
+        for (int i = 0; i < count; i++) {
+            publish.run(manifests.get(i % manifests.size()));
+        }
+    }
+
+    /**
+     * 每轮的值不同，保证每次发布都真正修改属性
+     */
+    private static Map<String, Object> generate(String prefix, int round) {
+        Map<String, Object> values = LinkedHashMap.newLinkedHashMap(KEYS_PER_MANIFEST);
+        for (int i = 0; i < KEYS_PER_MANIFEST; i++) {
+            values.put(prefix + "group" + (i / 10) + ".key" + (i % 10), "value-" + round + "-" + i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,48 @@
+package org.moper.cap.property.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyKeysTest {
+
+    @Test
+    void testCanonical() {
+        // 已经是规范形式时返回原字符串
+        String key = "server.tomcat.maxconnections";
+        assertSame(key, PropertyKeys.canonical(key));
+
+        assertEquals(key, PropertyKeys.canonical("server.tomcat.max-connections"));
+        assertEquals(key, PropertyKeys.canonical("server.tomcat.maxConnections"));
+        assertEquals(key, PropertyKeys.canonical("SERVER_TOMCAT_MAXCONNECTIONS"));
+        assertEquals("server.port", PropertyKeys.canonical("SERVER_PORT"));
+        assertEquals("server.port", PropertyKeys.canonical("Server.Port"));
+
+        assertEquals("hosts.0", PropertyKeys.canonical("hosts[0]"));
+        assertEquals("hosts.0", PropertyKeys.canonical("HOSTS_0"));
+        assertEquals("servers.1.name", PropertyKeys.canonical("servers[1].name"));
+        assertEquals("servers.1.name", PropertyKeys.canonical("SERVERS_1_NAME"));
+
+        // 环境变量中的 _ 只表示层级，不能代替单词内的 -
+        assertEquals("server.tomcat.max.connections", PropertyKeys.canonical("SERVER_TOMCAT_MAX_CONNECTIONS"));
+        assertNotEquals(PropertyKeys.canonical("server.tomcat.max-connections"),
+                PropertyKeys.canonical("SERVER_TOMCAT_MAX_CONNECTIONS"));
+
+        assertEquals("straße", PropertyKeys.canonical("STRAßE"));
+        assertEquals("", PropertyKeys.canonical(""));
+    }
+
+    @Test
+    void testCanonicalPrefix() {
+        assertEquals("server.", PropertyKeys.canonicalPrefix("server"));
+        assertEquals("server.", PropertyKeys.canonicalPrefix("server."));
+        assertEquals("server.", PropertyKeys.canonicalPrefix("SERVER_"));
+        assertEquals("server.tomcat.", PropertyKeys.canonicalPrefix("SERVER_TOMCAT"));
+        assertEquals("server.hosts.", PropertyKeys.canonicalPrefix("server.hosts"));
+        assertEquals("servers.0.", PropertyKeys.canonicalPrefix("servers[0]"));
+
+        // 前缀以 . 结尾，server 不会匹配 serverless 下的属性
+        assertFalse(PropertyKeys.canonical("serverless.enabled").startsWith(PropertyKeys.canonicalPrefix("server")));
+        assertTrue(PropertyKeys.canonical("SERVER_PORT").startsWith(PropertyKeys.canonicalPrefix("Server")));
+    }
+}
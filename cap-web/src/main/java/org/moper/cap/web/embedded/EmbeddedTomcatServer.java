@@ -150,6 +150,20 @@ public class EmbeddedTomcatServer {
         return tomcat;
     }
 
+    /**
+     * 获取连接器实际监听的端口（配置端口为 0 时由系统分配），未启动时返回 -1
+     */
+    public int getLocalPort() {
+        return tomcat == null ? -1 : tomcat.getConnector().getLocalPort();
+    }
+
+    /**
+     * 获取规范化后的应用上下文路径，根路径为空字符串
+     */
+    public String getContextPath() {
+        return normalizeContextPath(contextPath);
+    }
+
     /**
      * 服务器是否已启动
      */
@@ -0,0 +1,79 @@
+package org.moper.cap.web.embedded;
+
+import lombok.extern.slf4j.Slf4j;
+import org.moper.cap.web.http.HttpMethod;
+import org.moper.cap.web.router.RouteDefinition;
+import org.moper.cap.web.router.RouteRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * 路由预热请求
+ *
+ * 在启动训练模式下向本机 Tomcat 逐个请求已注册的路由，
+ * 使请求分发、参数绑定、控制器调用与响应序列化涉及的类全部完成加载，从而被写入 AppCDS 归档。
+ *
+ * 只请求 GET 路由，避免训练过程修改应用数据；路径变量统一以 "1" 填充，
+ * 返回 4xx / 5xx 的请求同样会走完异常处理路径，不视为失败。
+ */
+@Slf4j
+public final class RouteTrainer {
+
+    private static final int TIMEOUT_MILLIS = 5_000;
+
+    private RouteTrainer() {
+    }
+
+    /**
+     * 请求全部 GET 路由
+     *
+     * @param routeRegistry 路由注册表
+     * @param port          Tomcat 实际监听的端口
+     * @param contextPath   规范化后的应用上下文路径
+     * @param iterations    每个路由的请求次数
+     * @return 完成（收到响应）的请求数
+     */
+    public static int exercise(RouteRegistry routeRegistry, int port, String contextPath, int iterations) {
+        int completed = 0;
+        int failed = 0;
+        for (RouteDefinition route : routeRegistry.getAllRoutes()) {
+            if (route.httpMethod() != HttpMethod.GET) {
+                continue;
+            }
+            URI uri = URI.create("http://127.0.0.1:" + port + contextPath + route.path().replaceAll("\\{[^/}]+}", "1"));
+            for (int i = 0; i < iterations; i++) {
+                try {
+                    int status = get(uri);
+                    completed++;
+                    log.debug("Training request GET {} -> {}", uri, status);
+                } catch (IOException e) {
+                    failed++;
+                    log.warn("Training request GET {} failed: {}", uri, e.toString());
+                }
+            }
+        }
+        log.info("Startup training exercised {} requests ({} failed)", completed, failed);
+        return completed;
+    }
+
+    private static int get(URI uri) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        try {
+            int status = connection.getResponseCode();
+            InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (body != null) {
+                try (body) {
+                    body.readAllBytes();
+                }
+            }
+            return status;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
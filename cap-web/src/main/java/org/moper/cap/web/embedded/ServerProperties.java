@@ -0,0 +1,67 @@
+package org.moper.cap.web.embedded;
+
+import org.moper.cap.property.annotation.BindProperties;
+
+/**
+ * 内嵌 Tomcat 服务器配置，整体绑定 {@code server.*} 属性 </br>
+ *
+ * 未配置的属性在紧凑构造函数中取 {@link TomcatServerConfig} 中的默认值，并在此处完成校验
+ *
+ * @param port    {@code server.port}
+ * @param servlet {@code server.servlet.*}
+ * @param tomcat  {@code server.tomcat.*}
+ */
+@BindProperties(prefix = "server")
+public record ServerProperties(Integer port, Servlet servlet, Tomcat tomcat) {
+
+    public ServerProperties {
+        if (port == null) port = TomcatServerConfig.DEFAULT_PORT;
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("server.port must be between 0 and 65535, but was " + port);
+        }
+    }
+
+    /**
+     * @param contextPath {@code server.servlet.context-path}
+     */
+    public record Servlet(String contextPath) {
+
+        public Servlet {
+            if (contextPath == null || contextPath.isBlank()) contextPath = TomcatServerConfig.DEFAULT_CONTEXT_PATH;
+        }
+    }
+
+    /**
+     * @param basedir           {@code server.tomcat.basedir}
+     * @param connectionTimeout {@code server.tomcat.connection-timeout}，毫秒
+     * @param maxConnections    {@code server.tomcat.max-connections}
+     * @param threads           {@code server.tomcat.threads.*}
+     */
+    public record Tomcat(String basedir, Integer connectionTimeout, Integer maxConnections, Threads threads) {
+
+        public Tomcat {
+            if (basedir == null || basedir.isBlank()) basedir = TomcatServerConfig.DEFAULT_BASE_DIR;
+            if (connectionTimeout == null) connectionTimeout = TomcatServerConfig.DEFAULT_CONNECTION_TIMEOUT;
+            if (maxConnections == null) maxConnections = TomcatServerConfig.DEFAULT_MAX_CONNECTIONS;
+            if (connectionTimeout < 0) {
+                throw new IllegalArgumentException("server.tomcat.connection-timeout cannot be negative, but was " + connectionTimeout);
+            }
+            if (maxConnections <= 0) {
+                throw new IllegalArgumentException("server.tomcat.max-connections must be positive, but was " + maxConnections);
+            }
+        }
+    }
+
+    /**
+     * @param max {@code server.tomcat.threads.max}
+     */
+    public record Threads(Integer max) {
+
+        public Threads {
+            if (max == null) max = TomcatServerConfig.DEFAULT_MAX_THREADS;
+            if (max <= 0) {
+                throw new IllegalArgumentException("server.tomcat.threads.max must be positive, but was " + max);
+            }
+        }
+    }
+}
@@ -3,14 +3,17 @@ package org.moper.cap.web.runner;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.moper.cap.core.annotation.RunnerMeta;
+import org.moper.cap.core.constants.PropertyArguments;
 import org.moper.cap.core.context.RuntimeContext;
 import org.moper.cap.core.runner.RuntimeRunner;
 import org.moper.cap.core.runner.RunnerType;
+import org.moper.cap.property.binder.PropertyBinder;
 import org.moper.cap.property.officer.PropertyOfficer;
 import org.moper.cap.web.binder.ParameterBinderRegistry;
 import org.moper.cap.web.dispatcher.DispatcherServlet;
 import org.moper.cap.web.embedded.EmbeddedTomcatServer;
-import org.moper.cap.web.embedded.TomcatServerConfig;
+import org.moper.cap.web.embedded.RouteTrainer;
+import org.moper.cap.web.embedded.ServerProperties;
 import org.moper.cap.web.interceptor.InterceptorRegistry;
 import org.moper.cap.web.invoker.MethodInvoker;
 import org.moper.cap.web.invoker.factory.MethodInvokerFactory;
@@ -22,9 +25,10 @@ import org.moper.cap.web.view.support.DefaultViewHandlerRegistry;
  * 运行时启动器 - 启动内嵌 Tomcat 服务器
  *
  * 职责：
- * 1. 从属性系统获取 Tomcat 配置参数
+ * 1. 从属性系统整体绑定 Tomcat 配置参数（{@link ServerProperties}）
  * 2. 初始化 Web MVC 组件
  * 3. 启动内嵌 Tomcat 服务器
+ * 4. 启动训练模式下请求全部 GET 路由，使请求处理路径上的类完成加载
  */
 @Getter
 @Slf4j
@@ -43,12 +47,13 @@ public class TomcatRuntimeRunner implements RuntimeRunner {
 
         // 1. 从属性系统获取 Tomcat 配置参数
         PropertyOfficer propertyOfficer = context.getPropertyOfficer();
-        int port = propertyOfficer.getPropertyValueOrDefault("server.port", Integer.class, TomcatServerConfig.DEFAULT_PORT);
-        String contextPath = propertyOfficer.getPropertyValueOrDefault("server.servlet.context-path", String.class, TomcatServerConfig.DEFAULT_CONTEXT_PATH);
-        String baseDir = propertyOfficer.getPropertyValueOrDefault("server.tomcat.basedir", String.class, TomcatServerConfig.DEFAULT_BASE_DIR);
-        int connectionTimeout = propertyOfficer.getPropertyValueOrDefault("server.tomcat.connection-timeout", Integer.class, TomcatServerConfig.DEFAULT_CONNECTION_TIMEOUT);
-        int maxConnections = propertyOfficer.getPropertyValueOrDefault("server.tomcat.max-connections", Integer.class, TomcatServerConfig.DEFAULT_MAX_CONNECTIONS);
-        int maxThreads = propertyOfficer.getPropertyValueOrDefault("server.tomcat.threads.max", Integer.class, TomcatServerConfig.DEFAULT_MAX_THREADS);
+        ServerProperties server = PropertyBinder.of(ServerProperties.class).bind(propertyOfficer.snapshot());
+        int port = server.port();
+        String contextPath = server.servlet().contextPath();
+        String baseDir = server.tomcat().basedir();
+        int connectionTimeout = server.tomcat().connectionTimeout();
+        int maxConnections = server.tomcat().maxConnections();
+        int maxThreads = server.tomcat().threads().max();
 
         log.info("从属性系统读取 Tomcat 配置: port={}, contextPath={}, baseDir={}",
                 port, contextPath, baseDir);
@@ -86,6 +91,12 @@ public class TomcatRuntimeRunner implements RuntimeRunner {
         tomcatServer.start();
 
         log.info("运行时环境启动完成");
+
+        // 6. 启动训练模式：请求全部 GET 路由
+        if (propertyOfficer.getPropertyValueOrDefault(PropertyArguments.STARTUP_TRAIN_PROPERTY_KEY, Boolean.class, false)) {
+            int iterations = propertyOfficer.getPropertyValueOrDefault(PropertyArguments.STARTUP_TRAIN_ITERATIONS_PROPERTY_KEY, Integer.class, 3);
+            RouteTrainer.exercise(routeRegistry, tomcatServer.getLocalPort(), tomcatServer.getContextPath(), iterations);
+        }
     }
 
     @Override